@@ -37,6 +37,8 @@ public class BatchSubscriptionPolicy {
     @Min(1)
     private int batchVolume;
 
+    private boolean compressionEnabled;
+
     private BatchSubscriptionPolicy() {}
 
     public BatchSubscriptionPolicy(int messageTtl,
@@ -46,6 +48,17 @@ public class BatchSubscriptionPolicy {
                                    int batchSize,
                                    int batchTime,
                                    int batchVolume) {
+        this(messageTtl, retryClientErrors, messageBackoff, requestTimeout, batchSize, batchTime, batchVolume, false);
+    }
+
+    private BatchSubscriptionPolicy(int messageTtl,
+                                    boolean retryClientErrors,
+                                    int messageBackoff,
+                                    int requestTimeout,
+                                    int batchSize,
+                                    int batchTime,
+                                    int batchVolume,
+                                    boolean compressionEnabled) {
         this.messageTtl = messageTtl;
         this.retryClientErrors = retryClientErrors;
         this.messageBackoff = messageBackoff;
@@ -53,6 +66,7 @@ public class BatchSubscriptionPolicy {
         this.batchSize = batchSize;
         this.batchTime = batchTime;
         this.batchVolume = batchVolume;
+        this.compressionEnabled = compressionEnabled;
     }
 
     @JsonCreator
@@ -64,13 +78,15 @@ public class BatchSubscriptionPolicy {
                 (Integer) properties.getOrDefault("requestTimeout", DEFAULT_REQUEST_TIMEOUT),
                 (Integer) properties.getOrDefault("batchSize", DEFAULT_BATCH_SIZE),
                 (Integer) properties.getOrDefault("batchTime", DEFAULT_BATCH_TIME),
-                (Integer) properties.getOrDefault("batchVolume", DEFAULT_BATCH_VOLUME)
+                (Integer) properties.getOrDefault("batchVolume", DEFAULT_BATCH_VOLUME),
+                (Boolean) properties.getOrDefault("compressionEnabled", false)
         );
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(messageTtl, retryClientErrors, messageBackoff, requestTimeout, batchSize, batchTime, batchVolume);
+        return Objects.hash(messageTtl, retryClientErrors, messageBackoff, requestTimeout, batchSize, batchTime, batchVolume,
+                compressionEnabled);
     }
 
     @Override
@@ -88,7 +104,8 @@ public class BatchSubscriptionPolicy {
                 && Objects.equals(this.requestTimeout, other.requestTimeout)
                 && Objects.equals(this.batchSize, other.batchSize)
                 && Objects.equals(this.batchTime, other.batchTime)
-                && Objects.equals(this.batchVolume, other.batchVolume);
+                && Objects.equals(this.batchVolume, other.batchVolume)
+                && Objects.equals(this.compressionEnabled, other.compressionEnabled);
     }
 
     @Override
@@ -101,6 +118,7 @@ public class BatchSubscriptionPolicy {
                 .add("batchTime", batchTime)
                 .add("batchVolume", batchVolume)
                 .add("requestTimeout", requestTimeout)
+                .add("compressionEnabled", compressionEnabled)
                 .toString();
     }
 
@@ -132,6 +150,10 @@ public class BatchSubscriptionPolicy {
         return requestTimeout;
     }
 
+    public Boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
     public static class Builder {
 
         private BatchSubscriptionPolicy subscriptionPolicy;
@@ -179,6 +201,11 @@ public class BatchSubscriptionPolicy {
             return this;
         }
 
+        public Builder withCompression() {
+            subscriptionPolicy.compressionEnabled = true;
+            return this;
+        }
+
         public BatchSubscriptionPolicy build() {
             return new BatchSubscriptionPolicy(
                     subscriptionPolicy.messageTtl,
@@ -187,7 +214,8 @@ public class BatchSubscriptionPolicy {
                     subscriptionPolicy.requestTimeout,
                     subscriptionPolicy.batchSize,
                     subscriptionPolicy.batchTime,
-                    subscriptionPolicy.batchVolume);
+                    subscriptionPolicy.batchVolume,
+                    subscriptionPolicy.compressionEnabled);
         }
 
         public Builder applyDefaults() {
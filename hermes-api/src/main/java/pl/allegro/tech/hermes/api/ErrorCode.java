@@ -36,12 +36,17 @@ public enum ErrorCode {
     AVRO_SCHEMA_REMOVAL_DISABLED(BAD_REQUEST),
     SUBSCRIPTION_ENDPOINT_ADDRESS_CHANGE_EXCEPTION(INTERNAL_SERVER_ERROR),
     OAUTH_PROVIDER_NOT_EXISTS(NOT_FOUND),
-    OAUTH_PROVIDER_ALREADY_EXISTS(BAD_REQUEST);
+    OAUTH_PROVIDER_ALREADY_EXISTS(BAD_REQUEST),
+    QUOTA_EXCEEDED(429);
 
     private final int httpCode;
 
     private ErrorCode(Response.Status httpCode) {
-        this.httpCode = httpCode.getStatusCode();
+        this(httpCode.getStatusCode());
+    }
+
+    private ErrorCode(int httpCode) {
+        this.httpCode = httpCode;
     }
 
     public int getHttpCode() {
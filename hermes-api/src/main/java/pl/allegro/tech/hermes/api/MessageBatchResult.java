@@ -0,0 +1,50 @@
+package pl.allegro.tech.hermes.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class MessageBatchResult {
+
+    private final List<MessageStatus> messages;
+
+    @JsonCreator
+    public MessageBatchResult(@JsonProperty("messages") List<MessageStatus> messages) {
+        this.messages = messages;
+    }
+
+    public List<MessageStatus> getMessages() {
+        return messages;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class MessageStatus {
+
+        private final String id;
+        private final int status;
+        private final String error;
+
+        @JsonCreator
+        public MessageStatus(@JsonProperty("id") String id,
+                             @JsonProperty("status") int status,
+                             @JsonProperty("error") String error) {
+            this.id = id;
+            this.status = status;
+            this.error = error;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
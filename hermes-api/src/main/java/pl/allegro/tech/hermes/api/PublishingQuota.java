@@ -0,0 +1,121 @@
+package pl.allegro.tech.hermes.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import java.util.Objects;
+
+/**
+ * Limits of publishing on a topic enforced by each Frontend instance. Topic limits apply to all publishers together,
+ * client limits to each publisher on its own. Zero means no limit.
+ */
+public class PublishingQuota {
+
+    private static final PublishingQuota UNLIMITED = new PublishingQuota(0, 0, 0, 0);
+
+    @Min(0)
+    private final int requestsPerSecond;
+
+    @Min(0)
+    private final long bytesPerSecond;
+
+    @Min(0)
+    private final int clientRequestsPerSecond;
+
+    @Min(0)
+    private final long clientBytesPerSecond;
+
+    @JsonCreator
+    public PublishingQuota(@JsonProperty("requestsPerSecond") int requestsPerSecond,
+                           @JsonProperty("bytesPerSecond") long bytesPerSecond,
+                           @JsonProperty("clientRequestsPerSecond") int clientRequestsPerSecond,
+                           @JsonProperty("clientBytesPerSecond") long clientBytesPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.bytesPerSecond = bytesPerSecond;
+        this.clientRequestsPerSecond = clientRequestsPerSecond;
+        this.clientBytesPerSecond = clientBytesPerSecond;
+    }
+
+    public static PublishingQuota unlimited() {
+        return UNLIMITED;
+    }
+
+    public int getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public int getClientRequestsPerSecond() {
+        return clientRequestsPerSecond;
+    }
+
+    public long getClientBytesPerSecond() {
+        return clientBytesPerSecond;
+    }
+
+    @JsonIgnore
+    public boolean isUnlimited() {
+        return requestsPerSecond <= 0 && bytesPerSecond <= 0 && clientRequestsPerSecond <= 0 && clientBytesPerSecond <= 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(requestsPerSecond, bytesPerSecond, clientRequestsPerSecond, clientBytesPerSecond);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final PublishingQuota other = (PublishingQuota) obj;
+        return this.requestsPerSecond == other.requestsPerSecond
+                && this.bytesPerSecond == other.bytesPerSecond
+                && this.clientRequestsPerSecond == other.clientRequestsPerSecond
+                && this.clientBytesPerSecond == other.clientBytesPerSecond;
+    }
+
+    public static class Builder {
+
+        private int requestsPerSecond;
+        private long bytesPerSecond;
+        private int clientRequestsPerSecond;
+        private long clientBytesPerSecond;
+
+        public static Builder publishingQuota() {
+            return new Builder();
+        }
+
+        public Builder withRequestsPerSecond(int requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        public Builder withBytesPerSecond(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        public Builder withClientRequestsPerSecond(int clientRequestsPerSecond) {
+            this.clientRequestsPerSecond = clientRequestsPerSecond;
+            return this;
+        }
+
+        public Builder withClientBytesPerSecond(long clientBytesPerSecond) {
+            this.clientBytesPerSecond = clientBytesPerSecond;
+            return this;
+        }
+
+        public PublishingQuota build() {
+            return new PublishingQuota(requestsPerSecond, bytesPerSecond, clientRequestsPerSecond, clientBytesPerSecond);
+        }
+    }
+}
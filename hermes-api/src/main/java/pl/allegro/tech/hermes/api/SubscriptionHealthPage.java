@@ -0,0 +1,85 @@
+package pl.allegro.tech.hermes.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Objects;
+
+public class SubscriptionHealthPage {
+
+    private final int offset;
+    private final int limit;
+    private final int total;
+    private final List<Entry> subscriptions;
+
+    @JsonCreator
+    public SubscriptionHealthPage(@JsonProperty("offset") int offset,
+                                  @JsonProperty("limit") int limit,
+                                  @JsonProperty("total") int total,
+                                  @JsonProperty("subscriptions") List<Entry> subscriptions) {
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+        this.subscriptions = subscriptions;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<Entry> getSubscriptions() {
+        return subscriptions;
+    }
+
+    public static class Entry {
+
+        private final String topicName;
+        private final String name;
+        private final SubscriptionHealth health;
+
+        @JsonCreator
+        public Entry(@JsonProperty("topicName") String topicName,
+                     @JsonProperty("name") String name,
+                     @JsonProperty("health") SubscriptionHealth health) {
+            this.topicName = topicName;
+            this.name = name;
+            this.health = health;
+        }
+
+        public String getTopicName() {
+            return topicName;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SubscriptionHealth getHealth() {
+            return health;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+            Entry that = (Entry) o;
+            return Objects.equals(topicName, that.topicName) &&
+                    Objects.equals(name, that.name) &&
+                    Objects.equals(health, that.health);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(topicName, name, health);
+        }
+    }
+}
@@ -36,6 +36,12 @@ public class SubscriptionPolicy {
 
     private boolean retryClientErrors = false;
 
+    private boolean http2Enabled = false;
+
+    private boolean compressionEnabled = false;
+
+    private boolean keyOrderingEnabled = false;
+
     private SubscriptionPolicy() {
     }
 
@@ -45,12 +51,27 @@ public class SubscriptionPolicy {
                               boolean retryClientErrors,
                               int messageBackoff,
                               Integer inflightSize) {
+        this(rate, messageTtl, requestTimeout, retryClientErrors, messageBackoff, inflightSize, false, false, false);
+    }
+
+    private SubscriptionPolicy(int rate,
+                               int messageTtl,
+                               int requestTimeout,
+                               boolean retryClientErrors,
+                               int messageBackoff,
+                               Integer inflightSize,
+                               boolean http2Enabled,
+                               boolean compressionEnabled,
+                               boolean keyOrderingEnabled) {
         this.rate = rate;
         this.messageTtl = messageTtl;
         this.requestTimeout = requestTimeout;
         this.retryClientErrors = retryClientErrors;
         this.messageBackoff = messageBackoff;
         this.inflightSize = inflightSize;
+        this.http2Enabled = http2Enabled;
+        this.compressionEnabled = compressionEnabled;
+        this.keyOrderingEnabled = keyOrderingEnabled;
     }
 
     @JsonCreator
@@ -61,13 +82,17 @@ public class SubscriptionPolicy {
                 (Integer) properties.getOrDefault("requestTimeout", DEFAULT_REQUEST_TIMEOUT),
                 (Boolean) properties.getOrDefault("retryClientErrors", false),
                 (Integer) properties.getOrDefault("messageBackoff", DEFAULT_MESSAGE_BACKOFF),
-                (Integer) properties.getOrDefault("inflightSize", DEFAULT_INFLIGHT_SIZE)
+                (Integer) properties.getOrDefault("inflightSize", DEFAULT_INFLIGHT_SIZE),
+                (Boolean) properties.getOrDefault("http2Enabled", false),
+                (Boolean) properties.getOrDefault("compressionEnabled", false),
+                (Boolean) properties.getOrDefault("keyOrderingEnabled", false)
         );
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rate, messageTtl, messageBackoff, retryClientErrors, requestTimeout, inflightSize);
+        return Objects.hash(rate, messageTtl, messageBackoff, retryClientErrors, requestTimeout, inflightSize, http2Enabled,
+                compressionEnabled, keyOrderingEnabled);
     }
 
     @Override
@@ -84,7 +109,10 @@ public class SubscriptionPolicy {
                 && Objects.equals(this.messageBackoff, other.messageBackoff)
                 && Objects.equals(this.retryClientErrors, other.retryClientErrors)
                 && Objects.equals(this.requestTimeout, other.requestTimeout)
-                && Objects.equals(this.inflightSize, other.inflightSize);
+                && Objects.equals(this.inflightSize, other.inflightSize)
+                && Objects.equals(this.http2Enabled, other.http2Enabled)
+                && Objects.equals(this.compressionEnabled, other.compressionEnabled)
+                && Objects.equals(this.keyOrderingEnabled, other.keyOrderingEnabled);
     }
 
     @Override
@@ -96,6 +124,9 @@ public class SubscriptionPolicy {
                 .add("messageBackoff", messageBackoff)
                 .add("retryClientErrors", retryClientErrors)
                 .add("inflightSize", inflightSize)
+                .add("http2Enabled", http2Enabled)
+                .add("compressionEnabled", compressionEnabled)
+                .add("keyOrderingEnabled", keyOrderingEnabled)
                 .toString();
     }
 
@@ -127,6 +158,18 @@ public class SubscriptionPolicy {
         return inflightSize;
     }
 
+    public Boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public Boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public Boolean isKeyOrderingEnabled() {
+        return keyOrderingEnabled;
+    }
+
     public static class Builder {
 
         private SubscriptionPolicy subscriptionPolicy;
@@ -171,6 +214,21 @@ public class SubscriptionPolicy {
             return this;
         }
 
+        public Builder withHttp2() {
+            subscriptionPolicy.http2Enabled = true;
+            return this;
+        }
+
+        public Builder withCompression() {
+            subscriptionPolicy.compressionEnabled = true;
+            return this;
+        }
+
+        public Builder withKeyOrdering() {
+            subscriptionPolicy.keyOrderingEnabled = true;
+            return this;
+        }
+
         public static Builder subscriptionPolicy() {
             return new Builder();
         }
@@ -43,10 +43,23 @@ public class Topic {
 
     private boolean schemaVersionAwareSerializationEnabled = false;
 
+    @Valid
+    @NotNull
+    private PublishingQuota publishingQuota = PublishingQuota.unlimited();
+
     public Topic(TopicName name, String description, RetentionTime retentionTime,
                  boolean validationEnabled, boolean validationDryRunEnabled, boolean migratedFromJsonType,
                  Ack ack, boolean trackingEnabled, ContentType contentType, boolean jsonToAvroDryRunEnabled,
                  boolean schemaVersionAwareSerializationEnabled) {
+        this(name, description, retentionTime, validationEnabled, validationDryRunEnabled, migratedFromJsonType, ack,
+                trackingEnabled, contentType, jsonToAvroDryRunEnabled, schemaVersionAwareSerializationEnabled,
+                PublishingQuota.unlimited());
+    }
+
+    public Topic(TopicName name, String description, RetentionTime retentionTime,
+                 boolean validationEnabled, boolean validationDryRunEnabled, boolean migratedFromJsonType,
+                 Ack ack, boolean trackingEnabled, ContentType contentType, boolean jsonToAvroDryRunEnabled,
+                 boolean schemaVersionAwareSerializationEnabled, PublishingQuota publishingQuota) {
         this.name = name;
         this.description = description;
         this.retentionTime = retentionTime;
@@ -58,6 +71,7 @@ public class Topic {
         this.contentType = contentType;
         this.jsonToAvroDryRunEnabled = jsonToAvroDryRunEnabled;
         this.schemaVersionAwareSerializationEnabled = schemaVersionAwareSerializationEnabled;
+        this.publishingQuota = (publishingQuota == null ? PublishingQuota.unlimited() : publishingQuota);
     }
 
     @JsonCreator
@@ -72,10 +86,11 @@ public class Topic {
             @JsonProperty("trackingEnabled") boolean trackingEnabled,
             @JsonProperty("migratedFromJsonType") boolean migratedFromJsonType,
             @JsonProperty("schemaVersionAwareSerializationEnabled") boolean schemaVersionAwareSerializationEnabled,
-            @JsonProperty("contentType") ContentType contentType) {
+            @JsonProperty("contentType") ContentType contentType,
+            @JsonProperty("publishingQuota") PublishingQuota publishingQuota) {
         this(TopicName.fromQualifiedName(qualifiedName), description, retentionTime, validationEnabled,
                 validationDryRunEnabled, migratedFromJsonType, ack, trackingEnabled, contentType, jsonToAvroDryRunEnabled,
-                schemaVersionAwareSerializationEnabled);
+                schemaVersionAwareSerializationEnabled, publishingQuota);
     }
 
     public RetentionTime getRetentionTime() {
@@ -85,7 +100,8 @@ public class Topic {
     @Override
     public int hashCode() {
         return Objects.hash(name, description, retentionTime, validationEnabled, validationDryRunEnabled,
-                migratedFromJsonType, trackingEnabled, ack, contentType, jsonToAvroDryRunEnabled, schemaVersionAwareSerializationEnabled);
+                migratedFromJsonType, trackingEnabled, ack, contentType, jsonToAvroDryRunEnabled, schemaVersionAwareSerializationEnabled,
+                publishingQuota);
     }
 
     @Override
@@ -108,7 +124,8 @@ public class Topic {
                 && Objects.equals(this.migratedFromJsonType, other.migratedFromJsonType)
                 && Objects.equals(this.schemaVersionAwareSerializationEnabled, other.schemaVersionAwareSerializationEnabled)
                 && Objects.equals(this.ack, other.ack)
-                && Objects.equals(this.contentType, other.contentType);
+                && Objects.equals(this.contentType, other.contentType)
+                && Objects.equals(this.publishingQuota, other.publishingQuota);
     }
 
     @JsonProperty("name")
@@ -173,4 +190,8 @@ public class Topic {
     public boolean isSchemaVersionAwareSerializationEnabled() {
         return schemaVersionAwareSerializationEnabled;
     }
+
+    public PublishingQuota getPublishingQuota() {
+        return publishingQuota;
+    }
 }
@@ -36,4 +36,32 @@ public class TopicTest {
         // then
         assertThat(topic.isReplicationConfirmRequired()).isEqualTo(false);
     }
+
+    @Test
+    public void shouldDeserializePublishingQuota() throws Exception {
+        // given
+        String json = "{\"name\":\"foo.bar\", \"description\": \"description\","
+                + "\"publishingQuota\": {\"requestsPerSecond\": 100, \"clientBytesPerSecond\": 1024}}";
+
+        // when
+        Topic topic = objectMapper.readValue(json, Topic.class);
+
+        // then
+        assertThat(topic.getPublishingQuota().getRequestsPerSecond()).isEqualTo(100);
+        assertThat(topic.getPublishingQuota().getBytesPerSecond()).isEqualTo(0);
+        assertThat(topic.getPublishingQuota().getClientBytesPerSecond()).isEqualTo(1024);
+        assertThat(topic.getPublishingQuota().isUnlimited()).isFalse();
+    }
+
+    @Test
+    public void shouldHaveNoPublishingQuotaIfNotPresentInJson() throws Exception {
+        // given
+        String json = "{\"name\":\"foo.bar\", \"description\": \"description\"}";
+
+        // when
+        Topic topic = objectMapper.readValue(json, Topic.class);
+
+        // then
+        assertThat(topic.getPublishingQuota().isUnlimited()).isTrue();
+    }
 }
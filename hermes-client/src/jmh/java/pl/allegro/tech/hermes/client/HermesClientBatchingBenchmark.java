@@ -0,0 +1,159 @@
+package pl.allegro.tech.hermes.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static pl.allegro.tech.hermes.client.HermesClientBuilder.hermesClient;
+import static pl.allegro.tech.hermes.client.HermesResponseBuilder.hermesResponse;
+
+/**
+ * Publishes {@code messages} small JSON messages to a stub Hermes frontend running on localhost, one request per
+ * message or in batches. Stub answers batch requests with status of every message, just like the frontend does.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class HermesClientBatchingBenchmark {
+
+    private static final String TOPIC = "pl.allegro.benchmark";
+    private static final String MESSAGE = "{\"field\":\"value\"}";
+
+    @Param({"1000"})
+    int messages;
+
+    @Param({"false", "true"})
+    boolean batching;
+
+    private HttpServer server;
+    private ExecutorService senderExecutor;
+    private HermesClient client;
+
+    @Setup
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/topics/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+
+        senderExecutor = Executors.newFixedThreadPool(16);
+        HermesClientBuilder builder = hermesClient(this::send)
+                .withURI(URI.create("http://localhost:" + server.getAddress().getPort()));
+        if (batching) {
+            builder.withBatching(100, 64 * 1024, 5);
+        }
+        client = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        senderExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void publish() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[messages];
+        for (int i = 0; i < messages; i++) {
+            responses[i] = client.publishJSON(TOPIC, MESSAGE);
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    private CompletableFuture<HermesResponse> send(URI uri, HermesMessage message) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+                connection.setDoOutput(true);
+                connection.setRequestMethod("POST");
+                message.consumeHeaders(connection::setRequestProperty);
+                try (OutputStream output = connection.getOutputStream()) {
+                    output.write(message.getBody());
+                }
+                int status = connection.getResponseCode();
+                String body;
+                try (InputStream input = connection.getInputStream()) {
+                    body = new String(readAll(input), StandardCharsets.UTF_8);
+                }
+                return hermesResponse().withHttpStatus(status).withBody(body).build();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, senderExecutor);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] request = readAll(exchange.getRequestBody());
+        byte[] response = new byte[0];
+        if (exchange.getRequestURI().getPath().endsWith("/batch")) {
+            response = batchResponse(countMessages(request)).getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().add(HermesResponse.MESSAGE_ID, "id");
+        exchange.sendResponseHeaders(201, response.length == 0 ? -1 : response.length);
+        if (response.length > 0) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(response);
+            }
+        }
+        exchange.close();
+    }
+
+    private static int countMessages(byte[] frames) {
+        ByteBuffer buffer = ByteBuffer.wrap(frames);
+        int count = 0;
+        while (buffer.hasRemaining()) {
+            buffer.position(buffer.position() + buffer.getInt());
+            count++;
+        }
+        return count;
+    }
+
+    private static String batchResponse(int count) {
+        StringBuilder body = new StringBuilder("{\"messages\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":\"id-").append(i).append("\",\"status\":201}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+}
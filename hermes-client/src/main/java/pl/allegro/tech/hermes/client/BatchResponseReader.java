@@ -0,0 +1,187 @@
+package pl.allegro.tech.hermes.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads statuses of messages from batch publishing response. Client does not depend on any JSON library, so this is a
+ * minimal JSON reader which understands just enough to extract the {@code messages} array.
+ */
+class BatchResponseReader {
+
+    static class MessageStatus {
+        final String id;
+        final int status;
+        final String error;
+
+        MessageStatus(String id, int status, String error) {
+            this.id = id;
+            this.status = status;
+            this.error = error;
+        }
+    }
+
+    static Optional<List<MessageStatus>> read(String body) {
+        try {
+            Object document = new BatchResponseReader(body).readDocument();
+            if (!(document instanceof Map) || !(((Map) document).get("messages") instanceof List)) {
+                return Optional.empty();
+            }
+            List<MessageStatus> statuses = new ArrayList<>();
+            for (Object message : (List) ((Map) document).get("messages")) {
+                Map fields = (Map) message;
+                statuses.add(new MessageStatus((String) fields.get("id"),
+                        ((Number) fields.get("status")).intValue(),
+                        (String) fields.get("error")));
+            }
+            return Optional.of(statuses);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | ClassCastException | NullPointerException e) {
+            return Optional.empty();
+        }
+    }
+
+    private final String json;
+    private int position = 0;
+
+    private BatchResponseReader(String json) {
+        this.json = json;
+    }
+
+    private Object readDocument() {
+        Object value = readValue();
+        skipWhitespace();
+        if (position != json.length()) {
+            throw new IllegalArgumentException("Unexpected content at " + position);
+        }
+        return value;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        char c = peek();
+        switch (c) {
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': return readLiteral("true", Boolean.TRUE);
+            case 'f': return readLiteral("false", Boolean.FALSE);
+            case 'n': return readLiteral("null", null);
+            default: return readNumber();
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        expect('{');
+        Map<String, Object> object = new LinkedHashMap<>();
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return object;
+        }
+        do {
+            skipWhitespace();
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            object.put(key, readValue());
+            skipWhitespace();
+        } while (tryConsume(','));
+        expect('}');
+        return object;
+    }
+
+    private List<Object> readArray() {
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return Collections.emptyList();
+        }
+        List<Object> array = new ArrayList<>();
+        do {
+            array.add(readValue());
+            skipWhitespace();
+        } while (tryConsume(','));
+        expect(']');
+        return array;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        char c;
+        while ((c = next()) != '"') {
+            if (c == '\\') {
+                char escaped = next();
+                switch (escaped) {
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default: value.append(escaped);
+                }
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    private Number readNumber() {
+        int start = position;
+        while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+            position++;
+        }
+        return Double.valueOf(json.substring(start, position));
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!json.startsWith(literal, position)) {
+            throw new IllegalArgumentException("Unexpected token at " + position);
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean tryConsume(char c) {
+        if (position < json.length() && json.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (next() != c) {
+            throw new IllegalArgumentException("Expected " + c + " at " + (position - 1));
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw new IllegalArgumentException("Unexpected end of document");
+        }
+        return json.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+}
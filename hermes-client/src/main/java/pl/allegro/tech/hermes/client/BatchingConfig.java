@@ -0,0 +1,26 @@
+package pl.allegro.tech.hermes.client;
+
+class BatchingConfig {
+
+    private final int maxMessages;
+    private final int maxBytes;
+    private final long lingerMillis;
+
+    BatchingConfig(int maxMessages, int maxBytes, long lingerMillis) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.lingerMillis = lingerMillis;
+    }
+
+    int getMaxMessages() {
+        return maxMessages;
+    }
+
+    int getMaxBytes() {
+        return maxBytes;
+    }
+
+    long getLingerMillis() {
+        return lingerMillis;
+    }
+}
@@ -0,0 +1,291 @@
+package pl.allegro.tech.hermes.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static java.net.HttpURLConnection.HTTP_ACCEPTED;
+import static java.net.HttpURLConnection.HTTP_CREATED;
+import static pl.allegro.tech.hermes.client.HermesMessage.CONTENT_TYPE_HEADER;
+import static pl.allegro.tech.hermes.client.HermesMessage.hermesMessage;
+import static pl.allegro.tech.hermes.client.HermesResponseBuilder.hermesResponse;
+
+/**
+ * Accumulates messages with the same topic and headers and publishes them using batch endpoint of Hermes frontend.
+ *
+ * Batch is sent as soon as it reaches {@code maxMessages} or {@code maxBytes}, or {@code lingerMillis} after its first
+ * message was added. Batches are sent asynchronously, so there might be many of them in flight at the same time.
+ * Each message gets its own response, built from its status in batch response. Only failed messages are retried,
+ * by putting them back into accumulator after backoff, so they might end up in a different batch.
+ *
+ * Messages are sent as length-prefixed frames, also JSON ones: a single malformed message in JSON array would make the
+ * frontend reject the whole batch, while frames are validated one by one, so only the malformed message fails.
+ * Content type of messages is passed on in {@code payload} parameter of batch content type.
+ */
+class BatchingPublisher {
+
+    static final String BATCH_CONTENT_TYPE = "application/x-hermes-batch";
+    private static final int MULTI_STATUS = 207;
+
+    private final HermesSender sender;
+    private final String topicsUri;
+    private final int maxMessages;
+    private final int maxBytes;
+    private final long lingerMillis;
+    private final int retries;
+    private final Predicate<HermesResponse> retryCondition;
+    private final long retrySleepInMillis;
+    private final long maxRetrySleepInMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<BatchKey, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+    BatchingPublisher(HermesSender sender, String topicsUri, BatchingConfig config,
+                      int retries, Predicate<HermesResponse> retryCondition,
+                      long retrySleepInMillis, long maxRetrySleepInMillis,
+                      ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.topicsUri = topicsUri;
+        this.maxMessages = config.getMaxMessages();
+        this.maxBytes = config.getMaxBytes();
+        this.lingerMillis = config.getLingerMillis();
+        this.retries = retries;
+        this.retryCondition = retryCondition;
+        this.retrySleepInMillis = retrySleepInMillis;
+        this.maxRetrySleepInMillis = maxRetrySleepInMillis;
+        this.scheduler = scheduler;
+    }
+
+    CompletableFuture<HermesResponse> publish(HermesMessage message) {
+        PendingMessage pending = new PendingMessage(message);
+        enqueue(pending);
+        return pending.future;
+    }
+
+    void flushAll() {
+        accumulators.values().forEach(Accumulator::flush);
+    }
+
+    private void enqueue(PendingMessage pending) {
+        while (!accumulators.computeIfAbsent(pending.key, Accumulator::new).add(pending)) {
+            // accumulator was closed in the meantime, next one will be created
+        }
+    }
+
+    private void send(BatchKey key, List<PendingMessage> batch) {
+        CompletableFuture<HermesResponse> response;
+        try {
+            response = sender.send(URI.create(topicsUri + key.topic + "/batch"), batchRequest(key, batch));
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.exceptionally(HermesResponseBuilder::hermesFailureResponse)
+                .thenAccept(batchResponse -> complete(batch, batchResponse));
+    }
+
+    private void complete(List<PendingMessage> batch, HermesResponse batchResponse) {
+        List<HermesResponse> responses = messageResponses(batch.size(), batchResponse);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingMessage pending = batch.get(i);
+            HermesResponse response = responses.get(i);
+            if (response.isFailure() && pending.attempts < retries && retryCondition.test(response)) {
+                retry(pending);
+            } else {
+                pending.future.complete(response);
+            }
+        }
+    }
+
+    private List<HermesResponse> messageResponses(int size, HermesResponse batchResponse) {
+        List<HermesResponse> responses = new ArrayList<>(size);
+        Optional<List<BatchResponseReader.MessageStatus>> statuses = isBatchResult(batchResponse)
+                ? BatchResponseReader.read(batchResponse.getBody())
+                : Optional.empty();
+
+        if (statuses.isPresent() && statuses.get().size() == size) {
+            for (BatchResponseReader.MessageStatus status : statuses.get()) {
+                responses.add(hermesResponse()
+                        .withHttpStatus(status.status)
+                        .withBody(status.error == null ? "" : status.error)
+                        .withHeaderSupplier(header -> HermesResponse.MESSAGE_ID.equals(header)
+                                ? status.id : batchResponse.getHeader(header))
+                        .withProtocol(batchResponse.getProtocol())
+                        .build());
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                responses.add(batchResponse);
+            }
+        }
+        return responses;
+    }
+
+    private boolean isBatchResult(HermesResponse response) {
+        int status = response.getHttpStatus();
+        return status == HTTP_CREATED || status == HTTP_ACCEPTED || status == MULTI_STATUS;
+    }
+
+    private void retry(PendingMessage pending) {
+        long delay = retryDelay(++pending.attempts);
+        if (delay > 0) {
+            scheduler.schedule(() -> enqueue(pending), delay, TimeUnit.MILLISECONDS);
+        } else {
+            enqueue(pending);
+        }
+    }
+
+    private long retryDelay(int attempt) {
+        if (retrySleepInMillis <= 0) {
+            return 0;
+        }
+        long delay = retrySleepInMillis << Math.min(attempt - 1, 30);
+        return Math.min(delay, maxRetrySleepInMillis);
+    }
+
+    private HermesMessage batchRequest(BatchKey key, List<PendingMessage> batch) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            writeFrames(new DataOutputStream(body), batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        HermesMessage.Builder request = hermesMessage(key.topic, body.toByteArray());
+        key.headers.forEach(request::withHeader);
+        String payloadContentType = key.headers.get(CONTENT_TYPE_HEADER);
+        request.withContentType(payloadContentType == null
+                ? BATCH_CONTENT_TYPE
+                : BATCH_CONTENT_TYPE + "; payload=\"" + payloadContentType + "\"");
+        return request.build();
+    }
+
+    private void writeFrames(DataOutputStream body, List<PendingMessage> batch) throws IOException {
+        for (PendingMessage pending : batch) {
+            byte[] message = pending.message.getBody();
+            body.writeInt(message.length);
+            body.write(message);
+        }
+    }
+
+    private class Accumulator {
+
+        private final BatchKey key;
+        private List<PendingMessage> messages = new ArrayList<>();
+        private int bytes = 0;
+        private ScheduledFuture<?> lingerFlush;
+        private boolean closed = false;
+
+        Accumulator(BatchKey key) {
+            this.key = key;
+        }
+
+        boolean add(PendingMessage pending) {
+            List<PendingMessage> full = null;
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                messages.add(pending);
+                bytes += pending.message.getBody().length;
+                if (messages.size() >= maxMessages || bytes >= maxBytes) {
+                    full = drain();
+                } else if (lingerFlush == null) {
+                    lingerFlush = scheduler.schedule(this::lingered, lingerMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (full != null) {
+                send(key, full);
+            }
+            return true;
+        }
+
+        void flush() {
+            List<PendingMessage> batch = null;
+            synchronized (this) {
+                if (!messages.isEmpty()) {
+                    batch = drain();
+                }
+            }
+            if (batch != null) {
+                send(key, batch);
+            }
+        }
+
+        private void lingered() {
+            List<PendingMessage> batch;
+            synchronized (this) {
+                lingerFlush = null;
+                batch = messages.isEmpty() ? null : drain();
+                closed = true;
+                accumulators.remove(key, this);
+            }
+            if (batch != null) {
+                send(key, batch);
+            }
+        }
+
+        private List<PendingMessage> drain() {
+            List<PendingMessage> batch = messages;
+            messages = new ArrayList<>();
+            bytes = 0;
+            if (lingerFlush != null) {
+                lingerFlush.cancel(false);
+                lingerFlush = null;
+            }
+            return batch;
+        }
+    }
+
+    private static class PendingMessage {
+
+        private final HermesMessage message;
+        private final BatchKey key;
+        private final CompletableFuture<HermesResponse> future = new CompletableFuture<>();
+        private int attempts = 0;
+
+        PendingMessage(HermesMessage message) {
+            this.message = message;
+            this.key = new BatchKey(message.getTopic(), new HashMap<>(message.getHeaders()));
+        }
+    }
+
+    private static class BatchKey {
+
+        private final String topic;
+        private final Map<String, String> headers;
+
+        BatchKey(String topic, Map<String, String> headers) {
+            this.topic = topic;
+            this.headers = headers;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BatchKey batchKey = (BatchKey) o;
+            return Objects.equals(topic, batchKey.topic) && Objects.equals(headers, batchKey.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(topic, headers);
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class HermesClient {
     private final AtomicInteger currentlySending = new AtomicInteger(0);
     private final RetryPolicy retryPolicy;
     private final ScheduledExecutorService scheduler;
+    private final BatchingPublisher batchingPublisher;
     private volatile boolean shutdown = false;
 
     HermesClient(HermesSender sender,
@@ -34,12 +35,15 @@ public class HermesClient {
                  Predicate<HermesResponse> retryCondition,
                  long retrySleepInMillis,
                  long maxRetrySleepInMillis,
-                 ScheduledExecutorService scheduler) {
+                 ScheduledExecutorService scheduler,
+                 BatchingConfig batchingConfig) {
         this.sender = sender;
         this.uri = createUri(uri);
         this.defaultHeaders = Collections.unmodifiableMap(new HashMap<>(defaultHeaders));
         this.retryPolicy = createRetryPolicy(retries, retryCondition, retrySleepInMillis, maxRetrySleepInMillis);
         this.scheduler = scheduler;
+        this.batchingPublisher = batchingConfig == null ? null : new BatchingPublisher(sender, this.uri, batchingConfig,
+                retries, retryCondition, retrySleepInMillis, maxRetrySleepInMillis, scheduler);
     }
 
     private RetryPolicy createRetryPolicy(int retries, Predicate<HermesResponse> retryCondition,
@@ -90,7 +94,13 @@ public class HermesClient {
             return completedWithShutdownException();
         }
         HermesMessage.appendDefaults(message, defaultHeaders);
-        return publishWithRetries(message);
+        return batchingPublisher != null ? publishInBatch(message) : publishWithRetries(message);
+    }
+
+    private CompletableFuture<HermesResponse> publishInBatch(HermesMessage message) {
+        currentlySending.incrementAndGet();
+        return batchingPublisher.publish(message)
+                .whenComplete((response, ex) -> currentlySending.decrementAndGet());
     }
 
     private CompletableFuture<HermesResponse> publishWithRetries(HermesMessage message) {
@@ -113,6 +123,9 @@ public class HermesClient {
 
     public CompletableFuture<Void> closeAsync(long pollInterval) {
         shutdown = true;
+        if (batchingPublisher != null) {
+            batchingPublisher.flushAll();
+        }
         return new HermesClientTermination(pollInterval)
                 .observe(() -> currentlySending.get() == 0)
                 .whenComplete((response, ex) -> scheduler.shutdown());
@@ -1,6 +1,7 @@
 package pl.allegro.tech.hermes.client;
 
 import com.codahale.metrics.MetricRegistry;
+import pl.allegro.tech.hermes.client.compression.GzipHermesSender;
 import pl.allegro.tech.hermes.client.metrics.MetricsHermesSender;
 
 import java.net.URI;
@@ -21,6 +22,7 @@ public class HermesClientBuilder {
     private long retrySleepInMillis = 100;
     private long maxRetrySleepInMillis = 300;
     private Supplier<ScheduledExecutorService> schedulerFactory = Executors::newSingleThreadScheduledExecutor;
+    private BatchingConfig batchingConfig;
 
     public HermesClientBuilder(HermesSender sender) {
         this.sender = sender;
@@ -33,7 +35,7 @@ public class HermesClientBuilder {
 
     public HermesClient build() {
         return new HermesClient(sender, uri, defaultHeaders, retries, retryCondition, retrySleepInMillis,
-                maxRetrySleepInMillis, schedulerFactory.get());
+                maxRetrySleepInMillis, schedulerFactory.get(), batchingConfig);
     }
 
     public HermesClientBuilder withURI(URI uri) {
@@ -77,6 +79,25 @@ public class HermesClientBuilder {
         return this;
     }
 
+    /**
+     * Publishes messages in batches, using batch endpoint of Hermes frontend. Messages with the same topic and headers
+     * are sent together once there are {@code maxMessages} of them, they take {@code maxBytes} or {@code lingerMillis}
+     * passed since the first of them was published. Each message is still completed and retried on its own.
+     */
+    public HermesClientBuilder withBatching(int maxMessages, int maxBytes, long lingerMillis) {
+        this.batchingConfig = new BatchingConfig(maxMessages, maxBytes, lingerMillis);
+        return this;
+    }
+
+    /**
+     * Gzips bodies of messages, and of batches when batching is enabled, which have at least {@code minSizeInBytes}.
+     * Requires Hermes frontend which decodes compressed requests.
+     */
+    public HermesClientBuilder withCompression(int minSizeInBytes) {
+        this.sender = new GzipHermesSender(sender, minSizeInBytes);
+        return this;
+    }
+
     public HermesClientBuilder withScheduler(ScheduledExecutorService scheduler) {
         this.schedulerFactory = () -> scheduler;
         return this;
@@ -0,0 +1,54 @@
+package pl.allegro.tech.hermes.client.compression;
+
+import pl.allegro.tech.hermes.client.HermesMessage;
+import pl.allegro.tech.hermes.client.HermesResponse;
+import pl.allegro.tech.hermes.client.HermesSender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+import static pl.allegro.tech.hermes.client.HermesMessage.hermesMessage;
+
+/**
+ * Gzips bodies of messages larger than {@code minSizeInBytes} before handing them to the actual sender, adding
+ * Content-Encoding header which Hermes frontend uses to decode them. Smaller messages are sent as they are, as
+ * compressing them would only cost CPU time.
+ */
+public class GzipHermesSender implements HermesSender {
+
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    public static final String GZIP = "gzip";
+
+    private final HermesSender sender;
+    private final int minSizeInBytes;
+
+    public GzipHermesSender(HermesSender sender, int minSizeInBytes) {
+        this.sender = sender;
+        this.minSizeInBytes = minSizeInBytes;
+    }
+
+    @Override
+    public CompletableFuture<HermesResponse> send(URI uri, HermesMessage message) {
+        if (message.getBody().length < minSizeInBytes || message.getHeaders().containsKey(CONTENT_ENCODING_HEADER)) {
+            return sender.send(uri, message);
+        }
+        HermesMessage.Builder compressed = hermesMessage(message.getTopic(), gzip(message.getBody()));
+        message.consumeHeaders(compressed::withHeader);
+        compressed.withHeader(CONTENT_ENCODING_HEADER, GZIP);
+        return sender.send(uri, compressed.build());
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,171 @@
+package pl.allegro.tech.hermes.client
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+import static java.net.URI.create
+import static java.util.concurrent.CompletableFuture.completedFuture
+import static pl.allegro.tech.hermes.client.HermesClientBuilder.hermesClient
+import static pl.allegro.tech.hermes.client.HermesResponseBuilder.hermesResponse
+
+class HermesClientBatchingTest extends Specification {
+
+    private static final String HERMES_URI = "http://localhost:9999"
+
+    private static final String TOPIC = "my.group.topicName"
+
+    private List<HermesMessage> requests = new CopyOnWriteArrayList<>()
+
+    def "should publish messages in single batch once it is full"() {
+        given:
+        HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+            assert uri.toString() == (String) "$HERMES_URI/topics/$TOPIC/batch"
+            requests << request
+            completedFuture(batchResponse(201, [[id: 'id-1', status: 201], [id: 'id-2', status: 201], [id: 'id-3', status: 201]]))
+        })
+                .withURI(create(HERMES_URI))
+                .withBatching(3, 1024, 60_000)
+                .build()
+
+        when:
+        def responses = ['{"a":1}', '{"a":2}', '{"a":3}'].collect { client.publishJSON(TOPIC, it) }*.get(1, TimeUnit.SECONDS)
+
+        then:
+        requests.size() == 1
+        requests[0].contentType == BatchingPublisher.BATCH_CONTENT_TYPE + '; payload="application/json;charset=UTF-8"'
+        frames(requests[0].body) == ['{"a":1}', '{"a":2}', '{"a":3}']
+        responses*.httpStatus == [201, 201, 201]
+        responses*.messageId == ['id-1', 'id-2', 'id-3']
+    }
+
+    def "should publish incomplete batch after linger time"() {
+        given:
+        HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+            requests << request
+            completedFuture(batchResponse(201, [[id: 'id-1', status: 201]]))
+        })
+                .withURI(create(HERMES_URI))
+                .withBatching(100, 1024, 10)
+                .build()
+
+        when:
+        HermesResponse response = client.publishJSON(TOPIC, '{}').get(1, TimeUnit.SECONDS)
+
+        then:
+        response.success
+        requests.size() == 1
+    }
+
+    def "should retry only failed messages of batch"() {
+        given:
+        HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+            requests << request
+            if (requests.size() == 1) {
+                return completedFuture(batchResponse(207, [[id: 'id-1', status: 201], [id: 'id-2', status: 503, error: 'Broker seems to be down']]))
+            }
+            completedFuture(batchResponse(201, [[id: 'id-3', status: 201]]))
+        })
+                .withURI(create(HERMES_URI))
+                .withBatching(2, 1024, 10)
+                .withRetrySleep(0)
+                .build()
+
+        when:
+        def responses = ['{"a":1}', '{"a":2}'].collect { client.publishJSON(TOPIC, it) }*.get(1, TimeUnit.SECONDS)
+
+        then:
+        requests.size() == 2
+        frames(requests[1].body) == ['{"a":2}']
+        responses*.httpStatus == [201, 201]
+        responses*.messageId == ['id-1', 'id-3']
+    }
+
+    def "should not retry messages rejected by validation"() {
+        given:
+        HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+            requests << request
+            completedFuture(batchResponse(207, [[id: 'id-1', status: 400, error: 'Invalid message']]))
+        })
+                .withURI(create(HERMES_URI))
+                .withBatching(1, 1024, 10)
+                .withRetrySleep(0)
+                .build()
+
+        when:
+        HermesResponse response = client.publishJSON(TOPIC, '{}').get(1, TimeUnit.SECONDS)
+
+        then:
+        requests.size() == 1
+        response.failure
+        response.httpStatus == 400
+        response.body == 'Invalid message'
+    }
+
+    def "should retry every message of batch when whole request failed"() {
+        given:
+        HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+            requests << request
+            if (requests.size() == 1) {
+                return completedFuture(hermesResponse().withHttpStatus(503).build())
+            }
+            completedFuture(batchResponse(201, [[id: 'id-1', status: 201], [id: 'id-2', status: 201]]))
+        })
+                .withURI(create(HERMES_URI))
+                .withBatching(2, 1024, 10)
+                .withRetrySleep(0)
+                .build()
+
+        when:
+        def responses = ['{"a":1}', '{"a":2}'].collect { client.publishJSON(TOPIC, it) }*.get(1, TimeUnit.SECONDS)
+
+        then:
+        responses*.success == [true, true]
+        requests.size() >= 2
+    }
+
+    def "should send binary messages as frames"() {
+        given:
+        HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+            requests << request
+            completedFuture(batchResponse(201, [[id: 'id-1', status: 201], [id: 'id-2', status: 201]]))
+        })
+                .withURI(create(HERMES_URI))
+                .withBatching(2, 1024, 60_000)
+                .build()
+
+        when:
+        [[1, 2] as byte[], [3] as byte[]].collect { client.publishAvro(TOPIC, 1, it) }*.get(1, TimeUnit.SECONDS)
+
+        then:
+        requests.size() == 1
+        requests[0].contentType == BatchingPublisher.BATCH_CONTENT_TYPE + '; payload="avro/binary"'
+        requests[0].schemaVersion == 1
+        ByteBuffer body = ByteBuffer.wrap(requests[0].body)
+        body.getInt() == 2
+        body.get() == 1 as byte
+        body.get() == 2 as byte
+        body.getInt() == 1
+        body.get() == 3 as byte
+    }
+
+    private static List<String> frames(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body)
+        List<String> messages = []
+        while (buffer.hasRemaining()) {
+            byte[] message = new byte[buffer.getInt()]
+            buffer.get(message)
+            messages << new String(message)
+        }
+        return messages
+    }
+
+    private static HermesResponse batchResponse(int status, List<Map> messages) {
+        String body = '{"messages":[' + messages.collect { message ->
+            '{' + message.collect { key, value -> value instanceof String ? "\"$key\":\"$value\"" : "\"$key\":$value" }.join(',') + '}'
+        }.join(',') + ']}'
+        return hermesResponse().withHttpStatus(status).withBody(body).build()
+    }
+}
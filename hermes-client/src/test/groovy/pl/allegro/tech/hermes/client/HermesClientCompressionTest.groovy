@@ -0,0 +1,47 @@
+package pl.allegro.tech.hermes.client
+
+import spock.lang.Specification
+
+import java.util.zip.GZIPInputStream
+
+import static java.net.URI.create
+import static java.util.concurrent.CompletableFuture.completedFuture
+import static pl.allegro.tech.hermes.client.HermesClientBuilder.hermesClient
+import static pl.allegro.tech.hermes.client.HermesResponseBuilder.hermesResponse
+
+class HermesClientCompressionTest extends Specification {
+
+    private static final String TOPIC = "my.group.topicName"
+
+    private List<HermesMessage> requests = []
+
+    private HermesClient client = hermesClient({ URI uri, HermesMessage request ->
+        requests << request
+        completedFuture(hermesResponse().withHttpStatus(201).build())
+    })
+            .withURI(create("http://localhost:9999"))
+            .withCompression(100)
+            .build()
+
+    def "should gzip message larger than threshold"() {
+        given:
+        String message = '{"field":"' + 'value' * 50 + '"}'
+
+        when:
+        client.publishJSON(TOPIC, message).join()
+
+        then:
+        requests[0].headers['Content-Encoding'] == 'gzip'
+        requests[0].headers['Content-Type'] == HermesMessage.APPLICATION_JSON
+        new GZIPInputStream(new ByteArrayInputStream(requests[0].body)).text == message
+    }
+
+    def "should send small message uncompressed"() {
+        when:
+        client.publishJSON(TOPIC, '{}').join()
+
+        then:
+        !requests[0].headers.containsKey('Content-Encoding')
+        new String(requests[0].body) == '{}'
+    }
+}
@@ -0,0 +1,107 @@
+package pl.allegro.tech.hermes.domain.topic.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.allegro.tech.hermes.api.SchemaSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validation of messages with schema compiled into streaming validator and with the generic validator,
+ * which parses message into tree first. Order schema is typical for business events: nested object, array of
+ * objects, enums, patterns and ranges; number of order lines sets the size of the message.
+ * Run with GC profiler ({@code -prof gc}) to compare allocation rate per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonSchemaValidationBenchmark {
+
+    private static final String SCHEMA = "{"
+            + "\"$schema\": \"http://json-schema.org/draft-04/schema#\","
+            + "\"type\": \"object\","
+            + "\"properties\": {"
+            + "  \"orderId\": {\"type\": \"string\", \"pattern\": \"^[A-Z0-9-]+$\"},"
+            + "  \"status\": {\"enum\": [\"NEW\", \"PAID\", \"SENT\"]},"
+            + "  \"createdAt\": {\"type\": \"integer\", \"minimum\": 0},"
+            + "  \"customer\": {\"type\": \"object\", \"properties\": {"
+            + "    \"id\": {\"type\": \"string\", \"minLength\": 1},"
+            + "    \"email\": {\"type\": \"string\", \"maxLength\": 254},"
+            + "    \"vip\": {\"type\": \"boolean\"}"
+            + "  }, \"required\": [\"id\"]},"
+            + "  \"lines\": {\"type\": \"array\", \"minItems\": 1, \"items\": {"
+            + "    \"type\": \"object\", \"properties\": {"
+            + "      \"offerId\": {\"type\": \"string\"},"
+            + "      \"quantity\": {\"type\": \"integer\", \"minimum\": 1},"
+            + "      \"price\": {\"type\": \"number\", \"minimum\": 0},"
+            + "      \"note\": {\"type\": [\"string\", \"null\"]}"
+            + "    }, \"required\": [\"offerId\", \"quantity\", \"price\"], \"additionalProperties\": false"
+            + "  }}"
+            + "},"
+            + "\"required\": [\"orderId\", \"status\", \"customer\", \"lines\"]"
+            + "}";
+
+    @Param({"1", "50", "1000"})
+    private int lines;
+
+    private CompiledJsonSchema streamingSchema;
+    private CompiledJsonSchema genericSchema;
+    private byte[] message;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        streamingSchema = SchemaCompilersFactory.jsonSchemaCompiler(objectMapper, true).compile(SchemaSource.valueOf(SCHEMA));
+        genericSchema = SchemaCompilersFactory.jsonSchemaCompiler(objectMapper, false).compile(SchemaSource.valueOf(SCHEMA));
+        message = order(lines);
+
+        if (!streamingSchema.isStreaming() || !streamingSchema.validate(message).isEmpty()
+                || !genericSchema.validate(message).isEmpty()) {
+            throw new IllegalStateException("Benchmark message should be valid and schema compiled to streaming validator");
+        }
+    }
+
+    @Benchmark
+    public List<String> streamingValidation() throws IOException {
+        return streamingSchema.validate(message);
+    }
+
+    @Benchmark
+    public List<String> genericValidation() throws IOException {
+        return genericSchema.validate(message);
+    }
+
+    private static byte[] order(int lines) {
+        StringBuilder builder = new StringBuilder()
+                .append("{\"orderId\": \"ORDER-123456\", \"status\": \"PAID\", \"createdAt\": 1473849600000,")
+                .append("\"customer\": {\"id\": \"customer-1\", \"email\": \"customer@example.com\", \"vip\": false,")
+                .append("\"tags\": [\"returning\", \"mobile\"]},")
+                .append("\"lines\": [");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"offerId\": \"offer-").append(i).append("\", \"quantity\": ").append(i % 5 + 1)
+                    .append(", \"price\": ").append(19.99 + i).append(", \"note\": ")
+                    .append(i % 2 == 0 ? "null" : "\"gift wrapping, please\"").append('}');
+        }
+        return builder.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
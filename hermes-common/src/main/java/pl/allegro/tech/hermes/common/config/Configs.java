@@ -61,6 +61,7 @@ public enum Configs {
     KAFKA_PRODUCER_METRICS_SAMPLE_WINDOW_MS("kafka.producer.metrics.sample.window.ms", 30000),
     KAFKA_PRODUCER_MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION("kafka.producer.max.in.flight.requests.per.connection", 5),
     KAFKA_PRODUCER_REPORT_NODE_METRICS("kafka.producer.report.node.metrics", false),
+    KAFKA_PRODUCER_POOLS("kafka.producer.pools", ""),
     KAFKA_STREAM_COUNT("kafka.stream.count", 1),
 
     FRONTEND_PORT("frontend.port", 8080),
@@ -82,6 +83,12 @@ public enum Configs {
     FRONTEND_GRACEFUL_SHUTDOWN_ENABLED("frontend.graceful.shutdown.enabled", true),
     FRONTEND_GRACEFUL_SHUTDOWN_INITIAL_WAIT_MS("frontend.graceful.shutdown.initial.wait.ms", 10000),
     FRONTEND_HTTP2_ENABLED("frontend.http2.enabled", false),
+    FRONTEND_BATCH_MAX_MESSAGES("frontend.batch.max.messages", 1000),
+    FRONTEND_MAX_DECODED_CONTENT_SIZE("frontend.max.decoded.content.size", 10 * 1024 * 1024),
+
+    FRONTEND_QUOTA_CLIENT_ID_HEADER("frontend.quota.client.id.header", "Hermes-Client-Id"),
+    FRONTEND_QUOTA_CLIENT_IDLE_TIMEOUT("frontend.quota.client.idle.timeout.seconds", 60),
+    FRONTEND_QUOTA_MAX_CLIENTS_PER_TOPIC("frontend.quota.max.clients.per.topic", 10_000),
 
     FRONTEND_SSL_ENABLED("frontend.ssl.enabled", false),
     FRONTEND_SSL_PORT("frontend.ssl.port", 8443),
@@ -96,6 +103,7 @@ public enum Configs {
     FRONTEND_MESSAGE_PREVIEW_ENABLED("frontend.message.preview.enabled", false),
     FRONTEND_MESSAGE_PREVIEW_SIZE("frontend.message.preview.size", 3),
     FRONTEND_MESSAGE_PREVIEW_LOG_PERSIST_PERIOD("frontend.message.preview.log.persist.period.seconds", 30),
+    FRONTEND_MESSAGE_PREVIEW_SAMPLE_INTERVAL("frontend.message.preview.sample.interval.ms", 0),
 
     MESSAGES_LOCAL_STORAGE_ENABLED("frontend.messages.local.storage.enabled", false),
     MESSAGES_LOCAL_STORAGE_DIRECTORY("frontend.messages.local.storage.directory", Files.createTempDir().getAbsolutePath()),
@@ -110,12 +118,33 @@ public enum Configs {
     CONSUMER_SENDER_ASYNC_TIMEOUT_THREAD_POOL_SIZE("consumer.sender.async.timeout.thread.pool.size", 32),
     CONSUMER_SENDER_ASYNC_TIMEOUT_THREAD_POOL_MONITORING("consumer.sender.async.timeout.thread.pool.monitoring", false),
     CONSUMER_THREAD_POOL_SIZE("consumer.thread.pool.size", 500),
+    CONSUMER_EVENT_LOOP_ENABLED("consumer.event.loop.enabled", false),
+    CONSUMER_EVENT_LOOP_WORKERS("consumer.event.loop.workers", 16),
+    CONSUMER_EVENT_LOOP_LIFECYCLE_THREADS("consumer.event.loop.lifecycle.threads", 4),
+    CONSUMER_EVENT_LOOP_SLICE_SIZE("consumer.event.loop.slice.size", 100),
+    CONSUMER_EVENT_LOOP_MAX_IDLE_DELAY("consumer.event.loop.max.idle.delay", 20),
     CONSUMER_HTTP_CLIENT_THREAD_POOL_SIZE("consumer.http.client.thread.pool.size", 30),
     CONSUMER_HTTP_CLIENT_THREAD_POOL_MONITORING("consumer.http.client.thread.pool.monitoring", false),
     CONSUMER_HTTP_CLIENT_MAX_CONNECTIONS_PER_DESTINATION("consumer.http.client.max.connections.per.destination", 100),
+    CONSUMER_HTTP_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION("consumer.http.client.max.active.requests.per.destination", 100),
+    CONSUMER_HTTP_CLIENT_MAX_QUEUED_REQUESTS_PER_DESTINATION("consumer.http.client.max.queued.requests.per.destination", 1000),
+    CONSUMER_HTTP_CLIENT_DESTINATION_IDLE_TIMEOUT("consumer.http.client.destination.idle.timeout", 300_000),
+    CONSUMER_HTTP2_ENABLED("consumer.http2.enabled", true),
+    CONSUMER_HTTP2_CLIENT_THREAD_POOL_SIZE("consumer.http2.client.thread.pool.size", 10),
+    CONSUMER_HTTP2_CLIENT_THREAD_POOL_MONITORING("consumer.http2.client.thread.pool.monitoring", false),
+    CONSUMER_HTTP2_CLIENT_SELECTORS("consumer.http2.client.selectors", 1),
+    CONSUMER_HTTP2_CLIENT_MAX_CONNECTIONS_PER_DESTINATION("consumer.http2.client.max.connections.per.destination", 1),
+    CONSUMER_HTTP2_CLIENT_MAX_REQUESTS_QUEUED_PER_DESTINATION("consumer.http2.client.max.requests.queued.per.destination", 10_000),
+    CONSUMER_HTTP2_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION("consumer.http2.client.max.active.requests.per.destination", 1000),
 
     CONSUMER_INFLIGHT_SIZE("consumer.inflight.size", 100),
+    CONSUMER_KEY_ORDERING_MAX_HELD_BACK_PER_KEY("consumer.key.ordering.max.held.back.per.key", 100),
+    CONSUMER_ADAPTIVE_INFLIGHT_ENABLED("consumer.adaptive.inflight.enabled", false),
+    CONSUMER_ADAPTIVE_INFLIGHT_MIN_SIZE("consumer.adaptive.inflight.min.size", 1),
+    CONSUMER_ADAPTIVE_INFLIGHT_RTT_TOLERANCE("consumer.adaptive.inflight.rtt.tolerance", 2.0),
+    CONSUMER_ADAPTIVE_INFLIGHT_BACKOFF_RATIO("consumer.adaptive.inflight.backoff.ratio", 0.9),
     CONSUMER_RATE_LIMITER_SUPERVISOR_PERIOD("consumer.rate.limiter.supervisor.period", 30),
+    CONSUMER_RATE_LIMITER_SUPERVISOR_SHARDS("consumer.rate.limiter.supervisor.shards", 4),
     CONSUMER_RATE_LIMITER_REPORTING_THREAD_POOL_SIZE("consumer.rate.limiter.reporting.thread.pool.size", 30),
     CONSUMER_RATE_LIMITER_REPORTING_THREAD_POOL_MONITORING("consumer.rate.limiter.reporting.thread.pool.monitoring", false),
     CONSUMER_RATE_LIMITER_HEARTBEAT_MODE_DELAY("consumer.rate.limiter.hearbeat.mode.delay", 60),
@@ -128,6 +157,10 @@ public enum Configs {
     CONSUMER_WORKLOAD_REBALANCE_INTERVAL("consumer.workload.rebalance.interval.seconds", 30),
     CONSUMER_WORKLOAD_CONSUMERS_PER_SUBSCRIPTION("consumer.workload.consumers.per.subscription", 2),
     CONSUMER_WORKLOAD_MAX_SUBSCRIPTIONS_PER_CONSUMER("consumer.workload.max.subscriptions.per.consumer", 200),
+    CONSUMER_WORKLOAD_WEIGHTED_BALANCING_ENABLED("consumer.workload.weighted.balancing.enabled", false),
+    CONSUMER_WORKLOAD_LOAD_RATE_UNIT("consumer.workload.load.rate.unit", 100.0),
+    CONSUMER_WORKLOAD_LOAD_INFLIGHT_UNIT("consumer.workload.load.inflight.unit", 100.0),
+    CONSUMER_WORKLOAD_LOAD_IMBALANCE_TOLERANCE("consumer.workload.load.imbalance.tolerance", 0.1),
     CONSUMER_WORKLOAD_ASSIGNMENT_PROCESSING_THREAD_POOL_SIZE("consumer.workload.assignment.processing.thread.pool.size", 5),
     CONSUMER_WORKLOAD_NODE_ID("consumer.workload.node.id",
             new InetAddressHostnameResolver().resolve().replaceAll("\\.", "_") + "$" + abs(randomUUID().getMostSignificantBits())),
@@ -145,6 +178,8 @@ public enum Configs {
 
     OAUTH_MISSING_SUBSCRIPTION_HANDLERS_CREATION_DELAY("oauth.missing.subscription.handlers.creation.delay", 10_000L),
     OAUTH_SUBSCRIPTION_TOKENS_CACHE_MAX_SIZE("oauth.subscription.tokens.cache.max.size", 1000L),
+    OAUTH_TOKEN_REFRESH_THREAD_POOL_SIZE("oauth.token.refresh.thread.pool.size", 2),
+    OAUTH_TOKEN_REFRESH_EXPIRES_IN_RATIO("oauth.token.refresh.expires.in.ratio", 0.8),
     OAUTH_PROVIDERS_TOKEN_REQUEST_RATE_LIMITER_RATE_REDUCTION_FACTOR(
             "oauth.providers.token.request.rate.limiter.rate.reduction.factor", 2.0),
 
@@ -171,6 +206,7 @@ public enum Configs {
     SCHEMA_CACHE_RELOAD_THREAD_POOL_SIZE("schema.cache.reload.thread.pool.size", 2),
     SCHEMA_CACHE_ENABLED("schema.cache.enabled", true),
     SCHEMA_CACHE_COMPILED_MAXIMUM_SIZE("schema.cache.compiled.maximum.size", 2000),
+    SCHEMA_JSON_STREAMING_VALIDATION_ENABLED("schema.json.streaming.validation.enabled", true),
     SCHEMA_REPOSITORY_TYPE("schema.repository.type", "zookeeper"),
     SCHEMA_REPOSITORY_SERVER_URL("schema.repository.serverUrl", "http://localhost:8888/schema-repo/"),
     SCHEMA_REPOSITORY_HTTP_READ_TIMEOUT_MS("schema.repository.http.read.timeout.ms", 2000),
@@ -1,6 +1,5 @@
 package pl.allegro.tech.hermes.common.di;
 
-import com.github.fge.jsonschema.main.JsonSchema;
 import com.yammer.metrics.core.HealthCheckRegistry;
 import org.apache.avro.Schema;
 import org.glassfish.hk2.api.TypeLiteral;
@@ -37,6 +36,7 @@ import pl.allegro.tech.hermes.common.metric.counter.zookeeper.ZookeeperCounterSt
 import pl.allegro.tech.hermes.common.util.HostnameResolver;
 import pl.allegro.tech.hermes.common.util.InetAddressHostnameResolver;
 import pl.allegro.tech.hermes.domain.notifications.InternalNotificationsBus;
+import pl.allegro.tech.hermes.domain.topic.schema.CompiledJsonSchema;
 import pl.allegro.tech.hermes.domain.topic.schema.CompiledSchemaRepository;
 import pl.allegro.tech.hermes.domain.topic.schema.SchemaRepository;
 import pl.allegro.tech.hermes.infrastructure.schema.AvroCompiledSchemaRepositoryFactory;
@@ -62,7 +62,7 @@ public class CommonBinder extends AbstractBinder {
         bindSingletonFactory(SchemaRepoClientFactory.class);
         bindSingletonFactory(SchemaVersionsRepositoryFactory.class);
         bindSingleton(SchemaRepository.class);
-        bindFactory(JsonCompiledSchemaRepositoryFactory.class).in(Singleton.class).to(new TypeLiteral<CompiledSchemaRepository<JsonSchema>>() {});
+        bindFactory(JsonCompiledSchemaRepositoryFactory.class).in(Singleton.class).to(new TypeLiteral<CompiledSchemaRepository<CompiledJsonSchema>>() {});
         bindFactory(AvroCompiledSchemaRepositoryFactory.class).in(Singleton.class).to(new TypeLiteral<CompiledSchemaRepository<Schema>>() {});
 
         bindSingleton(CuratorClientFactory.class);
@@ -6,7 +6,8 @@ public enum MessageMetadataHeaders {
     BATCH_ID("Hermes-Batch-Id"),
     TOPIC_NAME("Hermes-Topic-Name"),
     RETRY_COUNT("Hermes-Retry-Count"),
-    SCHEMA_VERSION("Hermes-Schema-Version");
+    SCHEMA_VERSION("Hermes-Schema-Version"),
+    PARTITION_KEY("Hermes-Partition-Key");
 
     private final String headerName;
 
@@ -1,6 +1,8 @@
 package pl.allegro.tech.hermes.common.metric;
 
+import static pl.allegro.tech.hermes.metrics.PathsCompiler.DESTINATION;
 import static pl.allegro.tech.hermes.metrics.PathsCompiler.GROUP;
+import static pl.allegro.tech.hermes.metrics.PathsCompiler.HTTP_CLIENT_NAME;
 import static pl.allegro.tech.hermes.metrics.PathsCompiler.SUBSCRIPTION;
 import static pl.allegro.tech.hermes.metrics.PathsCompiler.TOPIC;
 
@@ -12,10 +14,15 @@ public class Gauges {
             LEADER_CONFIRMS_BUFFER_TOTAL_BYTES = "leader-confirms-buffer-total-bytes",
             LEADER_CONFIRMS_BUFFER_AVAILABLE_BYTES = "leader-confirms-buffer-available-bytes",
             LEADER_CONFIRMS_COMPRESSION_RATE = "leader-confirms-compression-rate-avg",
+            PRODUCER_POOLS_PREFIX = "producer-pools",
             BATCH_BUFFER_TOTAL_BYTES = "batch-buffer-total-bytes",
             BATCH_BUFFER_AVAILABLE_BYTES = "batch-buffer-available-bytes",
             JMX_PREFIX = "jmx",
 
             THREADS = "threads",
-            OUTPUT_RATE = "output-rate." + GROUP + "." + TOPIC + "." + SUBSCRIPTION;
+            OUTPUT_RATE = "output-rate." + GROUP + "." + TOPIC + "." + SUBSCRIPTION,
+            INFLIGHT_LIMIT = "inflight-limit." + GROUP + "." + TOPIC + "." + SUBSCRIPTION,
+
+            HTTP_CLIENT_DESTINATION_QUEUE_DEPTH = "http-clients." + HTTP_CLIENT_NAME + "." + DESTINATION + ".queue-depth",
+            HTTP_CLIENT_DESTINATION_ACTIVE_REQUESTS = "http-clients." + HTTP_CLIENT_NAME + "." + DESTINATION + ".active-requests";
 }
\ No newline at end of file
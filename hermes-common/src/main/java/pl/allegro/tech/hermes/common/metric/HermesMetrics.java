@@ -4,6 +4,7 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import pl.allegro.tech.hermes.api.Subscription;
@@ -13,9 +14,12 @@ import pl.allegro.tech.hermes.metrics.PathContext;
 import pl.allegro.tech.hermes.metrics.PathsCompiler;
 
 import javax.inject.Inject;
+import java.util.Optional;
 
 import static pl.allegro.tech.hermes.common.metric.Gauges.EVERYONE_CONFIRMS_BUFFER_AVAILABLE_BYTES;
 import static pl.allegro.tech.hermes.common.metric.Gauges.EVERYONE_CONFIRMS_BUFFER_TOTAL_BYTES;
+import static pl.allegro.tech.hermes.common.metric.Gauges.HTTP_CLIENT_DESTINATION_ACTIVE_REQUESTS;
+import static pl.allegro.tech.hermes.common.metric.Gauges.HTTP_CLIENT_DESTINATION_QUEUE_DEPTH;
 import static pl.allegro.tech.hermes.common.metric.Gauges.LEADER_CONFIRMS_BUFFER_AVAILABLE_BYTES;
 import static pl.allegro.tech.hermes.common.metric.Gauges.LEADER_CONFIRMS_BUFFER_TOTAL_BYTES;
 import static pl.allegro.tech.hermes.common.metric.Timers.SUBSCRIPTION_LATENCY;
@@ -60,6 +64,11 @@ public class HermesMetrics {
         return metricRegistry.meter(metricRegistryName(metric, topicName, name));
     }
 
+    public Optional<Meter> existingMeter(String metric, TopicName topicName, String name) {
+        Metric meter = metricRegistry.getMetrics().get(metricRegistryName(metric, topicName, name));
+        return meter instanceof Meter ? Optional.of((Meter) meter) : Optional.empty();
+    }
+
     public Meter meter(String metric, TopicName topicName) {
         return metricRegistry.meter(metricRegistryName(metric, topicName));
     }
@@ -98,6 +107,34 @@ public class HermesMetrics {
         metricRegistry.remove(normalizedMetricName);
     }
 
+    public <T> void registerInflightLimitGauge(TopicName topicName, String name, Gauge<T> gauge) {
+        metricRegistry.register(metricRegistryName(Gauges.INFLIGHT_LIMIT, topicName, name), gauge);
+    }
+
+    public void unregisterInflightLimitGauge(TopicName topicName, String name) {
+        metricRegistry.remove(metricRegistryName(Gauges.INFLIGHT_LIMIT, topicName, name));
+    }
+
+    public void registerHttpClientDestinationGauges(String httpClientName, String destination,
+                                                    Gauge<Integer> queueDepth, Gauge<Integer> activeRequests) {
+        PathContext pathContext = httpClientDestinationPathContext(httpClientName, destination);
+        metricRegistry.register(pathCompiler.compile(HTTP_CLIENT_DESTINATION_QUEUE_DEPTH, pathContext), queueDepth);
+        metricRegistry.register(pathCompiler.compile(HTTP_CLIENT_DESTINATION_ACTIVE_REQUESTS, pathContext), activeRequests);
+    }
+
+    public void unregisterHttpClientDestinationGauges(String httpClientName, String destination) {
+        PathContext pathContext = httpClientDestinationPathContext(httpClientName, destination);
+        metricRegistry.remove(pathCompiler.compile(HTTP_CLIENT_DESTINATION_QUEUE_DEPTH, pathContext));
+        metricRegistry.remove(pathCompiler.compile(HTTP_CLIENT_DESTINATION_ACTIVE_REQUESTS, pathContext));
+    }
+
+    private PathContext httpClientDestinationPathContext(String httpClientName, String destination) {
+        return pathContext()
+                .withHttpClientName(escapeDots(httpClientName))
+                .withDestination(escapeDots(destination))
+                .build();
+    }
+
     public ConsumerLatencyTimer latencyTimer(Subscription subscription) {
         return new ConsumerLatencyTimer(this, subscription.getTopicName(), subscription.getName());
     }
@@ -0,0 +1,52 @@
+package pl.allegro.tech.hermes.domain.topic.schema;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JSON schema ready to validate messages. When schema could be compiled into streaming validator, messages are checked
+ * without building their tree; otherwise they are parsed into tree and checked by the generic validator.
+ */
+public class CompiledJsonSchema {
+
+    private final JsonSchema schema;
+    private final Optional<StreamingJsonSchema> streamingSchema;
+    private final ObjectMapper objectMapper;
+
+    CompiledJsonSchema(JsonSchema schema, Optional<StreamingJsonSchema> streamingSchema, ObjectMapper objectMapper) {
+        this.schema = schema;
+        this.streamingSchema = streamingSchema;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return validation errors, empty when message matches the schema
+     * @throws IOException when message is not a correct JSON
+     */
+    public List<String> validate(byte[] message) throws IOException {
+        if (streamingSchema.isPresent()) {
+            try (JsonParser parser = objectMapper.getFactory().createParser(message)) {
+                return streamingSchema.get().validate(parser);
+            }
+        }
+        ProcessingReport report = schema.validateUnchecked(objectMapper.readTree(message));
+        List<String> errors = new ArrayList<>();
+        report.forEach(processingMessage -> errors.add(processingMessage.getMessage()));
+        return errors;
+    }
+
+    public boolean isStreaming() {
+        return streamingSchema.isPresent();
+    }
+
+    public JsonSchema getJsonSchema() {
+        return schema;
+    }
+}
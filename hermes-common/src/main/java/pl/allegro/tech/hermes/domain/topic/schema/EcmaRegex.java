@@ -0,0 +1,97 @@
+package pl.allegro.tech.hermes.domain.topic.schema;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.Optional.empty;
+
+/**
+ * Translates ECMA 262 regular expression of JSON schema {@code pattern} keyword into {@link Pattern} which matches
+ * the same strings. Constructs which mean something else in Java are rewritten: {@code $} matches only at the end of
+ * input, {@code .} does not skip next line character, {@code \s} includes Unicode spaces and {@code \v} is a single
+ * character. Expressions which use constructs unknown to ECMA 262 or behaving differently in Java - lookbehind,
+ * named groups, inline flags, possessive quantifiers, nested classes, {@code \p}, {@code \b} and other escapes - are
+ * not translated, so the schema is validated by the generic validator. Characters outside the Basic Multilingual
+ * Plane are still matched as whole code points, while ECMA 262 sees them as pairs of surrogates.
+ */
+final class EcmaRegex {
+
+    private static final String SAFE_ESCAPES = "dDwWtnrfcxu";
+    private static final String WHITESPACE = "\\s\\u00a0\\u1680\\u2000-\\u200a\\u2028\\u2029\\u202f\\u205f\\u3000\\ufeff";
+    private static final String ANY_BUT_LINE_TERMINATOR = "[^\\n\\r\\u2028\\u2029]";
+
+    private EcmaRegex() {
+    }
+
+    static Optional<Pattern> compile(String regex) {
+        StringBuilder java = new StringBuilder(regex.length() + 16);
+        boolean inClass = false;
+        boolean quantified = false;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == regex.length()) {
+                    return empty();
+                }
+                char escaped = regex.charAt(i + 1);
+                if (escaped == 's') {
+                    java.append(inClass ? WHITESPACE : "[" + WHITESPACE + "]");
+                } else if (escaped == 'S' && !inClass) {
+                    java.append("[^").append(WHITESPACE).append("]");
+                } else if (escaped == 'v') {
+                    java.append("\\x0B");
+                } else if (Character.isLetter(escaped) && SAFE_ESCAPES.indexOf(escaped) < 0) {
+                    return empty();
+                } else {
+                    java.append(c).append(escaped);
+                }
+                quantified = false;
+                i += 2;
+                continue;
+            }
+            if (inClass) {
+                if (c == '[' || (c == '&' && regex.startsWith("&&", i))) {
+                    return empty();
+                }
+                inClass = c != ']';
+                java.append(c);
+            } else if (c == '[') {
+                // "[]" matches nothing and "[^]" anything in ECMA 262, while Java reads such "]" as a literal
+                int first = regex.startsWith("^", i + 1) ? i + 2 : i + 1;
+                if (first < regex.length() && regex.charAt(first) == ']') {
+                    return empty();
+                }
+                java.append(regex, i, first);
+                inClass = true;
+                quantified = false;
+                i = first;
+                continue;
+            } else if (c == '(' && regex.startsWith("?", i + 1)) {
+                if (!regex.startsWith("?:", i + 1) && !regex.startsWith("?=", i + 1) && !regex.startsWith("?!", i + 1)) {
+                    return empty();
+                }
+                java.append(regex, i, i + 3);
+                quantified = false;
+                i += 3;
+                continue;
+            } else if (c == '+' && quantified) {
+                return empty();
+            } else if (c == '$') {
+                java.append("\\z");
+            } else if (c == '.') {
+                java.append(ANY_BUT_LINE_TERMINATOR);
+            } else {
+                java.append(c);
+            }
+            quantified = !inClass && (c == '*' || c == '+' || c == '?' || c == '}');
+            i++;
+        }
+        try {
+            return Optional.of(Pattern.compile(java.toString()));
+        } catch (PatternSyntaxException e) {
+            return empty();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pl.allegro.tech.hermes.domain.topic.schema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.main.JsonSchema;
@@ -7,6 +8,7 @@ import com.github.fge.jsonschema.main.JsonSchemaFactory;
 import org.apache.avro.Schema;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public interface SchemaCompilersFactory {
 
@@ -14,11 +16,19 @@ public interface SchemaCompilersFactory {
         return source -> new Schema.Parser().parse(source.value());
     }
 
-    static SchemaCompiler<JsonSchema> jsonSchemaCompiler(ObjectMapper objectMapper) {
+    static SchemaCompiler<CompiledJsonSchema> jsonSchemaCompiler(ObjectMapper objectMapper) {
+        return jsonSchemaCompiler(objectMapper, true);
+    }
+
+    static SchemaCompiler<CompiledJsonSchema> jsonSchemaCompiler(ObjectMapper objectMapper, boolean streamingValidationEnabled) {
         JsonSchemaFactory jsonSchemaFactory = JsonSchemaFactory.byDefault();
         return source -> {
             try {
-                return jsonSchemaFactory.getJsonSchema(objectMapper.readTree(source.value()));
+                JsonNode schema = objectMapper.readTree(source.value());
+                JsonSchema jsonSchema = jsonSchemaFactory.getJsonSchema(schema);
+                Optional<StreamingJsonSchema> streamingSchema = streamingValidationEnabled
+                        ? StreamingJsonSchema.compile(schema) : Optional.empty();
+                return new CompiledJsonSchema(jsonSchema, streamingSchema, objectMapper);
             } catch (IOException | ProcessingException e) {
                 throw new CouldNotCompileSchemaException(e);
             }
@@ -1,6 +1,5 @@
 package pl.allegro.tech.hermes.domain.topic.schema;
 
-import com.github.fge.jsonschema.main.JsonSchema;
 import org.apache.avro.Schema;
 import pl.allegro.tech.hermes.api.Topic;
 import pl.allegro.tech.hermes.common.message.AvroSchemaSource;
@@ -13,12 +12,12 @@ public class SchemaRepository implements AvroSchemaSource {
 
     private final SchemaVersionsRepository schemaVersionsRepository;
     private final CompiledSchemaRepository<Schema> avroSchemaRepository;
-    private final CompiledSchemaRepository<JsonSchema> jsonSchemaRepository;
+    private final CompiledSchemaRepository<CompiledJsonSchema> jsonSchemaRepository;
 
     @Inject
     public SchemaRepository(SchemaVersionsRepository schemaVersionsRepository,
                             CompiledSchemaRepository<Schema> avroSchemaRepository,
-                            CompiledSchemaRepository<JsonSchema> jsonSchemaRepository) {
+                            CompiledSchemaRepository<CompiledJsonSchema> jsonSchemaRepository) {
         this.schemaVersionsRepository = schemaVersionsRepository;
         this.avroSchemaRepository = avroSchemaRepository;
         this.jsonSchemaRepository = jsonSchemaRepository;
@@ -32,11 +31,11 @@ public class SchemaRepository implements AvroSchemaSource {
         return getSchema(topic, version, avroSchemaRepository);
     }
 
-    public CompiledSchema<JsonSchema> getJsonSchema(Topic topic) {
+    public CompiledSchema<CompiledJsonSchema> getJsonSchema(Topic topic) {
         return getSchema(topic, jsonSchemaRepository);
     }
 
-    public CompiledSchema<JsonSchema> getJsonSchema(Topic topic, SchemaVersion version) {
+    public CompiledSchema<CompiledJsonSchema> getJsonSchema(Topic topic, SchemaVersion version) {
         return getSchema(topic, version, jsonSchemaRepository);
     }
 
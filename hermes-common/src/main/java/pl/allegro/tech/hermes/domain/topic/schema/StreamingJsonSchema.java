@@ -0,0 +1,456 @@
+package pl.allegro.tech.hermes.domain.topic.schema;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.Optional.empty;
+
+/**
+ * JSON schema compiled into validator, which checks message in a single pass over the streaming parser, without
+ * building the tree of the message. Only the commonly used subset of draft 4 keywords is supported - schemas which
+ * use anything else, like references, combinators or formats, are not compiled and have to be validated by the
+ * generic validator.
+ */
+class StreamingJsonSchema {
+
+    private static final Set<String> ANNOTATIONS = ImmutableSet.of("$schema", "id", "title", "description", "default");
+
+    private static final Set<String> KEYWORDS = ImmutableSet.of("type", "properties", "required", "additionalProperties",
+            "items", "minItems", "maxItems", "minProperties", "maxProperties", "enum", "minimum", "maximum",
+            "exclusiveMinimum", "exclusiveMaximum", "minLength", "maxLength", "pattern");
+
+    private final Node root;
+
+    private StreamingJsonSchema(Node root) {
+        this.root = root;
+    }
+
+    static Optional<StreamingJsonSchema> compile(JsonNode schema) {
+        return compileNode(schema).map(StreamingJsonSchema::new);
+    }
+
+    List<String> validate(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            throw new JsonParseException("No content to validate", parser.getCurrentLocation());
+        }
+        List<String> errors = new ArrayList<>();
+        root.validate(parser, Pointer.ROOT, errors);
+        return errors;
+    }
+
+    private static Optional<Node> compileNode(JsonNode schema) {
+        if (!schema.isObject()) {
+            return empty();
+        }
+        Node node = new Node();
+        Iterator<Map.Entry<String, JsonNode>> fields = schema.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (ANNOTATIONS.contains(field.getKey())) {
+                continue;
+            }
+            if (!KEYWORDS.contains(field.getKey()) || !compileKeyword(node, field.getKey(), field.getValue())) {
+                return empty();
+            }
+        }
+        return Optional.of(node);
+    }
+
+    private static boolean compileKeyword(Node node, String keyword, JsonNode value) {
+        switch (keyword) {
+            case "type":
+                return compileType(node, value);
+            case "properties":
+                return compileProperties(node, value);
+            case "required":
+                return compileRequired(node, value);
+            case "additionalProperties":
+                return compileAdditionalProperties(node, value);
+            case "items":
+                Optional<Node> items = compileNode(value);
+                items.ifPresent(compiled -> node.items = compiled);
+                return items.isPresent();
+            case "enum":
+                return compileEnum(node, value);
+            case "pattern":
+                return compilePattern(node, value);
+            case "minimum":
+                node.minimum = value.isNumber() ? value.decimalValue() : null;
+                return value.isNumber();
+            case "maximum":
+                node.maximum = value.isNumber() ? value.decimalValue() : null;
+                return value.isNumber();
+            case "exclusiveMinimum":
+                node.exclusiveMinimum = value.asBoolean();
+                return value.isBoolean();
+            case "exclusiveMaximum":
+                node.exclusiveMaximum = value.asBoolean();
+                return value.isBoolean();
+            case "minItems":
+                node.minItems = value.asInt();
+                return value.canConvertToInt();
+            case "maxItems":
+                node.maxItems = value.asInt();
+                return value.canConvertToInt();
+            case "minProperties":
+                node.minProperties = value.asInt();
+                return value.canConvertToInt();
+            case "maxProperties":
+                node.maxProperties = value.asInt();
+                return value.canConvertToInt();
+            case "minLength":
+                node.minLength = value.asInt();
+                return value.canConvertToInt();
+            case "maxLength":
+                node.maxLength = value.asInt();
+                return value.canConvertToInt();
+            default:
+                return false;
+        }
+    }
+
+    private static boolean compileType(Node node, JsonNode value) {
+        List<JsonNode> names = new ArrayList<>();
+        if (value.isArray()) {
+            value.forEach(names::add);
+        } else {
+            names.add(value);
+        }
+        EnumSet<Type> types = EnumSet.noneOf(Type.class);
+        for (JsonNode name : names) {
+            Optional<Type> type = Type.byName(name.asText());
+            if (!name.isTextual() || !type.isPresent()) {
+                return false;
+            }
+            types.add(type.get());
+        }
+        node.types = types;
+        return true;
+    }
+
+    private static boolean compileProperties(Node node, JsonNode value) {
+        if (!value.isObject()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, JsonNode>> properties = value.fields();
+        while (properties.hasNext()) {
+            Map.Entry<String, JsonNode> property = properties.next();
+            Optional<Node> compiled = compileNode(property.getValue());
+            if (!compiled.isPresent()) {
+                return false;
+            }
+            node.properties.put(property.getKey(), compiled.get());
+        }
+        return true;
+    }
+
+    private static boolean compileRequired(Node node, JsonNode value) {
+        if (!value.isArray()) {
+            return false;
+        }
+        for (JsonNode name : value) {
+            if (!name.isTextual()) {
+                return false;
+            }
+            node.required.add(name.asText());
+        }
+        return true;
+    }
+
+    private static boolean compileAdditionalProperties(Node node, JsonNode value) {
+        if (value.isBoolean()) {
+            node.additionalPropertiesAllowed = value.asBoolean();
+            return true;
+        }
+        Optional<Node> compiled = compileNode(value);
+        compiled.ifPresent(additional -> node.additionalProperties = additional);
+        return compiled.isPresent();
+    }
+
+    private static boolean compileEnum(Node node, JsonNode value) {
+        if (!value.isArray() || value.size() == 0) {
+            return false;
+        }
+        List<JsonNode> values = new ArrayList<>();
+        for (JsonNode element : value) {
+            if (element.isContainerNode()) {
+                return false;
+            }
+            values.add(element);
+        }
+        node.enumValues = values;
+        return true;
+    }
+
+    private static boolean compilePattern(Node node, JsonNode value) {
+        if (!value.isTextual()) {
+            return false;
+        }
+        Optional<Pattern> pattern = EcmaRegex.compile(value.asText());
+        pattern.ifPresent(compiled -> {
+            node.pattern = compiled;
+            node.patternSource = value.asText();
+        });
+        return pattern.isPresent();
+    }
+
+    private enum Type {
+        OBJECT("object"), ARRAY("array"), STRING("string"), INTEGER("integer"), NUMBER("number"), BOOLEAN("boolean"),
+        NULL("null");
+
+        private final String name;
+
+        Type(String name) {
+            this.name = name;
+        }
+
+        static Optional<Type> byName(String name) {
+            for (Type type : values()) {
+                if (type.name.equals(name)) {
+                    return Optional.of(type);
+                }
+            }
+            return empty();
+        }
+
+        static Type of(JsonToken token) {
+            switch (token) {
+                case START_OBJECT: return OBJECT;
+                case START_ARRAY: return ARRAY;
+                case VALUE_STRING: return STRING;
+                case VALUE_NUMBER_INT: return INTEGER;
+                case VALUE_NUMBER_FLOAT: return NUMBER;
+                case VALUE_TRUE:
+                case VALUE_FALSE: return BOOLEAN;
+                case VALUE_NULL: return NULL;
+                default: throw new IllegalStateException("Unexpected token " + token);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class Node {
+
+        private EnumSet<Type> types;
+        private final Map<String, Node> properties = new HashMap<>();
+        private final List<String> required = new ArrayList<>();
+        private boolean additionalPropertiesAllowed = true;
+        private Node additionalProperties;
+        private Node items;
+        private List<JsonNode> enumValues;
+        private Pattern pattern;
+        private String patternSource;
+        private BigDecimal minimum;
+        private BigDecimal maximum;
+        private boolean exclusiveMinimum;
+        private boolean exclusiveMaximum;
+        private Integer minItems;
+        private Integer maxItems;
+        private Integer minProperties;
+        private Integer maxProperties;
+        private Integer minLength;
+        private Integer maxLength;
+
+        void validate(JsonParser parser, Pointer pointer, List<String> errors) throws IOException {
+            Type type = Type.of(parser.getCurrentToken());
+            if (types != null && !types.contains(type) && !(type == Type.INTEGER && types.contains(Type.NUMBER))) {
+                errors.add(pointer.describe(String.format(
+                        "instance type (%s) does not match any allowed primitive type (allowed: %s)", type, types)));
+                parser.skipChildren();
+                return;
+            }
+            if (enumValues != null && (type == Type.OBJECT || type == Type.ARRAY)) {
+                errors.add(pointer.describe(String.format(
+                        "instance value (%s) not found in enum (possible values: %s)", type, enumValues)));
+                parser.skipChildren();
+                return;
+            }
+            switch (type) {
+                case OBJECT:
+                    validateObject(parser, pointer, errors);
+                    break;
+                case ARRAY:
+                    validateArray(parser, pointer, errors);
+                    break;
+                case STRING:
+                    validateString(parser.getText(), pointer, errors);
+                    break;
+                case INTEGER:
+                case NUMBER:
+                    validateNumber(parser, pointer, errors);
+                    break;
+                default:
+                    validateEnum(parser, pointer, errors);
+            }
+        }
+
+        private void validateObject(JsonParser parser, Pointer pointer, List<String> errors) throws IOException {
+            Set<String> missing = required.isEmpty() ? Collections.emptySet() : new HashSet<>(required);
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                count++;
+                if (!missing.isEmpty()) {
+                    missing.remove(field);
+                }
+                Node property = properties.get(field);
+                if (property == null && !additionalPropertiesAllowed) {
+                    errors.add(pointer.describe(String.format(
+                            "object instance has property \"%s\" which is not allowed by the schema", field)));
+                    parser.skipChildren();
+                } else if (property == null && additionalProperties == null) {
+                    parser.skipChildren();
+                } else {
+                    (property != null ? property : additionalProperties).validate(parser, pointer.child(field), errors);
+                }
+            }
+            if (!missing.isEmpty()) {
+                List<String> sorted = new ArrayList<>(missing);
+                Collections.sort(sorted);
+                errors.add(pointer.describe(String.format(
+                        "object has missing required properties (%s)", sorted)));
+            }
+            if (minProperties != null && count < minProperties) {
+                errors.add(pointer.describe(String.format(
+                        "object has too few properties (found %d but schema requires at least %d)", count, minProperties)));
+            }
+            if (maxProperties != null && count > maxProperties) {
+                errors.add(pointer.describe(String.format(
+                        "object has too many properties (found %d but schema requires at most %d)", count, maxProperties)));
+            }
+        }
+
+        private void validateArray(JsonParser parser, Pointer pointer, List<String> errors) throws IOException {
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (items != null) {
+                    items.validate(parser, pointer.child(Integer.toString(count)), errors);
+                } else {
+                    parser.skipChildren();
+                }
+                count++;
+            }
+            if (minItems != null && count < minItems) {
+                errors.add(pointer.describe(String.format(
+                        "array is too short: must have at least %d elements but instance has %d elements", minItems, count)));
+            }
+            if (maxItems != null && count > maxItems) {
+                errors.add(pointer.describe(String.format(
+                        "array is too long: must have at most %d elements but instance has %d elements", maxItems, count)));
+            }
+        }
+
+        private void validateString(String value, Pointer pointer, List<String> errors) {
+            if (minLength != null || maxLength != null) {
+                int length = value.codePointCount(0, value.length());
+                if (minLength != null && length < minLength) {
+                    errors.add(pointer.describe(String.format(
+                            "string \"%s\" is too short (length: %d, required minimum: %d)", value, length, minLength)));
+                }
+                if (maxLength != null && length > maxLength) {
+                    errors.add(pointer.describe(String.format(
+                            "string \"%s\" is too long (length: %d, maximum allowed: %d)", value, length, maxLength)));
+                }
+            }
+            if (pattern != null && !pattern.matcher(value).find()) {
+                errors.add(pointer.describe(String.format(
+                        "ECMA 262 regex \"%s\" does not match input string \"%s\"", patternSource, value)));
+            }
+            if (enumValues != null && enumValues.stream().noneMatch(element -> element.isTextual() && element.asText().equals(value))) {
+                errors.add(pointer.describe(String.format(
+                        "instance value (\"%s\") not found in enum (possible values: %s)", value, enumValues)));
+            }
+        }
+
+        private void validateNumber(JsonParser parser, Pointer pointer, List<String> errors) throws IOException {
+            if (minimum == null && maximum == null && enumValues == null) {
+                return;
+            }
+            BigDecimal value = parser.getDecimalValue();
+            if (minimum != null) {
+                int comparison = value.compareTo(minimum);
+                if (comparison < 0 || (exclusiveMinimum && comparison == 0)) {
+                    errors.add(pointer.describe(String.format(
+                            "numeric instance is lower than the required minimum (minimum: %s, found: %s)", minimum, value)));
+                }
+            }
+            if (maximum != null) {
+                int comparison = value.compareTo(maximum);
+                if (comparison > 0 || (exclusiveMaximum && comparison == 0)) {
+                    errors.add(pointer.describe(String.format(
+                            "numeric instance is greater than the required maximum (maximum: %s, found: %s)", maximum, value)));
+                }
+            }
+            if (enumValues != null && enumValues.stream().noneMatch(element -> element.isNumber() && element.decimalValue().compareTo(value) == 0)) {
+                errors.add(pointer.describe(String.format(
+                        "instance value (%s) not found in enum (possible values: %s)", value, enumValues)));
+            }
+        }
+
+        private void validateEnum(JsonParser parser, Pointer pointer, List<String> errors) throws IOException {
+            if (enumValues == null) {
+                return;
+            }
+            JsonToken token = parser.getCurrentToken();
+            boolean found = enumValues.stream().anyMatch(element ->
+                    (token == JsonToken.VALUE_NULL && element.isNull())
+                            || (token == JsonToken.VALUE_TRUE && element.isBoolean() && element.asBoolean())
+                            || (token == JsonToken.VALUE_FALSE && element.isBoolean() && !element.asBoolean()));
+            if (!found) {
+                errors.add(pointer.describe(String.format(
+                        "instance value (%s) not found in enum (possible values: %s)", parser.getText(), enumValues)));
+            }
+        }
+    }
+
+    /**
+     * JSON pointer of validated value, which is built into text only when validation fails.
+     */
+    private static class Pointer {
+
+        private static final Pointer ROOT = new Pointer(null, null);
+
+        private final Pointer parent;
+        private final String token;
+
+        private Pointer(Pointer parent, String token) {
+            this.parent = parent;
+            this.token = token;
+        }
+
+        Pointer child(String token) {
+            return new Pointer(this, token);
+        }
+
+        String describe(String message) {
+            return this == ROOT ? message : toString() + ": " + message;
+        }
+
+        @Override
+        public String toString() {
+            return parent == null ? "" : parent.toString() + "/" + token.replace("~", "~0").replace("/", "~1");
+        }
+    }
+}
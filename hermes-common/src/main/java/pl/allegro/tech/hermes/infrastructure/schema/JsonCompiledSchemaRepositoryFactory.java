@@ -1,7 +1,6 @@
 package pl.allegro.tech.hermes.infrastructure.schema;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.fge.jsonschema.main.JsonSchema;
 import org.glassfish.hk2.api.Factory;
 import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.config.Configs;
@@ -9,7 +8,7 @@ import pl.allegro.tech.hermes.domain.topic.schema.*;
 
 import javax.inject.Inject;
 
-public class JsonCompiledSchemaRepositoryFactory implements Factory<CompiledSchemaRepository<JsonSchema>> {
+public class JsonCompiledSchemaRepositoryFactory implements Factory<CompiledSchemaRepository<CompiledJsonSchema>> {
 
     private final SchemaSourceProvider schemaSourceProvider;
     private final ConfigFactory configFactory;
@@ -23,15 +22,16 @@ public class JsonCompiledSchemaRepositoryFactory implements Factory<CompiledSche
     }
 
     @Override
-    public CompiledSchemaRepository<JsonSchema> provide() {
+    public CompiledSchemaRepository<CompiledJsonSchema> provide() {
         return new CachedCompiledSchemaRepository<>(
-                new DirectCompiledSchemaRepository<>(schemaSourceProvider, SchemaCompilersFactory.jsonSchemaCompiler(objectMapper)),
+                new DirectCompiledSchemaRepository<>(schemaSourceProvider, SchemaCompilersFactory.jsonSchemaCompiler(objectMapper,
+                        configFactory.getBooleanProperty(Configs.SCHEMA_JSON_STREAMING_VALIDATION_ENABLED))),
                 configFactory.getIntProperty(Configs.SCHEMA_CACHE_COMPILED_MAXIMUM_SIZE),
                 configFactory.getIntProperty(Configs.SCHEMA_CACHE_COMPILED_EXPIRE_AFTER_ACCESS_MINUTES));
     }
 
     @Override
-    public void dispose(CompiledSchemaRepository<JsonSchema> instance) {
+    public void dispose(CompiledSchemaRepository<CompiledJsonSchema> instance) {
 
     }
 }
@@ -0,0 +1,42 @@
+package pl.allegro.tech.hermes.infrastructure.zookeeper.counter;
+
+import com.google.common.primitives.Longs;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.zookeeper.KeeperException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reads values of many counter nodes at once. ZooKeeper has no multi-read, so reads are sent in background without
+ * waiting for each other and ZooKeeper answers them over the same session in about one round trip. Nodes which do not
+ * exist or hold no value are left out of the result.
+ */
+class CounterBatchReader {
+
+    private CounterBatchReader() {
+    }
+
+    static Map<String, Long> readValues(CuratorFramework curatorClient, Collection<String> paths) throws Exception {
+        Map<String, Long> values = new ConcurrentHashMap<>();
+        CountDownLatch pending = new CountDownLatch(paths.size());
+        for (String path : paths) {
+            curatorClient.getData().inBackground((client, event) -> {
+                byte[] data = event.getData();
+                if (event.getResultCode() == KeeperException.Code.OK.intValue() && data != null && data.length == Longs.BYTES) {
+                    values.put(path, Longs.fromByteArray(data));
+                }
+                pending.countDown();
+            }).forPath(path);
+        }
+        int timeoutMillis = curatorClient.getZookeeperClient().getConnectionTimeoutMs();
+        if (!pending.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("Counters were not read within " + timeoutMillis + " ms");
+        }
+        return values;
+    }
+}
@@ -7,6 +7,12 @@ import org.apache.zookeeper.KeeperException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class DistributedEphemeralCounter {
 
     private static final Logger logger = LoggerFactory.getLogger(DistributedEphemeralCounter.class);
@@ -56,6 +62,35 @@ public class DistributedEphemeralCounter {
         }
     }
 
+    /**
+     * Sums values of many counters at once: children of {@code basePath} are listed once and all counter nodes are read
+     * in about one ZooKeeper round trip, instead of listing and reading them separately for every counter.
+     *
+     * @return sum of counter values for each of given children paths
+     */
+    public Map<String, Long> getValues(String basePath, Collection<String> childrenPaths) {
+        Map<String, Long> sums = new HashMap<>();
+        childrenPaths.forEach(childrenPath -> sums.put(childrenPath, 0L));
+        try {
+            List<String> children = curatorClient.getChildren().forPath(basePath);
+            List<String> paths = new ArrayList<>(children.size() * childrenPaths.size());
+            for (String child : children) {
+                for (String childrenPath : childrenPaths) {
+                    paths.add(basePath + "/" + child + childrenPath);
+                }
+            }
+            Map<String, Long> values = CounterBatchReader.readValues(curatorClient, paths);
+            for (String child : children) {
+                for (String childrenPath : childrenPaths) {
+                    sums.merge(childrenPath, values.getOrDefault(basePath + "/" + child + childrenPath, 0L), Long::sum);
+                }
+            }
+        } catch (Exception e) {
+            logger.error(String.format("Error while reading values of %d counters under path %s", childrenPaths.size(), basePath), e);
+        }
+        return sums;
+    }
+
     private void ensureCounterExists(String path) {
         try {
             if (curatorClient.checkExists().creatingParentContainersIfNeeded().forPath(path) == null) {
@@ -8,14 +8,20 @@ import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.recipes.atomic.DistributedAtomicLong;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class SharedCounter {
 
     private final LoadingCache<String, DistributedAtomicLong> distributedAtomicLongs;
 
+    private final CuratorFramework curatorClient;
+
     public SharedCounter(CuratorFramework curatorClient, int expireAfter,
                          int distributedLoaderBackoff, int distributedLoaderRetries) {
+        this.curatorClient = curatorClient;
         distributedAtomicLongs = CacheBuilder.newBuilder()
                 .expireAfterAccess(expireAfter, TimeUnit.HOURS)
                 .build(new DistributedAtomicLongLoader(
@@ -40,6 +46,20 @@ public class SharedCounter {
         }
     }
 
+    /**
+     * Reads many counters in about one ZooKeeper round trip. Counters which do not exist yet are read as 0.
+     */
+    public Map<String, Long> getValues(Collection<String> paths) {
+        try {
+            Map<String, Long> stored = CounterBatchReader.readValues(curatorClient, paths);
+            Map<String, Long> values = new HashMap<>();
+            paths.forEach(path -> values.put(path, stored.getOrDefault(path, 0L)));
+            return values;
+        } catch (Exception e) {
+            throw new ZookeeperCounterException(paths.size() + " paths", e);
+        }
+    }
+
     private static final class DistributedAtomicLongLoader extends CacheLoader<String, DistributedAtomicLong> {
 
         private final CuratorFramework client;
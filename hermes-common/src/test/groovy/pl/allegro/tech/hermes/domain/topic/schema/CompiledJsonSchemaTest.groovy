@@ -0,0 +1,136 @@
+package pl.allegro.tech.hermes.domain.topic.schema
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import pl.allegro.tech.hermes.api.SchemaSource
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CompiledJsonSchemaTest extends Specification {
+
+    static final String ORDER_SCHEMA = '''{
+        "$schema": "http://json-schema.org/draft-04/schema#",
+        "type": "object",
+        "properties": {
+            "id": {"type": "integer", "minimum": 1},
+            "status": {"enum": ["NEW", "PAID"]},
+            "customer": {
+                "type": "object",
+                "properties": {"email": {"type": "string", "pattern": "@", "maxLength": 20}},
+                "required": ["email"]
+            },
+            "items": {"type": "array", "minItems": 1, "items": {"type": ["number", "null"], "maximum": 100}},
+            "gift": {"type": "boolean"}
+        },
+        "required": ["id", "status"],
+        "additionalProperties": false
+    }'''
+
+    def objectMapper = new ObjectMapper()
+    def streamingCompiler = SchemaCompilersFactory.jsonSchemaCompiler(objectMapper, true)
+    def genericCompiler = SchemaCompilersFactory.jsonSchemaCompiler(objectMapper, false)
+
+    @Unroll
+    def "should validate #message the same way as generic validator"() {
+        given:
+        def streaming = streamingCompiler.compile(SchemaSource.valueOf(ORDER_SCHEMA))
+        def generic = genericCompiler.compile(SchemaSource.valueOf(ORDER_SCHEMA))
+
+        expect:
+        streaming.isStreaming()
+        streaming.validate(message.bytes).isEmpty() == valid
+        generic.validate(message.bytes).isEmpty() == valid
+
+        where:
+        message                                                                              || valid
+        '{"id": 1, "status": "NEW"}'                                                         || true
+        '{"id": 1, "status": "PAID", "gift": true, "items": [1, 2.5, null]}'                 || true
+        '{"id": 1, "status": "NEW", "customer": {"email": "a@b.pl", "name": {"x": [1]}}}'    || true
+        '{"id": "1", "status": "NEW"}'                                                       || false
+        '{"id": 1.5, "status": "NEW"}'                                                       || false
+        '{"id": 0, "status": "NEW"}'                                                         || false
+        '{"id": 1}'                                                                          || false
+        '{"id": 1, "status": "SENT"}'                                                        || false
+        '{"id": 1, "status": "NEW", "other": 1}'                                             || false
+        '{"id": 1, "status": "NEW", "customer": {}}'                                         || false
+        '{"id": 1, "status": "NEW", "customer": {"email": "no-at-sign"}}'                    || false
+        '{"id": 1, "status": "NEW", "customer": {"email": "very-long-address@example.com"}}' || false
+        '{"id": 1, "status": "NEW", "items": []}'                                            || false
+        '{"id": 1, "status": "NEW", "items": [101]}'                                         || false
+        '{"id": 1, "status": "NEW", "items": ["1"]}'                                         || false
+        '[{"id": 1, "status": "NEW"}]'                                                       || false
+    }
+
+    @Unroll
+    def "should match pattern #pattern against #value the same way as generic validator"() {
+        given:
+        String schema = '{"type": "string", "pattern": ' + objectMapper.writeValueAsString(pattern) + '}'
+        String message = objectMapper.writeValueAsString(value)
+        def streaming = streamingCompiler.compile(SchemaSource.valueOf(schema))
+        def generic = genericCompiler.compile(SchemaSource.valueOf(schema))
+
+        expect:
+        streaming.isStreaming()
+        streaming.validate(message.bytes).isEmpty() == valid
+        generic.validate(message.bytes).isEmpty() == valid
+
+        where:
+        pattern         | value       || valid
+        '^[a-z]+$'      | 'abc'       || true
+        '^[a-z]+$'      | 'abc\n'     || false
+        '^a.c$'         | 'a\u0085c'  || true
+        '^\\s$'         | '\u00a0'    || true
+        '^\\d{2}-\\w+$' | '12-ab'     || true
+    }
+
+    @Unroll
+    def "should fall back to generic validator for pattern #pattern"() {
+        given:
+        String schema = '{"type": "string", "pattern": ' + objectMapper.writeValueAsString(pattern) + '}'
+
+        expect:
+        !streamingCompiler.compile(SchemaSource.valueOf(schema)).isStreaming()
+
+        where:
+        pattern << ['(?<=a)b', 'a*+', '\\p{L}', '(?i)abc', '[a-z&&[^c]]', '\\bword']
+    }
+
+    def "should point to invalid value in error"() {
+        given:
+        def schema = streamingCompiler.compile(SchemaSource.valueOf(ORDER_SCHEMA))
+
+        when:
+        def errors = schema.validate('{"id": 1, "status": "NEW", "items": [1, "x"]}'.bytes)
+
+        then:
+        errors.size() == 1
+        errors[0].startsWith('/items/1: instance type (string)')
+    }
+
+    @Unroll
+    def "should fall back to generic validator for schema using #keyword"() {
+        when:
+        def compiled = streamingCompiler.compile(SchemaSource.valueOf(schema))
+
+        then:
+        !compiled.isStreaming()
+
+        where:
+        keyword          | schema
+        '$ref'           | '{"definitions": {"id": {"type": "integer"}}, "properties": {"id": {"$ref": "#/definitions/id"}}}'
+        'oneOf'          | '{"oneOf": [{"type": "integer"}, {"type": "string"}]}'
+        'format'         | '{"type": "string", "format": "date-time"}'
+        'tuple items'    | '{"type": "array", "items": [{"type": "integer"}]}'
+        'unknown keyword'| '{"type": "object", "custom": true}'
+    }
+
+    def "should fail on malformed message"() {
+        given:
+        def schema = streamingCompiler.compile(SchemaSource.valueOf(ORDER_SCHEMA))
+
+        when:
+        schema.validate('{"id": 1, "status": '.bytes)
+
+        then:
+        thrown IOException
+    }
+}
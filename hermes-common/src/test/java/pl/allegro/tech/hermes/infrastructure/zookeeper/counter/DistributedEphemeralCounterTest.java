@@ -4,6 +4,9 @@ import org.apache.curator.framework.CuratorFramework;
 import org.junit.Test;
 import pl.allegro.tech.hermes.test.helper.zookeeper.ZookeeperBaseTest;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class DistributedEphemeralCounterTest extends ZookeeperBaseTest {
@@ -49,4 +52,21 @@ public class DistributedEphemeralCounterTest extends ZookeeperBaseTest {
         // then
         assertThat(counter.getValue("/ephemeral", "/metric")).isEqualTo(5);
     }
+
+    @Test
+    public void shouldReturnSumsOfManyCountersAtOnce() {
+        // given
+        counter.increment("/sums/host1/first", 10);
+        counter.increment("/sums/host2/first", 5);
+        counter.increment("/sums/host2/second", 1);
+        wait.untilZookeeperPathIsCreated("/sums/host2/second");
+
+        // when
+        Map<String, Long> values = counter.getValues("/sums", Arrays.asList("/first", "/second", "/missing"));
+
+        // then
+        assertThat(values).containsEntry("/first", 15L)
+                .containsEntry("/second", 1L)
+                .containsEntry("/missing", 0L);
+    }
 }
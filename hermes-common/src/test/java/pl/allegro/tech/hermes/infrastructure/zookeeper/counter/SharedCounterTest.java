@@ -4,6 +4,9 @@ import org.junit.Before;
 import org.junit.Test;
 import pl.allegro.tech.hermes.test.helper.zookeeper.ZookeeperBaseTest;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class SharedCounterTest extends ZookeeperBaseTest {
@@ -39,4 +42,19 @@ public class SharedCounterTest extends ZookeeperBaseTest {
         assertThat(counter.getValue("/sharedIncrement")).isEqualTo(25);
     }
 
+    @Test
+    public void shouldRetrieveManyCountersAtOnce() {
+        // given
+        counter.increment("/batch/first", 10);
+        counter.increment("/batch/second", 5);
+        wait.untilZookeeperPathIsCreated("/batch/second");
+
+        // when
+        Map<String, Long> values = counter.getValues(Arrays.asList("/batch/first", "/batch/second", "/batch/missing"));
+
+        // then
+        assertThat(values).containsEntry("/batch/first", 10L)
+                .containsEntry("/batch/second", 5L)
+                .containsEntry("/batch/missing", 0L);
+    }
 }
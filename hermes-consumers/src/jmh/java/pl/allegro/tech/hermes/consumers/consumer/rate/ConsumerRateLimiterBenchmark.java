@@ -0,0 +1,131 @@
+package pl.allegro.tech.hermes.consumers.consumer.rate;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.consumers.consumer.ActiveConsumerCounter;
+import pl.allegro.tech.hermes.consumers.consumer.rate.calculator.OutputRateCalculator;
+import pl.allegro.tech.hermes.metrics.PathsCompiler;
+
+import java.util.concurrent.TimeUnit;
+
+import static pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder.subscription;
+
+/**
+ * Measures supervisor cycle over 2000 subscriptions and contention between sender threads acquiring permits
+ * and supervisor thread changing the rate, for lock-free token bucket and Guava {@code RateLimiter}.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConsumerRateLimiterBenchmark {
+
+    private static final double UNLIMITED_RATE = 1_000_000_000.0;
+
+    @State(Scope.Benchmark)
+    public static class SupervisorState {
+
+        @Param({"2000"})
+        int subscriptions;
+
+        @Param({"1", "4"})
+        int shards;
+
+        ConsumerRateLimitSupervisor supervisor;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            supervisor = new ConsumerRateLimitSupervisor((int) TimeUnit.HOURS.toSeconds(1), shards);
+            OutputRateCalculator calculator = new OutputRateCalculator(new ConfigFactory(), new FixedActiveConsumerCounter());
+            HermesMetrics metrics = new HermesMetrics(new MetricRegistry(), new PathsCompiler("localhost"));
+
+            for (int i = 0; i < subscriptions; i++) {
+                Subscription subscription = subscription("group.topic" + i, "subscription").build();
+                SerialConsumerRateLimiter limiter = new SerialConsumerRateLimiter(subscription, calculator, metrics, supervisor);
+                supervisor.register(limiter);
+                limiter.registerSuccessfulSending();
+            }
+        }
+    }
+
+    @State(Scope.Group)
+    public static class TokenBucketState {
+        final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(UNLIMITED_RATE);
+    }
+
+    @State(Scope.Group)
+    public static class GuavaState {
+        final RateLimiter limiter = RateLimiter.create(UNLIMITED_RATE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void supervisorCycle(SupervisorState state) {
+        state.supervisor.run();
+    }
+
+    @Benchmark
+    @Group("tokenBucket")
+    @GroupThreads(7)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void tokenBucketAcquire(TokenBucketState state) {
+        state.limiter.acquire();
+    }
+
+    @Benchmark
+    @Group("tokenBucket")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void tokenBucketSetRate(TokenBucketState state) {
+        state.limiter.setRate(UNLIMITED_RATE);
+    }
+
+    @Benchmark
+    @Group("guava")
+    @GroupThreads(7)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double guavaAcquire(GuavaState state) {
+        return state.limiter.acquire();
+    }
+
+    @Benchmark
+    @Group("guava")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void guavaSetRate(GuavaState state) {
+        state.limiter.setRate(UNLIMITED_RATE);
+    }
+
+    private static class FixedActiveConsumerCounter extends ActiveConsumerCounter {
+
+        FixedActiveConsumerCounter() {
+            super(null);
+        }
+
+        @Override
+        public int countActiveConsumers(Subscription subscription) {
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.allegro.tech.hermes.api.ContentType;
+import pl.allegro.tech.hermes.api.Header;
+import pl.allegro.tech.hermes.common.kafka.KafkaTopicName;
+import pl.allegro.tech.hermes.common.kafka.offset.PartitionOffset;
+import pl.allegro.tech.hermes.consumers.consumer.Message;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.MESSAGE_ID;
+import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.RETRY_COUNT;
+
+/**
+ * Compares building requests from precomputed subscription template with building them from scratch.
+ * Run with GC profiler ({@code -prof gc}) to compare allocation rate per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HttpRequestFactoryBenchmark {
+
+    private static final URI ENDPOINT = URI.create("http://localhost:8080/endpoint");
+
+    private static final List<Header> SUBSCRIPTION_HEADERS = Arrays.asList(
+            new Header("Service-Name", "benchmark"),
+            new Header("Service-Version", "1.0"),
+            new Header("Environment", "test"),
+            new Header("Owner", "team")
+    );
+
+    private HttpClient client;
+    private HttpRequestFactory requestFactory;
+    private DefaultHttpMetadataAppender metadataAppender;
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        client = new HttpClient();
+        client.start();
+        metadataAppender = new DefaultHttpMetadataAppender();
+        requestFactory = new HttpRequestFactory(client, 1000, metadataAppender, Optional.empty(), SUBSCRIPTION_HEADERS);
+        message = new Message("id", "group.topic", "{\"field\": \"value\"}".getBytes(StandardCharsets.UTF_8), ContentType.JSON,
+                Optional.empty(), 123L, 124L, new PartitionOffset(KafkaTopicName.valueOf("group_topic"), 1, 0),
+                ImmutableMap.of("Trace-Id", "traceId", "Span-Id", "spanId"), SUBSCRIPTION_HEADERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.stop();
+    }
+
+    @Benchmark
+    public Request buildRequestFromTemplate() {
+        return requestFactory.buildRequest(message, ENDPOINT);
+    }
+
+    @Benchmark
+    public Request buildRequestFromScratch() {
+        Request request = client.newRequest(ENDPOINT)
+                .method(HttpMethod.POST)
+                .header(HttpHeader.KEEP_ALIVE.toString(), "true")
+                .header(MESSAGE_ID.getName(), message.getId())
+                .header(RETRY_COUNT.getName(), Integer.toString(message.getRetryCounter()))
+                .header(HttpHeader.CONTENT_TYPE.toString(), APPLICATION_JSON)
+                .timeout(1000, TimeUnit.MILLISECONDS)
+                .content(new BytesContentProvider(message.getData()));
+
+        metadataAppender.append(request, message);
+        message.getAdditionalHeaders().forEach(header -> request.header(header.getName(), header.getValue()));
+        return request;
+    }
+}
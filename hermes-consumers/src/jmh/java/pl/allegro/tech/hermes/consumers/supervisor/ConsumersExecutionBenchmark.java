@@ -0,0 +1,182 @@
+package pl.allegro.tech.hermes.consumers.supervisor;
+
+import com.codahale.metrics.MetricRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.consumers.consumer.Consumer;
+import pl.allegro.tech.hermes.consumers.supervisor.process.ConsumerProcess;
+import pl.allegro.tech.hermes.consumers.supervisor.process.Signal;
+import pl.allegro.tech.hermes.metrics.PathsCompiler;
+import pl.allegro.tech.hermes.test.helper.config.MutableConfigFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_EVENT_LOOP_ENABLED;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_EVENT_LOOP_WORKERS;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_THREAD_POOL_SIZE;
+
+/**
+ * Hands messages over to randomly chosen, otherwise idle subscriptions and measures time until consumer picks them
+ * up, for thread-per-subscription and event loop execution. CPU time used by the process in each iteration and number
+ * of live threads at its end are reported as secondary results.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConsumersExecutionBenchmark {
+
+    @Param({"100", "1000", "4000"})
+    int subscriptions;
+
+    @Param({"false", "true"})
+    boolean eventLoop;
+
+    private ConsumersExecutorService executor;
+    private final List<QueueConsumer> consumers = new ArrayList<>();
+    private final List<ConsumerProcess> processes = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MutableConfigFactory configFactory = new MutableConfigFactory();
+        configFactory.overrideProperty(CONSUMER_THREAD_POOL_SIZE, subscriptions);
+        configFactory.overrideProperty(CONSUMER_EVENT_LOOP_ENABLED, eventLoop);
+        configFactory.overrideProperty(CONSUMER_EVENT_LOOP_WORKERS, Runtime.getRuntime().availableProcessors());
+        executor = new ConsumersExecutorService(configFactory, new HermesMetrics(new MetricRegistry(), new PathsCompiler("localhost")));
+
+        for (int i = 0; i < subscriptions; i++) {
+            QueueConsumer consumer = new QueueConsumer();
+            ConsumerProcess process = new ConsumerProcess(
+                    SubscriptionName.fromString("group.topic" + i + "$subscription"), consumer, null, name -> { }, Clock.systemUTC());
+            consumers.add(consumer);
+            processes.add(process);
+            executor.execute(process);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processes.forEach(process -> process.accept(Signal.of(Signal.SignalType.STOP, null)));
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public long handOff(ResourceUsage usage) {
+        QueueConsumer consumer = consumers.get(ThreadLocalRandom.current().nextInt(subscriptions));
+        long sequence = consumer.offered.incrementAndGet();
+        consumer.queue.offer(sequence);
+        while (consumer.consumed.get() < sequence) {
+            Thread.yield();
+        }
+        return sequence;
+    }
+
+    private static long processCpuTime() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        }
+        return 0;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResourceUsage {
+
+        public long cpuMillis;
+        public long liveThreads;
+        private long cpuTimeAtStart;
+
+        @Setup(Level.Iteration)
+        public void start() {
+            cpuMillis = 0;
+            liveThreads = 0;
+            cpuTimeAtStart = processCpuTime();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            cpuMillis = TimeUnit.NANOSECONDS.toMillis(processCpuTime() - cpuTimeAtStart);
+            liveThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        }
+    }
+
+    private static class QueueConsumer implements Consumer {
+
+        private final BlockingQueue<Long> queue = new ArrayBlockingQueue<>(1000);
+        private final AtomicLong offered = new AtomicLong();
+        private final AtomicLong consumed = new AtomicLong();
+
+        @Override
+        public void consume(Runnable signalsInterrupt) {
+            signalsInterrupt.run();
+            try {
+                Long message = queue.poll(10, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    consumed.set(message);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean isCooperative() {
+            return true;
+        }
+
+        @Override
+        public boolean tryConsume(Runnable signalsInterrupt) {
+            signalsInterrupt.run();
+            Long message = queue.poll();
+            if (message == null) {
+                return false;
+            }
+            consumed.set(message);
+            return true;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void tearDown() {
+        }
+
+        @Override
+        public void updateSubscription(Subscription subscription) {
+        }
+
+        @Override
+        public void updateTopic(Topic topic) {
+        }
+    }
+}
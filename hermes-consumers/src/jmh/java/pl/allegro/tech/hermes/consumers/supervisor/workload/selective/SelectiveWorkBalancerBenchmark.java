@@ -0,0 +1,119 @@
+package pl.allegro.tech.hermes.consumers.supervisor.workload.selective;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.consumers.supervisor.workload.SubscriptionAssignmentView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Balances 10k subscriptions with heavy-tailed load over 100 consumer nodes, starting from scratch and after one
+ * node got replaced. Load skew (most loaded node to average) and number of moved assignments of the last result of
+ * each iteration are reported as secondary results.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SelectiveWorkBalancerBenchmark {
+
+    @Param({"10000"})
+    int subscriptionsCount;
+
+    @Param({"100"})
+    int nodesCount;
+
+    @Param({"uniform", "weighted"})
+    String load;
+
+    private SelectiveWorkBalancer workBalancer;
+    private SubscriptionLoadEstimator loadEstimator;
+    private List<SubscriptionName> subscriptions;
+    private List<String> nodes;
+    private List<String> nodesAfterReplacement;
+    private SubscriptionAssignmentView balancedState;
+    private SubscriptionAssignmentView lastResult;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        subscriptions = IntStream.range(0, subscriptionsCount)
+                .mapToObj(i -> SubscriptionName.fromString("group.topic" + i + "$subscription"))
+                .collect(toList());
+        Map<SubscriptionName, Double> weights = new HashMap<>();
+        subscriptions.forEach(subscription -> weights.put(subscription, 1.0 / Math.pow(1.0 - random.nextDouble(), 1.0 / 1.2)));
+
+        loadEstimator = "weighted".equals(load) ? weights::get : SubscriptionLoadEstimator.uniform();
+        workBalancer = new SelectiveWorkBalancer(2, 2 * subscriptionsCount, loadEstimator, 0.0);
+
+        nodes = IntStream.range(0, nodesCount).mapToObj(i -> "node-" + i).collect(toList());
+        nodesAfterReplacement = new ArrayList<>(nodes.subList(1, nodesCount));
+        nodesAfterReplacement.add("node-replacement");
+
+        balancedState = workBalancer.balance(subscriptions, nodes, new SubscriptionAssignmentView(emptyMap())).getAssignmentsView();
+    }
+
+    @Benchmark
+    public SubscriptionAssignmentView balanceFromScratch(BalanceQuality quality) {
+        lastResult = workBalancer.balance(subscriptions, nodes, new SubscriptionAssignmentView(emptyMap())).getAssignmentsView();
+        return lastResult;
+    }
+
+    @Benchmark
+    public SubscriptionAssignmentView rebalanceAfterNodeReplacement(BalanceQuality quality) {
+        lastResult = workBalancer.balance(subscriptions, nodesAfterReplacement, balancedState).getAssignmentsView();
+        return lastResult;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BalanceQuality {
+
+        public double skew;
+        public long movedAssignments;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            skew = 0;
+            movedAssignments = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void measure(SelectiveWorkBalancerBenchmark benchmark) {
+            SubscriptionAssignmentView result = benchmark.lastResult;
+            double[] nodeLoads = result.getConsumerNodes().stream()
+                    .mapToDouble(node -> result.getSubscriptionsForConsumerNode(node).stream()
+                            .mapToDouble(benchmark.loadEstimator::estimate).sum())
+                    .toArray();
+            double max = Arrays.stream(nodeLoads).max().orElse(0);
+            double average = Arrays.stream(nodeLoads).average().orElse(1);
+            skew = max / average;
+            movedAssignments = benchmark.balancedState.deletions(result).getAllAssignments().size();
+        }
+    }
+}
@@ -7,6 +7,24 @@ public interface Consumer {
 
     void consume(Runnable signalsInterrupt);
 
+    /**
+     * Whether consumer can be run cooperatively with {@link #tryConsume(Runnable)}, sharing thread with other consumers.
+     */
+    default boolean isCooperative() {
+        return false;
+    }
+
+    /**
+     * Non-blocking consumption step. Returns false when consumer could not make progress, e.g. because there
+     * is no message waiting or inflight limit is reached, so that the thread can be given to other consumers.
+     * Called only when {@link #isCooperative()} is true; consumers which are not cooperative fall back to blocking
+     * {@link #consume(Runnable)}.
+     */
+    default boolean tryConsume(Runnable signalsInterrupt) {
+        consume(signalsInterrupt);
+        return true;
+    }
+
     void initialize();
 
     void tearDown();
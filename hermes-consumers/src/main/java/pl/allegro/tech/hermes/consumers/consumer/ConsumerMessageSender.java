@@ -20,6 +20,7 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -39,6 +40,7 @@ public class ConsumerMessageSender {
     private final InflightsPool inflight;
     private final FutureAsyncTimeout<MessageSendingResult> async;
     private final int asyncTimeoutMs;
+    private final KeyOrderedDelivery keyOrderedDelivery;
 
     private int requestTimeoutMs;
     private ConsumerLatencyTimer consumerLatencyTimer;
@@ -57,6 +59,7 @@ public class ConsumerMessageSender {
                                  InflightsPool inflight,
                                  HermesMetrics hermesMetrics,
                                  int asyncTimeoutMs,
+                                 int maxHeldBackPerKey,
                                  FutureAsyncTimeout<MessageSendingResult> futureAsyncTimeout) {
         this.deliveryReportingExecutor = deliveryReportingExecutor;
         this.successHandlers = successHandlers;
@@ -70,6 +73,7 @@ public class ConsumerMessageSender {
         this.requestTimeoutMs = subscription.getSerialSubscriptionPolicy().getRequestTimeout();
         this.asyncTimeoutMs = asyncTimeoutMs;
         this.consumerLatencyTimer = hermesMetrics.latencyTimer(subscription);
+        this.keyOrderedDelivery = new KeyOrderedDelivery(inflight, maxHeldBackPerKey);
     }
 
     public void initialize() {
@@ -88,7 +92,15 @@ public class ConsumerMessageSender {
     }
 
 
+    /**
+     * With key ordering enabled, message is held back while another message with the same partition key is being
+     * delivered, and sent after it succeeds or is discarded. Held back message gives its inflight permit back, see
+     * {@link KeyOrderedDelivery}.
+     */
     public void sendAsync(Message message) {
+        if (subscription.getSerialSubscriptionPolicy().isKeyOrderingEnabled() && !keyOrderedDelivery.tryStart(message)) {
+            return;
+        }
         sendAsync(message, 0);
     }
 
@@ -103,11 +115,12 @@ public class ConsumerMessageSender {
     public void sendMessage(final Message message) {
         rateLimiter.acquire();
         ConsumerLatencyTimer.Context timer = consumerLatencyTimer.time();
+        long sendingStartNanos = System.nanoTime();
         CompletableFuture<MessageSendingResult> response = async.within(
                 messageSender.send(message),
                 Duration.ofMillis(asyncTimeoutMs + requestTimeoutMs)
         );
-        response.thenAcceptAsync(new ResponseHandlingListener(message, timer), deliveryReportingExecutor);
+        response.thenAcceptAsync(new ResponseHandlingListener(message, timer, sendingStartNanos), deliveryReportingExecutor);
     }
 
     public void updateSubscription(Subscription newSubscription) {
@@ -123,11 +136,13 @@ public class ConsumerMessageSender {
         boolean oAuthPolicyChanged = !Objects.equals(
                 this.subscription.getOAuthPolicy(), newSubscription.getOAuthPolicy()
         );
+        boolean headersChanged = !Objects.equals(this.subscription.getHeaders(), newSubscription.getHeaders());
 
         this.subscription = newSubscription;
         this.requestTimeoutMs = newSubscription.getSerialSubscriptionPolicy().getRequestTimeout();
 
-        if (endpointUpdated || subscriptionPolicyUpdated || endpointAddressResolverMetadataChanged || oAuthPolicyChanged) {
+        if (endpointUpdated || subscriptionPolicyUpdated || endpointAddressResolverMetadataChanged || oAuthPolicyChanged
+                || headersChanged) {
             this.messageSender = messageSenderFactory.create(newSubscription);
         }
     }
@@ -149,13 +164,27 @@ public class ConsumerMessageSender {
     }
 
     private void handleMessageDiscarding(Message message, MessageSendingResult result) {
-        inflight.release();
+        Optional<Message> next = completeDelivery(message);
         errorHandlers.forEach(h -> h.handleDiscarded(message, subscription, result));
+        next.ifPresent(nextMessage -> sendAsync(nextMessage, 0));
     }
 
     private void handleMessageSendingSuccess(Message message, MessageSendingResult result) {
-        inflight.release();
+        Optional<Message> next = completeDelivery(message);
         successHandlers.forEach(h -> h.handleSuccess(message, subscription, result));
+        next.ifPresent(nextMessage -> sendAsync(nextMessage, 0));
+    }
+
+    /**
+     * Releases inflight permit of the message or passes it on to the next message with the same key. Held back
+     * messages are dropped when sender is stopped, their offsets are not committed so they are read again.
+     */
+    private Optional<Message> completeDelivery(Message message) {
+        Optional<Message> next = keyOrderedDelivery.complete(message);
+        while (next.isPresent() && !running) {
+            next = keyOrderedDelivery.complete(next.get());
+        }
+        return next;
     }
 
     private boolean messageSentSucceeded(MessageSendingResult result) {
@@ -179,15 +208,18 @@ public class ConsumerMessageSender {
 
         private final Message message;
         private final ConsumerLatencyTimer.Context timer;
+        private final long sendingStartNanos;
 
-        public ResponseHandlingListener(Message message, ConsumerLatencyTimer.Context timer) {
+        public ResponseHandlingListener(Message message, ConsumerLatencyTimer.Context timer, long sendingStartNanos) {
             this.message = message;
             this.timer = timer;
+            this.sendingStartNanos = sendingStartNanos;
         }
 
         @Override
         public void accept(MessageSendingResult result) {
             timer.stop();
+            inflight.registerResponse(result, System.nanoTime() - sendingStartNanos);
             if (result.succeeded()) {
                 rateLimiter.registerSuccessfulSending();
                 handleMessageSendingSuccess(message, result);
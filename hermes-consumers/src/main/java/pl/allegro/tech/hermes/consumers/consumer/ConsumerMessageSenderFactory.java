@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_KEY_ORDERING_MAX_HELD_BACK_PER_KEY;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_RATE_LIMITER_REPORTING_THREAD_POOL_SIZE;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_SENDER_ASYNC_TIMEOUT_MS;
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_CLUSTER_NAME;
@@ -81,6 +82,7 @@ public class ConsumerMessageSenderFactory {
                 inflight,
                 hermesMetrics,
                 configFactory.getIntProperty(CONSUMER_SENDER_ASYNC_TIMEOUT_MS),
+                configFactory.getIntProperty(CONSUMER_KEY_ORDERING_MAX_HELD_BACK_PER_KEY),
                 futureAsyncTimeout);
     }
 
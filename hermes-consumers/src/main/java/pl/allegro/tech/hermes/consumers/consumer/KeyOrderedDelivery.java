@@ -0,0 +1,104 @@
+package pl.allegro.tech.hermes.consumers.consumer;
+
+import pl.allegro.tech.hermes.consumers.consumer.rate.InflightsPool;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lets only one message per partition key be in delivery at a time. Message with a key which is already being
+ * delivered waits until all earlier messages with this key are delivered or discarded; messages with different keys
+ * or without key are delivered concurrently.
+ *
+ * Waiting messages give their inflight permits back, so a single hot key does not take up the whole inflight pool and
+ * stall other keys; the key holds one permit, which passes from the delivered message to the next one. Only up to
+ * {@code maxHeldBackPerKey} messages of a key wait without a permit, the ones over this limit keep theirs, so that
+ * a hot key pauses consumption before its backlog grows unbounded.
+ */
+class KeyOrderedDelivery {
+
+    private final Map<String, KeyQueue> queues = new HashMap<>();
+
+    private final InflightsPool inflight;
+
+    private final int maxHeldBackPerKey;
+
+    KeyOrderedDelivery(InflightsPool inflight, int maxHeldBackPerKey) {
+        this.inflight = inflight;
+        this.maxHeldBackPerKey = maxHeldBackPerKey;
+    }
+
+    /**
+     * @return true if message can be sent right away, false if it was held back behind message with the same key
+     */
+    synchronized boolean tryStart(Message message) {
+        if (!message.getPartitionKey().isPresent()) {
+            return true;
+        }
+        String key = message.getPartitionKey().get();
+        KeyQueue queue = queues.get(key);
+        if (queue == null) {
+            queues.put(key, new KeyQueue(message));
+            return true;
+        }
+        boolean holdsPermit = queue.heldBackWithoutPermit >= maxHeldBackPerKey;
+        if (!holdsPermit) {
+            queue.heldBackWithoutPermit++;
+            inflight.release();
+        }
+        queue.pending.addLast(new HeldBackMessage(message, holdsPermit));
+        return false;
+    }
+
+    /**
+     * Releases inflight permit of delivered or discarded message, unless it is passed on to the next message with
+     * the same key.
+     *
+     * @return next message with the same key, which should be sent now
+     */
+    synchronized Optional<Message> complete(Message message) {
+        KeyQueue queue = message.getPartitionKey().map(queues::get).orElse(null);
+        if (queue == null || queue.current != message) {
+            inflight.release();
+            return Optional.empty();
+        }
+        HeldBackMessage next = queue.pending.pollFirst();
+        if (next == null) {
+            queues.remove(message.getPartitionKey().get());
+            inflight.release();
+            return Optional.empty();
+        }
+        if (next.holdsPermit) {
+            inflight.release();
+        } else {
+            queue.heldBackWithoutPermit--;
+        }
+        queue.current = next.message;
+        return Optional.of(next.message);
+    }
+
+    private static class KeyQueue {
+
+        private final Deque<HeldBackMessage> pending = new ArrayDeque<>();
+        private Message current;
+        private int heldBackWithoutPermit;
+
+        private KeyQueue(Message current) {
+            this.current = current;
+        }
+    }
+
+    private static class HeldBackMessage {
+
+        private final Message message;
+        private final boolean holdsPermit;
+
+        private HeldBackMessage(Message message, boolean holdsPermit) {
+            this.message = message;
+            this.holdsPermit = holdsPermit;
+        }
+    }
+}
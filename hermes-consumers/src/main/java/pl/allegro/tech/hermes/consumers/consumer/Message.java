@@ -26,6 +26,7 @@ public class Message {
     private long publishingTimestamp;
     private long readingTimestamp;
     private byte[] data;
+    private Optional<String> partitionKey = Optional.empty();
 
     private int retryCounter = 0;
 
@@ -47,6 +48,21 @@ public class Message {
                    PartitionOffset partitionOffset,
                    Map<String, String> externalMetadata,
                    List<Header> additionalHeaders) {
+        this(id, topic, content, contentType, schema, publishingTimestamp, readingTimestamp, partitionOffset,
+                externalMetadata, additionalHeaders, Optional.empty());
+    }
+
+    public Message(String id,
+                   String topic,
+                   byte[] content,
+                   ContentType contentType,
+                   Optional<CompiledSchema<Object>> schema,
+                   long publishingTimestamp,
+                   long readingTimestamp,
+                   PartitionOffset partitionOffset,
+                   Map<String, String> externalMetadata,
+                   List<Header> additionalHeaders,
+                   Optional<String> partitionKey) {
         this.id = id;
         this.data = content;
         this.topic = topic;
@@ -57,6 +73,7 @@ public class Message {
         this.partitionOffset = partitionOffset;
         this.externalMetadata = ImmutableMap.copyOf(externalMetadata);
         this.additionalHeaders = ImmutableList.copyOf(additionalHeaders);
+        this.partitionKey = partitionKey;
     }
 
     public long getPublishingTimestamp() {
@@ -110,6 +127,10 @@ public class Message {
         return id;
     }
 
+    public Optional<String> getPartitionKey() {
+        return partitionKey;
+    }
+
     public Map<String, String> getExternalMetadata() {
         return Collections.unmodifiableMap(externalMetadata);
     }
@@ -170,6 +191,7 @@ public class Message {
             this.message.externalMetadata = message.getExternalMetadata();
             this.message.additionalHeaders = message.getAdditionalHeaders();
             this.message.schema = message.getSchema();
+            this.message.partitionKey = message.getPartitionKey();
 
             return this;
         }
@@ -9,7 +9,7 @@ import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 import pl.allegro.tech.hermes.consumers.consumer.converter.MessageConverterResolver;
 import pl.allegro.tech.hermes.consumers.consumer.offset.OffsetQueue;
 import pl.allegro.tech.hermes.consumers.consumer.offset.SubscriptionPartitionOffset;
-import pl.allegro.tech.hermes.consumers.consumer.rate.AdjustableSemaphore;
+import pl.allegro.tech.hermes.consumers.consumer.rate.AdaptiveInflightsPool;
 import pl.allegro.tech.hermes.consumers.consumer.rate.SerialConsumerRateLimiter;
 import pl.allegro.tech.hermes.consumers.consumer.receiver.MessageReceiver;
 import pl.allegro.tech.hermes.consumers.consumer.receiver.ReceiverFactory;
@@ -18,6 +18,10 @@ import pl.allegro.tech.hermes.tracker.consumers.Trackers;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_ADAPTIVE_INFLIGHT_BACKOFF_RATIO;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_ADAPTIVE_INFLIGHT_ENABLED;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_ADAPTIVE_INFLIGHT_MIN_SIZE;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_ADAPTIVE_INFLIGHT_RTT_TOLERANCE;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_INFLIGHT_SIZE;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_SIGNAL_PROCESSING_INTERVAL;
 import static pl.allegro.tech.hermes.consumers.consumer.message.MessageConverter.toMessageMetadata;
@@ -34,7 +38,8 @@ public class SerialConsumer implements Consumer {
     private final ConsumerMessageSender sender;
     private final OffsetQueue offsetQueue;
     private final ConsumerAuthorizationHandler consumerAuthorizationHandler;
-    private final AdjustableSemaphore inflightSemaphore;
+    private final AdaptiveInflightsPool inflightPool;
+    private final java.util.function.Consumer<Message> polledMessageHandler = this::processPolledMessage;
 
     private final int defaultInflight;
     private final int signalProcessingInterval;
@@ -44,6 +49,8 @@ public class SerialConsumer implements Consumer {
 
     private MessageReceiver messageReceiver;
 
+    private boolean polledMessageProcessed;
+
     public SerialConsumer(ReceiverFactory messageReceiverFactory,
                           HermesMetrics hermesMetrics,
                           Subscription subscription,
@@ -58,15 +65,19 @@ public class SerialConsumer implements Consumer {
 
         this.defaultInflight = configFactory.getIntProperty(CONSUMER_INFLIGHT_SIZE);
         this.signalProcessingInterval = configFactory.getIntProperty(CONSUMER_SIGNAL_PROCESSING_INTERVAL);
-        this.inflightSemaphore = new AdjustableSemaphore(calculateInflightSize(subscription));
+        this.inflightPool = new AdaptiveInflightsPool(
+                calculateInflightSize(subscription),
+                configFactory.getBooleanProperty(CONSUMER_ADAPTIVE_INFLIGHT_ENABLED),
+                configFactory.getIntProperty(CONSUMER_ADAPTIVE_INFLIGHT_MIN_SIZE),
+                configFactory.getDoubleProperty(CONSUMER_ADAPTIVE_INFLIGHT_RTT_TOLERANCE),
+                configFactory.getDoubleProperty(CONSUMER_ADAPTIVE_INFLIGHT_BACKOFF_RATIO));
         this.messageReceiverFactory = messageReceiverFactory;
         this.hermesMetrics = hermesMetrics;
         this.subscription = subscription;
         this.rateLimiter = rateLimiter;
         this.offsetQueue = offsetQueue;
         this.consumerAuthorizationHandler = consumerAuthorizationHandler;
-        this.sender = consumerMessageSenderFactory.create(subscription, rateLimiter, offsetQueue,
-                inflightSemaphore::release);
+        this.sender = consumerMessageSenderFactory.create(subscription, rateLimiter, offsetQueue, inflightPool);
         this.trackers = trackers;
         this.messageConverterResolver = messageConverterResolver;
         this.messageReceiver = () -> {
@@ -87,28 +98,60 @@ public class SerialConsumer implements Consumer {
         try {
             do {
                 signalsInterrupt.run();
-            } while (!inflightSemaphore.tryAcquire(signalProcessingInterval, TimeUnit.MILLISECONDS));
+            } while (!inflightPool.tryAcquire(signalProcessingInterval, TimeUnit.MILLISECONDS));
 
             Optional<Message> maybeMessage = messageReceiver.next();
 
             if (maybeMessage.isPresent()) {
-                Message message = maybeMessage.get();
+                processMessage(maybeMessage.get());
+            } else {
+                inflightPool.release();
+            }
+        } catch (Exception e) {
+            logger.error("Consumer loop failed for {}", subscription.getQualifiedName(), e);
+        }
+    }
 
-                if (logger.isDebugEnabled()) {
-                    logger.debug(
-                            "Read message {} partition {} offset {}",
-                            message.getContentType(), message.getPartition(), message.getOffset()
-                    );
-                }
+    @Override
+    public boolean isCooperative() {
+        return true;
+    }
 
-                Message convertedMessage = messageConverterResolver.converterFor(message, subscription).convert(message, topic);
-                sendMessage(convertedMessage);
-            } else {
-                inflightSemaphore.release();
+    @Override
+    public boolean tryConsume(Runnable signalsInterrupt) {
+        try {
+            signalsInterrupt.run();
+            if (!inflightPool.tryAcquire()) {
+                return false;
             }
+
+            polledMessageProcessed = false;
+            boolean read = messageReceiver.poll(polledMessageHandler);
+            if (!polledMessageProcessed) {
+                inflightPool.release();
+            }
+            return read;
         } catch (Exception e) {
             logger.error("Consumer loop failed for {}", subscription.getQualifiedName(), e);
+            return false;
+        }
+    }
+
+    private void processPolledMessage(Message message) {
+        polledMessageProcessed = true;
+        processMessage(message);
+    }
+
+    private void processMessage(Message message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Read message {} partition {} offset {}",
+                    message.getContentType(), message.getPartition(), message.getOffset()
+            );
         }
+
+        Message convertedMessage = messageConverterResolver.converterFor(message, subscription).convert(message, topic);
+        sendMessage(convertedMessage);
     }
 
     private void sendMessage(Message message) {
@@ -126,6 +169,7 @@ public class SerialConsumer implements Consumer {
         initializeMessageReceiver();
         sender.initialize();
         rateLimiter.initialize();
+        hermesMetrics.registerInflightLimitGauge(subscription.getTopicName(), subscription.getName(), inflightPool::getLimit);
         consumerAuthorizationHandler.createSubscriptionHandler(subscription.getQualifiedName());
     }
 
@@ -138,13 +182,14 @@ public class SerialConsumer implements Consumer {
         messageReceiver.stop();
         rateLimiter.shutdown();
         sender.shutdown();
+        hermesMetrics.unregisterInflightLimitGauge(subscription.getTopicName(), subscription.getName());
         consumerAuthorizationHandler.removeSubscriptionHandler(subscription.getQualifiedName());
     }
 
     @Override
     public void updateSubscription(Subscription newSubscription) {
         logger.info("Updating consumer for subscription {}", subscription.getQualifiedName());
-        inflightSemaphore.setMaxPermits(calculateInflightSize(newSubscription));
+        inflightPool.updateMaxInflight(calculateInflightSize(newSubscription));
         rateLimiter.updateSubscription(newSubscription);
         sender.updateSubscription(newSubscription);
         messageReceiver.update(newSubscription);
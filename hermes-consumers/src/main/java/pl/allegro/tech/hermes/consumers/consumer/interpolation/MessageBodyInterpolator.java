@@ -59,6 +59,10 @@ public class MessageBodyInterpolator implements UriInterpolator {
 
     }
 
+    public boolean isInterpolated(EndpointAddress endpoint) {
+        return templateCache.getUnchecked(endpoint.getEndpoint()).getVariables().length > 0;
+    }
+
     private static class TemplateLoader extends CacheLoader<String, UriTemplate> {
 
         @Override
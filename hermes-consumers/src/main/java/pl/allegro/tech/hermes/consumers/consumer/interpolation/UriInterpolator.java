@@ -7,4 +7,12 @@ import java.net.URI;
 
 public interface UriInterpolator {
     URI interpolate(EndpointAddress endpoint, Message message) throws InterpolationException;
+
+    /**
+     * @return false if {@link #interpolate} always resolves given endpoint to the same URI, which can then be cached;
+     *         interpolators which do not know it should keep the default
+     */
+    default boolean isInterpolated(EndpointAddress endpoint) {
+        return true;
+    }
 }
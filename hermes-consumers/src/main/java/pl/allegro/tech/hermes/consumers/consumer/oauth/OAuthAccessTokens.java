@@ -10,7 +10,11 @@ public interface OAuthAccessTokens {
 
     Optional<OAuthAccessToken> getTokenIfPresent(SubscriptionName subscription);
 
-    void refreshToken(SubscriptionName subscription);
+    RefreshResult refreshToken(SubscriptionName subscription);
 
     boolean tokenExists(SubscriptionName subscription);
+
+    enum RefreshResult {
+        REFRESHED, ALREADY_REFRESHING, FAILED
+    }
 }
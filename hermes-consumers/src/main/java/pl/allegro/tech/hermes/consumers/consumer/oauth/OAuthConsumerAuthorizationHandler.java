@@ -50,7 +50,9 @@ public class OAuthConsumerAuthorizationHandler implements ConsumerAuthorizationH
 
     @Override
     public void removeSubscriptionHandler(SubscriptionName subscriptionName) {
-        if (handlers.remove(subscriptionName) != null) {
+        OAuthSubscriptionHandler handler = handlers.remove(subscriptionName);
+        if (handler != null) {
+            handler.stop();
             logger.info("OAuth handler for subscription {} removed", subscriptionName);
         }
     }
@@ -10,6 +10,8 @@ import pl.allegro.tech.hermes.common.config.Configs;
 
 import javax.inject.Inject;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class OAuthSubscriptionAccessTokens implements OAuthAccessTokens {
 
@@ -19,6 +21,8 @@ public class OAuthSubscriptionAccessTokens implements OAuthAccessTokens {
 
     private final OAuthAccessTokensLoader tokenLoader;
 
+    private final Set<SubscriptionName> refreshesInProgress = ConcurrentHashMap.newKeySet();
+
     @Inject
     public OAuthSubscriptionAccessTokens(OAuthAccessTokensLoader tokenLoader,
                                          ConfigFactory configFactory) {
@@ -43,14 +47,26 @@ public class OAuthSubscriptionAccessTokens implements OAuthAccessTokens {
         }
     }
 
+    /**
+     * Current token stays in cache until the new one is loaded, so senders are not blocked by refresh.
+     * Refresh requested while another one for the same subscription is in progress is skipped.
+     */
     @Override
-    public void refreshToken(SubscriptionName subscriptionName) {
+    public RefreshResult refreshToken(SubscriptionName subscriptionName) {
+        if (!refreshesInProgress.add(subscriptionName)) {
+            logger.debug("Access token refresh for subscription {} already in progress", subscriptionName);
+            return RefreshResult.ALREADY_REFRESHING;
+        }
         try {
             OAuthAccessToken token = tokenLoader.load(subscriptionName);
             subscriptionTokens.put(subscriptionName, token);
+            return RefreshResult.REFRESHED;
         } catch (Exception e) {
             logger.error("An error occurred while refreshing access token for subscription {}",
                     subscriptionName, e);
+            return RefreshResult.FAILED;
+        } finally {
+            refreshesInProgress.remove(subscriptionName);
         }
     }
 
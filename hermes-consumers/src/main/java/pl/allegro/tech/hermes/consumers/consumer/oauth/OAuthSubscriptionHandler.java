@@ -5,10 +5,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.api.Subscription;
 import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.consumers.consumer.oauth.OAuthAccessTokens.RefreshResult;
 import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult;
 
-import java.util.concurrent.Executors;
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 public class OAuthSubscriptionHandler {
@@ -23,20 +25,36 @@ public class OAuthSubscriptionHandler {
 
     private final OAuthTokenRequestRateLimiter rateLimiter;
 
-    private final ScheduledExecutorService executorService;
+    private final ScheduledExecutorService refreshExecutor;
+
+    private final double refreshExpiresInRatio;
+
+    private ScheduledFuture<?> scheduledRefresh;
+
+    private boolean stopped = false;
 
     public OAuthSubscriptionHandler(SubscriptionName subscriptionName, String providerName, OAuthAccessTokens accessTokens,
-                                    OAuthTokenRequestRateLimiter rateLimiter) {
+                                    OAuthTokenRequestRateLimiter rateLimiter, ScheduledExecutorService refreshExecutor,
+                                    double refreshExpiresInRatio) {
         this.subscriptionName = subscriptionName;
         this.providerName = providerName;
         this.accessTokens = accessTokens;
         this.rateLimiter = rateLimiter;
-        this.executorService = Executors.newScheduledThreadPool(1);
+        this.refreshExecutor = refreshExecutor;
+        this.refreshExpiresInRatio = refreshExpiresInRatio;
     }
 
     public void initialize() {
         rateLimiter.tryAcquire();
         accessTokens.loadToken(subscriptionName);
+        scheduleProactiveRefresh();
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
     }
 
     public String getProviderName() {
@@ -53,7 +71,7 @@ public class OAuthSubscriptionHandler {
             if (rateLimiter.tryAcquire()) {
                 logger.info("Refreshing token for subscription {}", subscriptionName);
                 rateLimiter.reduceRate();
-                executorService.schedule(() -> accessTokens.refreshToken(subscriptionName), 0, TimeUnit.MILLISECONDS);
+                refreshExecutor.execute(this::refreshToken);
             }
         }
     }
@@ -61,4 +79,50 @@ public class OAuthSubscriptionHandler {
     private boolean shouldTryRefreshingToken(SubscriptionName subscriptionName, MessageSendingResult result) {
         return result.getStatusCode() == HttpStatus.UNAUTHORIZED_401 || !accessTokens.tokenExists(subscriptionName);
     }
+
+    /**
+     * Token which failed to refresh is retried at the rate of token requests, reduced with every failure, instead of
+     * waiting for the next proactive refresh, which would come only after the current token expires. Refresh skipped
+     * because another one is in progress is not a failure: the one in progress schedules the next refresh.
+     */
+    private void refreshToken() {
+        RefreshResult result = accessTokens.refreshToken(subscriptionName);
+        if (result == RefreshResult.REFRESHED) {
+            scheduleProactiveRefresh();
+        } else if (result == RefreshResult.FAILED) {
+            logger.warn("Token for subscription {} was not refreshed, retrying", subscriptionName);
+            rateLimiter.reduceRate();
+            scheduleAtRequestRate();
+        }
+    }
+
+    private void proactiveRefresh() {
+        if (rateLimiter.tryAcquire()) {
+            logger.info("Refreshing token for subscription {} ahead of its expiry", subscriptionName);
+            refreshToken();
+        } else {
+            scheduleAtRequestRate();
+        }
+    }
+
+    private void scheduleAtRequestRate() {
+        schedule((long) (TimeUnit.SECONDS.toMillis(1) / rateLimiter.getCurrentRate()));
+    }
+
+    private void scheduleProactiveRefresh() {
+        Optional<Integer> expiresIn = accessTokens.getTokenIfPresent(subscriptionName)
+                .map(OAuthAccessToken::getExpiresIn)
+                .filter(seconds -> seconds > 0);
+        expiresIn.ifPresent(seconds -> schedule((long) (TimeUnit.SECONDS.toMillis(seconds) * refreshExpiresInRatio)));
+    }
+
+    private synchronized void schedule(long delayMillis) {
+        if (stopped) {
+            return;
+        }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        scheduledRefresh = refreshExecutor.schedule(this::proactiveRefresh, delayMillis, TimeUnit.MILLISECONDS);
+    }
 }
@@ -1,13 +1,20 @@
 package pl.allegro.tech.hermes.consumers.consumer.oauth;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.api.Subscription;
 import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.domain.subscription.SubscriptionRepository;
 
 import javax.inject.Inject;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static pl.allegro.tech.hermes.common.config.Configs.OAUTH_TOKEN_REFRESH_EXPIRES_IN_RATIO;
+import static pl.allegro.tech.hermes.common.config.Configs.OAUTH_TOKEN_REFRESH_THREAD_POOL_SIZE;
 
 public class OAuthSubscriptionHandlerFactory {
 
@@ -19,13 +26,22 @@ public class OAuthSubscriptionHandlerFactory {
 
     private final OAuthTokenRequestRateLimiterFactory rateLimiterLoader;
 
+    private final ScheduledExecutorService refreshExecutor;
+
+    private final double refreshExpiresInRatio;
+
     @Inject
     public OAuthSubscriptionHandlerFactory(SubscriptionRepository subscriptionRepository,
                                            OAuthAccessTokens accessTokens,
-                                           OAuthTokenRequestRateLimiterFactory rateLimiterLoader) {
+                                           OAuthTokenRequestRateLimiterFactory rateLimiterLoader,
+                                           ConfigFactory configFactory) {
         this.subscriptionRepository = subscriptionRepository;
         this.accessTokens = accessTokens;
         this.rateLimiterLoader = rateLimiterLoader;
+        this.refreshExpiresInRatio = configFactory.getDoubleProperty(OAUTH_TOKEN_REFRESH_EXPIRES_IN_RATIO);
+        this.refreshExecutor = Executors.newScheduledThreadPool(
+                configFactory.getIntProperty(OAUTH_TOKEN_REFRESH_THREAD_POOL_SIZE),
+                new ThreadFactoryBuilder().setNameFormat("oauth-token-refresh-%d").setDaemon(true).build());
     }
 
     public Optional<OAuthSubscriptionHandler> create(SubscriptionName subscriptionName) {
@@ -36,7 +52,8 @@ public class OAuthSubscriptionHandlerFactory {
                 logger.info("Creating OAuth handler subscription {} using {} OAuth provider",
                         subscriptionName, providerName);
                 OAuthTokenRequestRateLimiter rateLimiter = rateLimiterLoader.create(subscription);
-                return Optional.of(new OAuthSubscriptionHandler(subscriptionName, providerName, accessTokens, rateLimiter));
+                return Optional.of(new OAuthSubscriptionHandler(subscriptionName, providerName, accessTokens, rateLimiter,
+                        refreshExecutor, refreshExpiresInRatio));
             } catch (Exception e) {
                 logger.error("Failed to create OAuth handler for subscription {}, {}",
                         subscriptionName.getQualifiedName(), e.getMessage());
@@ -0,0 +1,128 @@
+package pl.allegro.tech.hermes.consumers.consumer.rate;
+
+import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inflight pool which adjusts its size to endpoint latency using AIMD algorithm.
+ *
+ * Lowest observed response time is treated as endpoint latency without load. As long as responses arrive within
+ * {@code rttTolerance} times that latency, limit grows by one permit per limit-worth of responses. Responses slower
+ * than that, timeouts, 5xx and 429 responses shrink the limit by {@code backoffRatio}, at most once per
+ * limit-worth of responses, so a single burst of slow responses is not punished multiple times. Limit never
+ * leaves [minInflight, maxInflight] range. Lowest latency is forgotten periodically, so that limiter follows
+ * endpoints that permanently got slower.
+ */
+@ThreadSafe
+public class AdaptiveInflightsPool implements InflightsPool {
+
+    private static final int MIN_RTT_WINDOW_SAMPLES = 1000;
+
+    private final AdjustableSemaphore semaphore;
+    private final boolean adaptive;
+    private final int minInflight;
+    private final double rttTolerance;
+    private final double backoffRatio;
+
+    private int maxInflight;
+    private double limit;
+    private int appliedLimit;
+
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesInMinRttWindow = 0;
+    private int samplesSinceDecrease = 0;
+
+    public AdaptiveInflightsPool(int maxInflight, boolean adaptive, int minInflight,
+                                 double rttTolerance, double backoffRatio) {
+        this.semaphore = new AdjustableSemaphore(maxInflight);
+        this.adaptive = adaptive;
+        this.minInflight = Math.max(1, Math.min(minInflight, maxInflight));
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.maxInflight = maxInflight;
+        this.limit = maxInflight;
+        this.appliedLimit = maxInflight;
+    }
+
+    public boolean tryAcquire() {
+        return semaphore.tryAcquire();
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return semaphore.tryAcquire(timeout, unit);
+    }
+
+    @Override
+    public void release() {
+        semaphore.release();
+    }
+
+    @Override
+    public void registerResponse(MessageSendingResult result, long latencyNanos) {
+        if (!adaptive) {
+            return;
+        }
+        if (isOverloadSignal(result)) {
+            registerSample(latencyNanos, true);
+        } else if (result.succeeded() || result.hasHttpAnswer()) {
+            registerSample(latencyNanos, false);
+        }
+    }
+
+    public synchronized void updateMaxInflight(int newMaxInflight) {
+        this.maxInflight = newMaxInflight;
+        if (!adaptive || limit > newMaxInflight) {
+            limit = newMaxInflight;
+        }
+        applyLimit();
+    }
+
+    public synchronized int getLimit() {
+        return appliedLimit;
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    synchronized void registerSample(long rttNanos, boolean overloaded) {
+        if (!overloaded) {
+            updateMinRtt(rttNanos);
+        }
+        samplesSinceDecrease++;
+
+        if (overloaded || rttNanos > minRttNanos * rttTolerance) {
+            if (samplesSinceDecrease >= limit) {
+                limit = Math.max(minInflight, limit * backoffRatio);
+                samplesSinceDecrease = 0;
+            }
+        } else {
+            limit = Math.min(maxInflight, limit + 1.0 / limit);
+        }
+        applyLimit();
+    }
+
+    private void updateMinRtt(long rttNanos) {
+        if (++samplesInMinRttWindow > MIN_RTT_WINDOW_SAMPLES) {
+            minRttNanos = rttNanos;
+            samplesInMinRttWindow = 0;
+        } else {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+    }
+
+    private void applyLimit() {
+        int newLimit = Math.max(1, (int) limit);
+        if (newLimit != appliedLimit) {
+            semaphore.setMaxPermits(newLimit);
+            appliedLimit = newLimit;
+        }
+    }
+
+    private boolean isOverloadSignal(MessageSendingResult result) {
+        int statusCode = result.getStatusCode();
+        return result.isTimeout() || statusCode >= 500 || statusCode == 429;
+    }
+}
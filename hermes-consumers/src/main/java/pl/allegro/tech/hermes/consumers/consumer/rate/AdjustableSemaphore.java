@@ -97,6 +97,10 @@ public final class AdjustableSemaphore {
         this.semaphore.acquire();
     }
 
+    public boolean tryAcquire() {
+        return this.semaphore.tryAcquire();
+    }
+
     public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
         return this.semaphore.tryAcquire(timeout, unit);
     }
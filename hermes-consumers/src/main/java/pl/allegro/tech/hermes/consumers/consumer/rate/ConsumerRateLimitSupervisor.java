@@ -1,5 +1,8 @@
 package pl.allegro.tech.hermes.consumers.consumer.rate;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.config.Configs;
 
@@ -8,30 +11,75 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Periodically recalculates rates of registered limiters. Limiters are split into shards by subscription, each shard
+ * being recalculated by its own task, so that a cycle over thousands of subscriptions is spread across threads and
+ * shard schedules are staggered over the period instead of firing all at once.
+ */
 public class ConsumerRateLimitSupervisor implements Runnable {
 
-    private final Set<ConsumerRateLimiter> consumerRateLimiters = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerRateLimitSupervisor.class);
+
+    private final Shard[] shards;
 
     @Inject
     public ConsumerRateLimitSupervisor(ConfigFactory configFactory) {
-        int period = configFactory.getIntProperty(Configs.CONSUMER_RATE_LIMITER_SUPERVISOR_PERIOD);
-        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(this, period, period, TimeUnit.SECONDS);
+        this(configFactory.getIntProperty(Configs.CONSUMER_RATE_LIMITER_SUPERVISOR_PERIOD),
+                configFactory.getIntProperty(Configs.CONSUMER_RATE_LIMITER_SUPERVISOR_SHARDS));
+    }
+
+    ConsumerRateLimitSupervisor(int periodSeconds, int shardsCount) {
+        this.shards = new Shard[Math.max(1, shardsCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(shards.length, new ThreadFactoryBuilder()
+                .setNameFormat("rate-limit-supervisor-%d")
+                .setDaemon(true)
+                .build());
+        long periodMillis = TimeUnit.SECONDS.toMillis(periodSeconds);
+        for (int i = 0; i < shards.length; i++) {
+            long initialDelay = periodMillis + i * periodMillis / shards.length;
+            executor.scheduleAtFixedRate(shards[i], initialDelay, periodMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void run() {
-        for (ConsumerRateLimiter limiter : consumerRateLimiters) {
-            limiter.adjustConsumerRate();
+        for (Shard shard : shards) {
+            shard.run();
         }
     }
 
     public void register(ConsumerRateLimiter consumerRateLimiter) {
-        consumerRateLimiters.add(consumerRateLimiter);
+        shardFor(consumerRateLimiter).limiters.add(consumerRateLimiter);
     }
 
     public void unregister(ConsumerRateLimiter consumerRateLimiter) {
-        consumerRateLimiters.remove(consumerRateLimiter);
+        shardFor(consumerRateLimiter).limiters.remove(consumerRateLimiter);
+    }
+
+    private Shard shardFor(ConsumerRateLimiter consumerRateLimiter) {
+        return shards[Math.floorMod(consumerRateLimiter.hashCode(), shards.length)];
+    }
+
+    private static class Shard implements Runnable {
+
+        private final Set<ConsumerRateLimiter> limiters = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        @Override
+        public void run() {
+            for (ConsumerRateLimiter limiter : limiters) {
+                try {
+                    limiter.adjustConsumerRate();
+                } catch (Exception e) {
+                    logger.error("Could not adjust consumer rate", e);
+                }
+            }
+        }
     }
 }
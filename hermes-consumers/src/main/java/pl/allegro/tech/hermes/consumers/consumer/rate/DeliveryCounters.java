@@ -27,6 +27,17 @@ public class DeliveryCounters {
         successes.set(0);
     }
 
+    /**
+     * Moves current counts to returned instance and zeroes this one, without losing deliveries registered
+     * concurrently by sender threads (unlike reading and calling {@link #reset()}).
+     */
+    public DeliveryCounters drain() {
+        DeliveryCounters drained = new DeliveryCounters();
+        drained.failures.set(failures.getAndSet(0));
+        drained.successes.set(successes.getAndSet(0));
+        return drained;
+    }
+
     public boolean noFailures() {
         return failures.intValue() == 0;
     }
@@ -1,5 +1,10 @@
 package pl.allegro.tech.hermes.consumers.consumer.rate;
 
+import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult;
+
 public interface InflightsPool {
     void release();
+
+    default void registerResponse(MessageSendingResult result, long latencyNanos) {
+    }
 }
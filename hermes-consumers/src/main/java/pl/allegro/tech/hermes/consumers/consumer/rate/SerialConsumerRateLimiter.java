@@ -1,6 +1,5 @@
 package pl.allegro.tech.hermes.consumers.consumer.rate;
 
-import com.google.common.util.concurrent.RateLimiter;
 import pl.allegro.tech.hermes.api.Subscription;
 import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 import pl.allegro.tech.hermes.consumers.consumer.rate.calculator.OutputRateCalculationResult;
@@ -10,19 +9,19 @@ import java.util.Objects;
 
 public class SerialConsumerRateLimiter implements ConsumerRateLimiter {
 
-    private Subscription subscription;
+    private volatile Subscription subscription;
 
     private final HermesMetrics hermesMetrics;
 
     private final ConsumerRateLimitSupervisor rateLimitSupervisor;
 
-    private final RateLimiter rateLimiter;
+    private final TokenBucketRateLimiter rateLimiter;
 
     private final OutputRateCalculator outputRateCalculator;
 
     private final DeliveryCounters deliveryCounters = new DeliveryCounters();
 
-    private OutputRateCalculator.Mode currentMode;
+    private volatile OutputRateCalculator.Mode currentMode;
 
     public SerialConsumerRateLimiter(Subscription subscription, OutputRateCalculator outputRateCalculator,
                                      HermesMetrics hermesMetrics, ConsumerRateLimitSupervisor rateLimitSupervisor) {
@@ -32,7 +31,7 @@ public class SerialConsumerRateLimiter implements ConsumerRateLimiter {
         this.rateLimitSupervisor = rateLimitSupervisor;
         this.outputRateCalculator = outputRateCalculator;
         this.currentMode = OutputRateCalculator.Mode.NORMAL;
-        this.rateLimiter = RateLimiter.create(calculateInitialRate().rate());
+        this.rateLimiter = new TokenBucketRateLimiter(calculateInitialRate().rate());
     }
 
     @Override
@@ -58,7 +57,6 @@ public class SerialConsumerRateLimiter implements ConsumerRateLimiter {
         OutputRateCalculationResult result = recalculate();
         rateLimiter.setRate(result.rate());
         currentMode = result.mode();
-        deliveryCounters.reset();
     }
 
     private OutputRateCalculationResult calculateInitialRate() {
@@ -66,7 +64,7 @@ public class SerialConsumerRateLimiter implements ConsumerRateLimiter {
     }
 
     private OutputRateCalculationResult recalculate() {
-        return outputRateCalculator.recalculateRate(subscription, deliveryCounters, currentMode, rateLimiter.getRate());
+        return outputRateCalculator.recalculateRate(subscription, deliveryCounters.drain(), currentMode, rateLimiter.getRate());
     }
 
     @Override
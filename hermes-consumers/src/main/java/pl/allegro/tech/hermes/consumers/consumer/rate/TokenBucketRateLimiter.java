@@ -0,0 +1,67 @@
+package pl.allegro.tech.hermes.consumers.consumer.rate;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free rate limiter. Whole bucket state is kept in a single {@code AtomicLong} holding the time at which next
+ * permit becomes available (in {@code System.nanoTime()} units), so acquiring a permit is a single CAS and changing
+ * the rate is a volatile write - neither of them blocks senders on a lock, unlike Guava {@code RateLimiter}.
+ *
+ * Bucket may lag behind current time by at most one second, which allows bursts of up to one second worth of
+ * permits after idle periods, just like {@code RateLimiter.create(rate)}.
+ */
+@ThreadSafe
+public class TokenBucketRateLimiter {
+
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong nextPermitNanos;
+
+    private volatile long permitIntervalNanos;
+    private volatile double rate;
+
+    public TokenBucketRateLimiter(double rate) {
+        this.nextPermitNanos = new AtomicLong(System.nanoTime());
+        setRate(rate);
+    }
+
+    public void acquire() {
+        long waitNanos = reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            Uninterruptibles.sleepUninterruptibly(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextPermitNanos.get();
+        long ticket = Math.max(next, now - MAX_BURST_NANOS);
+        return ticket <= now && nextPermitNanos.compareAndSet(next, ticket + permitIntervalNanos);
+    }
+
+    public void setRate(double rate) {
+        Preconditions.checkArgument(rate > 0.0 && !Double.isNaN(rate), "rate must be positive");
+        this.permitIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.rate = rate;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    long reserve(long now) {
+        long interval = permitIntervalNanos;
+        while (true) {
+            long next = nextPermitNanos.get();
+            long ticket = Math.max(next, now - MAX_BURST_NANOS);
+            if (nextPermitNanos.compareAndSet(next, ticket + interval)) {
+                return ticket - now;
+            }
+        }
+    }
+}
@@ -10,6 +10,25 @@ public interface MessageReceiver {
 
     Optional<Message> next();
 
+    /**
+     * Returns message only if one is already available, without waiting for it.
+     */
+    default Optional<Message> poll() {
+        return next();
+    }
+
+    /**
+     * Passes message to {@code handler} only if one is already available, without waiting for it. Unlike
+     * {@link #poll()}, tells apart a message which was read and dropped, e.g. filtered out, from no message at all.
+     *
+     * @return whether a message was read, regardless of whether it was passed to {@code handler}
+     */
+    default boolean poll(java.util.function.Consumer<Message> handler) {
+        Optional<Message> message = poll();
+        message.ifPresent(handler);
+        return message.isPresent();
+    }
+
     default void stop() {}
 
     default void update(Subscription newSubscription) {}
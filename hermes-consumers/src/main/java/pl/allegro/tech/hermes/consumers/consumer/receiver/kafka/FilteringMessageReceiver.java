@@ -37,6 +37,22 @@ public class FilteringMessageReceiver implements MessageReceiver {
         );
     }
 
+    @Override
+    public Optional<Message> poll() {
+        return receiver.poll().map(message ->
+                allow(message) ? message : null
+        );
+    }
+
+    @Override
+    public boolean poll(java.util.function.Consumer<Message> handler) {
+        return receiver.poll(message -> {
+            if (allow(message)) {
+                handler.accept(message);
+            }
+        });
+    }
+
     private boolean allow(Message message) {
         FilterResult result = filterChain.apply(message);
         filteredMessageHandler.handle(result, message, subscription);
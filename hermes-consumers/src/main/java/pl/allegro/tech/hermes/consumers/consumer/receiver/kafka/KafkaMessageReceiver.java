@@ -25,6 +25,7 @@ import pl.allegro.tech.hermes.consumers.consumer.receiver.MessageReceiver;
 import pl.allegro.tech.hermes.consumers.consumer.receiver.MessageReceivingTimeoutException;
 import pl.allegro.tech.hermes.domain.topic.schema.SchemaRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.util.Collection;
 import java.util.List;
@@ -109,6 +110,11 @@ public class KafkaMessageReceiver implements MessageReceiver {
         }
     }
 
+    @Override
+    public Optional<Message> poll() {
+        return Optional.ofNullable(readQueue.poll());
+    }
+
     private ConsumerIterator<byte[],byte[]> iterator(List<KafkaStream<byte[], byte[]>> streams) {
         return streams.get(0).iterator();
     }
@@ -130,7 +136,8 @@ public class KafkaMessageReceiver implements MessageReceiver {
                     clock.millis(),
                     new PartitionOffset(kafkaTopic.name(), message.offset(), message.partition()),
                     unwrappedContent.getMessageMetadata().getExternalMetadata(),
-                    subscription.getHeaders()
+                    subscription.getHeaders(),
+                    partitionKey(message)
             );
 
         } catch (ConsumerTimeoutException consumerTimeoutException) {
@@ -144,6 +151,10 @@ public class KafkaMessageReceiver implements MessageReceiver {
         }
     }
 
+    private Optional<String> partitionKey(MessageAndMetadata<byte[], byte[]> message) {
+        return Optional.ofNullable(message.key()).map(key -> new String(key, StandardCharsets.UTF_8));
+    }
+
     private UnwrappedMessageContent getUnwrappedMessageContent(MessageAndMetadata<byte[], byte[]> message) {
         if (topic.getContentType() == ContentType.AVRO) {
             return messageContentWrapper.unwrapAvro(message.message(), topic, schemaRepository);
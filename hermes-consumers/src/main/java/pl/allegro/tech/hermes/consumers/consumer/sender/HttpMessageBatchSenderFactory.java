@@ -24,6 +24,7 @@ public class HttpMessageBatchSenderFactory implements MessageBatchSenderFactory
         return new ApacheHttpClientMessageBatchSender(
                 configFactory.getIntProperty(Configs.CONSUMER_BATCH_CONNECTION_TIMEOUT),
                 configFactory.getIntProperty(Configs.CONSUMER_BATCH_SOCKET_TIMEOUT),
-                new SimpleEndpointAddressResolver());
+                new SimpleEndpointAddressResolver(),
+                subscription.getBatchSubscriptionPolicy().isCompressionEnabled());
     }
 }
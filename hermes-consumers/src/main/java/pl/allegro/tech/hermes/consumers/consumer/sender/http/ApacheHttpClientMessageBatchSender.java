@@ -2,6 +2,8 @@ package pl.allegro.tech.hermes.consumers.consumer.sender.http;
 
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
@@ -27,13 +29,20 @@ public class ApacheHttpClientMessageBatchSender implements MessageBatchSender {
     private final int connectionTimeout;
     private final int socketTimeout;
     private final EndpointAddressResolver resolver;
+    private final boolean compressionEnabled;
 
     private CloseableHttpClient client = HttpClients.createMinimal();
 
     public ApacheHttpClientMessageBatchSender(int connectionTimeout, int socketTimeout, EndpointAddressResolver resolver) {
+        this(connectionTimeout, socketTimeout, resolver, false);
+    }
+
+    public ApacheHttpClientMessageBatchSender(int connectionTimeout, int socketTimeout, EndpointAddressResolver resolver,
+                                              boolean compressionEnabled) {
         this.connectionTimeout = connectionTimeout;
         this.socketTimeout = socketTimeout;
         this.resolver = resolver;
+        this.compressionEnabled = compressionEnabled;
     }
 
     @Override
@@ -49,7 +58,9 @@ public class ApacheHttpClientMessageBatchSender implements MessageBatchSender {
     public MessageSendingResult send(MessageBatch batch, URI address, int requestTimeout) {
         ContentType contentType = getMediaType(batch.getContentType());
         HttpPost httpPost = new HttpPost(address);
-        ByteBufferEntity entity = new ByteBufferEntity(batch.getContent(), contentType);
+        HttpEntity entity = compressionEnabled
+                ? new ByteArrayEntity(GzipContentEncoder.encode(batch.getContent()), contentType)
+                : new ByteBufferEntity(batch.getContent(), contentType);
 
         RequestConfig requestConfig = RequestConfig.custom()
                 .setConnectTimeout(connectionTimeout)
@@ -63,6 +74,9 @@ public class ApacheHttpClientMessageBatchSender implements MessageBatchSender {
         httpPost.addHeader(BATCH_ID.getName(), batch.getId());
         httpPost.addHeader(HTTP.CONTENT_TYPE, contentType.getMimeType());
         httpPost.addHeader(RETRY_COUNT.getName(), Integer.toString(batch.getRetryCounter()));
+        if (compressionEnabled) {
+            httpPost.addHeader(HTTP.CONTENT_ENCODING, GzipContentEncoder.GZIP);
+        }
 
         batch.getAdditionalHeaders().forEach(header -> httpPost.addHeader(header.getName(), header.getValue()));
 
@@ -0,0 +1,167 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+
+import java.time.Clock;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isolates requests sent to a single destination (scheme, host and port). At most {@code maxActiveRequests} requests
+ * are handed over to the HTTP client at a time, so one slow endpoint cannot take over connections and executor threads
+ * shared with other destinations. Requests over the limit wait in a destination-local queue and are rejected when
+ * the queue is full. Jetty client has a single executor, so there is no separate thread pool per destination: the
+ * limit of active requests also caps the share of executor threads a destination can occupy with its callbacks.
+ *
+ * Time spent in the queue counts towards the timeout of request: it is sent with the remaining part of its timeout and
+ * failed without being sent once the timeout passes in the queue. Otherwise a request could be delivered after the
+ * sender had already given up on it and retried the message.
+ *
+ * Queue is drained by one thread at a time in a loop. Completions arriving while it is drained, also the ones
+ * reported synchronously by {@link Request#send}, only make the draining thread take another round, so a long queue
+ * does not nest dispatches on the stack.
+ */
+class DestinationBulkhead {
+
+    private static final int RETIRED = Integer.MIN_VALUE / 2;
+
+    private final String destination;
+    private final int maxActiveRequests;
+    private final int maxQueuedRequests;
+    private final Clock clock;
+
+    private final Queue<PendingRequest> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private volatile long lastUsedMillis;
+
+    DestinationBulkhead(String destination, int maxActiveRequests, int maxQueuedRequests, Clock clock) {
+        this.destination = destination;
+        this.maxActiveRequests = maxActiveRequests;
+        this.maxQueuedRequests = maxQueuedRequests;
+        this.clock = clock;
+        this.lastUsedMillis = clock.millis();
+    }
+
+    /**
+     * @return false if bulkhead was retired and request should be sent through a new one
+     */
+    boolean send(Request request, Response.CompleteListener listener) {
+        int queuedRequests = queued.incrementAndGet();
+        if (queuedRequests <= 0) {
+            return false;
+        }
+        lastUsedMillis = clock.millis();
+        if (queuedRequests > maxQueuedRequests) {
+            queued.decrementAndGet();
+            listener.onComplete(new Result(request, new RejectedExecutionException(
+                    "Max requests queued for destination " + destination + " exceeded: " + maxQueuedRequests), null));
+            return true;
+        }
+        queue.offer(new PendingRequest(request, listener, deadline(request)));
+        dispatchPending();
+        return true;
+    }
+
+    /**
+     * Retires bulkhead which has not been used for {@code idleTimeoutMillis} and has no requests in progress. Retired
+     * bulkhead accepts no more requests.
+     */
+    boolean retireIfIdle(long idleTimeoutMillis) {
+        return clock.millis() - lastUsedMillis >= idleTimeoutMillis && active.get() == 0
+                && queued.compareAndSet(0, RETIRED);
+    }
+
+    int getQueueDepth() {
+        return Math.max(0, queued.get());
+    }
+
+    /**
+     * Requests sent to the client and not completed yet. With HTTP/1.1 each of them occupies a connection, with
+     * HTTP/2 they are multiplexed as streams over a few connections.
+     */
+    int getActiveRequests() {
+        return active.get();
+    }
+
+    private void dispatchPending() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainQueue();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainQueue() {
+        while (tryAcquire()) {
+            PendingRequest pending = queue.poll();
+            if (pending == null) {
+                active.decrementAndGet();
+                if (queue.isEmpty()) {
+                    return;
+                }
+            } else {
+                queued.decrementAndGet();
+                dispatch(pending);
+            }
+        }
+    }
+
+    private void dispatch(PendingRequest pending) {
+        long remainingTimeout = pending.deadline - clock.millis();
+        if (remainingTimeout <= 0) {
+            active.decrementAndGet();
+            pending.listener.onComplete(new Result(pending.request, new TimeoutException(
+                    "Request to " + destination + " timed out in destination queue"), null));
+            return;
+        }
+        if (pending.deadline != Long.MAX_VALUE) {
+            pending.request.timeout(remainingTimeout, TimeUnit.MILLISECONDS);
+        }
+        pending.request.send(result -> {
+            active.decrementAndGet();
+            dispatchPending();
+            pending.listener.onComplete(result);
+        });
+    }
+
+    private long deadline(Request request) {
+        return request.getTimeout() > 0 ? clock.millis() + request.getTimeout() : Long.MAX_VALUE;
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxActiveRequests) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static class PendingRequest {
+
+        private final Request request;
+        private final Response.CompleteListener listener;
+        private final long deadline;
+
+        PendingRequest(Request request, Response.CompleteListener listener, long deadline) {
+            this.request = request;
+            this.listener = listener;
+            this.deadline = deadline;
+        }
+    }
+}
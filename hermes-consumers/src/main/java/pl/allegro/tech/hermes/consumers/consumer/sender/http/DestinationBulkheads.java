@@ -0,0 +1,108 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a {@link DestinationBulkhead} per destination. Destinations come from endpoints, which may be interpolated
+ * per message, so bulkheads which stay idle for {@code idleTimeoutMillis} are dropped together with their gauges.
+ * Idle bulkheads are looked for while sending, at most once per idle timeout. Request which meets a bulkhead retired
+ * in the meantime replaces it with a new one, instead of waiting for the retired one to be removed.
+ */
+public class DestinationBulkheads {
+
+    private final ConcurrentMap<String, DestinationBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private final String httpClientName;
+    private final int maxActiveRequestsPerDestination;
+    private final int maxQueuedRequestsPerDestination;
+    private final long idleTimeoutMillis;
+    private final HermesMetrics hermesMetrics;
+    private final Clock clock;
+
+    private final AtomicLong nextExpiryMillis;
+
+    public DestinationBulkheads(String httpClientName,
+                                int maxActiveRequestsPerDestination,
+                                int maxQueuedRequestsPerDestination,
+                                long idleTimeoutMillis,
+                                HermesMetrics hermesMetrics,
+                                Clock clock) {
+        this.httpClientName = httpClientName;
+        this.maxActiveRequestsPerDestination = maxActiveRequestsPerDestination;
+        this.maxQueuedRequestsPerDestination = maxQueuedRequestsPerDestination;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.hermesMetrics = hermesMetrics;
+        this.clock = clock;
+        this.nextExpiryMillis = new AtomicLong(clock.millis() + idleTimeoutMillis);
+    }
+
+    public void send(Request request, Response.CompleteListener listener) {
+        String destination = request.getScheme() + "://" + request.getHost() + ":" + request.getPort();
+        DestinationBulkhead bulkhead = bulkheadFor(destination);
+        while (!bulkhead.send(request, listener)) {
+            bulkhead = replaceRetired(destination, bulkhead);
+        }
+        expireIdleBulkheads();
+    }
+
+    int size() {
+        return bulkheads.size();
+    }
+
+    private DestinationBulkhead bulkheadFor(String destination) {
+        DestinationBulkhead bulkhead = bulkheads.get(destination);
+        if (bulkhead == null) {
+            bulkhead = bulkheads.computeIfAbsent(destination, this::createBulkhead);
+        }
+        return bulkhead;
+    }
+
+    private DestinationBulkhead replaceRetired(String destination, DestinationBulkhead retired) {
+        return bulkheads.compute(destination, (key, current) -> {
+            if (current != null && current != retired) {
+                return current;
+            }
+            if (current != null) {
+                removeBulkhead(key);
+            }
+            return createBulkhead(key);
+        });
+    }
+
+    private DestinationBulkhead createBulkhead(String destination) {
+        DestinationBulkhead bulkhead = new DestinationBulkhead(destination,
+                maxActiveRequestsPerDestination, maxQueuedRequestsPerDestination, clock);
+        hermesMetrics.registerHttpClientDestinationGauges(httpClientName, metricsDestination(destination),
+                bulkhead::getQueueDepth, bulkhead::getActiveRequests);
+        return bulkhead;
+    }
+
+    private void expireIdleBulkheads() {
+        long now = clock.millis();
+        long nextExpiry = nextExpiryMillis.get();
+        if (now < nextExpiry || !nextExpiryMillis.compareAndSet(nextExpiry, now + idleTimeoutMillis)) {
+            return;
+        }
+        bulkheads.forEach((destination, bulkhead) -> {
+            if (bulkhead.retireIfIdle(idleTimeoutMillis)) {
+                bulkheads.computeIfPresent(destination, (key, current) -> current == bulkhead ? removeBulkhead(key) : current);
+            }
+        });
+    }
+
+    private DestinationBulkhead removeBulkhead(String destination) {
+        hermesMetrics.unregisterHttpClientDestinationGauges(httpClientName, metricsDestination(destination));
+        return null;
+    }
+
+    private static String metricsDestination(String destination) {
+        return destination.replace("://", "_").replace(':', '_');
+    }
+}
@@ -0,0 +1,43 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+
+import javax.inject.Inject;
+import java.time.Clock;
+
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_MAX_REQUESTS_QUEUED_PER_DESTINATION;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_DESTINATION_IDLE_TIMEOUT;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_MAX_QUEUED_REQUESTS_PER_DESTINATION;
+
+public class DestinationBulkheadsFactory {
+
+    private final ConfigFactory configFactory;
+    private final HermesMetrics hermesMetrics;
+    private final Clock clock;
+
+    @Inject
+    public DestinationBulkheadsFactory(ConfigFactory configFactory, HermesMetrics hermesMetrics, Clock clock) {
+        this.configFactory = configFactory;
+        this.hermesMetrics = hermesMetrics;
+        this.clock = clock;
+    }
+
+    public DestinationBulkheads createForHttp1() {
+        return new DestinationBulkheads("http1",
+                configFactory.getIntProperty(CONSUMER_HTTP_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION),
+                configFactory.getIntProperty(CONSUMER_HTTP_CLIENT_MAX_QUEUED_REQUESTS_PER_DESTINATION),
+                configFactory.getIntProperty(CONSUMER_HTTP_CLIENT_DESTINATION_IDLE_TIMEOUT),
+                hermesMetrics, clock);
+    }
+
+    public DestinationBulkheads createForHttp2() {
+        return new DestinationBulkheads("http2",
+                configFactory.getIntProperty(CONSUMER_HTTP2_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION),
+                configFactory.getIntProperty(CONSUMER_HTTP2_CLIENT_MAX_REQUESTS_QUEUED_PER_DESTINATION),
+                configFactory.getIntProperty(CONSUMER_HTTP_CLIENT_DESTINATION_IDLE_TIMEOUT),
+                hermesMetrics, clock);
+    }
+}
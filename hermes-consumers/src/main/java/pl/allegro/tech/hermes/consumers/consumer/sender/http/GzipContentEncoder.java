@@ -0,0 +1,43 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips message and batch bodies for subscriptions with compressed delivery. Buffers are encoded from their beginning
+ * up to the limit, the same way {@link ByteBufferEntity} sends them, and are never modified.
+ */
+class GzipContentEncoder {
+
+    static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 4096;
+
+    static byte[] encode(byte[] content) {
+        return encode(ByteBuffer.wrap(content));
+    }
+
+    static byte[] encode(ByteBuffer content) {
+        ByteBuffer source = content.duplicate();
+        source.rewind();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(Math.max(64, source.remaining() / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(encoded, BUFFER_SIZE)) {
+            if (source.hasArray()) {
+                gzip.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            } else {
+                byte[] chunk = new byte[Math.min(BUFFER_SIZE, source.remaining())];
+                while (source.hasRemaining()) {
+                    int length = Math.min(chunk.length, source.remaining());
+                    source.get(chunk, 0, length);
+                    gzip.write(chunk, 0, length);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded.toByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.util.HttpCookieStore;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.glassfish.hk2.api.Factory;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+import pl.allegro.tech.hermes.common.metric.executor.InstrumentedExecutorServiceFactory;
+
+import javax.inject.Inject;
+import java.util.concurrent.ExecutorService;
+
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_MAX_CONNECTIONS_PER_DESTINATION;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_MAX_REQUESTS_QUEUED_PER_DESTINATION;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_SELECTORS;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_THREAD_POOL_MONITORING;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_CLIENT_THREAD_POOL_SIZE;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP2_ENABLED;
+
+/**
+ * Creates Jetty client that multiplexes requests as HTTP/2 streams. Plain-text endpoints are reached using h2c
+ * (prior knowledge), secure ones negotiate h2 via ALPN, which requires ALPN support in JVM.
+ * Number of connections per destination is configured independently of subscriptions inflight size.
+ */
+public class Http2ClientFactory implements Factory<Http2ClientHolder> {
+
+    private final ConfigFactory configFactory;
+    private final InstrumentedExecutorServiceFactory executorFactory;
+    private final SslContextFactory sslContextFactory;
+
+    @Inject
+    public Http2ClientFactory(ConfigFactory configFactory, InstrumentedExecutorServiceFactory executorFactory,
+                              SslContextFactoryProvider sslContextFactoryProvider) {
+        this.configFactory = configFactory;
+        this.executorFactory = executorFactory;
+        this.sslContextFactory = sslContextFactoryProvider.provideSslContextFactory();
+    }
+
+    @Override
+    public Http2ClientHolder provide() {
+        if (!configFactory.getBooleanProperty(CONSUMER_HTTP2_ENABLED)) {
+            return Http2ClientHolder.disabled();
+        }
+        HTTP2Client http2Client = new HTTP2Client();
+        http2Client.setSelectors(configFactory.getIntProperty(CONSUMER_HTTP2_CLIENT_SELECTORS));
+
+        HttpClient client = new HttpClient(new HttpClientTransportOverHTTP2(http2Client), sslContextFactory);
+        client.setMaxConnectionsPerDestination(configFactory.getIntProperty(CONSUMER_HTTP2_CLIENT_MAX_CONNECTIONS_PER_DESTINATION));
+        client.setMaxRequestsQueuedPerDestination(configFactory.getIntProperty(CONSUMER_HTTP2_CLIENT_MAX_REQUESTS_QUEUED_PER_DESTINATION));
+        client.setExecutor(getExecutor());
+        client.setCookieStore(new HttpCookieStore.Empty());
+        return new Http2ClientHolder(client);
+    }
+
+    private ExecutorService getExecutor() {
+        return executorFactory.getExecutorService("jetty-http2-client", configFactory.getIntProperty(CONSUMER_HTTP2_CLIENT_THREAD_POOL_SIZE),
+                configFactory.getBooleanProperty(CONSUMER_HTTP2_CLIENT_THREAD_POOL_MONITORING)
+        );
+    }
+
+    @Override
+    public void dispose(Http2ClientHolder instance) {
+    }
+}
@@ -0,0 +1,22 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import org.eclipse.jetty.client.HttpClient;
+
+import java.util.Optional;
+
+public class Http2ClientHolder {
+
+    private final HttpClient http2Client;
+
+    public Http2ClientHolder(HttpClient http2Client) {
+        this.http2Client = http2Client;
+    }
+
+    public static Http2ClientHolder disabled() {
+        return new Http2ClientHolder(null);
+    }
+
+    public Optional<HttpClient> getHttp2Client() {
+        return Optional.ofNullable(http2Client);
+    }
+}
@@ -8,16 +8,12 @@ import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.metric.executor.InstrumentedExecutorServiceFactory;
 
 import javax.inject.Inject;
-import java.io.File;
-import java.security.KeyStore;
-import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 
-import static java.util.stream.Collectors.joining;
+import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_MAX_CONNECTIONS_PER_DESTINATION;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_THREAD_POOL_MONITORING;
 import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_HTTP_CLIENT_THREAD_POOL_SIZE;
-import static pl.allegro.tech.hermes.common.config.Configs.CONSUMER_INFLIGHT_SIZE;
 
 public class HttpClientFactory implements Factory<HttpClient> {
 
@@ -26,17 +22,18 @@ public class HttpClientFactory implements Factory<HttpClient> {
     private final SslContextFactory sslContextFactory;
 
     @Inject
-    public HttpClientFactory(ConfigFactory configFactory, InstrumentedExecutorServiceFactory executorFactory) {
+    public HttpClientFactory(ConfigFactory configFactory, InstrumentedExecutorServiceFactory executorFactory,
+                             SslContextFactoryProvider sslContextFactoryProvider) {
         this.configFactory = configFactory;
         this.executorFactory = executorFactory;
-        this.sslContextFactory = sslContextFactory();
+        this.sslContextFactory = sslContextFactoryProvider.provideSslContextFactory();
     }
 
     @Override
     public HttpClient provide() {
         HttpClient client = new HttpClient(sslContextFactory);
         client.setMaxConnectionsPerDestination(configFactory.getIntProperty(CONSUMER_HTTP_CLIENT_MAX_CONNECTIONS_PER_DESTINATION));
-        client.setMaxRequestsQueuedPerDestination(configFactory.getIntProperty(CONSUMER_INFLIGHT_SIZE));
+        client.setMaxRequestsQueuedPerDestination(configFactory.getIntProperty(CONSUMER_HTTP_CLIENT_MAX_ACTIVE_REQUESTS_PER_DESTINATION));
         client.setExecutor(getExecutor());
         client.setCookieStore(new HttpCookieStore.Empty());
         return client;
@@ -51,26 +48,4 @@ public class HttpClientFactory implements Factory<HttpClient> {
     @Override
     public void dispose(HttpClient instance) {
     }
-
-    private SslContextFactory sslContextFactory() {
-        SslContextFactory sslContextFactory = new SslContextFactory();
-
-        sslContextFactory.setValidateCerts(true);
-        sslContextFactory.setValidatePeerCerts(true);
-        sslContextFactory.setEnableOCSP(true);
-        sslContextFactory.setEnableCRLDP(true);
-        sslContextFactory.setEndpointIdentificationAlgorithm("HTTPS");
-
-        sslContextFactory.setTrustStorePath(System.getProperty("javax.net.ssl.trustStore", defaultTrustStorePath()));
-        sslContextFactory.setTrustStoreType(System.getProperty("javax.net.ssl.trustStoreType", KeyStore.getDefaultType()));
-        String password = System.getProperty("javax.net.ssl.trustStorePassword");
-        if (password != null) {
-            sslContextFactory.setTrustStorePassword(password);
-        }
-        return sslContextFactory;
-    }
-
-    private String defaultTrustStorePath() {
-        return Arrays.asList(System.getProperty("java.home"), "lib", "security", "cacerts").stream().collect(joining(File.separator));
-    }
 }
@@ -3,19 +3,23 @@ package pl.allegro.tech.hermes.consumers.consumer.sender.http;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
-import pl.allegro.tech.hermes.api.ContentType;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+import pl.allegro.tech.hermes.api.Header;
 import pl.allegro.tech.hermes.consumers.consumer.Message;
 import pl.allegro.tech.hermes.consumers.consumer.sender.http.auth.HttpAuthorizationProvider;
 import pl.allegro.tech.hermes.consumers.consumer.trace.MetadataAppender;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 
 import static java.lang.String.valueOf;
+import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static pl.allegro.tech.hermes.api.ContentType.AVRO;
 import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.MESSAGE_ID;
@@ -23,42 +27,76 @@ import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.RETRY_CO
 import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.SCHEMA_VERSION;
 import static pl.allegro.tech.hermes.consumers.consumer.sender.http.AvroMediaType.AVRO_BINARY;
 
+/**
+ * Builds requests from a per-subscription template. Headers that do not change between messages (keep-alive,
+ * content type and subscription headers) are encoded once, when factory is created, so only message specific
+ * headers are added for each request. Factory is recreated together with message sender whenever subscription changes.
+ * When subscription opted in for compressed delivery, message body is sent gzipped with matching Content-Encoding.
+ */
 class HttpRequestFactory {
 
+    private static final HttpField KEEP_ALIVE = new PreEncodedHttpField(HttpHeader.KEEP_ALIVE, "true");
+    private static final HttpField JSON_CONTENT_TYPE = new PreEncodedHttpField(HttpHeader.CONTENT_TYPE, APPLICATION_JSON);
+    private static final HttpField AVRO_CONTENT_TYPE = new PreEncodedHttpField(HttpHeader.CONTENT_TYPE, AVRO_BINARY);
+    private static final HttpField GZIP_CONTENT_ENCODING = new PreEncodedHttpField(HttpHeader.CONTENT_ENCODING,
+            GzipContentEncoder.GZIP);
+
     private final HttpClient client;
     private final long timeout;
     private final MetadataAppender<Request> metadataAppender;
     private final Optional<HttpAuthorizationProvider>  authorizationProvider;
+    private final List<HttpField> subscriptionHeaders;
+    private final boolean compressionEnabled;
+
+    HttpRequestFactory(HttpClient client, long timeout, MetadataAppender<Request> metadataAppender,
+                       Optional<HttpAuthorizationProvider> authorizationProvider, List<Header> subscriptionHeaders) {
+        this(client, timeout, metadataAppender, authorizationProvider, subscriptionHeaders, false);
+    }
 
     HttpRequestFactory(HttpClient client, long timeout, MetadataAppender<Request> metadataAppender,
-                       Optional<HttpAuthorizationProvider> authorizationProvider) {
+                       Optional<HttpAuthorizationProvider> authorizationProvider, List<Header> subscriptionHeaders,
+                       boolean compressionEnabled) {
         this.client = client;
         this.timeout = timeout;
         this.metadataAppender = metadataAppender;
         this.authorizationProvider = authorizationProvider;
+        this.subscriptionHeaders = subscriptionHeaders.stream()
+                .map(header -> new PreEncodedHttpField(header.getName(), header.getValue()))
+                .collect(toList());
+        this.compressionEnabled = compressionEnabled;
     }
 
-    private final Function<ContentType, String> contentTypeToMediaType = contentType ->
-            AVRO.equals(contentType) ? AVRO_BINARY : APPLICATION_JSON;
-
     Request buildRequest(Message message, URI uri) {
         Request request = client.newRequest(uri)
                 .method(HttpMethod.POST)
-                .header(HttpHeader.KEEP_ALIVE.toString(), "true")
                 .header(MESSAGE_ID.getName(), message.getId())
                 .header(RETRY_COUNT.getName(), Integer.toString(message.getRetryCounter()))
-                .header(HttpHeader.CONTENT_TYPE.toString(), contentTypeToMediaType.apply(message.getContentType()))
                 .timeout(timeout, TimeUnit.MILLISECONDS)
-                .content(new BytesContentProvider(message.getData()));
+                .content(new BytesContentProvider(content(message)));
+
+        HttpFields headers = request.getHeaders();
+        headers.add(KEEP_ALIVE);
+        headers.add(AVRO.equals(message.getContentType()) ? AVRO_CONTENT_TYPE : JSON_CONTENT_TYPE);
+        if (compressionEnabled) {
+            headers.add(GZIP_CONTENT_ENCODING);
+        }
 
         message.getSchema().ifPresent(schema -> request.header(SCHEMA_VERSION.getName(), valueOf(schema.getVersion().value())));
-        authorizationProvider.ifPresent(p -> p.authorizationToken()
-                .ifPresent(token -> request.header(HttpHeader.AUTHORIZATION.toString(), token)));
+        if (authorizationProvider.isPresent()) {
+            authorizationProvider.get().authorizationToken()
+                    .ifPresent(token -> request.header(HttpHeader.AUTHORIZATION.toString(), token));
+        }
 
         metadataAppender.append(request, message);
 
-        message.getAdditionalHeaders().forEach(header -> request.header(header.getName(), header.getValue()));
+        for (int i = 0; i < subscriptionHeaders.size(); i++) {
+            headers.add(subscriptionHeaders.get(i));
+        }
 
         return request;
     }
+
+    private byte[] content(Message message) {
+        return compressionEnabled ? GzipContentEncoder.encode(message.getData()) : message.getData();
+    }
 }
@@ -20,10 +20,13 @@ public class JettyBroadCastMessageSender implements MessageSender {
 
     private final HttpRequestFactory requestFactory;
     private final ResolvableEndpointAddress endpoint;
+    private final DestinationBulkheads bulkheads;
 
-    public JettyBroadCastMessageSender(HttpRequestFactory requestFactory, ResolvableEndpointAddress endpoint) {
+    public JettyBroadCastMessageSender(HttpRequestFactory requestFactory, ResolvableEndpointAddress endpoint,
+                                       DestinationBulkheads bulkheads) {
         this.requestFactory = requestFactory;
         this.endpoint = endpoint;
+        this.bulkheads = bulkheads;
     }
 
     @Override
@@ -66,7 +69,7 @@ public class JettyBroadCastMessageSender implements MessageSender {
     private CompletableFuture<SingleMessageSendingResult> handleResponse(Request response) {
         CompletableFuture<SingleMessageSendingResult> future = new CompletableFuture<>();
         Response.CompleteListener completeListener = result -> future.complete(MessageSendingResult.of(result));
-        response.send(completeListener);
+        bulkheads.send(response, completeListener);
         return future;
     }
 
@@ -2,6 +2,8 @@ package pl.allegro.tech.hermes.consumers.consumer.sender.http;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.api.EndpointAddress;
 import pl.allegro.tech.hermes.api.EndpointAddressResolverMetadata;
 import pl.allegro.tech.hermes.api.Subscription;
@@ -14,10 +16,16 @@ import pl.allegro.tech.hermes.consumers.consumer.sender.resolver.ResolvableEndpo
 import pl.allegro.tech.hermes.consumers.consumer.trace.MetadataAppender;
 
 import javax.inject.Inject;
+import java.util.Optional;
 
 public class JettyHttpMessageSenderProvider implements ProtocolMessageSenderProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(JettyHttpMessageSenderProvider.class);
+
     private final HttpClient httpClient;
+    private final Optional<HttpClient> http2Client;
+    private final DestinationBulkheads http1Bulkheads;
+    private final DestinationBulkheads http2Bulkheads;
     private final EndpointAddressResolver endpointAddressResolver;
     private final MetadataAppender<Request> metadataAppender;
     private final HttpAuthorizationProviderFactory authorizationProviderFactory;
@@ -25,10 +33,15 @@ public class JettyHttpMessageSenderProvider implements ProtocolMessageSenderProv
     @Inject
     public JettyHttpMessageSenderProvider(
             HttpClient httpClient,
+            Http2ClientHolder http2ClientHolder,
             EndpointAddressResolver endpointAddressResolver,
             MetadataAppender<Request> metadataAppender,
-            HttpAuthorizationProviderFactory authorizationProviderFactory) {
+            HttpAuthorizationProviderFactory authorizationProviderFactory,
+            DestinationBulkheadsFactory bulkheadsFactory) {
         this.httpClient = httpClient;
+        this.http2Client = http2ClientHolder.getHttp2Client();
+        this.http1Bulkheads = bulkheadsFactory.createForHttp1();
+        this.http2Bulkheads = bulkheadsFactory.createForHttp2();
         this.endpointAddressResolver = endpointAddressResolver;
         this.metadataAppender = metadataAppender;
         this.authorizationProviderFactory = authorizationProviderFactory;
@@ -40,26 +53,42 @@ public class JettyHttpMessageSenderProvider implements ProtocolMessageSenderProv
         EndpointAddressResolverMetadata endpointAddressResolverMetadata = subscription.getEndpointAddressResolverMetadata();
         ResolvableEndpointAddress resolvableEndpoint = new ResolvableEndpointAddress(endpoint,
                 endpointAddressResolver, endpointAddressResolverMetadata);
-        HttpRequestFactory requestFactory = httpRequestFactory(subscription);
+        boolean http2 = useHttp2(subscription);
+        HttpRequestFactory requestFactory = httpRequestFactory(subscription, http2 ? http2Client.get() : httpClient);
+        DestinationBulkheads bulkheads = http2 ? http2Bulkheads : http1Bulkheads;
 
         if (subscription.getMode() == SubscriptionMode.BROADCAST) {
-            return new JettyBroadCastMessageSender(requestFactory, resolvableEndpoint);
+            return new JettyBroadCastMessageSender(requestFactory, resolvableEndpoint, bulkheads);
         } else {
-            return new JettyMessageSender(requestFactory, resolvableEndpoint);
+            return new JettyMessageSender(requestFactory, resolvableEndpoint, bulkheads);
         }
     }
 
-    private HttpRequestFactory httpRequestFactory(Subscription subscription) {
+    private HttpRequestFactory httpRequestFactory(Subscription subscription, HttpClient client) {
         int requestTimeout = subscription.getSerialSubscriptionPolicy().getRequestTimeout();
-        return new HttpRequestFactory(httpClient, requestTimeout, metadataAppender, authorizationProviderFactory.create(subscription));
+        return new HttpRequestFactory(client, requestTimeout, metadataAppender, authorizationProviderFactory.create(subscription),
+                subscription.getHeaders(), subscription.getSerialSubscriptionPolicy().isCompressionEnabled());
     }
 
+    private boolean useHttp2(Subscription subscription) {
+        if (subscription.getSerialSubscriptionPolicy().isHttp2Enabled()) {
+            if (http2Client.isPresent()) {
+                return true;
+            }
+            logger.warn("HTTP/2 requested by subscription {} but it is disabled on this node, falling back to HTTP/1.1",
+                    subscription.getQualifiedName());
+        }
+        return false;
+    }
 
     @Override
     public void start() throws Exception {
         if (httpClient.isStopped()) {
             httpClient.start();
         }
+        if (http2Client.isPresent() && http2Client.get().isStopped()) {
+            http2Client.get().start();
+        }
     }
 
     @Override
@@ -67,5 +96,8 @@ public class JettyHttpMessageSenderProvider implements ProtocolMessageSenderProv
         if (httpClient.isRunning()) {
             httpClient.stop();
         }
+        if (http2Client.isPresent() && http2Client.get().isRunning()) {
+            http2Client.get().stop();
+        }
     }
 }
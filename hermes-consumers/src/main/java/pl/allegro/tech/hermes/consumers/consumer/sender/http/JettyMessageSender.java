@@ -12,17 +12,20 @@ public class JettyMessageSender extends CompletableFutureAwareMessageSender {
 
     private final HttpRequestFactory requestFactory;
     private final ResolvableEndpointAddress endpoint;
+    private final DestinationBulkheads bulkheads;
 
-    public JettyMessageSender(HttpRequestFactory requestFactory, ResolvableEndpointAddress endpoint) {
+    public JettyMessageSender(HttpRequestFactory requestFactory, ResolvableEndpointAddress endpoint,
+                              DestinationBulkheads bulkheads) {
         this.requestFactory = requestFactory;
         this.endpoint = endpoint;
+        this.bulkheads = bulkheads;
     }
 
     @Override
     protected void sendMessage(Message message, final CompletableFuture<MessageSendingResult> resultFuture) {
         try {
-            requestFactory.buildRequest(message, endpoint.resolveFor(message))
-                .send(result -> resultFuture.complete(MessageSendingResult.of(result)));
+            bulkheads.send(requestFactory.buildRequest(message, endpoint.resolveFor(message)),
+                    result -> resultFuture.complete(MessageSendingResult.of(result)));
         } catch (EndpointAddressResolutionException exception) {
             resultFuture.complete(MessageSendingResult.failedResult(exception));
         }
@@ -0,0 +1,34 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+
+import java.io.File;
+import java.security.KeyStore;
+import java.util.Arrays;
+
+import static java.util.stream.Collectors.joining;
+
+public class SslContextFactoryProvider {
+
+    public SslContextFactory provideSslContextFactory() {
+        SslContextFactory sslContextFactory = new SslContextFactory();
+
+        sslContextFactory.setValidateCerts(true);
+        sslContextFactory.setValidatePeerCerts(true);
+        sslContextFactory.setEnableOCSP(true);
+        sslContextFactory.setEnableCRLDP(true);
+        sslContextFactory.setEndpointIdentificationAlgorithm("HTTPS");
+
+        sslContextFactory.setTrustStorePath(System.getProperty("javax.net.ssl.trustStore", defaultTrustStorePath()));
+        sslContextFactory.setTrustStoreType(System.getProperty("javax.net.ssl.trustStoreType", KeyStore.getDefaultType()));
+        String password = System.getProperty("javax.net.ssl.trustStorePassword");
+        if (password != null) {
+            sslContextFactory.setTrustStorePassword(password);
+        }
+        return sslContextFactory;
+    }
+
+    private String defaultTrustStorePath() {
+        return Arrays.asList(System.getProperty("java.home"), "lib", "security", "cacerts").stream().collect(joining(File.separator));
+    }
+}
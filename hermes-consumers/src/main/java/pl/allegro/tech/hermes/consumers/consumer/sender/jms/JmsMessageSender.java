@@ -11,7 +11,9 @@ import javax.jms.BytesMessage;
 import javax.jms.CompletionListener;
 import javax.jms.JMSContext;
 import javax.jms.JMSException;
+import javax.jms.JMSProducer;
 import javax.jms.JMSRuntimeException;
+import javax.jms.Topic;
 import java.util.concurrent.CompletableFuture;
 
 import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.MESSAGE_ID;
@@ -19,6 +21,12 @@ import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.TOPIC_NA
 import static pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult.failedResult;
 import static pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult.succeededResult;
 
+/**
+ * Sends messages through single {@link JMSContext}, with producer and destination created on first use and reused for
+ * subsequent sends. Context must not be used concurrently, so sends are serialized for the time of building and
+ * handing over the message - completion is reported asynchronously by the broker, so the context is not held while
+ * waiting for it.
+ */
 public class JmsMessageSender extends CompletableFutureAwareMessageSender {
 
     private static final Logger logger = LoggerFactory.getLogger(JmsMessageSender.class);
@@ -27,6 +35,9 @@ public class JmsMessageSender extends CompletableFutureAwareMessageSender {
     private final JMSContext jmsContext;
     private final MetadataAppender<javax.jms.Message> metadataAppender;
 
+    private JMSProducer producer;
+    private Topic topic;
+
     public JmsMessageSender(JMSContext jmsContext, String destinationTopic, MetadataAppender<javax.jms.Message> metadataAppender) {
         this.jmsContext = jmsContext;
         this.topicName = destinationTopic;
@@ -39,7 +50,7 @@ public class JmsMessageSender extends CompletableFutureAwareMessageSender {
     }
 
     @Override
-    protected void sendMessage(Message msg, final CompletableFuture<MessageSendingResult> resultFuture) {
+    protected synchronized void sendMessage(Message msg, final CompletableFuture<MessageSendingResult> resultFuture) {
         try {
             BytesMessage message = jmsContext.createBytesMessage();
             message.writeBytes(msg.getData());
@@ -60,12 +71,13 @@ public class JmsMessageSender extends CompletableFutureAwareMessageSender {
                     resultFuture.complete(failedResult(exception));
                 }
             };
-            jmsContext.createProducer()
-                    .setAsync(asyncListener)
-                    .send(jmsContext.createTopic(topicName), message);
+            if (producer == null) {
+                producer = jmsContext.createProducer();
+                topic = jmsContext.createTopic(topicName);
+            }
+            producer.setAsync(asyncListener).send(topic, message);
         } catch (JMSException | JMSRuntimeException e) {
             resultFuture.complete(failedResult(e));
         }
     }
-
 }
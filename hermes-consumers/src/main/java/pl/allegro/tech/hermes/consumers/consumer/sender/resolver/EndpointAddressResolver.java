@@ -21,6 +21,14 @@ public interface EndpointAddressResolver {
         return resolve(address);
     }
 
+    /**
+     * Whether resolved address can differ between messages. Addresses that do not depend on messages are resolved once
+     * and reused for every message of subscription.
+     */
+    default boolean isMessageDependent(EndpointAddress address, EndpointAddressResolverMetadata metadata) {
+        return true;
+    }
+
     default List<URI> resolveAll(EndpointAddress address, Message message, EndpointAddressResolverMetadata metadata)
             throws EndpointAddressResolutionException {
         return Collections.singletonList(resolve(address, message, metadata));
@@ -28,4 +28,9 @@ public class InterpolatingEndpointAddressResolver implements EndpointAddressReso
         }
     }
 
+    @Override
+    public boolean isMessageDependent(EndpointAddress address, EndpointAddressResolverMetadata metadata) {
+        return interpolator.isInterpolated(address);
+    }
+
 }
@@ -15,14 +15,27 @@ public class ResolvableEndpointAddress {
 
     private final EndpointAddressResolverMetadata metadata;
 
+    private final boolean messageDependent;
+
+    private volatile URI messageIndependentUri;
+
     public ResolvableEndpointAddress(EndpointAddress address, EndpointAddressResolver resolver, EndpointAddressResolverMetadata metadata) {
         this.address = address;
         this.resolver = resolver;
         this.metadata = metadata;
+        this.messageDependent = resolver.isMessageDependent(address, metadata);
     }
 
     public URI resolveFor(Message message) throws EndpointAddressResolutionException {
-        return resolver.resolve(address, message, metadata);
+        if (messageDependent) {
+            return resolver.resolve(address, message, metadata);
+        }
+        URI uri = messageIndependentUri;
+        if (uri == null) {
+            uri = resolver.resolve(address, message, metadata);
+            messageIndependentUri = uri;
+        }
+        return uri;
     }
 
     public List<URI> resolveAllFor(Message message) throws EndpointAddressResolutionException {
@@ -1,6 +1,15 @@
 package pl.allegro.tech.hermes.consumers.consumer.sender.resolver;
 
+import pl.allegro.tech.hermes.api.EndpointAddress;
+import pl.allegro.tech.hermes.api.EndpointAddressResolverMetadata;
 
 public class SimpleEndpointAddressResolver implements EndpointAddressResolver {
 
+    /**
+     * Subclasses may resolve addresses per message, so only this resolver itself opts in to reusing resolved address.
+     */
+    @Override
+    public boolean isMessageDependent(EndpointAddress address, EndpointAddressResolverMetadata metadata) {
+        return getClass() != SimpleEndpointAddressResolver.class;
+    }
 }
@@ -7,10 +7,14 @@ import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.config.Configs;
 import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 import pl.allegro.tech.hermes.consumers.supervisor.process.ConsumerProcess;
+import pl.allegro.tech.hermes.consumers.supervisor.process.CooperativeConsumerTask;
 
 import javax.inject.Inject;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +23,10 @@ public class ConsumersExecutorService {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsumersExecutorService.class);
     private final ThreadPoolExecutor executor;
+    private final Optional<ScheduledExecutorService> eventLoopWorkers;
+    private final Optional<ExecutorService> eventLoopLifecycle;
+    private final int eventLoopSliceSize;
+    private final long eventLoopMaxIdleDelayMillis;
 
     @Inject
     public ConsumersExecutorService(ConfigFactory configFactory, HermesMetrics hermesMetrics) {
@@ -30,19 +38,58 @@ public class ConsumersExecutorService {
         executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(poolSize, threadFactory);
 
         hermesMetrics.registerConsumersThreadGauge(() -> executor.getActiveCount());
+
+        eventLoopSliceSize = configFactory.getIntProperty(Configs.CONSUMER_EVENT_LOOP_SLICE_SIZE);
+        eventLoopMaxIdleDelayMillis = configFactory.getIntProperty(Configs.CONSUMER_EVENT_LOOP_MAX_IDLE_DELAY);
+        if (configFactory.getBooleanProperty(Configs.CONSUMER_EVENT_LOOP_ENABLED)) {
+            ThreadFactory workersThreadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("consumer-worker-%d")
+                .setUncaughtExceptionHandler((t, e) -> logger.error("Exception from consumer worker {}", t.getName(), e)).build();
+            eventLoopWorkers = Optional.of(Executors.newScheduledThreadPool(
+                    configFactory.getIntProperty(Configs.CONSUMER_EVENT_LOOP_WORKERS), workersThreadFactory));
+            ThreadFactory lifecycleThreadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("consumer-lifecycle-%d")
+                .setUncaughtExceptionHandler((t, e) -> logger.error("Exception from consumer lifecycle {}", t.getName(), e)).build();
+            eventLoopLifecycle = Optional.of(Executors.newFixedThreadPool(
+                    configFactory.getIntProperty(Configs.CONSUMER_EVENT_LOOP_LIFECYCLE_THREADS), lifecycleThreadFactory));
+        } else {
+            eventLoopWorkers = Optional.empty();
+            eventLoopLifecycle = Optional.empty();
+        }
     }
 
     public Future execute(ConsumerProcess consumer) {
+        if (eventLoopWorkers.isPresent() && consumer.isCooperative()) {
+            return new CooperativeConsumerTask(consumer, eventLoopWorkers.get(), eventLoopLifecycle.get(),
+                    eventLoopSliceSize, eventLoopMaxIdleDelayMillis).submit();
+        }
         return executor.submit(consumer);
     }
 
+    /**
+     * Processes are expected to be sent STOP before. Cooperative processes are then given time to handle it and
+     * release their consumers: workers and lifecycle pool are drained in this order, as lifecycle transitions are
+     * handed over from workers, and only interrupted if they do not finish in time.
+     */
     public void shutdown() {
         executor.shutdownNow();
         try {
+            if (eventLoopWorkers.isPresent()) {
+                drain(eventLoopWorkers.get());
+                drain(eventLoopLifecycle.get());
+            }
             executor.awaitTermination(1, TimeUnit.MINUTES);
         } catch (InterruptedException e) {
             logger.error("Termination of consumers executor service interrupted.", e);
         }
     }
 
+    private void drain(ExecutorService executorService) throws InterruptedException {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+            logger.warn("Consumers event loop did not stop in time, interrupting it");
+            executorService.shutdownNow();
+        }
+    }
+
 }
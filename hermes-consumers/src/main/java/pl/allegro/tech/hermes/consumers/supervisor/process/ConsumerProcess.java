@@ -56,12 +56,61 @@ public class ConsumerProcess implements Runnable {
             stop();
         } finally {
             logger.info("Releasing consumer process thred of subscription {}", subscriptionName);
-            shutdownCallback.accept(subscriptionName);
-            refreshHealthcheck();
+            release();
             Thread.currentThread().setName("consumer-released-thread");
         }
     }
 
+    public boolean isCooperative() {
+        return consumer.isCooperative();
+    }
+
+    void startCooperatively() {
+        start();
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    boolean hasPendingSignals() {
+        return !signals.isEmpty();
+    }
+
+    /**
+     * Runs at most {@code maxSteps} non-blocking consumption steps, stopping at the first one which made no progress
+     * or as soon as a signal arrives. Signals may restart or update the consumer, which can block, so they are not
+     * processed here but left for {@link #processSignalsCooperatively()}. Returns whether any progress was made.
+     */
+    boolean consumeCooperatively(int maxSteps) {
+        boolean progress = false;
+        for (int i = 0; i < maxSteps && running && signals.isEmpty(); i++) {
+            if (!consumer.tryConsume(this::refreshHealthcheck)) {
+                break;
+            }
+            progress = true;
+        }
+        return progress;
+    }
+
+    void processSignalsCooperatively() {
+        processSignals();
+    }
+
+    void stopCooperatively() {
+        try {
+            stop();
+        } finally {
+            logger.info("Releasing cooperative consumer process of subscription {}", subscriptionName);
+            release();
+        }
+    }
+
+    private void release() {
+        shutdownCallback.accept(subscriptionName);
+        refreshHealthcheck();
+    }
+
     public ConsumerProcess accept(Signal signal) {
         this.signals.add(signal);
         return this;
@@ -0,0 +1,121 @@
+package pl.allegro.tech.hermes.consumers.supervisor.process;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link ConsumerProcess} on shared worker pool in slices instead of occupying a thread for its whole lifetime.
+ *
+ * Each slice performs up to {@code sliceSize} non-blocking consumption steps. When the slice made progress, the task
+ * is resubmitted right away; idle subscriptions are rescheduled with exponentially growing delay, capped at
+ * {@code maxIdleDelayMillis}, so that they cost no CPU while there is nothing to deliver. Starting, stopping and
+ * processing signals of the process (restart, retransmission, updates) may block, e.g. on closing the sender, so they
+ * are handed over to separate {@code lifecycle} executor and the task returns to workers once they are done. The task
+ * is never run by two threads at the same time, so signal queue of the process keeps its single consumer. Cancelling
+ * does not interrupt shared workers - cancelled task releases the process on its next slice.
+ */
+public class CooperativeConsumerTask extends CompletableFuture<Void> implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CooperativeConsumerTask.class);
+
+    private static final long MIN_IDLE_DELAY_MICROS = 1000;
+
+    private final ConsumerProcess process;
+    private final ScheduledExecutorService workers;
+    private final Executor lifecycle;
+    private final int sliceSize;
+    private final long maxIdleDelayMicros;
+
+    private long idleDelayMicros = 0;
+
+    public CooperativeConsumerTask(ConsumerProcess process, ScheduledExecutorService workers, Executor lifecycle,
+                                   int sliceSize, long maxIdleDelayMillis) {
+        this.process = process;
+        this.workers = workers;
+        this.lifecycle = lifecycle;
+        this.sliceSize = sliceSize;
+        this.maxIdleDelayMicros = TimeUnit.MILLISECONDS.toMicros(maxIdleDelayMillis);
+    }
+
+    public CooperativeConsumerTask submit() {
+        lifecycle.execute(this::start);
+        return this;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (isCancelled() || !process.isRunning()) {
+                lifecycle.execute(this::finish);
+            } else if (process.hasPendingSignals()) {
+                lifecycle.execute(this::processSignals);
+            } else if (process.consumeCooperatively(sliceSize) || process.hasPendingSignals()) {
+                idleDelayMicros = 0;
+                workers.execute(this);
+            } else {
+                idleDelayMicros = Math.min(maxIdleDelayMicros, Math.max(MIN_IDLE_DELAY_MICROS, idleDelayMicros * 2));
+                workers.schedule(this, idleDelayMicros, TimeUnit.MICROSECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            logger.info("Consumers executor rejected consumer process {}, releasing it", process);
+            finish();
+        } catch (RuntimeException e) {
+            logger.error("Consumer process {} failed, releasing it", process, e);
+            finishInLifecycle();
+        }
+    }
+
+    private void start() {
+        try {
+            process.startCooperatively();
+        } catch (RuntimeException e) {
+            logger.error("Consumer process {} failed to start, releasing it", process, e);
+            finish();
+            return;
+        }
+        resume();
+    }
+
+    private void processSignals() {
+        try {
+            process.processSignalsCooperatively();
+        } catch (RuntimeException e) {
+            logger.error("Consumer process {} failed to process signals, releasing it", process, e);
+            finish();
+            return;
+        }
+        idleDelayMicros = 0;
+        resume();
+    }
+
+    private void resume() {
+        try {
+            workers.execute(this);
+        } catch (RejectedExecutionException e) {
+            logger.info("Workers pool rejected consumer process {}, releasing it", process);
+            finish();
+        }
+    }
+
+    private void finishInLifecycle() {
+        try {
+            lifecycle.execute(this::finish);
+        } catch (RejectedExecutionException e) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        try {
+            process.stopCooperatively();
+        } finally {
+            complete(null);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package pl.allegro.tech.hermes.consumers.supervisor.workload;
+
+import pl.allegro.tech.hermes.api.SubscriptionName;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Assignments created and removed by a series of changes. Changes cancelling each other out, like transferring
+ * an assignment away and back again, leave no trace, so the diff is the minimal set of operations needed to reach
+ * the target state.
+ */
+public class SubscriptionAssignmentDiff {
+
+    private final Set<SubscriptionAssignment> additions = new LinkedHashSet<>();
+    private final Set<SubscriptionAssignment> deletions = new LinkedHashSet<>();
+
+    public static SubscriptionAssignmentDiff between(SubscriptionAssignmentView current, SubscriptionAssignmentView target) {
+        SubscriptionAssignmentDiff diff = new SubscriptionAssignmentDiff();
+        current.deletions(target).getAllAssignments().forEach(diff::recordDeletion);
+        current.additions(target).getAllAssignments().forEach(diff::recordAddition);
+        return diff;
+    }
+
+    public void recordAddition(SubscriptionAssignment assignment) {
+        if (!deletions.remove(assignment)) {
+            additions.add(assignment);
+        }
+    }
+
+    public void recordDeletion(SubscriptionAssignment assignment) {
+        if (!additions.remove(assignment)) {
+            deletions.add(assignment);
+        }
+    }
+
+    public Set<SubscriptionAssignment> getAdditions() {
+        return Collections.unmodifiableSet(additions);
+    }
+
+    public Set<SubscriptionAssignment> getDeletions() {
+        return Collections.unmodifiableSet(deletions);
+    }
+
+    public boolean isEmpty() {
+        return additions.isEmpty() && deletions.isEmpty();
+    }
+
+    /**
+     * Wraps view transformer, so that every change made through it is recorded in this diff.
+     */
+    public SubscriptionAssignmentView.Transformer recording(SubscriptionAssignmentView state,
+                                                            SubscriptionAssignmentView.Transformer transformer) {
+        return new SubscriptionAssignmentView.Transformer() {
+            @Override
+            public void removeSubscription(SubscriptionName subscriptionName) {
+                recordDeletions(state.getAssignmentsForSubscription(subscriptionName));
+                transformer.removeSubscription(subscriptionName);
+            }
+
+            @Override
+            public void removeConsumerNode(String nodeId) {
+                recordDeletions(state.getAssignmentsForConsumerNode(nodeId));
+                transformer.removeConsumerNode(nodeId);
+            }
+
+            @Override
+            public void addSubscription(SubscriptionName subscriptionName) {
+                transformer.addSubscription(subscriptionName);
+            }
+
+            @Override
+            public void addConsumerNode(String nodeId) {
+                transformer.addConsumerNode(nodeId);
+            }
+
+            @Override
+            public void addAssignment(SubscriptionAssignment assignment) {
+                recordAddition(assignment);
+                transformer.addAssignment(assignment);
+            }
+
+            @Override
+            public void transferAssignment(String from, String to, SubscriptionName subscriptionName) {
+                recordDeletion(new SubscriptionAssignment(from, subscriptionName));
+                recordAddition(new SubscriptionAssignment(to, subscriptionName));
+                transformer.transferAssignment(from, to, subscriptionName);
+            }
+        };
+    }
+
+    private void recordDeletions(Collection<SubscriptionAssignment> assignments) {
+        assignments.forEach(this::recordDeletion);
+    }
+}
@@ -1,28 +1,50 @@
 package pl.allegro.tech.hermes.consumers.supervisor.workload;
 
+import com.google.common.collect.Iterables;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorTransaction;
+import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.common.exception.InternalProcessingException;
 import pl.allegro.tech.hermes.consumers.subscription.cache.SubscriptionsCache;
 import pl.allegro.tech.hermes.infrastructure.zookeeper.cache.HierarchicalCache;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Keeps local view of subscription assignments, updated from ZooKeeper cache events. Every event bumps the version of
+ * the view, snapshots are rebuilt only when the version changed. Changes computed by balancing are written in batched
+ * ZooKeeper transactions, so applying them costs a number of round trips proportional to the number of changes.
+ */
 public class SubscriptionAssignmentRegistry {
 
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionAssignmentRegistry.class);
+
     private static final int SUBSCRIPTION_LEVEL = 0;
 
     private static final int ASSIGNMENT_LEVEL = 1;
 
-    private final Set<SubscriptionAssignment> assignments = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final int MAX_OPERATIONS_PER_TRANSACTION = 100;
+
+    private final Map<SubscriptionName, Set<String>> assignments = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile VersionedSnapshot lastSnapshot = new VersionedSnapshot(-1, null);
 
     private final String consumerNodeId;
 
@@ -51,11 +73,16 @@ public class SubscriptionAssignmentRegistry {
             SubscriptionAssignment assignment = pathSerializer.deserialize(e.getData().getPath());
             switch (e.getType()) {
                 case CHILD_ADDED:
-                    assignments.add(assignment);
+                    assignments.computeIfAbsent(assignment.getSubscriptionName(), name -> ConcurrentHashMap.newKeySet())
+                            .add(assignment.getConsumerNodeId());
+                    version.incrementAndGet();
                     break;
                 case CHILD_REMOVED:
-                    assignments.remove(assignment);
-                    removeSubscriptionEntryIfEmpty(assignment.getSubscriptionName());
+                    boolean subscriptionEmpty = removeFromView(assignment);
+                    version.incrementAndGet();
+                    if (subscriptionEmpty) {
+                        removeSubscriptionEntryIfEmpty(assignment.getSubscriptionName());
+                    }
                     break;
             }
         });
@@ -86,29 +113,99 @@ public class SubscriptionAssignmentRegistry {
     }
 
     public boolean isAssignedTo(String nodeId, SubscriptionName subscription) {
-        return assignments.stream().anyMatch(a -> a.getSubscriptionName().equals(subscription) && a.getConsumerNodeId().equals(nodeId));
+        Set<String> nodes = assignments.get(subscription);
+        return nodes != null && nodes.contains(nodeId);
+    }
+
+    public long getVersion() {
+        return version.get();
     }
 
     public SubscriptionAssignmentView createSnapshot() {
-        Map<SubscriptionName, Set<SubscriptionAssignment>> snapshot = new HashMap<>();
-        for (SubscriptionAssignment assignment : assignments) {
-            snapshot.compute(assignment.getSubscriptionName(), (k, v) -> {
-                v = (v == null ? new HashSet<>() : v);
-                v.add(assignment);
-                return v;
-            });
+        VersionedSnapshot snapshot = lastSnapshot;
+        long currentVersion = version.get();
+        if (snapshot.version != currentVersion) {
+            snapshot = new VersionedSnapshot(currentVersion, buildSnapshot());
+            lastSnapshot = snapshot;
         }
+        return snapshot.view;
+    }
+
+    private SubscriptionAssignmentView buildSnapshot() {
+        Map<SubscriptionName, Set<SubscriptionAssignment>> snapshot = new HashMap<>();
+        assignments.forEach((subscription, nodes) -> {
+            Set<SubscriptionAssignment> subscriptionAssignments = new HashSet<>();
+            nodes.forEach(node -> subscriptionAssignments.add(new SubscriptionAssignment(node, subscription)));
+            if (!subscriptionAssignments.isEmpty()) {
+                snapshot.put(subscription, subscriptionAssignments);
+            }
+        });
         return new SubscriptionAssignmentView(snapshot);
     }
 
+    private boolean removeFromView(SubscriptionAssignment assignment) {
+        Set<String> nodes = assignments.computeIfPresent(assignment.getSubscriptionName(), (subscription, current) -> {
+            current.remove(assignment.getConsumerNodeId());
+            return current.isEmpty() ? null : current;
+        });
+        return nodes == null;
+    }
+
     private void removeSubscriptionEntryIfEmpty(SubscriptionName subscriptionName) {
         askCuratorPolitely(() -> {
-            if (curator.getChildren().forPath(pathSerializer.serialize(subscriptionName)).isEmpty()) {
-                curator.delete().guaranteed().forPath(pathSerializer.serialize(subscriptionName));
+            try {
+                curator.delete().forPath(pathSerializer.serialize(subscriptionName));
+            } catch (KeeperException.NotEmptyException e) {
+                // assignment added in the meantime
             }
         });
     }
 
+    public void applyChanges(SubscriptionAssignmentDiff changes) {
+        ensureSubscriptionEntriesExist(changes.getAdditions());
+
+        List<SubscriptionAssignment> deletions = new ArrayList<>(changes.getDeletions());
+        List<SubscriptionAssignment> additions = new ArrayList<>(changes.getAdditions());
+        for (List<SubscriptionAssignment> batch : Iterables.partition(deletions, MAX_OPERATIONS_PER_TRANSACTION)) {
+            commitOrApplyOneByOne(batch, true);
+        }
+        for (List<SubscriptionAssignment> batch : Iterables.partition(additions, MAX_OPERATIONS_PER_TRANSACTION)) {
+            commitOrApplyOneByOne(batch, false);
+        }
+    }
+
+    private void ensureSubscriptionEntriesExist(Collection<SubscriptionAssignment> additions) {
+        additions.stream()
+                .map(SubscriptionAssignment::getSubscriptionName)
+                .distinct()
+                .filter(subscription -> !assignments.containsKey(subscription))
+                .forEach(subscription -> askCuratorPolitely(() ->
+                        curator.create().creatingParentsIfNeeded().forPath(pathSerializer.serialize(subscription))));
+    }
+
+    private void commitOrApplyOneByOne(List<SubscriptionAssignment> batch, boolean deletion) {
+        try {
+            CuratorTransaction transaction = curator.inTransaction();
+            for (SubscriptionAssignment assignment : batch) {
+                transaction = appendOperation(transaction, assignment, deletion);
+            }
+            ((CuratorTransactionFinal) transaction).commit();
+        } catch (Exception e) {
+            logger.info("Transaction of {} assignment {} failed, applying them one by one",
+                    batch.size(), deletion ? "deletions" : "additions", e);
+            batch.forEach(deletion ? this::dropAssignment : this::addPersistentAssignment);
+        }
+    }
+
+    private CuratorTransaction appendOperation(CuratorTransaction transaction, SubscriptionAssignment assignment,
+                                               boolean deletion) throws Exception {
+        String path = pathSerializer.serialize(assignment.getSubscriptionName(), assignment.getConsumerNodeId());
+        if (deletion) {
+            return transaction.delete().forPath(path).and();
+        }
+        return transaction.create().withMode(CreateMode.PERSISTENT).forPath(path).and();
+    }
+
     public void dropAssignment(SubscriptionAssignment assignment) {
         askCuratorPolitely(() -> curator.delete().guaranteed()
                 .forPath(pathSerializer.serialize(assignment.getSubscriptionName(), assignment.getConsumerNodeId())));
@@ -127,6 +224,16 @@ public class SubscriptionAssignmentRegistry {
                 .forPath(pathSerializer.serialize(assignment.getSubscriptionName(), assignment.getConsumerNodeId())));
     }
 
+    private static class VersionedSnapshot {
+        private final long version;
+        private final SubscriptionAssignmentView view;
+
+        VersionedSnapshot(long version, SubscriptionAssignmentView view) {
+            this.version = version;
+            this.view = view;
+        }
+    }
+
     interface CuratorTask {
         void run() throws Exception;
     }
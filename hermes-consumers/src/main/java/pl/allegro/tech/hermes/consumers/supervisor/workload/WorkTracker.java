@@ -3,8 +3,6 @@ package pl.allegro.tech.hermes.consumers.supervisor.workload;
 import pl.allegro.tech.hermes.api.Subscription;
 import pl.allegro.tech.hermes.api.SubscriptionName;
 
-import java.util.List;
-
 import static java.lang.String.format;
 
 public class WorkTracker {
@@ -34,15 +32,12 @@ public class WorkTracker {
     }
 
     public WorkDistributionChanges apply(SubscriptionAssignmentView targetView) {
-        SubscriptionAssignmentView currentView = getAssignments();
-
-        List<SubscriptionAssignment> assignmentDeletions = currentView.deletions(targetView).getAllAssignments();
-        List<SubscriptionAssignment> assignmentAdditions = currentView.additions(targetView).getAllAssignments();
-
-        assignmentDeletions.forEach(registry::dropAssignment);
-        assignmentAdditions.forEach(registry::addPersistentAssignment);
+        return apply(SubscriptionAssignmentDiff.between(getAssignments(), targetView));
+    }
 
-        return new WorkDistributionChanges(assignmentDeletions.size(), assignmentAdditions.size());
+    public WorkDistributionChanges apply(SubscriptionAssignmentDiff changes) {
+        registry.applyChanges(changes);
+        return new WorkDistributionChanges(changes.getDeletions().size(), changes.getAdditions().size());
     }
 
     public SubscriptionAssignmentView getAssignments() {
@@ -55,7 +55,7 @@ public class BalancingJob implements LeaderLatchListener, Runnable {
                     WorkBalancingResult work = workBalancer.balance(subscriptionsCache.listActiveSubscriptionNames(),
                             consumersRegistry.list(),
                             workTracker.getAssignments());
-                    WorkTracker.WorkDistributionChanges changes = workTracker.apply(work.getAssignmentsView());
+                    WorkTracker.WorkDistributionChanges changes = workTracker.apply(work.getChanges());
                     logger.info("Finished workload balance {}, {}", work.toString(), changes.toString());
                     metrics.reportConsumersWorkloadStats(kafkaCluster, work.getMissingResources(), changes.getDeletedAssignmentsCount(), changes.getCreatedAssignmentsCount());
                 }
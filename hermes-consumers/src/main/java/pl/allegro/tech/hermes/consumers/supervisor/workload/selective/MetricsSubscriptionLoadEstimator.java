@@ -0,0 +1,77 @@
+package pl.allegro.tech.hermes.consumers.supervisor.workload.selective;
+
+import com.codahale.metrics.Meter;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.common.metric.Meters;
+import pl.allegro.tech.hermes.consumers.subscription.cache.SubscriptionsCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estimates subscription load from its delivery rate and inflight size. Delivery rate is only known on nodes running
+ * the subscription, so the last rate seen by this node is remembered and used when the node no longer consumes it.
+ * Subscriptions never seen are weighted by inflight size only. Rates of subscriptions which no longer exist are
+ * forgotten.
+ */
+public class MetricsSubscriptionLoadEstimator implements SubscriptionLoadEstimator {
+
+    private final SubscriptionsCache subscriptionsCache;
+    private final HermesMetrics metrics;
+    private final double messagesPerSecondPerUnit;
+    private final double inflightPerUnit;
+
+    private final Map<SubscriptionName, Double> lastSeenRates = new ConcurrentHashMap<>();
+    private final AtomicInteger estimatesSincePruning = new AtomicInteger();
+
+    public MetricsSubscriptionLoadEstimator(SubscriptionsCache subscriptionsCache, HermesMetrics metrics,
+                                            double messagesPerSecondPerUnit, double inflightPerUnit) {
+        this.subscriptionsCache = subscriptionsCache;
+        this.metrics = metrics;
+        this.messagesPerSecondPerUnit = messagesPerSecondPerUnit;
+        this.inflightPerUnit = inflightPerUnit;
+    }
+
+    @Override
+    public double estimate(SubscriptionName subscriptionName) {
+        pruneRemovedSubscriptions();
+        return 1.0 + rate(subscriptionName) / messagesPerSecondPerUnit + inflight(subscriptionName) / inflightPerUnit;
+    }
+
+    private double rate(SubscriptionName subscriptionName) {
+        return metrics.existingMeter(Meters.SUBSCRIPTION_METER, subscriptionName.getTopicName(), subscriptionName.getName())
+                .map(Meter::getOneMinuteRate)
+                .map(rate -> {
+                    lastSeenRates.put(subscriptionName, rate);
+                    return rate;
+                })
+                .orElseGet(() -> lastSeenRates.getOrDefault(subscriptionName, 0.0));
+    }
+
+    /**
+     * Remembered rates are checked against current subscriptions once per as many estimates as there are remembered
+     * rates, i.e. about once per balancing round, which keeps the cost of pruning constant per estimate.
+     */
+    private void pruneRemovedSubscriptions() {
+        if (estimatesSincePruning.incrementAndGet() >= lastSeenRates.size()) {
+            estimatesSincePruning.set(0);
+            lastSeenRates.keySet().removeIf(name -> subscriptionsCache.getSubscription(name) == null);
+        }
+    }
+
+    int rememberedRates() {
+        return lastSeenRates.size();
+    }
+
+    private double inflight(SubscriptionName subscriptionName) {
+        Subscription subscription = subscriptionsCache.getSubscription(subscriptionName);
+        if (subscription == null || subscription.isBatchSubscription() || subscription.getSerialSubscriptionPolicy() == null) {
+            return 0;
+        }
+        Integer inflightSize = subscription.getSerialSubscriptionPolicy().getInflightSize();
+        return inflightSize == null ? 0 : inflightSize;
+    }
+}
@@ -109,8 +109,7 @@ public class SelectiveSupervisorController implements SupervisorController {
         consumersRegistry.registerLeaderLatchListener(new BalancingJob(
                 consumersRegistry,
                 subscriptionsCache,
-                new SelectiveWorkBalancer(configFactory.getIntProperty(CONSUMER_WORKLOAD_CONSUMERS_PER_SUBSCRIPTION),
-                        configFactory.getIntProperty(CONSUMER_WORKLOAD_MAX_SUBSCRIPTIONS_PER_CONSUMER)),
+                createWorkBalancer(),
                 workTracker, metrics,
                 configFactory.getIntProperty(CONSUMER_WORKLOAD_REBALANCE_INTERVAL),
                 configFactory.getStringProperty(KAFKA_CLUSTER_NAME)));
@@ -120,10 +119,24 @@ public class SelectiveSupervisorController implements SupervisorController {
                         CONSUMER_WORKLOAD_ALGORITHM,
                         CONSUMER_WORKLOAD_REBALANCE_INTERVAL,
                         CONSUMER_WORKLOAD_CONSUMERS_PER_SUBSCRIPTION,
-                        CONSUMER_WORKLOAD_MAX_SUBSCRIPTIONS_PER_CONSUMER));
+                        CONSUMER_WORKLOAD_MAX_SUBSCRIPTIONS_PER_CONSUMER,
+                        CONSUMER_WORKLOAD_WEIGHTED_BALANCING_ENABLED));
         registry.start();
     }
 
+    private SelectiveWorkBalancer createWorkBalancer() {
+        int consumersPerSubscription = configFactory.getIntProperty(CONSUMER_WORKLOAD_CONSUMERS_PER_SUBSCRIPTION);
+        int maxSubscriptionsPerConsumer = configFactory.getIntProperty(CONSUMER_WORKLOAD_MAX_SUBSCRIPTIONS_PER_CONSUMER);
+        if (!configFactory.getBooleanProperty(CONSUMER_WORKLOAD_WEIGHTED_BALANCING_ENABLED)) {
+            return new SelectiveWorkBalancer(consumersPerSubscription, maxSubscriptionsPerConsumer);
+        }
+        SubscriptionLoadEstimator loadEstimator = new MetricsSubscriptionLoadEstimator(subscriptionsCache, metrics,
+                configFactory.getDoubleProperty(CONSUMER_WORKLOAD_LOAD_RATE_UNIT),
+                configFactory.getDoubleProperty(CONSUMER_WORKLOAD_LOAD_INFLIGHT_UNIT));
+        return new SelectiveWorkBalancer(consumersPerSubscription, maxSubscriptionsPerConsumer, loadEstimator,
+                configFactory.getDoubleProperty(CONSUMER_WORKLOAD_LOAD_IMBALANCE_TOLERANCE));
+    }
+
     @Override
     public Set<SubscriptionName> assignedSubscriptions() {
         return registry.createSnapshot().getSubscriptionsForConsumerNode(getId());
@@ -1,21 +1,53 @@
 package pl.allegro.tech.hermes.consumers.supervisor.workload.selective;
 
 import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.consumers.supervisor.workload.SubscriptionAssignment;
+import pl.allegro.tech.hermes.consumers.supervisor.workload.SubscriptionAssignmentDiff;
 import pl.allegro.tech.hermes.consumers.supervisor.workload.SubscriptionAssignmentView;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
-import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingDouble;
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Balances subscriptions between consumer nodes by their estimated load.
+ *
+ * Missing assignments are handed out heaviest subscriptions first, each to the least loaded node which can still take
+ * it. Afterwards subscriptions are moved from the most loaded node to the least loaded ones, but only when a move
+ * narrows the gap between the two nodes - assignments are never shuffled just to reach the same load with other
+ * subscriptions, which keeps the number of moves between runs low. Nodes whose loads differ by less than
+ * {@code loadImbalanceTolerance} of average node load are considered balanced, so that estimates fluctuating between
+ * runs do not cause moves. With uniform load and no tolerance this is equivalent to keeping subscription counts within
+ * one of each other.
+ */
 public class SelectiveWorkBalancer {
+    private static final double MIN_IMPROVEMENT = 1e-6;
+
     private final int consumersPerSubscription;
     private final int maxSubscriptionsPerConsumer;
+    private final SubscriptionLoadEstimator loadEstimator;
+    private final double loadImbalanceTolerance;
 
     public SelectiveWorkBalancer(int consumersPerSubscription, int maxSubscriptionsPerConsumer) {
+        this(consumersPerSubscription, maxSubscriptionsPerConsumer, SubscriptionLoadEstimator.uniform(), 0.0);
+    }
+
+    public SelectiveWorkBalancer(int consumersPerSubscription, int maxSubscriptionsPerConsumer,
+                                 SubscriptionLoadEstimator loadEstimator, double loadImbalanceTolerance) {
         this.consumersPerSubscription = consumersPerSubscription;
         this.maxSubscriptionsPerConsumer = maxSubscriptionsPerConsumer;
+        this.loadEstimator = loadEstimator;
+        this.loadImbalanceTolerance = loadImbalanceTolerance;
     }
 
     public WorkBalancingResult balance(List<SubscriptionName> subscriptions,
@@ -27,8 +59,10 @@ public class SelectiveWorkBalancer {
         List<SubscriptionName> newSubscriptions = findNewSubscriptions(currentState, subscriptions);
         List<String> newConsumers = findNewConsumers(currentState, activeConsumerNodes);
 
-        SubscriptionAssignmentView balancedState = balance(currentState, removedSubscriptions, inactiveConsumers, newSubscriptions, newConsumers);
+        SubscriptionAssignmentDiff changes = new SubscriptionAssignmentDiff();
+        SubscriptionAssignmentView balancedState = balance(currentState, changes, removedSubscriptions, inactiveConsumers, newSubscriptions, newConsumers);
         return new WorkBalancingResult.Builder(balancedState)
+                .withChanges(changes)
                 .withSubscriptionsStats(subscriptions.size(), removedSubscriptions.size(), newSubscriptions.size())
                 .withConsumersStats(activeConsumerNodes.size(), inactiveConsumers.size(), newConsumers.size())
                 .withMissingResources(countMissingResources(balancedState))
@@ -36,77 +70,187 @@ public class SelectiveWorkBalancer {
     }
 
     private SubscriptionAssignmentView balance(SubscriptionAssignmentView currentState,
+                                               SubscriptionAssignmentDiff changes,
                                                List<SubscriptionName> removedSubscriptions,
                                                List<String> inactiveConsumers,
                                                List<SubscriptionName> newSubscriptions,
                                                List<String> newConsumers) {
-        return currentState.transform((state, transformer) -> {
+        return currentState.transform((state, viewTransformer) -> {
+            SubscriptionAssignmentView.Transformer transformer = changes.recording(state, viewTransformer);
             removedSubscriptions.forEach(transformer::removeSubscription);
             inactiveConsumers.forEach(transformer::removeConsumerNode);
             newSubscriptions.forEach(transformer::addSubscription);
             newConsumers.forEach(transformer::addConsumerNode);
-            AvailableWork.stream(state, consumersPerSubscription, maxSubscriptionsPerConsumer).forEach(transformer::addAssignment);
-            equalizeWorkload(state, transformer);
+            if (!state.getConsumerNodes().isEmpty()) {
+                NodesLoad nodesLoad = new NodesLoad(state, estimateLoad(state));
+                assignMissingWork(state, nodesLoad, transformer);
+                equalizeWorkload(nodesLoad, transformer);
+            }
         });
     }
 
+    private Map<SubscriptionName, Double> estimateLoad(SubscriptionAssignmentView state) {
+        Map<SubscriptionName, Double> load = new HashMap<>();
+        state.getSubscriptions().forEach(subscription -> load.put(subscription, loadEstimator.estimate(subscription)));
+        return load;
+    }
+
     private int countMissingResources(SubscriptionAssignmentView state) {
         return state.getSubscriptions().stream()
                 .mapToInt(s -> consumersPerSubscription - state.getAssignmentsCountForSubscription(s))
                 .sum();
     }
 
-    private void equalizeWorkload(SubscriptionAssignmentView state, SubscriptionAssignmentView.Transformer transformer) {
-        if (state.getSubscriptionsCount() > 1) {
-            boolean transferred;
-            do {
-                transferred = false;
-
-                String maxLoaded = maxLoadedConsumerNode(state);
-                String minLoaded = minLoadedConsumerNode(state);
-                int maxLoad = state.getAssignmentsCountForConsumerNode(maxLoaded);
-                int minLoad = state.getAssignmentsCountForConsumerNode(minLoaded);
-
-                while (maxLoad > minLoad + 1) {
-                    Optional<SubscriptionName> subscription = getSubscriptionForTransfer(state, maxLoaded, minLoaded);
-                    if (subscription.isPresent()) {
-                        transformer.transferAssignment(maxLoaded, minLoaded, subscription.get());
-                        transferred = true;
-                    } else break;
-                    maxLoad--;
-                    minLoad++;
+    private void assignMissingWork(SubscriptionAssignmentView state, NodesLoad nodesLoad,
+                                   SubscriptionAssignmentView.Transformer transformer) {
+        List<SubscriptionName> heaviestFirst = state.getSubscriptions().stream()
+                .sorted(comparingDouble(nodesLoad::loadOf).reversed())
+                .collect(toList());
+
+        for (int replica = 1; replica <= consumersPerSubscription; replica++) {
+            for (SubscriptionName subscription : heaviestFirst) {
+                if (nodesLoad.assignmentsCount(subscription) < replica) {
+                    nodesLoad.leastLoadedNodeAccepting(subscription).ifPresent(node -> {
+                        transformer.addAssignment(new SubscriptionAssignment(node, subscription));
+                        nodesLoad.add(node, subscription);
+                    });
                 }
-            } while(transferred);
+            }
         }
     }
 
-    private String maxLoadedConsumerNode(SubscriptionAssignmentView state) {
-        return state.getConsumerNodes().stream().max(comparingInt(state::getAssignmentsCountForConsumerNode)).get();
-    }
-
-    private String minLoadedConsumerNode(SubscriptionAssignmentView state) {
-        return state.getConsumerNodes().stream().min(comparingInt(state::getAssignmentsCountForConsumerNode)).get();
-    }
-
-    private Optional<SubscriptionName> getSubscriptionForTransfer(SubscriptionAssignmentView state, String maxLoaded, String minLoaded) {
-        return state.getSubscriptionsForConsumerNode(maxLoaded).stream()
-                .filter(s -> !state.getConsumerNodesForSubscription(s).contains(minLoaded))
-                .findAny();
+    private void equalizeWorkload(NodesLoad nodesLoad, SubscriptionAssignmentView.Transformer transformer) {
+        double toleratedGap = loadImbalanceTolerance * nodesLoad.averageNodeLoad();
+        boolean transferred;
+        do {
+            transferred = false;
+            String maxLoaded = nodesLoad.mostLoadedNode();
+            for (String minLoaded : nodesLoad.nodesByLoadAscending()) {
+                double gap = nodesLoad.loadOf(maxLoaded) - nodesLoad.loadOf(minLoaded);
+                if (gap <= toleratedGap) {
+                    break;
+                }
+                Optional<SubscriptionName> subscription = nodesLoad.subscriptionForTransfer(maxLoaded, minLoaded, gap);
+                if (subscription.isPresent()) {
+                    transformer.transferAssignment(maxLoaded, minLoaded, subscription.get());
+                    nodesLoad.transfer(maxLoaded, minLoaded, subscription.get());
+                    transferred = true;
+                    break;
+                }
+            }
+        } while (transferred);
     }
 
     private List<SubscriptionName> findRemovedSubscriptions(SubscriptionAssignmentView state, List<SubscriptionName> subscriptions) {
-        return state.getSubscriptions().stream().filter(s -> !subscriptions.contains(s)).collect(toList());
+        Set<SubscriptionName> active = new HashSet<>(subscriptions);
+        return state.getSubscriptions().stream().filter(s -> !active.contains(s)).collect(toList());
     }
 
     private List<String> findInactiveConsumers(SubscriptionAssignmentView state, List<String> activeConsumers) {
-        return state.getConsumerNodes().stream().filter(c -> !activeConsumers.contains(c)).collect(toList());
+        Set<String> active = new HashSet<>(activeConsumers);
+        return state.getConsumerNodes().stream().filter(c -> !active.contains(c)).collect(toList());
     }
 
     private List<SubscriptionName> findNewSubscriptions(SubscriptionAssignmentView state, List<SubscriptionName> subscriptions) {
-        return subscriptions.stream().filter(s -> !state.getSubscriptions().contains(s)).collect(toList());
+        Set<SubscriptionName> existing = state.getSubscriptions();
+        return subscriptions.stream().filter(s -> !existing.contains(s)).collect(toList());
     }
 
     private List<String> findNewConsumers(SubscriptionAssignmentView state, List<String> activeConsumers) {
-        return activeConsumers.stream().filter(c -> !state.getConsumerNodes().contains(c)).collect(toList());
+        Set<String> existing = state.getConsumerNodes();
+        return activeConsumers.stream().filter(c -> !existing.contains(c)).collect(toList());
+    }
+
+    /**
+     * Mutable load bookkeeping for single balancing run. Nodes are kept ordered by load, so that the least and most
+     * loaded nodes are found in logarithmic time instead of scanning all nodes after every change.
+     */
+    private class NodesLoad {
+        private final Map<SubscriptionName, Double> subscriptionsLoad;
+        private final Map<SubscriptionName, Set<String>> subscriptionNodes = new HashMap<>();
+        private final Map<String, Set<SubscriptionName>> nodeSubscriptions = new HashMap<>();
+        private final Map<String, Double> nodeLoad = new HashMap<>();
+        private final TreeSet<String> nodesByLoad = new TreeSet<>(
+                Comparator.<String>comparingDouble(nodeLoad::get).thenComparing(Comparator.naturalOrder()));
+
+        NodesLoad(SubscriptionAssignmentView state, Map<SubscriptionName, Double> subscriptionsLoad) {
+            this.subscriptionsLoad = subscriptionsLoad;
+            state.getSubscriptions().forEach(subscription ->
+                    subscriptionNodes.put(subscription, new HashSet<>(state.getConsumerNodesForSubscription(subscription))));
+            for (String node : state.getConsumerNodes()) {
+                Set<SubscriptionName> subscriptions = new HashSet<>(state.getSubscriptionsForConsumerNode(node));
+                nodeSubscriptions.put(node, subscriptions);
+                nodeLoad.put(node, subscriptions.stream().mapToDouble(this::loadOf).sum());
+                nodesByLoad.add(node);
+            }
+        }
+
+        double loadOf(SubscriptionName subscription) {
+            return subscriptionsLoad.get(subscription);
+        }
+
+        double loadOf(String node) {
+            return nodeLoad.get(node);
+        }
+
+        int assignmentsCount(SubscriptionName subscription) {
+            return subscriptionNodes.get(subscription).size();
+        }
+
+        double averageNodeLoad() {
+            return nodeLoad.values().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        }
+
+        String mostLoadedNode() {
+            return nodesByLoad.last();
+        }
+
+        List<String> nodesByLoadAscending() {
+            return new ArrayList<>(nodesByLoad);
+        }
+
+        Optional<String> leastLoadedNodeAccepting(SubscriptionName subscription) {
+            Set<String> assignedNodes = subscriptionNodes.get(subscription);
+            Iterator<String> nodes = nodesByLoad.iterator();
+            while (nodes.hasNext()) {
+                String node = nodes.next();
+                if (canAccept(node) && !assignedNodes.contains(node)) {
+                    return Optional.of(node);
+                }
+            }
+            return Optional.empty();
+        }
+
+        Optional<SubscriptionName> subscriptionForTransfer(String from, String to, double gap) {
+            if (!canAccept(to)) {
+                return Optional.empty();
+            }
+            Set<SubscriptionName> targetSubscriptions = nodeSubscriptions.get(to);
+            return nodeSubscriptions.get(from).stream()
+                    .filter(subscription -> !targetSubscriptions.contains(subscription))
+                    .filter(subscription -> loadOf(subscription) + MIN_IMPROVEMENT < gap)
+                    .min(comparingDouble(subscription -> Math.abs(gap / 2 - loadOf(subscription))));
+        }
+
+        void add(String node, SubscriptionName subscription) {
+            nodesByLoad.remove(node);
+            nodeSubscriptions.get(node).add(subscription);
+            subscriptionNodes.get(subscription).add(node);
+            nodeLoad.put(node, nodeLoad.get(node) + loadOf(subscription));
+            nodesByLoad.add(node);
+        }
+
+        void transfer(String from, String to, SubscriptionName subscription) {
+            nodesByLoad.remove(from);
+            nodeSubscriptions.get(from).remove(subscription);
+            subscriptionNodes.get(subscription).remove(from);
+            nodeLoad.put(from, nodeLoad.get(from) - loadOf(subscription));
+            nodesByLoad.add(from);
+            add(to, subscription);
+        }
+
+        private boolean canAccept(String node) {
+            return nodeSubscriptions.get(node).size() < maxSubscriptionsPerConsumer;
+        }
     }
 }
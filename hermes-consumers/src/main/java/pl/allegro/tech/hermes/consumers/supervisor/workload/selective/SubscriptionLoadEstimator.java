@@ -0,0 +1,16 @@
+package pl.allegro.tech.hermes.consumers.supervisor.workload.selective;
+
+import pl.allegro.tech.hermes.api.SubscriptionName;
+
+public interface SubscriptionLoadEstimator {
+
+    /**
+     * Relative cost of running single consumer of given subscription. Values are compared between subscriptions
+     * only, an idle subscription should weigh about 1.
+     */
+    double estimate(SubscriptionName subscriptionName);
+
+    static SubscriptionLoadEstimator uniform() {
+        return subscriptionName -> 1.0;
+    }
+}
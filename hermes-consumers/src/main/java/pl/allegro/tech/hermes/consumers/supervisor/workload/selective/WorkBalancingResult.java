@@ -1,17 +1,20 @@
 package pl.allegro.tech.hermes.consumers.supervisor.workload.selective;
 
+import pl.allegro.tech.hermes.consumers.supervisor.workload.SubscriptionAssignmentDiff;
 import pl.allegro.tech.hermes.consumers.supervisor.workload.SubscriptionAssignmentView;
 
 import static java.lang.String.format;
 
 public class WorkBalancingResult {
     private SubscriptionAssignmentView state;
+    private SubscriptionAssignmentDiff changes;
     private Counts subscriptionsCounts;
     private Counts consumersCounts;
     private int missingResources;
 
     private WorkBalancingResult(Builder builder) {
         this.state = builder.state;
+        this.changes = builder.changes;
         this.subscriptionsCounts = builder.subscriptionsCounts;
         this.consumersCounts = builder.consumersCounts;
         this.missingResources = builder.missingResources;
@@ -21,6 +24,10 @@ public class WorkBalancingResult {
         return state;
     }
 
+    public SubscriptionAssignmentDiff getChanges() {
+        return changes;
+    }
+
     public int getRemovedSubscriptionsCount() {
         return subscriptionsCounts.inactiveCount;
     }
@@ -56,6 +63,7 @@ public class WorkBalancingResult {
 
     public static class Builder {
         private SubscriptionAssignmentView state;
+        private SubscriptionAssignmentDiff changes = new SubscriptionAssignmentDiff();
         private Counts subscriptionsCounts = new Counts();
         private Counts consumersCounts = new Counts();
         private int missingResources;
@@ -64,6 +72,11 @@ public class WorkBalancingResult {
             this.state = state;
         }
 
+        public Builder withChanges(SubscriptionAssignmentDiff changes) {
+            this.changes = changes;
+            return this;
+        }
+
         public Builder withSubscriptionsStats(int activeCount, int inactiveCount, int newCount) {
             this.subscriptionsCounts = new Counts(activeCount, inactiveCount, newCount);
             return this;
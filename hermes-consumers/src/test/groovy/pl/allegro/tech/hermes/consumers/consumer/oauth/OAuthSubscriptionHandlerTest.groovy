@@ -5,16 +5,27 @@ import pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder
 import spock.lang.Specification
 import spock.util.concurrent.PollingConditions
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 import static pl.allegro.tech.hermes.api.SubscriptionOAuthPolicy.clientCredentialsGrantOAuthPolicy
+import static pl.allegro.tech.hermes.consumers.consumer.oauth.OAuthAccessTokens.RefreshResult.ALREADY_REFRESHING
+import static pl.allegro.tech.hermes.consumers.consumer.oauth.OAuthAccessTokens.RefreshResult.FAILED
+import static pl.allegro.tech.hermes.consumers.consumer.oauth.OAuthAccessTokens.RefreshResult.REFRESHED
 
 class OAuthSubscriptionHandlerTest extends Specification {
 
-    def tokens = Mock(OAuthAccessTokens)
+    def tokens = Mock(OAuthAccessTokens) {
+        getTokenIfPresent(_) >> Optional.empty()
+    }
 
     def rateLimiter = Mock(OAuthTokenRequestRateLimiter)
 
     def conditions = new PollingConditions(timeout: 1)
 
+    def refreshExecutor = Executors.newSingleThreadScheduledExecutor()
+
     OAuthSubscriptionHandler handler
 
     def subscription = SubscriptionBuilder.subscription("group.topic", "subscription")
@@ -22,7 +33,12 @@ class OAuthSubscriptionHandlerTest extends Specification {
             .build()
 
     def setup() {
-        handler = new OAuthSubscriptionHandler(subscription.qualifiedName, "provider1", tokens, rateLimiter)
+        handler = new OAuthSubscriptionHandler(subscription.qualifiedName, "provider1", tokens, rateLimiter,
+                refreshExecutor, 0.5)
+    }
+
+    def cleanup() {
+        refreshExecutor.shutdownNow()
     }
 
     def "should request token on init"() {
@@ -74,4 +90,88 @@ class OAuthSubscriptionHandlerTest extends Specification {
         then:
         1 * rateLimiter.resetRate()
     }
+
+    def "should refresh token in background before it expires"() {
+        given:
+        def refreshed = new CountDownLatch(1)
+        def expiringTokens = Stub(OAuthAccessTokens) {
+            getTokenIfPresent(subscription.qualifiedName) >> Optional.of(new OAuthAccessToken("token", 1))
+            refreshToken(subscription.qualifiedName) >> { refreshed.countDown(); REFRESHED }
+        }
+        rateLimiter.tryAcquire() >> true
+        def handler = new OAuthSubscriptionHandler(subscription.qualifiedName, "provider1", expiringTokens, rateLimiter,
+                refreshExecutor, 0.1)
+
+        when:
+        handler.initialize()
+
+        then:
+        refreshed.await(1, TimeUnit.SECONDS)
+    }
+
+    def "should not refresh token in background after handler is stopped"() {
+        given:
+        def refreshed = new CountDownLatch(1)
+        def expiringTokens = Stub(OAuthAccessTokens) {
+            getTokenIfPresent(subscription.qualifiedName) >> Optional.of(new OAuthAccessToken("token", 1))
+            refreshToken(subscription.qualifiedName) >> { refreshed.countDown(); REFRESHED }
+        }
+        rateLimiter.tryAcquire() >> true
+        def handler = new OAuthSubscriptionHandler(subscription.qualifiedName, "provider1", expiringTokens, rateLimiter,
+                refreshExecutor, 0.1)
+
+        when:
+        handler.initialize()
+        handler.stop()
+
+        then:
+        !refreshed.await(300, TimeUnit.MILLISECONDS)
+    }
+
+    def "should retry failed refresh at token request rate instead of waiting for token expiry"() {
+        given:
+        def refreshes = new CountDownLatch(2)
+        def failingTokens = Stub(OAuthAccessTokens) {
+            getTokenIfPresent(subscription.qualifiedName) >> Optional.of(new OAuthAccessToken("token", 3600))
+            refreshToken(subscription.qualifiedName) >> { refreshes.countDown(); FAILED }
+        }
+        def rateLimiter = Stub(OAuthTokenRequestRateLimiter) {
+            tryAcquire() >> true
+            getCurrentRate() >> 20.0
+        }
+        def handler = new OAuthSubscriptionHandler(subscription.qualifiedName, "provider1", failingTokens, rateLimiter,
+                refreshExecutor, 0.5)
+
+        when:
+        handler.handleFailed(subscription, MessageSendingResult.failedResult(401))
+
+        then:
+        refreshes.await(1, TimeUnit.SECONDS)
+
+        cleanup:
+        handler.stop()
+    }
+
+    def "should not reduce token request rate when refresh is already in progress"() {
+        given:
+        def skipped = new CountDownLatch(1)
+        def refreshingTokens = Stub(OAuthAccessTokens) {
+            getTokenIfPresent(subscription.qualifiedName) >> Optional.of(new OAuthAccessToken("token", 3600))
+            refreshToken(subscription.qualifiedName) >> { skipped.countDown(); ALREADY_REFRESHING }
+        }
+        def rateLimiter = Mock(OAuthTokenRequestRateLimiter) {
+            tryAcquire() >> true
+        }
+        def handler = new OAuthSubscriptionHandler(subscription.qualifiedName, "provider1", refreshingTokens, rateLimiter,
+                refreshExecutor, 0.5)
+
+        when:
+        handler.handleFailed(subscription, MessageSendingResult.failedResult(401))
+        skipped.await(1, TimeUnit.SECONDS)
+        refreshExecutor.submit({} as Runnable).get(1, TimeUnit.SECONDS)
+
+        then:
+        1 * rateLimiter.reduceRate()
+        0 * rateLimiter.getCurrentRate()
+    }
 }
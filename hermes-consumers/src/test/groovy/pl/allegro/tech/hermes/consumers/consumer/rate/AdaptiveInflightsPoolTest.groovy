@@ -0,0 +1,98 @@
+package pl.allegro.tech.hermes.consumers.consumer.rate
+
+import spock.lang.Specification
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS
+import static pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult.failedResult
+import static pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult.succeededResult
+
+class AdaptiveInflightsPoolTest extends Specification {
+
+    static final long FAST = MILLISECONDS.toNanos(10)
+    static final long SLOW = MILLISECONDS.toNanos(50)
+
+    def "should shrink limit once per limit-worth of slow responses"() {
+        given:
+        def pool = new AdaptiveInflightsPool(100, true, 1, 2.0, 0.5)
+        10.times { pool.registerSample(FAST, false) }
+
+        when:
+        100.times { pool.registerSample(SLOW, false) }
+
+        then:
+        pool.limit == 50
+        pool.availablePermits() == 50
+    }
+
+    def "should grow limit back when latency returns to normal"() {
+        given:
+        def pool = new AdaptiveInflightsPool(10, true, 1, 2.0, 0.5)
+        pool.registerSample(FAST, false)
+        10.times { pool.registerSample(SLOW, false) }
+        assert pool.limit == 5
+
+        when:
+        100.times { pool.registerSample(FAST, false) }
+
+        then:
+        pool.limit == 10
+    }
+
+    def "should not shrink limit below minimum"() {
+        given:
+        def pool = new AdaptiveInflightsPool(10, true, 3, 2.0, 0.5)
+
+        when:
+        1000.times { pool.registerSample(SLOW, true) }
+
+        then:
+        pool.limit == 3
+    }
+
+    def "should treat server errors as overload and ignore client errors"() {
+        given:
+        def pool = new AdaptiveInflightsPool(4, true, 1, 2.0, 0.5)
+        pool.registerResponse(succeededResult(), FAST)
+
+        when:
+        4.times { pool.registerResponse(failedResult(400), FAST) }
+
+        then:
+        pool.limit == 4
+
+        when:
+        2.times { pool.registerResponse(failedResult(503), FAST) }
+
+        then:
+        pool.limit == 2
+    }
+
+    def "should keep static limit when adaptive mode is disabled"() {
+        given:
+        def pool = new AdaptiveInflightsPool(10, false, 1, 2.0, 0.5)
+
+        when:
+        100.times { pool.registerResponse(failedResult(503), SLOW) }
+
+        then:
+        pool.limit == 10
+
+        when:
+        pool.updateMaxInflight(20)
+
+        then:
+        pool.limit == 20
+    }
+
+    def "should cap limit when max inflight decreases"() {
+        given:
+        def pool = new AdaptiveInflightsPool(10, true, 1, 2.0, 0.5)
+
+        when:
+        pool.updateMaxInflight(6)
+
+        then:
+        pool.limit == 6
+        pool.availablePermits() == 6
+    }
+}
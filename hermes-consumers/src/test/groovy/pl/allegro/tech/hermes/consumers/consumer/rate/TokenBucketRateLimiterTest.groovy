@@ -0,0 +1,71 @@
+package pl.allegro.tech.hermes.consumers.consumer.rate
+
+import spock.lang.Specification
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS
+import static java.util.concurrent.TimeUnit.SECONDS
+
+class TokenBucketRateLimiterTest extends Specification {
+
+    def "should space permits according to rate"() {
+        given:
+        def limiter = new TokenBucketRateLimiter(10)
+        def now = System.nanoTime()
+
+        when:
+        def first = limiter.reserve(now)
+        def second = limiter.reserve(now)
+        def third = limiter.reserve(now)
+
+        then:
+        first <= 0
+        second > MILLISECONDS.toNanos(0) && second <= MILLISECONDS.toNanos(100)
+        third - second == MILLISECONDS.toNanos(100)
+    }
+
+    def "should allow at most one second burst after idle period"() {
+        given:
+        def limiter = new TokenBucketRateLimiter(10)
+        def later = System.nanoTime() + SECONDS.toNanos(60)
+
+        when:
+        def waits = (1..12).collect { limiter.reserve(later) }
+
+        then:
+        waits.take(11).every { it <= 0 }
+        waits.last() > 0
+    }
+
+    def "should apply new rate to subsequent permits"() {
+        given:
+        def limiter = new TokenBucketRateLimiter(10)
+        def now = System.nanoTime()
+        limiter.reserve(now)
+
+        when:
+        limiter.setRate(1)
+        def delayed = limiter.reserve(now)
+        def next = limiter.reserve(now)
+
+        then:
+        limiter.rate == 1.0d
+        next - delayed == SECONDS.toNanos(1)
+    }
+
+    def "should not block on tryAcquire when no permit is available"() {
+        given:
+        def limiter = new TokenBucketRateLimiter(0.001)
+
+        expect:
+        limiter.tryAcquire()
+        !limiter.tryAcquire()
+    }
+
+    def "should reject non positive rate"() {
+        when:
+        new TokenBucketRateLimiter(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,125 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http
+
+import org.eclipse.jetty.client.api.Request
+import org.eclipse.jetty.client.api.Response
+import org.eclipse.jetty.client.api.Result
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Clock
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+class DestinationBulkheadTest extends Specification {
+
+    long now = 0
+
+    @Subject
+    DestinationBulkhead bulkhead = new DestinationBulkhead("http://localhost:8080", 2, 1, [millis: { now }] as Clock)
+
+    List<Response.CompleteListener> sentListeners = []
+
+    def "should hand over requests to client up to active requests limit"() {
+        when:
+        3.times { bulkhead.send(request(), Mock(Response.CompleteListener)) }
+
+        then:
+        sentListeners.size() == 2
+        bulkhead.activeRequests == 2
+        bulkhead.queueDepth == 1
+    }
+
+    def "should dispatch queued request when active request completes"() {
+        given:
+        def completed = Mock(Response.CompleteListener)
+        bulkhead.send(request(), completed)
+        bulkhead.send(request(), Mock(Response.CompleteListener))
+        bulkhead.send(request(), Mock(Response.CompleteListener))
+
+        when:
+        sentListeners[0].onComplete(Mock(Result))
+
+        then:
+        1 * completed.onComplete(_)
+        sentListeners.size() == 3
+        bulkhead.activeRequests == 2
+        bulkhead.queueDepth == 0
+    }
+
+    def "should reject request when destination queue is full"() {
+        given:
+        3.times { bulkhead.send(request(), Mock(Response.CompleteListener)) }
+        def rejected = Mock(Response.CompleteListener)
+
+        when:
+        bulkhead.send(request(), rejected)
+
+        then:
+        1 * rejected.onComplete({ Result result -> result.failure instanceof RejectedExecutionException })
+        sentListeners.size() == 2
+    }
+
+    def "should fail queued request without sending it when its timeout passes in the queue"() {
+        given:
+        2.times { bulkhead.send(request(1000), Mock(Response.CompleteListener)) }
+        def expired = Mock(Response.CompleteListener)
+        Request queued = request(1000)
+        bulkhead.send(queued, expired)
+
+        when:
+        now = 1000
+        sentListeners[0].onComplete(Mock(Result))
+
+        then:
+        1 * expired.onComplete({ Result result -> result.failure instanceof TimeoutException })
+        0 * queued.send(_)
+        bulkhead.activeRequests == 1
+        bulkhead.queueDepth == 0
+    }
+
+    def "should send queued request with remaining part of its timeout"() {
+        given:
+        2.times { bulkhead.send(request(1000), Mock(Response.CompleteListener)) }
+        Request queued = request(1000)
+        bulkhead.send(queued, Mock(Response.CompleteListener))
+
+        when:
+        now = 700
+        sentListeners[0].onComplete(Mock(Result))
+
+        then:
+        1 * queued.timeout(300, TimeUnit.MILLISECONDS)
+        sentListeners.size() == 3
+    }
+
+    def "should drain long queue of synchronously completed requests without nesting dispatches"() {
+        given:
+        DestinationBulkhead longQueue = new DestinationBulkhead("http://localhost:8080", 1, 20_000, [millis: { now }] as Clock)
+        longQueue.send(request(), Mock(Response.CompleteListener))
+        int completed = 0
+        Response.CompleteListener listener = { Result result -> completed++ } as Response.CompleteListener
+        20_000.times { longQueue.send(completedRequest(), listener) }
+
+        when:
+        sentListeners[0].onComplete(Mock(Result))
+
+        then:
+        completed == 20_000
+        longQueue.activeRequests == 0
+        longQueue.queueDepth == 0
+    }
+
+    private Request request(long timeout = 0) {
+        Request request = Mock(Request)
+        request.getTimeout() >> timeout
+        request.send(_ as Response.CompleteListener) >> { Response.CompleteListener listener -> sentListeners.add(listener) }
+        return request
+    }
+
+    private Request completedRequest() {
+        Request request = Stub(Request)
+        request.send(_ as Response.CompleteListener) >> { Response.CompleteListener listener -> listener.onComplete(null) }
+        return request
+    }
+}
@@ -0,0 +1,76 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http
+
+import com.codahale.metrics.MetricRegistry
+import org.eclipse.jetty.client.api.Request
+import org.eclipse.jetty.client.api.Response
+import pl.allegro.tech.hermes.common.metric.HermesMetrics
+import pl.allegro.tech.hermes.metrics.PathsCompiler
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Clock
+
+class DestinationBulkheadsTest extends Specification {
+
+    long now = 0
+
+    MetricRegistry metricRegistry = new MetricRegistry()
+
+    @Subject
+    DestinationBulkheads bulkheads = new DestinationBulkheads("test", 10, 10, 1000,
+            new HermesMetrics(metricRegistry, new PathsCompiler("localhost")), [millis: { now }] as Clock)
+
+    List<Response.CompleteListener> sentListeners = []
+
+    def "should drop idle bulkhead together with its gauges"() {
+        given:
+        bulkheads.send(request("idle"), Mock(Response.CompleteListener))
+        sentListeners[0].onComplete(null)
+
+        when:
+        now = 1000
+        bulkheads.send(request("busy"), Mock(Response.CompleteListener))
+
+        then:
+        bulkheads.size() == 1
+        metricRegistry.gauges.keySet().every { !it.contains("idle") }
+        metricRegistry.gauges.keySet().count { it.contains("busy") } == 2
+    }
+
+    def "should keep bulkhead with request in progress"() {
+        given:
+        bulkheads.send(request("slow"), Mock(Response.CompleteListener))
+
+        when:
+        now = 1000
+        bulkheads.send(request("other"), Mock(Response.CompleteListener))
+
+        then:
+        bulkheads.size() == 2
+        metricRegistry.gauges.keySet().count { it.contains("slow") } == 2
+    }
+
+    def "should send request through new bulkhead after idle one was dropped"() {
+        given:
+        bulkheads.send(request("host"), Mock(Response.CompleteListener))
+        sentListeners[0].onComplete(null)
+        now = 1000
+        bulkheads.send(request("other"), Mock(Response.CompleteListener))
+
+        when:
+        bulkheads.send(request("host"), Mock(Response.CompleteListener))
+
+        then:
+        sentListeners.size() == 3
+        metricRegistry.gauges.keySet().count { it.contains("host") } == 2
+    }
+
+    private Request request(String host) {
+        Request request = Mock(Request)
+        request.getScheme() >> "http"
+        request.getHost() >> host
+        request.getPort() >> 8080
+        request.send(_ as Response.CompleteListener) >> { Response.CompleteListener listener -> sentListeners.add(listener) }
+        return request
+    }
+}
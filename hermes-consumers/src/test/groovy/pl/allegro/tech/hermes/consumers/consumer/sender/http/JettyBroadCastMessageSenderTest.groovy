@@ -1,14 +1,17 @@
 package pl.allegro.tech.hermes.consumers.consumer.sender.http
 
+import com.codahale.metrics.MetricRegistry
 import com.github.tomakehurst.wiremock.WireMockServer
 import org.eclipse.jetty.client.HttpClient
 import org.eclipse.jetty.util.HttpCookieStore
 import pl.allegro.tech.hermes.api.EndpointAddress
 import pl.allegro.tech.hermes.api.EndpointAddressResolverMetadata
+import pl.allegro.tech.hermes.common.metric.HermesMetrics
 import pl.allegro.tech.hermes.consumers.consumer.Message
 import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult
 import pl.allegro.tech.hermes.consumers.consumer.sender.MultiMessageSendingResult
 import pl.allegro.tech.hermes.consumers.consumer.sender.resolver.ResolvableEndpointAddress
+import pl.allegro.tech.hermes.metrics.PathsCompiler
 import pl.allegro.tech.hermes.test.helper.endpoint.MultiUrlEndpointAddressResolver
 import pl.allegro.tech.hermes.test.helper.endpoint.RemoteServiceEndpoint
 import pl.allegro.tech.hermes.test.helper.util.Ports
@@ -16,6 +19,7 @@ import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.time.Clock
 import java.util.concurrent.TimeUnit
 
 import static pl.allegro.tech.hermes.consumers.test.MessageBuilder.TEST_MESSAGE_CONTENT
@@ -38,6 +42,9 @@ class JettyBroadCastMessageSenderTest extends Specification {
     @Shared
     List<RemoteServiceEndpoint> serviceEndpoints
 
+    DestinationBulkheads bulkheads = new DestinationBulkheads("test", 100, 1000, 60_000,
+            new HermesMetrics(new MetricRegistry(), new PathsCompiler("localhost")), Clock.systemUTC())
+
     @Subject
     JettyBroadCastMessageSender messageSender
 
@@ -56,8 +63,8 @@ class JettyBroadCastMessageSenderTest extends Specification {
     def setup() {
         def address = new ResolvableEndpointAddress(endpoint, new MultiUrlEndpointAddressResolver(),
                 EndpointAddressResolverMetadata.empty());
-        def httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(), Optional.empty());
-        messageSender = new JettyBroadCastMessageSender(httpRequestFactory, address);
+        def httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(), Optional.empty(), []);
+        messageSender = new JettyBroadCastMessageSender(httpRequestFactory, address, bulkheads);
     }
 
     def "should send message successfully in parallel to all urls"() {
@@ -117,8 +124,8 @@ class JettyBroadCastMessageSenderTest extends Specification {
         def address = Stub(ResolvableEndpointAddress) {
             resolveAllFor(_) >> []
         }
-        def httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(), Optional.empty());
-        messageSender = new JettyBroadCastMessageSender(httpRequestFactory, address);
+        def httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(), Optional.empty(), []);
+        messageSender = new JettyBroadCastMessageSender(httpRequestFactory, address, bulkheads);
 
         when:
         def future = messageSender.send(testMessage())
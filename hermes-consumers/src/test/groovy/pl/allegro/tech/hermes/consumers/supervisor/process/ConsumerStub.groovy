@@ -13,17 +13,40 @@ class ConsumerStub implements Consumer {
 
     boolean consumptionStarted
 
+    boolean cooperative
+
+    int pendingMessages
+
     Subscription modifiedSubscription
 
+    List<Thread> lifecycleThreads = []
+
     @Override
     void consume(Runnable signalsInterrupt) {
         consumptionStarted = true
         signalsInterrupt.run()
     }
 
+    @Override
+    boolean isCooperative() {
+        return cooperative
+    }
+
+    @Override
+    boolean tryConsume(Runnable signalsInterrupt) {
+        consumptionStarted = true
+        signalsInterrupt.run()
+        if (pendingMessages > 0) {
+            pendingMessages--
+            return true
+        }
+        return false
+    }
+
     @Override
     void initialize() {
         initializationCount++
+        lifecycleThreads << Thread.currentThread()
     }
 
     @Override
@@ -34,6 +57,7 @@ class ConsumerStub implements Consumer {
     @Override
     void updateSubscription(Subscription subscription) {
         modifiedSubscription = subscription
+        lifecycleThreads << Thread.currentThread()
     }
 
     @Override
@@ -0,0 +1,107 @@
+package pl.allegro.tech.hermes.consumers.supervisor.process
+
+import pl.allegro.tech.hermes.api.Subscription
+import pl.allegro.tech.hermes.api.SubscriptionName
+import pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder
+import spock.lang.Specification
+
+import java.time.Clock
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+class CooperativeConsumerTaskTest extends Specification {
+
+    private ScheduledExecutorService workers = Executors.newScheduledThreadPool(2)
+
+    private ExecutorService lifecycle = Executors.newSingleThreadExecutor()
+
+    private ConsumerStub consumer = new ConsumerStub(cooperative: true)
+
+    private SubscriptionName subscription = SubscriptionName.fromString('group.topic$sub')
+
+    private boolean shutdownRun = false
+
+    private ConsumerProcess process = new ConsumerProcess(
+            subscription,
+            consumer,
+            Mock(Retransmitter),
+            { a -> shutdownRun = true },
+            Clock.systemDefaultZone()
+    )
+
+    def cleanup() {
+        workers.shutdownNow()
+        lifecycle.shutdownNow()
+    }
+
+    def "should consume pending messages in slices and release process on stop signal"() {
+        given:
+        consumer.pendingMessages = 1000
+        CooperativeConsumerTask task = new CooperativeConsumerTask(process, workers, lifecycle, 10, 5).submit()
+
+        when:
+        new ConsumerProcessWaiter().waitForSignalProcessing()
+        process.accept(Signal.of(Signal.SignalType.STOP, subscription))
+        task.get(1, TimeUnit.SECONDS)
+
+        then:
+        consumer.pendingMessages == 0
+        consumer.initialized
+        consumer.tornDown
+        shutdownRun
+    }
+
+    def "should release process of cancelled task on next slice"() {
+        given:
+        CooperativeConsumerTask task = new CooperativeConsumerTask(process, workers, lifecycle, 10, 5).submit()
+        new ConsumerProcessWaiter().waitForSignalProcessing()
+
+        when:
+        task.cancel(true)
+        new ConsumerProcessWaiter().waitForSignalProcessing()
+
+        then:
+        task.cancelled
+        consumer.tornDown
+        shutdownRun
+    }
+
+    def "should release process when workers are shut down"() {
+        given:
+        consumer.pendingMessages = 1000
+        CooperativeConsumerTask task = new CooperativeConsumerTask(process, workers, lifecycle, 10, 5).submit()
+        new ConsumerProcessWaiter().waitForSignalProcessing()
+
+        when:
+        process.accept(Signal.of(Signal.SignalType.STOP, subscription))
+        workers.shutdown()
+        workers.awaitTermination(1, TimeUnit.SECONDS)
+        task.get(1, TimeUnit.SECONDS)
+
+        then:
+        consumer.tornDown
+        shutdownRun
+    }
+
+    def "should start and update consumer outside of shared workers"() {
+        given:
+        consumer.pendingMessages = 1000
+        CooperativeConsumerTask task = new CooperativeConsumerTask(process, workers, lifecycle, 10, 5).submit()
+        Thread lifecycleThread = lifecycle.submit({ Thread.currentThread() } as Callable<Thread>).get()
+        Subscription modifiedSubscription = SubscriptionBuilder.subscription("group.topic", "sub1").build()
+
+        when:
+        process.accept(Signal.of(Signal.SignalType.UPDATE_SUBSCRIPTION, subscription, modifiedSubscription))
+        new ConsumerProcessWaiter().waitForSignalProcessing()
+
+        then:
+        consumer.modifiedSubscription == modifiedSubscription
+        consumer.lifecycleThreads == [lifecycleThread, lifecycleThread]
+
+        cleanup:
+        task.cancel(true)
+    }
+}
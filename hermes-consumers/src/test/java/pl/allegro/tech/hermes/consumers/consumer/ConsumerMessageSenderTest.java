@@ -23,9 +23,12 @@ import pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 
+import static com.jayway.awaitility.Awaitility.await;
+import static com.jayway.awaitility.Duration.ONE_SECOND;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -38,6 +41,8 @@ import static pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder.sub
 public class ConsumerMessageSenderTest {
 
     public static final int ASYNC_TIMEOUT_MS = 2000;
+
+    private static final int MAX_HELD_BACK_PER_KEY = 100;
     private Subscription subscription = subscriptionWithTtl(10);
 
     private Subscription subscriptionWith4xxRetry = subscriptionWithTtlAndClientErrorRetry(10);
@@ -338,7 +343,78 @@ public class ConsumerMessageSenderTest {
         verify(otherMessageSender).send(message);
     }
 
+    @Test
+    public void shouldDeliverMessagesWithTheSameKeyInOrderAndOtherKeysConcurrently() {
+        // given
+        Subscription subscription = subscriptionWithKeyOrdering();
+        setUpMetrics(subscription);
+        ConsumerMessageSender sender = consumerMessageSender(subscription);
+        Message first = messageWithKey("1", "order-1");
+        Message second = messageWithKey("2", "order-1");
+        Message other = messageWithKey("3", "order-2");
+        CompletableFuture<MessageSendingResult> firstResult = new CompletableFuture<>();
+        when(messageSender.send(first)).thenReturn(firstResult);
+        when(messageSender.send(second)).thenReturn(success());
+        when(messageSender.send(other)).thenReturn(success());
+
+        // when
+        sender.sendAsync(first);
+        sender.sendAsync(second);
+        sender.sendAsync(other);
+
+        // then
+        verify(successHandler, timeout(1000)).handleSuccess(eq(other), eq(subscription), any(MessageSendingResult.class));
+        verify(messageSender, never()).send(second);
+
+        // when
+        firstResult.complete(MessageSendingResult.succeededResult());
+
+        // then
+        verify(successHandler, timeout(1000)).handleSuccess(eq(second), eq(subscription), any(MessageSendingResult.class));
+    }
+
+    @Test
+    public void shouldGiveBackInflightPermitsOfMessagesHeldBackByTheSameKey() {
+        // given
+        Subscription subscription = subscriptionWithKeyOrdering();
+        setUpMetrics(subscription);
+        ConsumerMessageSender sender = consumerMessageSender(subscription, 2);
+        Message first = messageWithKey("1", "hot");
+        List<Message> heldBack = Arrays.asList(messageWithKey("2", "hot"), messageWithKey("3", "hot"),
+                messageWithKey("4", "hot"));
+        Message other = messageWithKey("5", "cold");
+        CompletableFuture<MessageSendingResult> firstResult = new CompletableFuture<>();
+        when(messageSender.send(first)).thenReturn(firstResult);
+        heldBack.forEach(message -> when(messageSender.send(message)).thenReturn(success()));
+        when(messageSender.send(other)).thenReturn(success());
+
+        // when
+        sender.sendAsync(first);
+        heldBack.forEach(sender::sendAsync);
+
+        // then
+        assertThat(inflightSemaphore.availablePermits()).isEqualTo(2);
+
+        // when
+        sender.sendAsync(other);
+
+        // then
+        await().atMost(ONE_SECOND).until(() -> inflightSemaphore.availablePermits() == 3);
+
+        // when
+        firstResult.complete(MessageSendingResult.succeededResult());
+
+        // then
+        await().atMost(ONE_SECOND).until(() -> inflightSemaphore.availablePermits() == 5);
+        heldBack.forEach(message ->
+                verify(successHandler).handleSuccess(eq(message), eq(subscription), any(MessageSendingResult.class)));
+    }
+
     private ConsumerMessageSender consumerMessageSender(Subscription subscription) {
+        return consumerMessageSender(subscription, MAX_HELD_BACK_PER_KEY);
+    }
+
+    private ConsumerMessageSender consumerMessageSender(Subscription subscription, int maxHeldBackPerKey) {
         when(messageSenderFactory.create(subscription)).thenReturn(messageSender);
         ConsumerMessageSender sender = new ConsumerMessageSender(
                 subscription,
@@ -350,6 +426,7 @@ public class ConsumerMessageSenderTest {
                 () -> inflightSemaphore.release(),
                 hermesMetrics,
                 ASYNC_TIMEOUT_MS,
+                maxHeldBackPerKey,
                 new FutureAsyncTimeout<>(MessageSendingResult::failedResult, Executors.newSingleThreadScheduledExecutor())
         );
         sender.initialize();
@@ -417,6 +494,14 @@ public class ConsumerMessageSenderTest {
                 .build();
     }
 
+    private Subscription subscriptionWithKeyOrdering() {
+        return subscriptionBuilderWithTestValues()
+                .withSubscriptionPolicy(subscriptionPolicy().applyDefaults()
+                        .withKeyOrdering()
+                        .build())
+                .build();
+    }
+
     private Subscription subscriptionWithEndpoint(String endpoint) {
         return subscriptionBuilderWithTestValues().withEndpoint(endpoint).build();
     }
@@ -464,4 +549,13 @@ public class ConsumerMessageSenderTest {
                 .withReadingTimestamp(timestamp)
                 .build();
     }
-}
\ No newline at end of file
+
+    private Message messageWithKey(String id, String partitionKey) {
+        return MessageBuilder
+                .withTestMessage()
+                .withId(id)
+                .withReadingTimestamp(System.currentTimeMillis())
+                .withPartitionKey(partitionKey)
+                .build();
+    }
+}
@@ -37,6 +37,16 @@ public class MessageBodyInterpolatorTest {
         assertThat(interpolated).isEqualTo(endpoint.getUri());
     }
 
+    @Test
+    public void shouldRecognizeEndpointsWithTemplateVariables() {
+        // given
+        MessageBodyInterpolator interpolator = new MessageBodyInterpolator();
+
+        // when & then
+        assertThat(interpolator.isInterpolated(EndpointAddress.of("http://some.endpoint.com/{some.object}"))).isTrue();
+        assertThat(interpolator.isInterpolated(EndpointAddress.of("http://some.endpoint.com/"))).isFalse();
+    }
+
     @Test
     public void willInterpolateJsonPathFromTemplate() throws InterpolationException {
         // given
@@ -0,0 +1,176 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.http;
+
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectorStatistics;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.HttpCookieStore;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.allegro.tech.hermes.api.EndpointAddress;
+import pl.allegro.tech.hermes.api.EndpointAddressResolverMetadata;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult;
+import pl.allegro.tech.hermes.consumers.consumer.sender.resolver.ResolvableEndpointAddress;
+import pl.allegro.tech.hermes.consumers.consumer.sender.resolver.SimpleEndpointAddressResolver;
+import pl.allegro.tech.hermes.metrics.PathsCompiler;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.consumers.test.MessageBuilder.testMessage;
+
+/**
+ * Compares HTTP/1.1 and h2c delivery to embedded endpoint under the same inflight limit.
+ */
+public class Http2MessageSenderLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(Http2MessageSenderLoadTest.class);
+
+    private static final int MESSAGES = 2000;
+    private static final int INFLIGHT = 100;
+    private static final int ENDPOINT_DELAY_MS = 5;
+
+    private static Server server;
+    private static ServerConnector http1Connector;
+    private static ServerConnector http2Connector;
+
+    @BeforeClass
+    public static void setupEnvironment() throws Exception {
+        server = new Server();
+        HttpConfiguration configuration = new HttpConfiguration();
+
+        http1Connector = new ServerConnector(server, new HttpConnectionFactory(configuration));
+        http2Connector = new ServerConnector(server, new HTTP2CServerConnectionFactory(configuration));
+        server.addConnector(http1Connector);
+        server.addConnector(http2Connector);
+        ConnectorStatistics.addToAllConnectors(server);
+
+        server.setHandler(new DelayingHandler());
+        server.start();
+    }
+
+    @AfterClass
+    public static void cleanEnvironment() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void shouldDeliverAllMessagesOverFewerConnectionsWithHttp2() throws Exception {
+        // given
+        HttpClient http1Client = new HttpClient();
+        http1Client.setMaxConnectionsPerDestination(INFLIGHT);
+        HttpClient http2Client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), null);
+        http2Client.setMaxConnectionsPerDestination(1);
+
+        // when
+        LoadResult http1 = runLoad(http1Client, http1Connector);
+        LoadResult http2 = runLoad(http2Client, http2Connector);
+
+        // then
+        logger.info("HTTP/1.1: {}", http1);
+        logger.info("h2c: {}", http2);
+        assertThat(http1.succeeded).isEqualTo(MESSAGES);
+        assertThat(http2.succeeded).isEqualTo(MESSAGES);
+        assertThat(http2.connections).isEqualTo(1);
+        assertThat(http2.connections).isLessThan(http1.connections);
+    }
+
+    private LoadResult runLoad(HttpClient client, ServerConnector connector) throws Exception {
+        client.setCookieStore(new HttpCookieStore.Empty());
+        client.setMaxRequestsQueuedPerDestination(MESSAGES);
+        client.start();
+        try {
+            EndpointAddress endpoint = EndpointAddress.of(format("http://localhost:%d/", connector.getLocalPort()));
+            JettyMessageSender sender = new JettyMessageSender(
+                    new HttpRequestFactory(client, 5000, new DefaultHttpMetadataAppender(), Optional.empty(), Collections.emptyList()),
+                    new ResolvableEndpointAddress(endpoint, new SimpleEndpointAddressResolver(), EndpointAddressResolverMetadata.empty()),
+                    new DestinationBulkheads("test", INFLIGHT, MESSAGES, 60_000, new HermesMetrics(new MetricRegistry(), new PathsCompiler("localhost")),
+                            Clock.systemUTC())
+            );
+
+            Semaphore inflight = new Semaphore(INFLIGHT);
+            CountDownLatch finished = new CountDownLatch(MESSAGES);
+            AtomicInteger succeeded = new AtomicInteger();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                inflight.acquire();
+                CompletableFuture<MessageSendingResult> result = sender.send(testMessage());
+                result.thenAccept(r -> {
+                    if (r.succeeded()) {
+                        succeeded.incrementAndGet();
+                    }
+                    inflight.release();
+                    finished.countDown();
+                });
+            }
+            assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            return new LoadResult(succeeded.get(), connectorStatistics(connector).getConnections(), elapsedMillis);
+        } finally {
+            client.stop();
+        }
+    }
+
+    private ConnectorStatistics connectorStatistics(ServerConnector connector) {
+        return connector.getBean(ConnectorStatistics.class);
+    }
+
+    private static class LoadResult {
+
+        private final int succeeded;
+        private final int connections;
+        private final long elapsedMillis;
+
+        LoadResult(int succeeded, int connections, long elapsedMillis) {
+            this.succeeded = succeeded;
+            this.connections = connections;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return format("%d messages delivered in %d ms (%d msg/s) using %d connections",
+                    succeeded, elapsedMillis, succeeded * 1000 / Math.max(elapsedMillis, 1), connections);
+        }
+    }
+
+    private static class DelayingHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+            try {
+                Thread.sleep(ENDPOINT_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            baseRequest.setHandled(true);
+        }
+    }
+}
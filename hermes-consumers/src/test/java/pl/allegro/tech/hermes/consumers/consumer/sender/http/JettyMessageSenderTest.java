@@ -1,6 +1,8 @@
 package pl.allegro.tech.hermes.consumers.consumer.sender.http;
 
+import com.codahale.metrics.MetricRegistry;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.google.common.io.ByteStreams;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.HttpCookieStore;
 import org.junit.AfterClass;
@@ -9,20 +11,29 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import pl.allegro.tech.hermes.api.EndpointAddress;
 import pl.allegro.tech.hermes.api.EndpointAddressResolverMetadata;
+import pl.allegro.tech.hermes.api.Header;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 import pl.allegro.tech.hermes.consumers.consumer.Message;
 import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult;
 import pl.allegro.tech.hermes.consumers.consumer.sender.resolver.ResolvableEndpointAddress;
 import pl.allegro.tech.hermes.consumers.consumer.sender.resolver.SimpleEndpointAddressResolver;
 import pl.allegro.tech.hermes.consumers.test.MessageBuilder;
+import pl.allegro.tech.hermes.metrics.PathsCompiler;
 import pl.allegro.tech.hermes.test.helper.endpoint.RemoteServiceEndpoint;
 import pl.allegro.tech.hermes.test.helper.util.Ports;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
 
 import static java.lang.String.format;
 import static javax.ws.rs.core.Response.Status.ACCEPTED;
@@ -41,6 +52,7 @@ public class JettyMessageSenderTest {
     private static WireMockServer wireMockServer;
 
     private ResolvableEndpointAddress address;
+    private DestinationBulkheads bulkheads;
     private RemoteServiceEndpoint remoteServiceEndpoint;
     private JettyMessageSender messageSender;
 
@@ -66,8 +78,11 @@ public class JettyMessageSenderTest {
     public void setUp() throws Exception {
         remoteServiceEndpoint = new RemoteServiceEndpoint(wireMockServer);
         address = new ResolvableEndpointAddress(ENDPOINT, new SimpleEndpointAddressResolver(), METADATA);
-        HttpRequestFactory httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(), Optional.empty());
-        messageSender = new JettyMessageSender(httpRequestFactory, address);
+        bulkheads = new DestinationBulkheads("test", 100, 1000, 60_000, new HermesMetrics(new MetricRegistry(), new PathsCompiler("localhost")),
+                Clock.systemUTC());
+        HttpRequestFactory httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(), Optional.empty(),
+                Collections.emptyList());
+        messageSender = new JettyMessageSender(httpRequestFactory, address, bulkheads);
     }
 
     @Test
@@ -151,13 +166,50 @@ public class JettyMessageSenderTest {
         assertThat(remoteServiceEndpoint.getLastReceivedRequest().getHeader("Hermes-Retry-Count")).isEqualTo("0");
     }
 
+    @Test
+    public void shouldSendSubscriptionHeaders() {
+        // given
+        HttpRequestFactory httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(),
+                Optional.empty(), Collections.singletonList(new Header("MY-HEADER", "myHeaderValue")));
+
+        JettyMessageSender messageSender = new JettyMessageSender(httpRequestFactory, address, bulkheads);
+        remoteServiceEndpoint.expectMessages(TEST_MESSAGE_CONTENT);
+
+        // when
+        messageSender.send(testMessage());
+
+        // then
+        remoteServiceEndpoint.waitUntilReceived();
+        assertThat(remoteServiceEndpoint.getLastReceivedRequest().getHeader("MY-HEADER")).isEqualTo("myHeaderValue");
+        assertThat(remoteServiceEndpoint.getLastReceivedRequest().getHeader("Content-Type")).isEqualTo("application/json");
+    }
+
+    @Test
+    public void shouldSendGzippedMessageWhenCompressionEnabled() {
+        // given
+        HttpRequestFactory httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(),
+                Optional.empty(), Collections.emptyList(), true);
+
+        JettyMessageSender messageSender = new JettyMessageSender(httpRequestFactory, address, bulkheads);
+        remoteServiceEndpoint.expectMessages(TEST_MESSAGE_CONTENT);
+
+        // when
+        messageSender.send(testMessage());
+
+        // then
+        remoteServiceEndpoint.waitUntilRequestReceived(request -> {
+            assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+            assertThat(gunzip(request.getBody())).isEqualTo(TEST_MESSAGE_CONTENT);
+        });
+    }
+
     @Test
     public void shouldSendAuthorizationHeaderIfAuthorizationProviderAttached() {
         // given
         HttpRequestFactory httpRequestFactory = new HttpRequestFactory(client, 1000, new DefaultHttpMetadataAppender(),
-                Optional.of(() -> Optional.of("Basic Auth Hello!")));
+                Optional.of(() -> Optional.of("Basic Auth Hello!")), Collections.emptyList());
 
-        JettyMessageSender messageSender = new JettyMessageSender(httpRequestFactory, address);
+        JettyMessageSender messageSender = new JettyMessageSender(httpRequestFactory, address, bulkheads);
         Message message = MessageBuilder.withTestMessage().build();
         remoteServiceEndpoint.expectMessages(TEST_MESSAGE_CONTENT);
 
@@ -175,11 +227,12 @@ public class JettyMessageSenderTest {
         HttpRequestFactory httpRequestFactory = new HttpRequestFactory(client,
                 100,
                 new DefaultHttpMetadataAppender(),
-                Optional.empty()
+                Optional.empty(),
+                Collections.emptyList()
         );
         remoteServiceEndpoint.setDelay(500);
 
-        JettyMessageSender messageSender = new JettyMessageSender(httpRequestFactory, address);
+        JettyMessageSender messageSender = new JettyMessageSender(httpRequestFactory, address, bulkheads);
         Message message = MessageBuilder.withTestMessage().build();
         remoteServiceEndpoint.expectMessages(TEST_MESSAGE_CONTENT);
 
@@ -189,4 +242,12 @@ public class JettyMessageSenderTest {
         // then
         assertThat(messageSendingResult.isTimeout()).isTrue();
     }
+
+    private static String gunzip(byte[] body) {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
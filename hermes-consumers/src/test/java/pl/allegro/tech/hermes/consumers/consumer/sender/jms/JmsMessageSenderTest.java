@@ -5,7 +5,6 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -24,7 +23,9 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.MESSAGE_ID;
@@ -50,13 +51,13 @@ public class JmsMessageSenderTest {
     @Spy
     private JmsMetadataAppender metadataAppender;
 
-    @InjectMocks
     private JmsMessageSender messageSender;
 
     @Before
     public void setUp() throws Exception {
         when(jmsContextMock.createBytesMessage()).thenReturn(messageMock);
         when(jmsContextMock.createProducer()).thenReturn(jmsProducerMock);
+        messageSender = new JmsMessageSender(jmsContextMock, "topic", metadataAppender);
     }
 
     @Test
@@ -123,4 +124,16 @@ public class JmsMessageSenderTest {
         // then
         verify(messageMock).setStringProperty("TraceId", "traceId");
     }
+
+    @Test
+    public void shouldReuseProducerAndTopicBetweenMessages() {
+        // when
+        messageSender.send(SOME_MESSAGE);
+        messageSender.send(SOME_MESSAGE);
+
+        // then
+        verify(jmsContextMock, times(1)).createProducer();
+        verify(jmsContextMock, times(1)).createTopic("topic");
+        verify(jmsProducerMock, times(2)).setAsync(any(CompletionListener.class));
+    }
 }
@@ -0,0 +1,103 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.jms;
+
+import com.google.common.collect.ImmutableMap;
+import org.hornetq.api.core.TransportConfiguration;
+import org.hornetq.core.config.Configuration;
+import org.hornetq.core.config.impl.ConfigurationImpl;
+import org.hornetq.core.remoting.impl.netty.NettyAcceptorFactory;
+import org.hornetq.jms.server.config.JMSConfiguration;
+import org.hornetq.jms.server.config.impl.JMSConfigurationImpl;
+import org.hornetq.jms.server.config.impl.TopicConfigurationImpl;
+import org.hornetq.jms.server.embedded.EmbeddedJMS;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSender;
+import pl.allegro.tech.hermes.consumers.consumer.sender.MessageSendingResult;
+import pl.allegro.tech.hermes.test.helper.config.MutableConfigFactory;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSConsumer;
+import javax.jms.JMSContext;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.consumers.test.MessageBuilder.testMessage;
+import static pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder.subscription;
+
+/**
+ * Sends messages through JMS sender to HornetQ broker running in-process and reports throughput.
+ */
+public class JmsMessageSenderThroughputTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmsMessageSenderThroughputTest.class);
+
+    private static final int PORT = 15445;
+    private static final String TOPIC = "hermes";
+    private static final int MESSAGES = 5000;
+
+    private static EmbeddedJMS broker;
+
+    @BeforeClass
+    public static void setupEnvironment() throws Exception {
+        Configuration configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.getAcceptorConfigurations().add(new TransportConfiguration(
+                NettyAcceptorFactory.class.getName(), ImmutableMap.of("host", "localhost", "port", PORT)));
+
+        JMSConfiguration jmsConfiguration = new JMSConfigurationImpl();
+        jmsConfiguration.getTopicConfigurations().add(new TopicConfigurationImpl(TOPIC, "/topics/" + TOPIC));
+
+        broker = new EmbeddedJMS();
+        broker.setConfiguration(configuration);
+        broker.setJmsConfiguration(jmsConfiguration);
+        broker.start();
+    }
+
+    @AfterClass
+    public static void cleanEnvironment() throws Exception {
+        broker.stop();
+    }
+
+    @Test
+    public void shouldDeliverAllMessagesToBroker() throws Exception {
+        // given
+        JmsHornetQMessageSenderProvider provider = new JmsHornetQMessageSenderProvider(new MutableConfigFactory(), new JmsMetadataAppender());
+        Subscription subscription = subscription("group.topic", "subscription", "jms://localhost:" + PORT + "/" + TOPIC).build();
+        MessageSender sender = provider.create(subscription);
+
+        ConnectionFactory connectionFactory = provider.createConnectionFactory(URI.create("jms://localhost:" + PORT));
+        JMSContext receiverContext = connectionFactory.createContext();
+        CountDownLatch received = new CountDownLatch(MESSAGES);
+        JMSConsumer consumer = receiverContext.createConsumer(receiverContext.createTopic(TOPIC));
+        consumer.setMessageListener(message -> received.countDown());
+
+        // when
+        long start = System.nanoTime();
+        List<CompletableFuture<MessageSendingResult>> results = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            results.add(sender.send(testMessage()));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[MESSAGES])).get(30, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        logger.info("{} messages sent to JMS broker in {} ms ({} msg/s)",
+                MESSAGES, elapsedMillis, MESSAGES * 1000 / Math.max(elapsedMillis, 1));
+        assertThat(results.stream().allMatch(result -> result.join().succeeded())).isTrue();
+        assertThat(received.await(30, TimeUnit.SECONDS)).isTrue();
+
+        sender.stop();
+        receiverContext.close();
+        provider.stop();
+    }
+}
@@ -56,4 +56,17 @@ public class InterpolatingEndpointAddressResolverTest {
         assertThat(CatchException.<EndpointAddressResolutionException>caughtException()).isInstanceOf(EndpointAddressResolutionException.class);
     }
 
+    @Test
+    public void shouldTreatEveryAddressAsMessageDependentForInterpolatorWhichDoesNotTellOtherwise() {
+        // given
+        UriInterpolator customInterpolator = (endpoint, message) -> endpoint.getUri();
+        InterpolatingEndpointAddressResolver customResolver = new InterpolatingEndpointAddressResolver(customInterpolator);
+
+        // when
+        boolean messageDependent = customResolver.isMessageDependent(EndpointAddress.of("http://localhost/"), metadata);
+
+        // then
+        assertThat(messageDependent).isTrue();
+    }
+
 }
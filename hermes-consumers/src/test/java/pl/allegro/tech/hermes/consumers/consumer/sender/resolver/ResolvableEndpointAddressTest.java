@@ -0,0 +1,69 @@
+package pl.allegro.tech.hermes.consumers.consumer.sender.resolver;
+
+import org.junit.Test;
+import pl.allegro.tech.hermes.api.EndpointAddress;
+import pl.allegro.tech.hermes.api.EndpointAddressResolverMetadata;
+import pl.allegro.tech.hermes.consumers.consumer.Message;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.consumers.test.MessageBuilder.withTestMessage;
+
+public class ResolvableEndpointAddressTest {
+
+    private static final EndpointAddress ADDRESS = EndpointAddress.of("http://localhost/");
+
+    private final EndpointAddressResolverMetadata metadata = EndpointAddressResolverMetadata.empty();
+
+    @Test
+    public void shouldUseResolveOfSimpleResolverSubclass() throws EndpointAddressResolutionException {
+        // given
+        ResolvableEndpointAddress address = new ResolvableEndpointAddress(ADDRESS, new SimpleEndpointAddressResolver() {
+            @Override
+            public URI resolve(EndpointAddress address, Message message, EndpointAddressResolverMetadata metadata) {
+                return URI.create("http://localhost/" + new String(message.getData(), StandardCharsets.UTF_8));
+            }
+        }, metadata);
+
+        // when
+        URI first = address.resolveFor(message("first"));
+        URI second = address.resolveFor(message("second"));
+
+        // then
+        assertThat(first).isEqualTo(URI.create("http://localhost/first"));
+        assertThat(second).isEqualTo(URI.create("http://localhost/second"));
+    }
+
+    @Test
+    public void shouldResolveMessageIndependentAddressOnceWithGivenResolver() throws EndpointAddressResolutionException {
+        // given
+        AtomicInteger resolutions = new AtomicInteger();
+        ResolvableEndpointAddress address = new ResolvableEndpointAddress(ADDRESS, new EndpointAddressResolver() {
+            @Override
+            public URI resolve(EndpointAddress address, Message message, EndpointAddressResolverMetadata metadata) {
+                resolutions.incrementAndGet();
+                return URI.create("http://resolved/");
+            }
+
+            @Override
+            public boolean isMessageDependent(EndpointAddress address, EndpointAddressResolverMetadata metadata) {
+                return false;
+            }
+        }, metadata);
+
+        // when
+        address.resolveFor(message("first"));
+        URI uri = address.resolveFor(message("second"));
+
+        // then
+        assertThat(uri).isEqualTo(URI.create("http://resolved/"));
+        assertThat(resolutions.get()).isEqualTo(1);
+    }
+
+    private Message message(String content) {
+        return withTestMessage().withContent(content, StandardCharsets.UTF_8).build();
+    }
+}
@@ -7,7 +7,9 @@ import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.consumers.supervisor.workload.selective.SelectiveWorkBalancer;
 import pl.allegro.tech.hermes.consumers.supervisor.workload.selective.WorkBalancingResult;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.IntStream;
 
@@ -172,6 +174,59 @@ public class SelectiveWorkBalancerTest {
         assertThat(stateAfterRebalance.getAssignmentsForConsumerNode("c5")).hasSize(2);
     }
 
+    @Test
+    public void shouldBalanceLoadInsteadOfSubscriptionsCount() {
+        // given
+        List<SubscriptionName> subscriptions = someSubscriptions(6);
+        Map<SubscriptionName, Double> load = new HashMap<>();
+        subscriptions.forEach(subscription -> load.put(subscription, 1.0));
+        load.put(subscriptions.get(0), 4.0);
+        SelectiveWorkBalancer workBalancer = new SelectiveWorkBalancer(1, 100, load::get, 0.0);
+
+        // when
+        SubscriptionAssignmentView view = initialState(subscriptions, ImmutableList.of("c1", "c2"), workBalancer);
+
+        // then
+        String heavyLoaded = view.getConsumerNodesForSubscription(subscriptions.get(0)).iterator().next();
+        assertThat(view.getAssignmentsForConsumerNode(heavyLoaded)).hasSize(2);
+        assertThat(view.getAssignmentsForConsumerNode(heavyLoaded.equals("c1") ? "c2" : "c1")).hasSize(4);
+    }
+
+    @Test
+    public void shouldNotMoveSubscriptionsWhenLoadIsWithinTolerance() {
+        // given
+        List<SubscriptionName> subscriptions = someSubscriptions(20);
+        Map<SubscriptionName, Double> load = new HashMap<>();
+        subscriptions.forEach(subscription -> load.put(subscription, 10.0));
+        SelectiveWorkBalancer workBalancer = new SelectiveWorkBalancer(1, 100, load::get, 0.3);
+        SubscriptionAssignmentView currentState = initialState(subscriptions, ImmutableList.of("c1", "c2"), workBalancer);
+
+        // when
+        load.put(subscriptions.get(0), 40.0);
+        SubscriptionAssignmentView stateAfterRebalance = workBalancer.balance(subscriptions, ImmutableList.of("c1", "c2"), currentState).getAssignmentsView();
+
+        // then
+        assertThat(stateAfterRebalance).isEqualTo(currentState);
+    }
+
+    @Test
+    public void shouldReportOnlyNetChangesOfAssignments() {
+        // given
+        SelectiveWorkBalancer workBalancer = new SelectiveWorkBalancer(2, 200);
+        List<SubscriptionName> subscriptions = someSubscriptions(50);
+        SubscriptionAssignmentView currentState = initialState(subscriptions, ImmutableList.of("c1", "c2"), workBalancer);
+
+        // when
+        WorkBalancingResult result = workBalancer.balance(subscriptions, ImmutableList.of("c1", "c3", "c4"), currentState);
+
+        // then
+        SubscriptionAssignmentView target = result.getAssignmentsView();
+        assertThat(result.getChanges().getDeletions()).containsOnlyElementsOf(currentState.deletions(target).getAllAssignments());
+        assertThat(result.getChanges().getAdditions()).containsOnlyElementsOf(currentState.additions(target).getAllAssignments());
+        assertThat(result.getChanges().getDeletions()).hasSameSizeAs(currentState.deletions(target).getAllAssignments());
+        assertThat(result.getChanges().getAdditions()).hasSameSizeAs(currentState.additions(target).getAllAssignments());
+    }
+
     private SubscriptionAssignmentView initialState(List<SubscriptionName> subscriptions, List<String> supervisors) {
         return initialState(subscriptions, supervisors, workBalancer);
     }
@@ -18,8 +18,11 @@ import pl.allegro.tech.hermes.infrastructure.zookeeper.notifications.ZookeeperIn
 import pl.allegro.tech.hermes.test.helper.zookeeper.ZookeeperBaseTest;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -170,6 +173,25 @@ public class WorkTrackerTest extends ZookeeperBaseTest {
         wait.untilZookeeperPathIsCreated(basePath, s2.getQualifiedName().toString(), supervisorId);
     }
 
+    @Test
+    public void shouldApplyChangesSpanningMultipleTransactions() {
+        // given
+        Subscription kept = forceAssignment(anySubscription());
+        SubscriptionAssignmentDiff changes = new SubscriptionAssignmentDiff();
+        changes.recordDeletion(assignment(supervisorId, kept.getQualifiedName()));
+        List<Subscription> added = IntStream.range(0, 250).mapToObj(i -> anySubscription()).collect(toList());
+        added.forEach(subscription -> changes.recordAddition(assignment("otherConsumer", subscription.getQualifiedName())));
+
+        // when
+        WorkTracker.WorkDistributionChanges result = workTracker.apply(changes);
+
+        // then
+        assertThat(result.getCreatedAssignmentsCount()).isEqualTo(250);
+        assertThat(result.getDeletedAssignmentsCount()).isEqualTo(1);
+        added.forEach(subscription -> wait.untilZookeeperPathIsCreated(basePath, subscription.getQualifiedName().toString(), "otherConsumer"));
+        wait.untilZookeeperPathNotExists(basePath, kept.getQualifiedName().toString(), supervisorId);
+    }
+
     private SubscriptionAssignmentView stateWithSingleAssignment(Subscription subscription) {
         return new SubscriptionAssignmentView(ImmutableMap.of(subscription.getQualifiedName(),
                 ImmutableSet.of(assignment(supervisorId, subscription.getQualifiedName()))));
@@ -0,0 +1,51 @@
+package pl.allegro.tech.hermes.consumers.supervisor.workload.selective;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.common.metric.Meters;
+import pl.allegro.tech.hermes.consumers.subscription.cache.SubscriptionsCache;
+import pl.allegro.tech.hermes.metrics.PathsCompiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder.subscription;
+
+public class MetricsSubscriptionLoadEstimatorTest {
+
+    private final SubscriptionsCache subscriptionsCache = mock(SubscriptionsCache.class);
+
+    private final HermesMetrics metrics = new HermesMetrics(new MetricRegistry(), new PathsCompiler("localhost"));
+
+    private final MetricsSubscriptionLoadEstimator estimator = new MetricsSubscriptionLoadEstimator(subscriptionsCache,
+            metrics, 100, 100);
+
+    @Test
+    public void shouldForgetRatesOfRemovedSubscriptions() {
+        // given
+        Subscription removed = existingSubscription("group.topic", "removed");
+        Subscription kept = existingSubscription("group.topic", "kept");
+        estimator.estimate(removed.getQualifiedName());
+        estimator.estimate(kept.getQualifiedName());
+        assertThat(estimator.rememberedRates()).isEqualTo(2);
+
+        // when
+        when(subscriptionsCache.getSubscription(removed.getQualifiedName())).thenReturn(null);
+        estimator.estimate(kept.getQualifiedName());
+        estimator.estimate(kept.getQualifiedName());
+
+        // then
+        assertThat(estimator.rememberedRates()).isEqualTo(1);
+    }
+
+    private Subscription existingSubscription(String topic, String name) {
+        Subscription subscription = subscription(topic, name).build();
+        SubscriptionName subscriptionName = subscription.getQualifiedName();
+        when(subscriptionsCache.getSubscription(subscriptionName)).thenReturn(subscription);
+        metrics.meter(Meters.SUBSCRIPTION_METER, subscriptionName.getTopicName(), subscriptionName.getName());
+        return subscription;
+    }
+}
@@ -32,6 +32,7 @@ public final class MessageBuilder {
     private Map<String, String> externalMetadata;
     private List<Header> additionalHeaders;
     private Optional<CompiledSchema<Object>> schema = Optional.empty();
+    private Optional<String> partitionKey = Optional.empty();
 
     private MessageBuilder() {
     }
@@ -55,7 +56,7 @@ public final class MessageBuilder {
 
     public Message build() {
         return new Message(id, topic, content, contentType, schema, publishingTimestamp,
-                readingTimestamp, partitionOffset, externalMetadata, additionalHeaders);
+                readingTimestamp, partitionOffset, externalMetadata, additionalHeaders, partitionKey);
     }
 
     public MessageBuilder withId(String id) {
@@ -113,6 +114,11 @@ public final class MessageBuilder {
         return this;
     }
 
+    public MessageBuilder withPartitionKey(String partitionKey) {
+        this.partitionKey = Optional.of(partitionKey);
+        return this;
+    }
+
     public MessageBuilder withAdditionalHeaders(List<Header> additionalHeaders) {
         this.additionalHeaders = additionalHeaders;
         return this;
@@ -0,0 +1,48 @@
+package pl.allegro.tech.hermes.frontend.publishing.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares message id generators when many request threads generate ids at once, like Undertow workers do.
+ * Run with {@code -t} option to change the number of threads, default is the number of available processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class MessageIdGeneratorBenchmark {
+
+    @Param({"random", "time-based"})
+    private String generatorType;
+
+    private MessageIdGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = "random".equals(generatorType)
+                ? new RandomMessageIdGenerator() : new TimeBasedMessageIdGenerator(Clock.systemUTC());
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+}
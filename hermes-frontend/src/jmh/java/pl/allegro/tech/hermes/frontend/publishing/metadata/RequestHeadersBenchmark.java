@@ -0,0 +1,136 @@
+package pl.allegro.tech.hermes.frontend.publishing.metadata;
+
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.allegro.tech.hermes.common.http.MessageMetadataHeaders;
+import pl.allegro.tech.hermes.domain.topic.schema.SchemaVersion;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+/**
+ * Compares header handling of publishing request: copying all headers into map, as it was done before, and reading
+ * them through {@link RequestHeaders}. Request carries headers typically sent by HTTP clients and proxies; propagator
+ * either ignores headers (default) or picks trace headers. Run with GC profiler ({@code -prof gc}) to compare
+ * allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestHeadersBenchmark {
+
+    @Param({"default", "trace"})
+    private String propagatorType;
+
+    private HeadersPropagator propagator;
+    private HttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        propagator = "default".equals(propagatorType) ? new DefaultHeadersPropagator() : new TracePropagator();
+        request = request(ImmutableMap.<String, String>builder()
+                .put("Host", "hermes-frontend.example.com:8080")
+                .put("Accept", "*/*")
+                .put("Accept-Encoding", "gzip, deflate")
+                .put("Connection", "keep-alive")
+                .put("Content-Type", "application/json")
+                .put("Content-Length", "1024")
+                .put("User-Agent", "Hermes Client")
+                .put("X-Forwarded-For", "10.0.0.1, 10.0.0.2")
+                .put("X-Forwarded-Proto", "https")
+                .put("X-Request-Id", "6f1b8c0e-5a9d-4c9a-9d76-0a4d9f1c2b3e")
+                .put("Hermes-Schema-Version", "2")
+                .put("Trace-Id", "4bf92f3577b34da6")
+                .put("Span-Id", "00f067aa0ba902b7")
+                .put("Trace-Sampled", "1")
+                .build());
+    }
+
+    @Benchmark
+    public void copiedHeaders(Blackhole blackhole) {
+        Map<String, String> headers = copy(request);
+        int version = request.getIntHeader(MessageMetadataHeaders.SCHEMA_VERSION.getName());
+        blackhole.consume(version < 0 ? empty() : of(SchemaVersion.valueOf(version)));
+        String partitionKey = request.getHeader(MessageMetadataHeaders.PARTITION_KEY.getName());
+        blackhole.consume(partitionKey == null || partitionKey.isEmpty() ? empty() : of(partitionKey));
+        blackhole.consume(propagator.extract(headers));
+    }
+
+    @Benchmark
+    public void requestHeaders(Blackhole blackhole) {
+        RequestHeaders headers = new RequestHeaders(request);
+        blackhole.consume(headers.schemaVersion());
+        blackhole.consume(headers.partitionKey());
+        blackhole.consume(propagator.extract(headers));
+    }
+
+    private static Map<String, String> copy(HttpServletRequest request) {
+        ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            builder.put(name, request.getHeader(name));
+        }
+        return builder.build();
+    }
+
+    private static HttpServletRequest request(Map<String, String> headers) {
+        Map<String, String> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitive.putAll(headers);
+        return (HttpServletRequest) Proxy.newProxyInstance(RequestHeadersBenchmark.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getHeader":
+                            return caseInsensitive.get(args[0]);
+                        case "getIntHeader":
+                            String value = caseInsensitive.get(args[0]);
+                            return value == null ? -1 : Integer.parseInt(value);
+                        case "getHeaderNames":
+                            return Collections.enumeration(headers.keySet());
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static class TracePropagator implements HeadersPropagator {
+
+        private static final String[] HEADERS = {"Trace-Id", "Span-Id", "Parent-Span-Id", "Trace-Sampled"};
+
+        @Override
+        public Map<String, String> extract(Map<String, String> headers) {
+            Map<String, String> extracted = new HashMap<>();
+            for (String header : HEADERS) {
+                String value = headers.get(header);
+                if (value != null) {
+                    extracted.put(header, value);
+                }
+            }
+            return extracted;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import pl.allegro.tech.hermes.frontend.listeners.BrokerAcknowledgeListener;
 import pl.allegro.tech.hermes.frontend.listeners.BrokerErrorListener;
 import pl.allegro.tech.hermes.frontend.listeners.BrokerListeners;
 import pl.allegro.tech.hermes.frontend.listeners.BrokerTimeoutListener;
+import pl.allegro.tech.hermes.frontend.publishing.message.MessageIdGenerator;
 import pl.allegro.tech.hermes.frontend.publishing.metadata.HeadersPropagator;
 import pl.allegro.tech.hermes.frontend.server.AbstractShutdownHook;
 import pl.allegro.tech.hermes.frontend.server.HermesServer;
@@ -198,6 +199,10 @@ public final class HermesFrontend {
             return withBinding(headersPropagator, HeadersPropagator.class);
         }
 
+        public Builder withMessageIdGenerator(MessageIdGenerator messageIdGenerator) {
+            return withBinding(messageIdGenerator, MessageIdGenerator.class);
+        }
+
         public Builder withKafkaTopicsNamesMapper(Function<ServiceLocator, KafkaNamesMapper> kafkaNamesMapper) {
             this.kafkaNamesMapper = Optional.of(kafkaNamesMapper);
             return this;
@@ -13,11 +13,15 @@ import pl.allegro.tech.hermes.frontend.producer.kafka.Producers;
 import pl.allegro.tech.hermes.frontend.publishing.MessageContentTypeEnforcer;
 import pl.allegro.tech.hermes.frontend.publishing.MessagePublisher;
 import pl.allegro.tech.hermes.frontend.publishing.PublishingServlet;
+import pl.allegro.tech.hermes.frontend.publishing.batch.BatchPublishingServlet;
 import pl.allegro.tech.hermes.frontend.publishing.message.MessageFactory;
+import pl.allegro.tech.hermes.frontend.publishing.message.MessageIdGenerator;
+import pl.allegro.tech.hermes.frontend.publishing.message.TimeBasedMessageIdGenerator;
 import pl.allegro.tech.hermes.frontend.publishing.metadata.DefaultHeadersPropagator;
 import pl.allegro.tech.hermes.frontend.publishing.metadata.HeadersPropagator;
 import pl.allegro.tech.hermes.frontend.publishing.preview.MessagePreviewLog;
 import pl.allegro.tech.hermes.frontend.publishing.preview.MessagePreviewPersister;
+import pl.allegro.tech.hermes.frontend.publishing.quota.PublishingQuotas;
 import pl.allegro.tech.hermes.frontend.server.HermesServer;
 import pl.allegro.tech.hermes.frontend.services.HealthCheckService;
 import pl.allegro.tech.hermes.frontend.validator.AvroTopicMessageValidator;
@@ -43,6 +47,7 @@ public class FrontendBinder extends AbstractBinder {
     protected void configure() {
         bindSingleton(HermesServer.class);
         bindSingleton(PublishingServlet.class);
+        bindSingleton(BatchPublishingServlet.class);
         bindSingleton(MessageValidators.class);
 
         bind(hooksHandler).to(HooksHandler.class);
@@ -51,6 +56,7 @@ public class FrontendBinder extends AbstractBinder {
 
         bindSingleton(HealthCheckService.class);
         bind(DefaultHeadersPropagator.class).to(HeadersPropagator.class).in(Singleton.class);
+        bind(TimeBasedMessageIdGenerator.class).to(MessageIdGenerator.class).in(Singleton.class);
 
         bindFactory(KafkaMessageProducerFactory.class).to(Producers.class).in(Singleton.class);
         bindFactory(KafkaBrokerMessageProducerFactory.class).to(BrokerMessageProducer.class).in(Singleton.class);
@@ -68,6 +74,7 @@ public class FrontendBinder extends AbstractBinder {
         bindSingleton(PersistentBufferExtension.class);
         bindSingleton(MessagePreviewPersister.class);
         bindSingleton(MessagePreviewLog.class);
+        bindSingleton(PublishingQuotas.class);
     }
 
     private <T> void bindSingleton(Class<T> clazz) {
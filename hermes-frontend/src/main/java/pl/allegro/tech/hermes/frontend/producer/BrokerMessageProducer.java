@@ -1,12 +1,34 @@
 package pl.allegro.tech.hermes.frontend.producer;
 
 import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.frontend.publishing.BatchPublishingCallback;
 import pl.allegro.tech.hermes.frontend.publishing.PublishingCallback;
 import pl.allegro.tech.hermes.frontend.publishing.message.Message;
 
+import java.util.List;
+
 public interface BrokerMessageProducer {
 
     void send(Message message, Topic topic, PublishingCallback callback);
+
+    /**
+     * Sends messages of single batch. Failure to hand over one of the messages is reported through callback and does
+     * not stop sending the remaining ones. Sending stops when callback no longer waits for the batch.
+     */
+    default void send(List<Message> messages, Topic topic, BatchPublishingCallback callback) {
+        for (Message message : messages) {
+            if (!callback.onHandingOver(message, topic)) {
+                return;
+            }
+            try {
+                send(message, topic, callback);
+                callback.onHandedOver(message, topic);
+            } catch (Exception e) {
+                callback.onUnpublished(message, topic, e);
+            }
+        }
+    }
+
     boolean isTopicAvailable(Topic topic);
 
 }
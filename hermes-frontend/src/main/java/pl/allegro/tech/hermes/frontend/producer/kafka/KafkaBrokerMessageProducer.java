@@ -1,5 +1,6 @@
 package pl.allegro.tech.hermes.frontend.producer.kafka;
 
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
@@ -8,11 +9,14 @@ import pl.allegro.tech.hermes.api.Topic;
 import pl.allegro.tech.hermes.common.kafka.KafkaNamesMapper;
 import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 import pl.allegro.tech.hermes.frontend.producer.BrokerMessageProducer;
+import pl.allegro.tech.hermes.frontend.publishing.BatchPublishingCallback;
 import pl.allegro.tech.hermes.frontend.publishing.PublishingCallback;
 import pl.allegro.tech.hermes.frontend.publishing.message.Message;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Singleton
 public class KafkaBrokerMessageProducer implements BrokerMessageProducer {
@@ -33,8 +37,33 @@ public class KafkaBrokerMessageProducer implements BrokerMessageProducer {
     @Override
     public void send(Message message, Topic topic, final PublishingCallback callback) {
             String kafkaTopicName = kafkaNamesMapper.toKafkaTopics(topic).getPrimary().name().asString();
-            ProducerRecord<byte[], byte[]> producerRecord = new ProducerRecord<>(kafkaTopicName, message.getData());
-            producers.get(topic).send(producerRecord, new SendCallback(message, topic, callback));
+            producers.get(topic).send(toProducerRecord(kafkaTopicName, message), new SendCallback(message, topic, callback));
+    }
+
+    @Override
+    public void send(List<Message> messages, Topic topic, BatchPublishingCallback callback) {
+        String kafkaTopicName = kafkaNamesMapper.toKafkaTopics(topic).getPrimary().name().asString();
+        Producer<byte[], byte[]> producer = producers.get(topic);
+        for (Message message : messages) {
+            if (!callback.onHandingOver(message, topic)) {
+                return;
+            }
+            try {
+                producer.send(toProducerRecord(kafkaTopicName, message), new SendCallback(message, topic, callback));
+                callback.onHandedOver(message, topic);
+            } catch (Exception e) {
+                callback.onUnpublished(message, topic, e);
+            }
+        }
+    }
+
+    /**
+     * Messages with partition key are hashed by Kafka to the same partition, which preserves their order; messages
+     * without key are spread over all partitions as before.
+     */
+    private ProducerRecord<byte[], byte[]> toProducerRecord(String kafkaTopicName, Message message) {
+        byte[] key = message.getPartitionKey().map(partitionKey -> partitionKey.getBytes(StandardCharsets.UTF_8)).orElse(null);
+        return new ProducerRecord<>(kafkaTopicName, key, message.getData());
     }
 
     @Override
@@ -1,5 +1,7 @@
 package pl.allegro.tech.hermes.frontend.producer.kafka;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -8,9 +10,15 @@ import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.config.Configs;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.kafka.clients.producer.ProducerConfig.ACKS_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.BATCH_SIZE_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.BLOCK_ON_BUFFER_FULL_CONFIG;
@@ -41,6 +49,7 @@ import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_MAX_RE
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_METADATA_FETCH_TIMEOUT_MS;
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_METADATA_MAX_AGE;
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_METRICS_SAMPLE_WINDOW_MS;
+import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_POOLS;
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_RETRIES;
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_RETRY_BACKOFF_MS;
 import static pl.allegro.tech.hermes.common.config.Configs.KAFKA_PRODUCER_TCP_SEND_BUFFER;
@@ -49,8 +58,21 @@ public class KafkaMessageProducerFactory implements Factory<Producers> {
     private static final String ACK_ALL = "-1";
     private static final String ACK_LEADER = "1";
 
+    private final ConfigFactory configFactory;
+    private final ObjectMapper objectMapper;
+    private final Function<Map<String, Object>, Producer<byte[], byte[]>> producerCreator;
+
     @Inject
-    private ConfigFactory configFactory;
+    public KafkaMessageProducerFactory(ConfigFactory configFactory, ObjectMapper objectMapper) {
+        this(configFactory, objectMapper, config -> new KafkaProducer<>(config));
+    }
+
+    KafkaMessageProducerFactory(ConfigFactory configFactory, ObjectMapper objectMapper,
+                                Function<Map<String, Object>, Producer<byte[], byte[]>> producerCreator) {
+        this.configFactory = configFactory;
+        this.objectMapper = objectMapper;
+        this.producerCreator = producerCreator;
+    }
 
     @Override
     public Producers provide() {
@@ -73,9 +95,61 @@ public class KafkaMessageProducerFactory implements Factory<Producers> {
         common.put(METRICS_SAMPLE_WINDOW_MS_CONFIG, getInt(KAFKA_PRODUCER_METRICS_SAMPLE_WINDOW_MS));
         common.put(MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, getInt(KAFKA_PRODUCER_MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
 
-        Producer<byte[], byte[]> leaderConfirms = new KafkaProducer<>(copyWithEntryAdded(common, ACKS_CONFIG, ACK_LEADER));
-        Producer<byte[], byte[]> everyoneConfirms = new KafkaProducer<>(copyWithEntryAdded(common, ACKS_CONFIG, ACK_ALL));
-        return new Producers(leaderConfirms, everyoneConfirms, configFactory);
+        Map<String, ProducerPool> pools = createPools(common, readPoolConfigs(getString(KAFKA_PRODUCER_POOLS)));
+        Producer<byte[], byte[]> leaderConfirms = producerCreator.apply(copyWithEntryAdded(common, ACKS_CONFIG, ACK_LEADER));
+        Producer<byte[], byte[]> everyoneConfirms = producerCreator.apply(copyWithEntryAdded(common, ACKS_CONFIG, ACK_ALL));
+        ProducerPool defaultPool = new ProducerPool(ProducerPool.DEFAULT, leaderConfirms, everyoneConfirms);
+        return new Producers(defaultPool, pools, configFactory);
+    }
+
+    List<ProducerPoolConfig> readPoolConfigs(String pools) {
+        if (pools.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(pools, new TypeReference<List<ProducerPoolConfig>>() {});
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid " + KAFKA_PRODUCER_POOLS.getName() + " configuration", e);
+        }
+    }
+
+    /**
+     * @return pools by names of topics and groups assigned to them; producers of already created pools are closed
+     *         when configuration turns out to be invalid
+     */
+    Map<String, ProducerPool> createPools(Map<String, Object> common, List<ProducerPoolConfig> poolConfigs) {
+        Map<String, ProducerPool> pools = new HashMap<>();
+        List<ProducerPool> created = new ArrayList<>();
+        try {
+            for (ProducerPoolConfig poolConfig : poolConfigs) {
+                ProducerPool pool = createPool(common, poolConfig);
+                created.add(pool);
+                poolConfig.getTopics().forEach(topicOrGroup -> {
+                    ProducerPool previous = pools.put(topicOrGroup, pool);
+                    checkArgument(previous == null, "%s is assigned to producer pools %s and %s",
+                            topicOrGroup, pool.getName(), previous == null ? null : previous.getName());
+                });
+            }
+        } catch (RuntimeException e) {
+            created.forEach(ProducerPool::close);
+            throw e;
+        }
+        return pools;
+    }
+
+    ProducerPool createPool(Map<String, Object> common, ProducerPoolConfig poolConfig) {
+        Map<String, Object> config = new HashMap<>(common);
+        poolConfig.getBufferMemory().ifPresent(bufferMemory -> config.put(BUFFER_MEMORY_CONFIG, bufferMemory));
+        poolConfig.getLingerMs().ifPresent(lingerMs -> config.put(LINGER_MS_CONFIG, lingerMs));
+        poolConfig.getBatchSize().ifPresent(batchSize -> config.put(BATCH_SIZE_CONFIG, batchSize));
+
+        List<Producer<byte[], byte[]>> leaderConfirms = new ArrayList<>();
+        List<Producer<byte[], byte[]>> everyoneConfirms = new ArrayList<>();
+        for (int i = 0; i < poolConfig.getProducers(); i++) {
+            leaderConfirms.add(producerCreator.apply(copyWithEntryAdded(config, ACKS_CONFIG, ACK_LEADER)));
+            everyoneConfirms.add(producerCreator.apply(copyWithEntryAdded(config, ACKS_CONFIG, ACK_ALL)));
+        }
+        return new ProducerPool(poolConfig.getName(), leaderConfirms, everyoneConfirms);
     }
 
     private ImmutableMap<String, Object> copyWithEntryAdded(Map<String, Object> common, String key, String value) {
@@ -0,0 +1,103 @@
+package pl.allegro.tech.hermes.frontend.producer.kafka;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.common.metric.Gauges;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static pl.allegro.tech.hermes.common.metric.HermesMetrics.escapeDots;
+
+/**
+ * Kafka producers with their own buffers, shared by a set of topics. Pool holds the same number of producers for
+ * leader and all acknowledgment levels; each topic is always served by the same producer, picked by its name, so
+ * that spreading topics over many producers does not reorder messages of a single topic.
+ */
+public class ProducerPool {
+
+    static final String DEFAULT = "default";
+
+    private final String name;
+    private final List<Producer<byte[], byte[]>> leaderConfirms;
+    private final List<Producer<byte[], byte[]>> everyoneConfirms;
+
+    public ProducerPool(String name,
+                        List<Producer<byte[], byte[]>> leaderConfirms,
+                        List<Producer<byte[], byte[]>> everyoneConfirms) {
+        checkArgument(!leaderConfirms.isEmpty() && leaderConfirms.size() == everyoneConfirms.size(),
+                "Producer pool %s needs the same, positive number of producers for each acknowledgment level", name);
+        this.name = name;
+        this.leaderConfirms = leaderConfirms;
+        this.everyoneConfirms = everyoneConfirms;
+    }
+
+    public ProducerPool(String name, Producer<byte[], byte[]> leaderConfirms, Producer<byte[], byte[]> everyoneConfirms) {
+        this(name, Collections.singletonList(leaderConfirms), Collections.singletonList(everyoneConfirms));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Producer<byte[], byte[]> get(Topic topic) {
+        List<Producer<byte[], byte[]>> producers = topic.isReplicationConfirmRequired() ? everyoneConfirms : leaderConfirms;
+        if (producers.size() == 1) {
+            return producers.get(0);
+        }
+        return producers.get(Math.floorMod(topic.getQualifiedName().hashCode(), producers.size()));
+    }
+
+    Producer<byte[], byte[]> anyLeaderConfirms() {
+        return leaderConfirms.get(0);
+    }
+
+    Producer<byte[], byte[]> anyEveryoneConfirms() {
+        return everyoneConfirms.get(0);
+    }
+
+    /**
+     * Default pool reports under the same gauge names as before pools were introduced, other pools under
+     * {@code producer-pools.<name>} prefix. Buffer sizes are summed and compression rate averaged over producers.
+     */
+    void registerGauges(HermesMetrics metrics) {
+        String prefix = DEFAULT.equals(name) ? "" : Gauges.PRODUCER_POOLS_PREFIX + "." + escapeDots(name) + ".";
+        registerSumGauge(metrics, prefix + Gauges.LEADER_CONFIRMS_BUFFER_TOTAL_BYTES, leaderConfirms, "buffer-total-bytes");
+        registerSumGauge(metrics, prefix + Gauges.LEADER_CONFIRMS_BUFFER_AVAILABLE_BYTES, leaderConfirms, "buffer-available-bytes");
+        registerSumGauge(metrics, prefix + Gauges.EVERYONE_CONFIRMS_BUFFER_TOTAL_BYTES, everyoneConfirms, "buffer-total-bytes");
+        registerSumGauge(metrics, prefix + Gauges.EVERYONE_CONFIRMS_BUFFER_AVAILABLE_BYTES, everyoneConfirms, "buffer-available-bytes");
+        registerAverageGauge(metrics, prefix + Gauges.LEADER_CONFIRMS_COMPRESSION_RATE, leaderConfirms, "compression-rate-avg");
+        registerAverageGauge(metrics, prefix + Gauges.EVERYONE_CONFIRMS_COMPRESSION_RATE, everyoneConfirms, "compression-rate-avg");
+    }
+
+    private void registerSumGauge(HermesMetrics metrics, String gauge, List<Producer<byte[], byte[]>> producers, String metric) {
+        ToDoubleFunction<Producer<byte[], byte[]>> value = producer -> producerMetric(producer, metric);
+        metrics.registerGauge(gauge, () -> producers.stream().mapToDouble(value).sum());
+    }
+
+    private void registerAverageGauge(HermesMetrics metrics, String gauge, List<Producer<byte[], byte[]>> producers, String metric) {
+        ToDoubleFunction<Producer<byte[], byte[]>> value = producer -> producerMetric(producer, metric);
+        metrics.registerGauge(gauge, () -> producers.stream().mapToDouble(value).average().orElse(0.0));
+    }
+
+    private static double producerMetric(Producer<byte[], byte[]> producer, String metric) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : producer.metrics().entrySet()) {
+            if (entry.getKey().group().equals("producer-metrics") && entry.getKey().name().equals(metric)) {
+                double value = entry.getValue().value();
+                return value < 0 ? 0.0 : value;
+            }
+        }
+        return 0.0;
+    }
+
+    void close() {
+        everyoneConfirms.forEach(Producer::close);
+        leaderConfirms.forEach(Producer::close);
+    }
+}
@@ -0,0 +1,67 @@
+package pl.allegro.tech.hermes.frontend.producer.kafka;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Single entry of {@code kafka.producer.pools} configuration. Topics are listed by their qualified names or by group
+ * names, which assigns all topics of the group. Tuning options which are not set fall back to global
+ * {@code kafka.producer.*} configuration.
+ */
+public class ProducerPoolConfig {
+
+    private final String name;
+    private final List<String> topics;
+    private final int producers;
+    private final Optional<Long> bufferMemory;
+    private final Optional<Integer> lingerMs;
+    private final Optional<Integer> batchSize;
+
+    @JsonCreator
+    public ProducerPoolConfig(@JsonProperty("name") String name,
+                              @JsonProperty("topics") List<String> topics,
+                              @JsonProperty("producers") Integer producers,
+                              @JsonProperty("bufferMemory") Long bufferMemory,
+                              @JsonProperty("lingerMs") Integer lingerMs,
+                              @JsonProperty("batchSize") Integer batchSize) {
+        checkArgument(name != null && !name.isEmpty(), "Producer pool must have a name");
+        checkArgument(!ProducerPool.DEFAULT.equals(name), "Producer pool name %s is reserved for the default pool", name);
+        checkArgument(producers == null || producers > 0, "Producer pool %s must have at least one producer", name);
+        this.name = name;
+        this.topics = topics == null ? Collections.emptyList() : topics;
+        this.producers = producers == null ? 1 : producers;
+        this.bufferMemory = Optional.ofNullable(bufferMemory);
+        this.lingerMs = Optional.ofNullable(lingerMs);
+        this.batchSize = Optional.ofNullable(batchSize);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getTopics() {
+        return topics;
+    }
+
+    public int getProducers() {
+        return producers;
+    }
+
+    public Optional<Long> getBufferMemory() {
+        return bufferMemory;
+    }
+
+    public Optional<Integer> getLingerMs() {
+        return lingerMs;
+    }
+
+    public Optional<Integer> getBatchSize() {
+        return batchSize;
+    }
+}
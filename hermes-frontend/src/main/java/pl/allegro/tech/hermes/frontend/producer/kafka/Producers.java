@@ -10,18 +10,27 @@ import pl.allegro.tech.hermes.common.config.Configs;
 import pl.allegro.tech.hermes.common.metric.Gauges;
 import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
+import static java.util.stream.Collectors.toList;
 import static pl.allegro.tech.hermes.common.metric.HermesMetrics.escapeDots;
 
 
+/**
+ * Routes topics to Kafka producers. Topics listed in {@code kafka.producer.pools} get producers of their pool, with
+ * separate buffers and tuning, so that a noisy or slow topic can exhaust only the buffer of its own pool. All other
+ * topics share the default pool.
+ */
 public class Producers {
-    private final Producer<byte[], byte[]> leaderConfirms;
-    private final Producer<byte[], byte[]> everyoneConfirms;
+    private final ProducerPool defaultPool;
+    private final List<ProducerPool> pools;
+    private final Map<String, ProducerPool> assignments;
 
     private boolean reportNodeMetrics;
     private AtomicBoolean nodeMetricsRegistered = new AtomicBoolean(false);
@@ -29,22 +38,31 @@ public class Producers {
     public Producers(Producer<byte[], byte[]> leaderConfirms,
                      Producer<byte[], byte[]> everyoneConfirms,
                      ConfigFactory configFactory) {
-        this.leaderConfirms = leaderConfirms;
-        this.everyoneConfirms = everyoneConfirms;
+        this(new ProducerPool(ProducerPool.DEFAULT, leaderConfirms, everyoneConfirms), Collections.emptyMap(), configFactory);
+    }
+
+    /**
+     * @param pools pools by qualified names of topics or names of groups assigned to them; topic assignment takes
+     *              precedence over assignment of its group
+     */
+    public Producers(ProducerPool defaultPool, Map<String, ProducerPool> pools, ConfigFactory configFactory) {
+        this.defaultPool = defaultPool;
+        this.assignments = new HashMap<>(pools);
+        this.pools = pools.values().stream().distinct().collect(toList());
         this.reportNodeMetrics = configFactory.getBooleanProperty(Configs.KAFKA_PRODUCER_REPORT_NODE_METRICS);
     }
 
     public Producer<byte[], byte[]> get(Topic topic) {
-        return topic.isReplicationConfirmRequired() ? everyoneConfirms : leaderConfirms;
+        ProducerPool pool = assignments.get(topic.getQualifiedName());
+        if (pool == null) {
+            pool = assignments.getOrDefault(topic.getName().getGroupName(), defaultPool);
+        }
+        return pool.get(topic);
     }
 
     public void registerGauges(HermesMetrics metrics) {
-        registerTotalBytesGauge(leaderConfirms, metrics, Gauges.LEADER_CONFIRMS_BUFFER_TOTAL_BYTES);
-        registerAvailableBytesGauge(leaderConfirms, metrics, Gauges.LEADER_CONFIRMS_BUFFER_AVAILABLE_BYTES);
-        registerTotalBytesGauge(everyoneConfirms, metrics, Gauges.EVERYONE_CONFIRMS_BUFFER_TOTAL_BYTES);
-        registerAvailableBytesGauge(everyoneConfirms, metrics, Gauges.EVERYONE_CONFIRMS_BUFFER_AVAILABLE_BYTES);
-        registerCompressionRateGauge(leaderConfirms, metrics, Gauges.LEADER_CONFIRMS_COMPRESSION_RATE);
-        registerCompressionRateGauge(everyoneConfirms, metrics, Gauges.EVERYONE_CONFIRMS_COMPRESSION_RATE);
+        defaultPool.registerGauges(metrics);
+        pools.forEach(pool -> pool.registerGauges(metrics));
     }
 
     public void maybeRegisterNodeMetricsGauges(HermesMetrics metrics) {
@@ -54,6 +72,8 @@ public class Producers {
     }
 
     private void registerLatencyPerBrokerGauge(HermesMetrics metrics) {
+        Producer<byte[], byte[]> leaderConfirms = defaultPool.anyLeaderConfirms();
+        Producer<byte[], byte[]> everyoneConfirms = defaultPool.anyEveryoneConfirms();
         List<Node> brokers = ProducerBrokerNodeReader.read(leaderConfirms);
         registerLatencyPerBrokerGauge(everyoneConfirms, metrics, "request-latency-avg", "everyone-confirms", brokers);
         registerLatencyPerBrokerGauge(leaderConfirms, metrics, "request-latency-avg", "leader-confirms", brokers);
@@ -61,27 +81,6 @@ public class Producers {
         registerLatencyPerBrokerGauge(leaderConfirms, metrics, "request-latency-max", "leader-confirms", brokers);
     }
 
-    private void registerCompressionRateGauge(Producer<byte[], byte[]> producer, HermesMetrics metrics, String gauge) {
-        registerProducerGauge(producer, metrics, new MetricName("compression-rate-avg", "producer-metrics"), gauge);
-    }
-
-    private void registerTotalBytesGauge(Producer<byte[], byte[]> producer, HermesMetrics metrics, String gauge) {
-        registerProducerGauge(producer, metrics, new MetricName("buffer-total-bytes", "producer-metrics"), gauge);
-    }
-
-    private void registerAvailableBytesGauge(Producer<byte[], byte[]> producer, HermesMetrics metrics, String gauge) {
-        registerProducerGauge(producer, metrics, new MetricName("buffer-available-bytes", "producer-metrics"), gauge);
-    }
-
-    private void registerProducerGauge(final Producer<byte[], byte[]> producer,
-                                       final HermesMetrics metrics,
-                                       final MetricName name,
-                                       final String gauge) {
-
-        registerGauge(producer, metrics, gauge,
-                entry -> entry.getKey().group().equals(name.group()) && entry.getKey().name().equals(name.name()));
-    }
-
     private void registerLatencyPerBrokerGauge(Producer<byte[], byte[]> producer,
                                                HermesMetrics metrics,
                                                String metricName,
@@ -117,7 +116,7 @@ public class Producers {
     }
 
     public void close() {
-        everyoneConfirms.close();
-        leaderConfirms.close();
+        pools.forEach(ProducerPool::close);
+        defaultPool.close();
     }
 }
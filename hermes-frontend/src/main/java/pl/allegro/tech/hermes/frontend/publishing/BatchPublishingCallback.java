@@ -0,0 +1,21 @@
+package pl.allegro.tech.hermes.frontend.publishing;
+
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.frontend.publishing.message.Message;
+
+/**
+ * Follows hand over of batch messages to the producer, which can block each of them for a while when producer buffer
+ * is full. It lets the caller tell messages that reached the producer from the ones that did not.
+ */
+public interface BatchPublishingCallback extends PublishingCallback {
+
+    /**
+     * @return false when nobody waits for the batch anymore and the message should not be sent
+     */
+    default boolean onHandingOver(Message message, Topic topic) {
+        return true;
+    }
+
+    default void onHandedOver(Message message, Topic topic) {
+    }
+}
@@ -0,0 +1,76 @@
+package pl.allegro.tech.hermes.frontend.publishing;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.lang.String.format;
+
+/**
+ * Decodes request body sent with Content-Encoding header. Gzip and deflate are supported, as these are the encodings
+ * HTTP clients can produce without additional libraries. Decoded content is limited to {@code maxDecodedSize} bytes,
+ * so that small compressed request can not make frontend allocate arbitrary amount of memory.
+ */
+public class ContentDecoder {
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final int BUFFER_SIZE = 4096;
+
+    private final int maxDecodedSize;
+
+    public ContentDecoder(int maxDecodedSize) {
+        this.maxDecodedSize = maxDecodedSize;
+    }
+
+    /**
+     * @return true if body of request has to be decoded, so its length differs from declared {@code Content-Length}
+     */
+    public static boolean isEncoded(HttpServletRequest request) {
+        String encoding = request.getHeader(CONTENT_ENCODING);
+        return encoding != null && !"identity".equals(encoding.trim().toLowerCase());
+    }
+
+    public byte[] decode(HttpServletRequest request, byte[] content) {
+        String encoding = request.getHeader(CONTENT_ENCODING);
+        if (encoding == null) {
+            return content;
+        }
+        switch (encoding.trim().toLowerCase()) {
+            case "identity":
+                return content;
+            case "gzip":
+            case "x-gzip":
+                return decode(encoding, () -> new GZIPInputStream(new ByteArrayInputStream(content), BUFFER_SIZE));
+            case "deflate":
+                return decode(encoding, () -> new InflaterInputStream(new ByteArrayInputStream(content)));
+            default:
+                throw new IllegalStateException(format("Unsupported Content-Encoding %s", encoding));
+        }
+    }
+
+    private byte[] decode(String encoding, DecodingStreamSupplier streamSupplier) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream stream = streamSupplier.open()) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                if (decoded.size() + read > maxDecodedSize) {
+                    throw new IllegalStateException(
+                            format("Decoded content exceeds limit of %d bytes", maxDecodedSize));
+                }
+                decoded.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(format("Could not decode %s content: %s", encoding, e.getMessage()), e);
+        }
+        return decoded.toByteArray();
+    }
+
+    private interface DecodingStreamSupplier {
+        InputStream open() throws IOException;
+    }
+}
@@ -1,13 +1,16 @@
 package pl.allegro.tech.hermes.frontend.publishing;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.HttpHeaders;
 import pl.allegro.tech.hermes.api.ErrorDescription;
 import pl.allegro.tech.hermes.common.exception.InternalProcessingException;
+import pl.allegro.tech.hermes.frontend.publishing.quota.Admission;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 
+import static pl.allegro.tech.hermes.api.ErrorCode.QUOTA_EXCEEDED;
 import static pl.allegro.tech.hermes.common.http.MessageMetadataHeaders.MESSAGE_ID;
 
 public class ErrorSender {
@@ -26,6 +29,13 @@ public class ErrorSender {
         objectMapper.writeValue(response.getWriter(), error);
     }
 
+    public void sendQuotaExceededResponse(Admission admission, HttpServletResponse response, String messageId)
+            throws IOException {
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()));
+        sendErrorResponse(new ErrorDescription(admission.getReason(), QUOTA_EXCEEDED), response, messageId);
+    }
+
     public void sendErrorResponseQuietly(ErrorDescription error, HttpServletResponse response, String messageId) {
         try {
             sendErrorResponse(error, response, messageId);
@@ -7,6 +7,7 @@ import pl.allegro.tech.hermes.frontend.publishing.message.MessageState;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
 
 import static pl.allegro.tech.hermes.frontend.publishing.message.MessageState.State.SENDING_TO_KAFKA;
 import static pl.allegro.tech.hermes.frontend.publishing.message.MessageState.State.SENDING_TO_KAFKA_PRODUCER_QUEUE;
@@ -31,4 +32,10 @@ public class MessagePublisher {
             callback.onUnpublished(message, topic, e);
         }
     }
+
+    public void publish(List<Message> messages, Topic topic, MessageState messageState, BatchPublishingCallback callback) {
+        messageState.setState(SENDING_TO_KAFKA_PRODUCER_QUEUE);
+        brokerMessageProducer.send(messages, topic, callback);
+        messageState.setState(SENDING_TO_KAFKA);
+    }
 }
@@ -21,6 +21,7 @@ public class MessageReader implements ReadListener {
     private final ByteArrayOutputStream messageContent = new ByteArrayOutputStream();
     private final ServletInputStream inputStream;
     private final Integer chunkSize;
+    private final ContentDecoder contentDecoder;
     private final TopicName topicName;
     private final HermesMetrics hermesMetrics;
     private Timer.Context parsingTimerPerTopic;
@@ -34,6 +35,7 @@ public class MessageReader implements ReadListener {
     public MessageReader(
             HttpServletRequest request,
             Integer chunkSize,
+            ContentDecoder contentDecoder,
             TopicName topicName,
             HermesMetrics hermesMetrics,
             MessageState messageState,
@@ -47,6 +49,7 @@ public class MessageReader implements ReadListener {
         this.onOtherError = onOtherError;
         this.inputStream = request.getInputStream();
         this.chunkSize = chunkSize;
+        this.contentDecoder = contentDecoder;
         this.topicName = topicName;
         this.hermesMetrics = hermesMetrics;
         this.onRead = onRead;
@@ -71,8 +74,9 @@ public class MessageReader implements ReadListener {
         closeParsingTimers();
         try {
             checkContentLength(request, messageContent.size(), "Content-Length does not match the header");
-            hermesMetrics.reportContentSize(messageContent.size(), topicName);
-            onRead.accept(messageContent.toByteArray());
+            byte[] content = contentDecoder.decode(request, messageContent.toByteArray());
+            hermesMetrics.reportContentSize(content.length, topicName);
+            onRead.accept(content);
         } catch (IllegalStateException e) {
             onValidationError.accept(e);
         }
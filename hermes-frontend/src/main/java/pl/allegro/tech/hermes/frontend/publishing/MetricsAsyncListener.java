@@ -16,13 +16,13 @@ import java.io.IOException;
 
 import static javax.ws.rs.core.Response.Status.Family;
 
-class MetricsAsyncListener implements AsyncListener {
+public class MetricsAsyncListener implements AsyncListener {
 
     private final HermesMetrics hermesMetrics;
     private final TopicName topicName;
     private final ProducerLatencyTimer producerLatencyTimer;
 
-    MetricsAsyncListener(HermesMetrics hermesMetrics, TopicName topicName, Topic.Ack ack) {
+    public MetricsAsyncListener(HermesMetrics hermesMetrics, TopicName topicName, Topic.Ack ack) {
         this.hermesMetrics = hermesMetrics;
         this.topicName = topicName;
         this.producerLatencyTimer = latencyTimer(hermesMetrics, topicName, ack);
@@ -15,8 +15,11 @@ import pl.allegro.tech.hermes.frontend.listeners.BrokerListeners;
 import pl.allegro.tech.hermes.frontend.publishing.callbacks.*;
 import pl.allegro.tech.hermes.frontend.publishing.message.Message;
 import pl.allegro.tech.hermes.frontend.publishing.message.MessageFactory;
+import pl.allegro.tech.hermes.frontend.publishing.message.MessageIdGenerator;
 import pl.allegro.tech.hermes.frontend.publishing.message.MessageState;
 import pl.allegro.tech.hermes.frontend.publishing.preview.MessagePreviewLog;
+import pl.allegro.tech.hermes.frontend.publishing.quota.Admission;
+import pl.allegro.tech.hermes.frontend.publishing.quota.PublishingQuotas;
 import pl.allegro.tech.hermes.frontend.validator.InvalidMessageException;
 import pl.allegro.tech.hermes.tracker.frontend.Trackers;
 import tech.allegro.schema.json2avro.converter.AvroConversionException;
@@ -29,7 +32,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
-import java.util.UUID;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang.StringUtils.strip;
@@ -48,10 +50,13 @@ public class PublishingServlet extends HttpServlet {
     private final BrokerListeners listeners;
     private final MessageFactory messageFactory;
     private final MessagePreviewLog messagePreviewLog;
+    private final MessageIdGenerator messageIdGenerator;
+    private final PublishingQuotas publishingQuotas;
 
     private final Integer defaultAsyncTimeout;
     private final Integer longAsyncTimeout;
     private final Integer chunkSize;
+    private final ContentDecoder contentDecoder;
     private final boolean previewEnabled;
 
     @Inject
@@ -62,12 +67,16 @@ public class PublishingServlet extends HttpServlet {
                              Trackers trackers,
                              MessagePublisher messagePublisher,
                              BrokerListeners listeners,
-                             MessageFactory messageFactory, MessagePreviewLog messagePreviewLog) {
+                             MessageFactory messageFactory, MessagePreviewLog messagePreviewLog,
+                             MessageIdGenerator messageIdGenerator,
+                             PublishingQuotas publishingQuotas) {
 
         this.topicsCache = topicsCache;
         this.messagePublisher = messagePublisher;
         this.messageFactory = messageFactory;
         this.messagePreviewLog = messagePreviewLog;
+        this.messageIdGenerator = messageIdGenerator;
+        this.publishingQuotas = publishingQuotas;
         this.errorSender = new ErrorSender(objectMapper);
         this.hermesMetrics = hermesMetrics;
         this.trackers = trackers;
@@ -75,25 +84,32 @@ public class PublishingServlet extends HttpServlet {
         this.defaultAsyncTimeout = configFactory.getIntProperty(Configs.FRONTEND_IDLE_TIMEOUT);
         this.longAsyncTimeout = configFactory.getIntProperty(Configs.FRONTEND_LONG_IDLE_TIMEOUT);
         this.chunkSize = configFactory.getIntProperty(Configs.FRONTEND_REQUEST_CHUNK_SIZE);
+        this.contentDecoder = new ContentDecoder(configFactory.getIntProperty(Configs.FRONTEND_MAX_DECODED_CONTENT_SIZE));
         this.previewEnabled = configFactory.getBooleanProperty(FRONTEND_MESSAGE_PREVIEW_ENABLED);
     }
 
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         String topicName = parseTopicName(request);
-        final String messageId = UUID.randomUUID().toString();
+        final String messageId = messageIdGenerator.generate();
         Optional<Topic> topic = topicsCache.getTopic(topicName);
 
-        if (topic.isPresent()) {
-            handlePublishAsynchronously(request, response, topic.get(), messageId);
-        } else {
+        if (!topic.isPresent()) {
             String cause = format("Topic %s not exists", topicName);
             errorSender.sendErrorResponse(new ErrorDescription(cause, TOPIC_NOT_EXISTS), response, messageId);
+            return;
+        }
+
+        Admission admission = publishingQuotas.admit(topic.get(), request);
+        if (admission.isAdmitted()) {
+            handlePublishAsynchronously(request, response, topic.get(), messageId, admission);
+        } else {
+            errorSender.sendQuotaExceededResponse(admission, response, messageId);
         }
     }
 
-    private void handlePublishAsynchronously(HttpServletRequest request, HttpServletResponse response, Topic topic, String messageId)
-            throws IOException {
+    private void handlePublishAsynchronously(HttpServletRequest request, HttpServletResponse response, Topic topic, String messageId,
+                                             Admission admission) throws IOException {
         final MessageState messageState = new MessageState();
         final AsyncContext asyncContext = request.startAsync();
         final HttpResponder httpResponder = new HttpResponder(trackers, messageId, response, asyncContext, topic, errorSender, messageState,
@@ -103,27 +119,30 @@ public class PublishingServlet extends HttpServlet {
         asyncContext.addListener(new MetricsAsyncListener(hermesMetrics, topic.getName(), topic.getAck()));
         asyncContext.setTimeout(topic.isReplicationConfirmRequired() ? longAsyncTimeout : defaultAsyncTimeout);
 
-        new MessageReader(request, chunkSize, topic.getName(), hermesMetrics, messageState,
-                messageContent -> asyncContext.start(() -> {
-                    try {
-                        Message message = messageFactory.create(request, topic, messageId, messageContent);
-                        asyncContext.addListener(new BrokerTimeoutAsyncListener(httpResponder, message, topic, messageState, listeners));
-                        messagePublisher.publish(message, topic, messageState,
-                                new AsyncContextExecutionCallback(asyncContext, new MessageStatePublishingCallback(messageState),
-                                        new HttpPublishingCallback(httpResponder),
-                                        new MetricsPublishingCallback(hermesMetrics, topic),
-                                        new BrokerListenersPublishingCallback(listeners, messageState)));
-
-                    } catch (InvalidMessageException | AvroConversionException | UnsupportedContentTypeException exception) {
-                        httpResponder.badRequest(exception);
-                    } catch (CouldNotLoadSchemaException | SchemaMissingException e) {
-                        httpResponder.internalError(e, "Could not load schema for published message");
-                    } finally {
-                        if (previewEnabled) {
-                            messagePreviewLog.add(topic.getName(), messageContent);
+        new MessageReader(request, chunkSize, contentDecoder, topic.getName(), hermesMetrics, messageState,
+                messageContent -> {
+                    admission.chargeReadBytes(messageContent.length);
+                    asyncContext.start(() -> {
+                        try {
+                            Message message = messageFactory.create(request, topic, messageId, messageContent);
+                            asyncContext.addListener(new BrokerTimeoutAsyncListener(httpResponder, message, topic, messageState, listeners));
+                            messagePublisher.publish(message, topic, messageState,
+                                    new AsyncContextExecutionCallback(asyncContext, new MessageStatePublishingCallback(messageState),
+                                            new HttpPublishingCallback(httpResponder),
+                                            new MetricsPublishingCallback(hermesMetrics, topic),
+                                            new BrokerListenersPublishingCallback(listeners, messageState)));
+
+                        } catch (InvalidMessageException | AvroConversionException | UnsupportedContentTypeException exception) {
+                            httpResponder.badRequest(exception);
+                        } catch (CouldNotLoadSchemaException | SchemaMissingException e) {
+                            httpResponder.internalError(e, "Could not load schema for published message");
+                        } finally {
+                            if (previewEnabled) {
+                                messagePreviewLog.add(topic.getName(), messageContent);
+                            }
                         }
-                    }
-                }),
+                    });
+                },
                 input -> httpResponder.badRequest(input, "Validation error"),
                 throwable -> httpResponder.internalError(throwable, "Error while reading request"));
     }
@@ -12,12 +12,18 @@ public class AvroMessage implements Message {
     private final byte[] data;
     private final long timestamp;
     private final CompiledSchema<Schema> schema;
+    private final Optional<String> partitionKey;
 
     public AvroMessage(String id, byte[] data, long timestamp, CompiledSchema<Schema> schema) {
+        this(id, data, timestamp, schema, Optional.empty());
+    }
+
+    public AvroMessage(String id, byte[] data, long timestamp, CompiledSchema<Schema> schema, Optional<String> partitionKey) {
         this.id = id;
         this.data = data;
         this.timestamp = timestamp;
         this.schema = schema;
+        this.partitionKey = partitionKey;
     }
 
     @Override
@@ -46,7 +52,12 @@ public class AvroMessage implements Message {
         return Optional.of((CompiledSchema<T>) schema);
     }
 
+    @Override
+    public Optional<String> getPartitionKey() {
+        return partitionKey;
+    }
+
     public AvroMessage withDataReplaced(byte[] newData) {
-        return new AvroMessage(id, newData, timestamp, schema);
+        return new AvroMessage(id, newData, timestamp, schema, partitionKey);
     }
 }
@@ -0,0 +1,309 @@
+package pl.allegro.tech.hermes.frontend.publishing.batch;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.allegro.tech.hermes.api.ErrorDescription;
+import pl.allegro.tech.hermes.api.MessageBatchResult;
+import pl.allegro.tech.hermes.api.MessageBatchResult.MessageStatus;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.common.metric.Counters;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.common.metric.Meters;
+import pl.allegro.tech.hermes.common.metric.timer.BrokerAckAllLatencyTimer;
+import pl.allegro.tech.hermes.common.metric.timer.BrokerAckLeaderLatencyTimer;
+import pl.allegro.tech.hermes.common.metric.timer.BrokerLatencyTimer;
+import pl.allegro.tech.hermes.frontend.listeners.BrokerListeners;
+import pl.allegro.tech.hermes.frontend.publishing.ErrorSender;
+import pl.allegro.tech.hermes.frontend.publishing.BatchPublishingCallback;
+import pl.allegro.tech.hermes.frontend.publishing.message.Message;
+import pl.allegro.tech.hermes.tracker.frontend.PublishingTracker;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static javax.servlet.http.HttpServletResponse.SC_ACCEPTED;
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+import static javax.servlet.http.HttpServletResponse.SC_CREATED;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+import static javax.servlet.http.HttpServletResponse.SC_REQUEST_TIMEOUT;
+import static org.apache.commons.lang.exception.ExceptionUtils.getRootCauseMessage;
+import static pl.allegro.tech.hermes.api.ErrorCode.INTERNAL_ERROR;
+import static pl.allegro.tech.hermes.api.ErrorCode.TIMEOUT;
+import static pl.allegro.tech.hermes.api.ErrorCode.VALIDATION_ERROR;
+
+/**
+ * Collects statuses of all messages of a batch and responds once every message was either rejected, acknowledged
+ * or failed by the broker. Response is 201 when all messages were acknowledged, 202 when some were handed to the
+ * broker but not acknowledged within timeout and 207 when any of the messages failed. Errors concerning the whole
+ * request, like malformed body, are sent as with single message publishing.
+ *
+ * Handing messages over to the producer can block, so a timeout may come while the batch is still being handed over.
+ * When none of the messages reached the producer yet, the whole batch is answered with timeout error. Otherwise
+ * messages which reached the producer are answered with 202, as they will be delivered. The rest are answered
+ * with 408 and are not sent anymore, so a client retrying them does not publish them twice. Only the message being
+ * handed over at the moment of timeout can end up published even though it was answered with 408.
+ */
+public class BatchHttpResponder implements BatchPublishingCallback {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchHttpResponder.class);
+
+    static final int SC_MULTI_STATUS = 207;
+
+    private final String batchId;
+    private final Topic topic;
+    private final HttpServletResponse response;
+    private final AsyncContext asyncContext;
+    private final ObjectMapper objectMapper;
+    private final ErrorSender errorSender;
+    private final PublishingTracker tracker;
+    private final BrokerListeners listeners;
+    private final String remoteHost;
+
+    private final Meter meter;
+    private final Meter topicMeter;
+    private final Counter publishedCounter;
+    private final Meter failedMeter;
+    private final Meter failedTopicMeter;
+    private final Counter unpublishedCounter;
+    private final BrokerLatencyTimer brokerLatencyTimer;
+
+    private MessageStatus[] statuses;
+    private Message[] messages;
+    private boolean[] messagesHandedOver;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private int pending;
+    private boolean handedOver = false;
+    private boolean completed = false;
+    private boolean brokerLatencyMeasured = false;
+
+    public BatchHttpResponder(String batchId, Topic topic, HttpServletResponse response, AsyncContext asyncContext,
+                              ObjectMapper objectMapper, ErrorSender errorSender, HermesMetrics hermesMetrics,
+                              PublishingTracker tracker, BrokerListeners listeners, String remoteHost) {
+        this.batchId = batchId;
+        this.topic = topic;
+        this.response = response;
+        this.asyncContext = asyncContext;
+        this.objectMapper = objectMapper;
+        this.errorSender = errorSender;
+        this.tracker = tracker;
+        this.listeners = listeners;
+        this.remoteHost = remoteHost;
+
+        this.meter = hermesMetrics.meter(Meters.METER);
+        this.topicMeter = hermesMetrics.meter(Meters.TOPIC_METER, topic.getName());
+        this.publishedCounter = hermesMetrics.counter(Counters.PUBLISHED, topic.getName());
+        this.failedMeter = hermesMetrics.meter(Meters.FAILED_METER);
+        this.failedTopicMeter = hermesMetrics.meter(Meters.FAILED_TOPIC_METER, topic.getName());
+        this.unpublishedCounter = hermesMetrics.counter(Counters.UNPUBLISHED, topic.getName());
+        this.brokerLatencyTimer = Topic.Ack.ALL.equals(topic.getAck())
+                ? new BrokerAckAllLatencyTimer(hermesMetrics, topic.getName())
+                : new BrokerAckLeaderLatencyTimer(hermesMetrics, topic.getName());
+    }
+
+    public synchronized void start(int size) {
+        statuses = new MessageStatus[size];
+        messages = new Message[size];
+        messagesHandedOver = new boolean[size];
+        pending = size;
+    }
+
+    public synchronized void created(int position, Message message) {
+        messages[position] = message;
+        positions.put(message.getId(), position);
+    }
+
+    public synchronized void rejected(int position, String messageId, Throwable cause) {
+        String error = cause.getMessage() + " Cause: " + getRootCauseMessage(cause);
+        fail(position, messageId, SC_BAD_REQUEST, error);
+    }
+
+    public synchronized void failed(int position, String messageId, Throwable cause, String message) {
+        fail(position, messageId, SC_INTERNAL_SERVER_ERROR, formatErrorMessage(message, cause));
+    }
+
+    @Override
+    public synchronized boolean onHandingOver(Message message, Topic topic) {
+        return !completed;
+    }
+
+    @Override
+    public synchronized void onHandedOver(Message message, Topic topic) {
+        Integer position = positions.get(message.getId());
+        if (position != null) {
+            messagesHandedOver[position] = true;
+        }
+    }
+
+    public synchronized void handedOver() {
+        handedOver = true;
+        if (pending == 0) {
+            respond();
+        }
+    }
+
+    @Override
+    public void onPublished(Message message, Topic topic) {
+        meter.mark();
+        topicMeter.mark();
+        publishedCounter.inc();
+        listeners.onAcknowledge(message, topic);
+        tracker.logPublished(message.getId(), topic.getName(), remoteHost);
+        resolve(message.getId(), new MessageStatus(message.getId(), SC_CREATED, null));
+    }
+
+    @Override
+    public void onUnpublished(Message message, Topic topic, Exception exception) {
+        markFailed();
+        String error = formatErrorMessage("Broker seems to be down", exception);
+        if (isHandedOver()) {
+            listeners.onError(message, topic, exception);
+        }
+        tracker.logError(message.getId(), topic.getName(), error, remoteHost);
+        resolve(message.getId(), new MessageStatus(message.getId(), SC_INTERNAL_SERVER_ERROR, error));
+    }
+
+    public synchronized void timeout(Throwable throwable) {
+        if (completed) {
+            return;
+        }
+        if (!anyMessageHandedOver()) {
+            completeError(new ErrorDescription(formatErrorMessage("Async timeout", throwable), TIMEOUT));
+            return;
+        }
+        for (int position = 0; position < statuses.length; position++) {
+            if (statuses[position] == null) {
+                Message message = messages[position];
+                if (messagesHandedOver[position]) {
+                    statuses[position] = new MessageStatus(message.getId(), SC_ACCEPTED, null);
+                    tracker.logInflight(message.getId(), topic.getName(), remoteHost);
+                    listeners.onTimeout(message, topic);
+                } else {
+                    String error = formatErrorMessage("Message was not handed over to broker within timeout", throwable);
+                    markFailed();
+                    tracker.logError(message.getId(), topic.getName(), error, remoteHost);
+                    statuses[position] = new MessageStatus(message.getId(), SC_REQUEST_TIMEOUT, error);
+                }
+            }
+        }
+        pending = 0;
+        respond();
+    }
+
+    public void badRequest(Throwable throwable, String message) {
+        completeError(new ErrorDescription(formatErrorMessage(message, throwable), VALIDATION_ERROR));
+    }
+
+    public void badRequest(Throwable throwable) {
+        completeError(new ErrorDescription(throwable.getMessage(), VALIDATION_ERROR));
+    }
+
+    public void internalError(Throwable throwable, String message) {
+        completeError(new ErrorDescription(formatErrorMessage(message, throwable), INTERNAL_ERROR));
+    }
+
+    private boolean anyMessageHandedOver() {
+        if (statuses == null) {
+            return false;
+        }
+        for (int position = 0; position < statuses.length; position++) {
+            boolean acknowledged = statuses[position] != null && statuses[position].getStatus() == SC_CREATED;
+            if (messagesHandedOver[position] || acknowledged) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized boolean isHandedOver() {
+        return handedOver;
+    }
+
+    private void fail(int position, String messageId, int status, String error) {
+        markFailed();
+        tracker.logError(messageId, topic.getName(), error, remoteHost);
+        statuses[position] = new MessageStatus(messageId, status, error);
+        pending--;
+    }
+
+    private void markFailed() {
+        failedMeter.mark();
+        failedTopicMeter.mark();
+        unpublishedCounter.inc();
+    }
+
+    private synchronized void resolve(String messageId, MessageStatus status) {
+        Integer position = positions.get(messageId);
+        if (completed || position == null || statuses[position] != null) {
+            return;
+        }
+        statuses[position] = status;
+        if (--pending == 0 && handedOver) {
+            closeBrokerLatencyTimer();
+            asyncContext.start(this::respond);
+        }
+    }
+
+    private synchronized void respond() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        closeBrokerLatencyTimer();
+
+        try {
+            response.setStatus(responseStatus());
+            response.setContentType(MediaType.APPLICATION_JSON);
+            objectMapper.writeValue(response.getOutputStream(), new MessageBatchResult(Arrays.asList(statuses)));
+        } catch (IOException e) {
+            logger.error("Could not send response for batch {} published on topic {}, remote host {}",
+                    batchId, topic.getQualifiedName(), remoteHost, e);
+        }
+        asyncContext.complete();
+    }
+
+    private int responseStatus() {
+        int status = SC_CREATED;
+        for (MessageStatus messageStatus : statuses) {
+            if (messageStatus.getStatus() == SC_ACCEPTED) {
+                status = SC_ACCEPTED;
+            } else if (messageStatus.getStatus() != SC_CREATED) {
+                return SC_MULTI_STATUS;
+            }
+        }
+        return status;
+    }
+
+    private synchronized void completeError(ErrorDescription desc) {
+        if (completed) {
+            logger.warn("Response already sent. Error message {}, topic {}, remote host {}",
+                    desc.getMessage(), topic.getQualifiedName(), remoteHost);
+            return;
+        }
+        completed = true;
+        closeBrokerLatencyTimer();
+
+        logger.error("{}, publishing batch on topic {}, remote host {}", desc.getMessage(), topic.getQualifiedName(), remoteHost);
+        errorSender.sendErrorResponseQuietly(desc, response, batchId);
+        asyncContext.complete();
+    }
+
+    private void closeBrokerLatencyTimer() {
+        if (!brokerLatencyMeasured) {
+            brokerLatencyMeasured = true;
+            brokerLatencyTimer.close();
+        }
+    }
+
+    private String formatErrorMessage(String message, Throwable throwable) {
+        return format("%s, cause: %s", message, throwable == null ? "unknown" : throwable.getMessage());
+    }
+}
@@ -0,0 +1,191 @@
+package pl.allegro.tech.hermes.frontend.publishing.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.allegro.tech.hermes.api.ErrorDescription;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+import pl.allegro.tech.hermes.common.config.Configs;
+import pl.allegro.tech.hermes.common.message.wrapper.UnsupportedContentTypeException;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.domain.topic.schema.CouldNotLoadSchemaException;
+import pl.allegro.tech.hermes.domain.topic.schema.SchemaMissingException;
+import pl.allegro.tech.hermes.frontend.cache.topic.TopicsCache;
+import pl.allegro.tech.hermes.frontend.listeners.BrokerListeners;
+import pl.allegro.tech.hermes.frontend.publishing.ContentDecoder;
+import pl.allegro.tech.hermes.frontend.publishing.ErrorSender;
+import pl.allegro.tech.hermes.frontend.publishing.MessagePublisher;
+import pl.allegro.tech.hermes.frontend.publishing.MessageReader;
+import pl.allegro.tech.hermes.frontend.publishing.MetricsAsyncListener;
+import pl.allegro.tech.hermes.frontend.publishing.message.Message;
+import pl.allegro.tech.hermes.frontend.publishing.message.MessageFactory;
+import pl.allegro.tech.hermes.frontend.publishing.message.MessageIdGenerator;
+import pl.allegro.tech.hermes.frontend.publishing.message.MessageState;
+import pl.allegro.tech.hermes.frontend.publishing.preview.MessagePreviewLog;
+import pl.allegro.tech.hermes.frontend.publishing.quota.Admission;
+import pl.allegro.tech.hermes.frontend.publishing.quota.PublishingQuotas;
+import pl.allegro.tech.hermes.frontend.validator.InvalidMessageException;
+import pl.allegro.tech.hermes.tracker.frontend.Trackers;
+import tech.allegro.schema.json2avro.converter.AvroConversionException;
+
+import javax.inject.Inject;
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.lang.String.format;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.apache.commons.lang.StringUtils.strip;
+import static org.apache.commons.lang.StringUtils.substringAfterLast;
+import static org.apache.commons.lang.StringUtils.substringBeforeLast;
+import static pl.allegro.tech.hermes.api.ErrorCode.TOPIC_NOT_EXISTS;
+import static pl.allegro.tech.hermes.common.config.Configs.FRONTEND_BATCH_MAX_MESSAGES;
+import static pl.allegro.tech.hermes.common.config.Configs.FRONTEND_MESSAGE_PREVIEW_ENABLED;
+
+/**
+ * Publishes many messages on single topic in one request. Topic lookup, request reading, schema and metadata
+ * resolution are done once for the whole batch and messages are handed to the broker producer together, while each
+ * message is validated, tracked and acknowledged on its own.
+ */
+public class BatchPublishingServlet extends HttpServlet {
+
+    private final HermesMetrics hermesMetrics;
+    private final ObjectMapper objectMapper;
+    private final ErrorSender errorSender;
+    private final Trackers trackers;
+    private final TopicsCache topicsCache;
+    private final MessagePublisher messagePublisher;
+    private final BrokerListeners listeners;
+    private final MessageFactory messageFactory;
+    private final MessagePreviewLog messagePreviewLog;
+    private final MessageBatchParser batchParser;
+    private final MessageIdGenerator messageIdGenerator;
+    private final PublishingQuotas publishingQuotas;
+
+    private final Integer defaultAsyncTimeout;
+    private final Integer longAsyncTimeout;
+    private final Integer chunkSize;
+    private final ContentDecoder contentDecoder;
+    private final boolean previewEnabled;
+
+    @Inject
+    public BatchPublishingServlet(TopicsCache topicsCache,
+                                  HermesMetrics hermesMetrics,
+                                  ObjectMapper objectMapper,
+                                  ConfigFactory configFactory,
+                                  Trackers trackers,
+                                  MessagePublisher messagePublisher,
+                                  BrokerListeners listeners,
+                                  MessageFactory messageFactory,
+                                  MessagePreviewLog messagePreviewLog,
+                                  MessageIdGenerator messageIdGenerator,
+                                  PublishingQuotas publishingQuotas) {
+        this.topicsCache = topicsCache;
+        this.hermesMetrics = hermesMetrics;
+        this.objectMapper = objectMapper;
+        this.errorSender = new ErrorSender(objectMapper);
+        this.trackers = trackers;
+        this.messagePublisher = messagePublisher;
+        this.listeners = listeners;
+        this.messageFactory = messageFactory;
+        this.messagePreviewLog = messagePreviewLog;
+        this.messageIdGenerator = messageIdGenerator;
+        this.publishingQuotas = publishingQuotas;
+        this.batchParser = new MessageBatchParser(objectMapper.getFactory(),
+                configFactory.getIntProperty(FRONTEND_BATCH_MAX_MESSAGES));
+        this.defaultAsyncTimeout = configFactory.getIntProperty(Configs.FRONTEND_IDLE_TIMEOUT);
+        this.longAsyncTimeout = configFactory.getIntProperty(Configs.FRONTEND_LONG_IDLE_TIMEOUT);
+        this.chunkSize = configFactory.getIntProperty(Configs.FRONTEND_REQUEST_CHUNK_SIZE);
+        this.contentDecoder = new ContentDecoder(configFactory.getIntProperty(Configs.FRONTEND_MAX_DECODED_CONTENT_SIZE));
+        this.previewEnabled = configFactory.getBooleanProperty(FRONTEND_MESSAGE_PREVIEW_ENABLED);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        String topicName = parseTopicName(request);
+        String batchId = messageIdGenerator.generate();
+        Optional<Topic> topic = topicsCache.getTopic(topicName);
+
+        if (!topic.isPresent()) {
+            String cause = format("Topic %s not exists", topicName);
+            errorSender.sendErrorResponse(new ErrorDescription(cause, TOPIC_NOT_EXISTS), response, batchId);
+            return;
+        }
+
+        Admission admission = publishingQuotas.admit(topic.get(), request);
+        if (admission.isAdmitted()) {
+            handlePublishAsynchronously(request, response, topic.get(), batchId, admission);
+        } else {
+            errorSender.sendQuotaExceededResponse(admission, response, batchId);
+        }
+    }
+
+    private void handlePublishAsynchronously(HttpServletRequest request, HttpServletResponse response, Topic topic, String batchId,
+                                             Admission admission) throws IOException {
+        final MessageState batchState = new MessageState();
+        final AsyncContext asyncContext = request.startAsync();
+        final BatchHttpResponder responder = new BatchHttpResponder(batchId, topic, response, asyncContext, objectMapper,
+                errorSender, hermesMetrics, trackers.get(topic), listeners, request.getRemoteHost());
+
+        asyncContext.addListener(new BatchTimeoutAsyncListener(responder));
+        asyncContext.addListener(new MetricsAsyncListener(hermesMetrics, topic.getName(), topic.getAck()));
+        asyncContext.setTimeout(topic.isReplicationConfirmRequired() ? longAsyncTimeout : defaultAsyncTimeout);
+
+        new MessageReader(request, chunkSize, contentDecoder, topic.getName(), hermesMetrics, batchState,
+                body -> {
+                    admission.chargeReadBytes(body.length);
+                    asyncContext.start(() -> {
+                        try {
+                            publish(request, topic, body, batchState, responder);
+                        } catch (InvalidBatchException exception) {
+                            responder.badRequest(exception);
+                        } catch (RuntimeException exception) {
+                            responder.internalError(exception, "Error while publishing batch");
+                        }
+                    });
+                },
+                input -> responder.badRequest(input, "Validation error"),
+                throwable -> responder.internalError(throwable, "Error while reading request"));
+    }
+
+    private void publish(HttpServletRequest request, Topic topic, byte[] body, MessageState batchState,
+                         BatchHttpResponder responder) {
+        String contentType = request.getContentType();
+        List<byte[]> contents = batchParser.parse(contentType, body);
+        MessageFactory.RequestMessageFactory factory = messageFactory.forRequest(request, topic,
+                MessageBatchParser.isFramed(contentType)
+                        ? MessageBatchParser.framedPayloadContentType(contentType) : APPLICATION_JSON);
+
+        responder.start(contents.size());
+        List<Message> messages = new ArrayList<>(contents.size());
+        for (int position = 0; position < contents.size(); position++) {
+            String messageId = messageIdGenerator.generate();
+            byte[] content = contents.get(position);
+            try {
+                Message message = factory.create(messageId, content);
+                responder.created(position, message);
+                messages.add(message);
+            } catch (InvalidMessageException | AvroConversionException | UnsupportedContentTypeException exception) {
+                responder.rejected(position, messageId, exception);
+            } catch (CouldNotLoadSchemaException | SchemaMissingException exception) {
+                responder.failed(position, messageId, exception, "Could not load schema for published message");
+            } finally {
+                if (previewEnabled) {
+                    messagePreviewLog.add(topic.getName(), content);
+                }
+            }
+        }
+
+        messagePublisher.publish(messages, topic, batchState, responder);
+        responder.handedOver();
+    }
+
+    private String parseTopicName(HttpServletRequest request) {
+        return substringAfterLast(substringBeforeLast(strip(request.getRequestURI(), "/"), "/"), "/");
+    }
+}
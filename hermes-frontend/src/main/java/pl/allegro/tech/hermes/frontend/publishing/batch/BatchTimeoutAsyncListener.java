@@ -0,0 +1,31 @@
+package pl.allegro.tech.hermes.frontend.publishing.batch;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.io.IOException;
+
+class BatchTimeoutAsyncListener implements AsyncListener {
+
+    private final BatchHttpResponder responder;
+
+    BatchTimeoutAsyncListener(BatchHttpResponder responder) {
+        this.responder = responder;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        responder.timeout(event.getThrowable());
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+    }
+}
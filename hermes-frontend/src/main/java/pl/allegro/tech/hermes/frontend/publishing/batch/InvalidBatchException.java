@@ -0,0 +1,20 @@
+package pl.allegro.tech.hermes.frontend.publishing.batch;
+
+import pl.allegro.tech.hermes.api.ErrorCode;
+import pl.allegro.tech.hermes.common.exception.HermesException;
+
+public class InvalidBatchException extends HermesException {
+
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+
+    public InvalidBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public ErrorCode getCode() {
+        return ErrorCode.FORMAT_ERROR;
+    }
+}
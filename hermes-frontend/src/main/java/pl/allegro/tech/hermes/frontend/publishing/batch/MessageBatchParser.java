@@ -0,0 +1,122 @@
+package pl.allegro.tech.hermes.frontend.publishing.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Splits body of batch publishing request into messages. Body is either JSON array, each element of which is a single
+ * message, or a sequence of frames in {@link #FRAMED_CONTENT_TYPE}, each made of 4 byte big-endian payload length
+ * followed by the payload. Elements of JSON array are sliced out of the body as they are, without reformatting.
+ * Framed payloads are passed on as they are, which allows publishing binary Avro in batches. Content type of framed
+ * payloads can be given in {@code payload} parameter, e.g. {@code application/x-hermes-batch; payload="application/json"},
+ * so that JSON messages can be framed too and a malformed one does not make the whole batch unreadable.
+ */
+public class MessageBatchParser {
+
+    public static final String FRAMED_CONTENT_TYPE = "application/x-hermes-batch";
+
+    private static final String PAYLOAD_PARAMETER = "payload=";
+
+    private static final int FRAME_HEADER_SIZE = 4;
+
+    private final JsonFactory jsonFactory;
+    private final int maxMessages;
+
+    public MessageBatchParser(JsonFactory jsonFactory, int maxMessages) {
+        this.jsonFactory = jsonFactory;
+        this.maxMessages = maxMessages;
+    }
+
+    public static boolean isFramed(String contentType) {
+        return contentType != null && contentType.startsWith(FRAMED_CONTENT_TYPE);
+    }
+
+    /**
+     * @return content type of framed payloads, or null when it is not given
+     */
+    public static String framedPayloadContentType(String contentType) {
+        int start = contentType.indexOf(PAYLOAD_PARAMETER);
+        if (start < 0) {
+            return null;
+        }
+        String value = contentType.substring(start + PAYLOAD_PARAMETER.length()).trim();
+        if (value.startsWith("\"")) {
+            int end = value.indexOf('"', 1);
+            return end < 0 ? null : value.substring(1, end);
+        }
+        int end = value.indexOf(';');
+        return end < 0 ? value : value.substring(0, end).trim();
+    }
+
+    public List<byte[]> parse(String contentType, byte[] body) {
+        List<byte[]> messages = isFramed(contentType) ? parseFrames(body) : parseJsonArray(body);
+        if (messages.isEmpty()) {
+            throw new InvalidBatchException("Batch contains no messages");
+        }
+        return messages;
+    }
+
+    private List<byte[]> parseJsonArray(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBatchException("Batch should be a JSON array of messages");
+            }
+            List<byte[]> messages = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new InvalidBatchException("Unexpected end of JSON array of messages");
+                }
+                checkBatchSize(messages.size());
+                int start = (int) parser.getTokenLocation().getByteOffset();
+                if (token.isStructStart()) {
+                    parser.skipChildren();
+                } else {
+                    parser.getText();
+                }
+                int end = (int) parser.getCurrentLocation().getByteOffset();
+                messages.add(Arrays.copyOfRange(body, start, end));
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidBatchException("Unexpected content after JSON array of messages");
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new InvalidBatchException("Malformed JSON array of messages", e);
+        }
+    }
+
+    private List<byte[]> parseFrames(byte[] body) {
+        List<byte[]> messages = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        while (buffer.hasRemaining()) {
+            checkBatchSize(messages.size());
+            if (buffer.remaining() < FRAME_HEADER_SIZE) {
+                throw new InvalidBatchException(format("Truncated header of frame %d", messages.size()));
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new InvalidBatchException(format("Invalid length %d of frame %d", length, messages.size()));
+            }
+            byte[] message = new byte[length];
+            buffer.get(message);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private void checkBatchSize(int parsedMessages) {
+        if (parsedMessages >= maxMessages) {
+            throw new InvalidBatchException(format("Batch exceeds limit of %d messages", maxMessages));
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package pl.allegro.tech.hermes.frontend.publishing.message;
 
-import com.github.fge.jsonschema.main.JsonSchema;
 import pl.allegro.tech.hermes.api.ContentType;
+import pl.allegro.tech.hermes.domain.topic.schema.CompiledJsonSchema;
 import pl.allegro.tech.hermes.domain.topic.schema.CompiledSchema;
 
 import java.util.Optional;
@@ -11,17 +11,24 @@ public class JsonMessage implements Message {
     private final String id;
     private final byte[] data;
     private final long timestamp;
-    private final Optional<CompiledSchema<JsonSchema>> schema;
+    private final Optional<CompiledSchema<CompiledJsonSchema>> schema;
+    private final Optional<String> partitionKey;
 
     public JsonMessage(String id, byte[] data, long timestamp) {
        this(id, data, timestamp, Optional.empty());
     }
 
-    public JsonMessage(String id, byte[] data, long timestamp, Optional<CompiledSchema<JsonSchema>> schema) {
+    public JsonMessage(String id, byte[] data, long timestamp, Optional<CompiledSchema<CompiledJsonSchema>> schema) {
+        this(id, data, timestamp, schema, Optional.empty());
+    }
+
+    public JsonMessage(String id, byte[] data, long timestamp, Optional<CompiledSchema<CompiledJsonSchema>> schema,
+                       Optional<String> partitionKey) {
         this.id = id;
         this.data = data;
         this.timestamp = timestamp;
         this.schema = schema;
+        this.partitionKey = partitionKey;
     }
 
     @Override
@@ -50,8 +57,13 @@ public class JsonMessage implements Message {
         return schema.map(schema -> (CompiledSchema<T>)schema);
     }
 
+    @Override
+    public Optional<String> getPartitionKey() {
+        return partitionKey;
+    }
+
     public JsonMessage withDataReplaced(byte[] newData) {
-        return new JsonMessage(id, newData, timestamp);
+        return new JsonMessage(id, newData, timestamp, Optional.empty(), partitionKey);
     }
 
 }
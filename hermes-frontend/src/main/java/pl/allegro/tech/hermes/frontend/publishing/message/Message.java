@@ -16,6 +16,8 @@ public interface Message {
 
     <T> Optional<CompiledSchema<T>> getCompiledSchema();
 
+    Optional<String> getPartitionKey();
+
     default <T> T getSchema() {
         return this.<T>getCompiledSchema().get().getSchema();
     }
@@ -1,27 +1,25 @@
 package pl.allegro.tech.hermes.frontend.publishing.message;
 
-import com.github.fge.jsonschema.main.JsonSchema;
-import com.google.common.collect.ImmutableMap;
 import org.apache.avro.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.api.Topic;
-import pl.allegro.tech.hermes.common.http.MessageMetadataHeaders;
 import pl.allegro.tech.hermes.common.message.wrapper.MessageContentWrapper;
 import pl.allegro.tech.hermes.common.message.wrapper.UnsupportedContentTypeException;
+import pl.allegro.tech.hermes.domain.topic.schema.CompiledJsonSchema;
 import pl.allegro.tech.hermes.domain.topic.schema.SchemaRepository;
 import pl.allegro.tech.hermes.domain.topic.schema.SchemaVersion;
 import pl.allegro.tech.hermes.domain.topic.schema.CompiledSchema;
 import pl.allegro.tech.hermes.frontend.publishing.MessageContentTypeEnforcer;
 import pl.allegro.tech.hermes.frontend.publishing.avro.AvroMessage;
 import pl.allegro.tech.hermes.frontend.publishing.metadata.HeadersPropagator;
+import pl.allegro.tech.hermes.frontend.publishing.metadata.RequestHeaders;
 import pl.allegro.tech.hermes.frontend.validator.MessageValidators;
 import tech.allegro.schema.json2avro.converter.AvroConversionException;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import java.time.Clock;
-import java.util.Enumeration;
 import java.util.Map;
 import java.util.Optional;
 
@@ -54,67 +52,102 @@ public class MessageFactory {
     }
 
     public Message create(HttpServletRequest request, Topic topic, String messageId, byte[] messageContent) {
-        long timestamp = clock.millis();
-        switch (topic.getContentType()) {
-            case JSON: {
-                if (topic.isJsonToAvroDryRunEnabled()) {
-                    try {
-                        createAvroMessage(request, topic, messageId, messageContent, timestamp);
-                    } catch (AvroConversionException exception) {
-                        logger.warn("Unsuccessful message conversion from JSON to AVRO on topic {} in dry run mode",
-                                topic.getQualifiedName(), exception);
+        return forRequest(request, topic, request.getContentType()).create(messageId, messageContent);
+    }
+
+    /**
+     * Returns factory of messages published on topic in single request. Schema and metadata headers are resolved once
+     * per request, so that they are shared by all messages of a batch. Headers are not copied unless propagator
+     * iterates over them.
+     */
+    public RequestMessageFactory forRequest(HttpServletRequest request, Topic topic, String payloadContentType) {
+        RequestHeaders headers = new RequestHeaders(request);
+        return new RequestMessageFactory(topic, headers.schemaVersion(), headers.partitionKey(),
+                payloadContentType, headersPropagator.extract(headers));
+    }
+
+    public class RequestMessageFactory {
+
+        private final Topic topic;
+        private final Optional<SchemaVersion> schemaVersion;
+        private final Optional<String> partitionKey;
+        private final String payloadContentType;
+        private final Map<String, String> externalMetadata;
+
+        private CompiledSchema<Schema> avroSchema;
+        private CompiledSchema<CompiledJsonSchema> jsonSchema;
+
+        private RequestMessageFactory(Topic topic, Optional<SchemaVersion> schemaVersion, Optional<String> partitionKey,
+                                      String payloadContentType, Map<String, String> externalMetadata) {
+            this.topic = topic;
+            this.schemaVersion = schemaVersion;
+            this.partitionKey = partitionKey;
+            this.payloadContentType = payloadContentType;
+            this.externalMetadata = externalMetadata;
+        }
+
+        public Message create(String messageId, byte[] messageContent) {
+            long timestamp = clock.millis();
+            switch (topic.getContentType()) {
+                case JSON: {
+                    if (topic.isJsonToAvroDryRunEnabled()) {
+                        try {
+                            createAvroMessage(messageId, messageContent, timestamp);
+                        } catch (AvroConversionException exception) {
+                            logger.warn("Unsuccessful message conversion from JSON to AVRO on topic {} in dry run mode",
+                                    topic.getQualifiedName(), exception);
+                        }
                     }
+                    return createJsonMessage(messageId, messageContent, timestamp);
                 }
-                return createJsonMessage(request, topic, messageId, messageContent, timestamp);
+                case AVRO:
+                    return createAvroMessage(messageId, messageContent, timestamp);
+                default: throw new UnsupportedContentTypeException(topic);
             }
-            case AVRO:
-                return createAvroMessage(request, topic, messageId, messageContent, timestamp);
-            default: throw new UnsupportedContentTypeException(topic);
         }
-    }
 
-    private AvroMessage createAvroMessage(HttpServletRequest request, Topic topic, String messageId, byte[] messageContent, long timestamp) {
-        CompiledSchema<Schema> schema = extractSchemaVersion(request)
-                .map(version -> schemaRepository.getAvroSchema(topic, version))
-                .orElse(schemaRepository.getAvroSchema(topic));
-
-        AvroMessage message = new AvroMessage(
-                messageId,
-                enforcer.enforceAvro(request.getContentType(), messageContent, schema.getSchema()),
-                timestamp,
-                schema);
-
-        validators.check(topic, message);
-        byte[] wrapped = messageContentWrapper.wrapAvro(message.getData(), message.getId(), message.getTimestamp(),
-                topic, schema, headersPropagator.extract(toHeadersMap(request)));
-        return message.withDataReplaced(wrapped);
-    }
+        private AvroMessage createAvroMessage(String messageId, byte[] messageContent, long timestamp) {
+            CompiledSchema<Schema> schema = avroSchema();
+
+            AvroMessage message = new AvroMessage(
+                    messageId,
+                    enforcer.enforceAvro(payloadContentType, messageContent, schema.getSchema()),
+                    timestamp,
+                    schema,
+                    partitionKey);
 
-    private JsonMessage createJsonMessage(HttpServletRequest request, Topic topic, String messageId, byte[] messageContent, long timestamp) {
-        JsonMessage message = new JsonMessage(messageId, messageContent, timestamp);
-        if (topic.isValidationEnabled()) {
-            CompiledSchema<JsonSchema> schema = extractSchemaVersion(request)
-                    .map(version -> schemaRepository.getJsonSchema(topic, version))
-                    .orElse(schemaRepository.getJsonSchema(topic));
-            message = new JsonMessage(messageId, messageContent, timestamp, of(schema));
+            validators.check(topic, message);
+            byte[] wrapped = messageContentWrapper.wrapAvro(message.getData(), message.getId(), message.getTimestamp(),
+                    topic, schema, externalMetadata);
+            return message.withDataReplaced(wrapped);
         }
-        validators.check(topic, message);
-        byte[] wrapped = messageContentWrapper.wrapJson(message.getData(), message.getId(), message.getTimestamp(), headersPropagator.extract(toHeadersMap(request)));
-        return message.withDataReplaced(wrapped);
-    }
 
-    private Optional<SchemaVersion> extractSchemaVersion(HttpServletRequest request) {
-        int version = request.getIntHeader(MessageMetadataHeaders.SCHEMA_VERSION.getName());
-        return version < 0 ? empty() : of(SchemaVersion.valueOf(version));
-    }
+        private JsonMessage createJsonMessage(String messageId, byte[] messageContent, long timestamp) {
+            JsonMessage message = new JsonMessage(messageId, messageContent, timestamp, empty(), partitionKey);
+            if (topic.isValidationEnabled()) {
+                message = new JsonMessage(messageId, messageContent, timestamp, of(jsonSchema()), partitionKey);
+            }
+            validators.check(topic, message);
+            byte[] wrapped = messageContentWrapper.wrapJson(message.getData(), message.getId(), message.getTimestamp(), externalMetadata);
+            return message.withDataReplaced(wrapped);
+        }
 
-    private Map<String, String> toHeadersMap(HttpServletRequest request) {
-        ImmutableMap.Builder<String, String> builder = ImmutableMap.<String, String>builder();
-        Enumeration<String> headers = request.getHeaderNames();
-        while(headers.hasMoreElements()) {
-            String header = headers.nextElement();
-            builder.put(header, request.getHeader(header));
+        private CompiledSchema<Schema> avroSchema() {
+            if (avroSchema == null) {
+                avroSchema = schemaVersion
+                        .map(version -> schemaRepository.getAvroSchema(topic, version))
+                        .orElseGet(() -> schemaRepository.getAvroSchema(topic));
+            }
+            return avroSchema;
+        }
+
+        private CompiledSchema<CompiledJsonSchema> jsonSchema() {
+            if (jsonSchema == null) {
+                jsonSchema = schemaVersion
+                        .map(version -> schemaRepository.getJsonSchema(topic, version))
+                        .orElseGet(() -> schemaRepository.getJsonSchema(topic));
+            }
+            return jsonSchema;
         }
-        return builder.build();
     }
 }
@@ -0,0 +1,10 @@
+package pl.allegro.tech.hermes.frontend.publishing.message;
+
+/**
+ * Generates ids of published messages and batches. Ids are passed to publishers, trackers and subscribers in
+ * {@code Hermes-Message-Id} header, so they should keep the UUID text format.
+ */
+public interface MessageIdGenerator {
+
+    String generate();
+}
@@ -0,0 +1,14 @@
+package pl.allegro.tech.hermes.frontend.publishing.message;
+
+import java.util.UUID;
+
+/**
+ * Random UUIDs drawn from the shared {@code SecureRandom}, as generated before time based ids were introduced.
+ */
+public class RandomMessageIdGenerator implements MessageIdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString();
+    }
+}
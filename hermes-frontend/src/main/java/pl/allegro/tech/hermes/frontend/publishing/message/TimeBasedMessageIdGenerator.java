@@ -0,0 +1,82 @@
+package pl.allegro.tech.hermes.frontend.publishing.message;
+
+import javax.inject.Inject;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time ordered ids in the layout of version 7 UUID: 48 bits of epoch millis, 12 bits of per-thread sequence, 14 bits
+ * of node discriminator drawn once per instance and 48 random bits. Each thread generates ids on its own, without
+ * touching the shared {@code SecureRandom}, and ids of single thread are ordered as long as it does not generate
+ * more than 2048 of them in one millisecond.
+ */
+public class TimeBasedMessageIdGenerator implements MessageIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final int SEQUENCE_MASK = 0xFFF;
+    private static final long RANDOM_MASK = 0xFFFF_FFFF_FFFFL;
+    private static final int NODE_BITS = 14;
+
+    private final Clock clock;
+    private final long node;
+    private final ThreadLocal<Sequence> sequence = ThreadLocal.withInitial(Sequence::new);
+
+    @Inject
+    public TimeBasedMessageIdGenerator(Clock clock) {
+        this(clock, new SecureRandom().nextInt(1 << NODE_BITS));
+    }
+
+    TimeBasedMessageIdGenerator(Clock clock, int node) {
+        this.clock = clock;
+        this.node = (long) node << 48;
+    }
+
+    @Override
+    public String generate() {
+        long millis = clock.millis();
+        long mostSigBits = (millis << 16) | VERSION | sequence.get().next(millis);
+        long leastSigBits = VARIANT | node | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return format(mostSigBits, leastSigBits);
+    }
+
+    private static String format(long mostSigBits, long leastSigBits) {
+        char[] chars = new char[36];
+        hex(chars, 0, mostSigBits >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, mostSigBits >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, mostSigBits, 4);
+        chars[18] = '-';
+        hex(chars, 19, leastSigBits >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, leastSigBits, 12);
+        return new String(chars);
+    }
+
+    private static void hex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static class Sequence {
+
+        private long millis = -1;
+        private int value;
+
+        int next(long currentMillis) {
+            if (currentMillis == millis) {
+                value = (value + 1) & SEQUENCE_MASK;
+            } else {
+                millis = currentMillis;
+                value = ThreadLocalRandom.current().nextInt(SEQUENCE_MASK / 2);
+            }
+            return value;
+        }
+    }
+}
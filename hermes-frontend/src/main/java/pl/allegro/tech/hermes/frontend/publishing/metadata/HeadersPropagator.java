@@ -5,5 +5,10 @@ import java.util.Map;
 
 public interface HeadersPropagator {
 
+    /**
+     * @param headers read-only view of request headers; looking up known headers with {@code get} is cheaper than
+     *                iterating over them, which copies all headers of the request
+     * @return metadata to be attached to the message
+     */
     Map<String, String> extract(Map<String, String> headers);
 }
@@ -0,0 +1,69 @@
+package pl.allegro.tech.hermes.frontend.publishing.metadata;
+
+import com.google.common.collect.ImmutableMap;
+import pl.allegro.tech.hermes.common.http.MessageMetadataHeaders;
+import pl.allegro.tech.hermes.domain.topic.schema.SchemaVersion;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+/**
+ * Read-only view of headers of published request. Hermes headers are read with typed accessors and single headers
+ * with {@link #get(Object)}, both straight from the request and ignoring case of the name. Copy of all headers is made
+ * only when the view is iterated.
+ */
+public class RequestHeaders extends AbstractMap<String, String> {
+
+    private final HttpServletRequest request;
+
+    private Map<String, String> headers;
+
+    public RequestHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    public Optional<SchemaVersion> schemaVersion() {
+        int version = request.getIntHeader(MessageMetadataHeaders.SCHEMA_VERSION.getName());
+        return version < 0 ? empty() : of(SchemaVersion.valueOf(version));
+    }
+
+    public Optional<String> partitionKey() {
+        String partitionKey = request.getHeader(MessageMetadataHeaders.PARTITION_KEY.getName());
+        return partitionKey == null || partitionKey.isEmpty() ? empty() : of(partitionKey);
+    }
+
+    @Override
+    public String get(Object name) {
+        return name instanceof String ? request.getHeader((String) name) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (headers == null) {
+            headers = copyHeaders();
+        }
+        return headers.entrySet();
+    }
+
+    private Map<String, String> copyHeaders() {
+        ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            builder.put(name, request.getHeader(name));
+        }
+        return builder.build();
+    }
+}
@@ -1,61 +1,145 @@
 package pl.allegro.tech.hermes.frontend.publishing.preview;
 
-import com.google.common.util.concurrent.AtomicLongMap;
 import pl.allegro.tech.hermes.api.TopicName;
 import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.config.Configs;
 import pl.allegro.tech.hermes.domain.topic.preview.TopicsMessagesPreview;
 
 import javax.inject.Inject;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Samples published messages into fixed size ring buffer per topic. Publishing thread claims a slot with single CAS
+ * and, once buffer of topic holds as many samples not yet persisted as it can keep or sample interval has not elapsed,
+ * returns after reading two counters. Snapshot contains only topics sampled since previous snapshot, each with its
+ * latest samples.
+ */
 public class MessagePreviewLog {
 
     private final int previewSizePerTopic;
 
-    private final AtomicLongMap<TopicName> limiter = AtomicLongMap.create();
+    private final long sampleIntervalMillis;
 
-    private final ConcurrentLinkedDeque<MessagePreview> messages = new ConcurrentLinkedDeque<>();
+    private final Clock clock;
+
+    private final Map<TopicName, TopicPreview> previews = new ConcurrentHashMap<>();
 
     @Inject
-    public MessagePreviewLog(ConfigFactory configFactory) {
-        this(configFactory.getIntProperty(Configs.FRONTEND_MESSAGE_PREVIEW_SIZE));
+    public MessagePreviewLog(ConfigFactory configFactory, Clock clock) {
+        this(configFactory.getIntProperty(Configs.FRONTEND_MESSAGE_PREVIEW_SIZE),
+                configFactory.getIntProperty(Configs.FRONTEND_MESSAGE_PREVIEW_SAMPLE_INTERVAL), clock);
     }
 
     public MessagePreviewLog(int previewSizePerTopic) {
+        this(previewSizePerTopic, 0, Clock.systemUTC());
+    }
+
+    public MessagePreviewLog(int previewSizePerTopic, long sampleIntervalMillis, Clock clock) {
         this.previewSizePerTopic = previewSizePerTopic;
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        this.clock = clock;
     }
 
     public void add(TopicName topicName, byte[] messageContent) {
-        long counter = limiter.getAndIncrement(topicName);
-        if (counter < previewSizePerTopic) {
-            messages.add(new MessagePreview(topicName, messageContent));
+        TopicPreview preview = previews.get(topicName);
+        if (preview == null) {
+            preview = previews.computeIfAbsent(topicName, k -> new TopicPreview(previewSizePerTopic));
         }
+        if (preview.isFull() || !preview.claimSampleTime()) {
+            return;
+        }
+        preview.add(messageContent);
     }
 
     public TopicsMessagesPreview snapshotAndClean() {
-        List<MessagePreview> snapshot = new ArrayList<>(messages);
-        messages.clear();
-        limiter.clear();
+        TopicsMessagesPreview snapshot = new TopicsMessagesPreview();
+        for (Map.Entry<TopicName, TopicPreview> entry : previews.entrySet()) {
+            TopicPreview preview = entry.getValue();
+            if (!preview.drainTo(entry.getKey(), snapshot)) {
+                previews.remove(entry.getKey(), preview);
+            }
+        }
+        return snapshot;
+    }
+
+    private class TopicPreview {
+
+        private final AtomicReferenceArray<Sample> ring;
+
+        private final AtomicLong claimed = new AtomicLong();
+
+        private final AtomicLong nextSampleMillis = new AtomicLong();
+
+        private volatile long persisted;
+
+        TopicPreview(int size) {
+            this.ring = new AtomicReferenceArray<>(size);
+        }
+
+        boolean isFull() {
+            return claimed.get() - persisted >= ring.length();
+        }
+
+        boolean claimSampleTime() {
+            if (sampleIntervalMillis <= 0) {
+                return true;
+            }
+            long now = clock.millis();
+            long next = nextSampleMillis.get();
+            return now >= next && nextSampleMillis.compareAndSet(next, now + sampleIntervalMillis);
+        }
+
+        void add(byte[] content) {
+            long sequence;
+            do {
+                sequence = claimed.get();
+                if (sequence - persisted >= ring.length()) {
+                    return;
+                }
+            } while (!claimed.compareAndSet(sequence, sequence + 1));
+            ring.lazySet((int) (sequence % ring.length()), new Sample(sequence, content));
+        }
 
-        TopicsMessagesPreview preview = new TopicsMessagesPreview();
-        for (MessagePreview message : snapshot) {
-            preview.add(message.topicName, message.content);
+        /**
+         * Called only by persisting thread. Samples claimed but not yet written are skipped and persisted position stops
+         * at the first of them, so topic is not dropped and no more than ring length samples can be claimed after it -
+         * the sample shows up with next snapshot of topic.
+         *
+         * @return false if nothing was sampled since previous snapshot
+         */
+        boolean drainTo(TopicName topicName, TopicsMessagesPreview snapshot) {
+            long end = claimed.get();
+            long drained = persisted;
+            if (end == drained) {
+                return false;
+            }
+            long unwritten = end;
+            for (long sequence = Math.max(0, end - ring.length()); sequence < end; sequence++) {
+                Sample sample = ring.get((int) (sequence % ring.length()));
+                if (sample != null && sample.sequence == sequence) {
+                    snapshot.add(topicName, sample.content);
+                } else if (sequence >= drained && unwritten == end) {
+                    unwritten = sequence;
+                }
+            }
+            persisted = unwritten;
+            return true;
         }
-        return preview;
     }
 
-    private static class MessagePreview {
+    private static class Sample {
 
-        final TopicName topicName;
+        final long sequence;
 
         final byte[] content;
 
-        MessagePreview(TopicName topicName, byte[] content) {
-            this.topicName = topicName;
+        Sample(long sequence, byte[] content) {
+            this.sequence = sequence;
             this.content = content;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package pl.allegro.tech.hermes.frontend.publishing.quota;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+
+public class Admission {
+
+    static final Admission UNLIMITED = new Admission(null, null, null, 0, 0, null);
+
+    private final QuotaBuckets clientBuckets;
+
+    private final QuotaBuckets topicBuckets;
+
+    private final Ticker ticker;
+
+    private final long declaredBytes;
+
+    private final long retryAfterNanos;
+
+    private final String reason;
+
+    private Admission(QuotaBuckets clientBuckets, QuotaBuckets topicBuckets, Ticker ticker, long declaredBytes,
+                      long retryAfterNanos, String reason) {
+        this.clientBuckets = clientBuckets;
+        this.topicBuckets = topicBuckets;
+        this.ticker = ticker;
+        this.declaredBytes = declaredBytes;
+        this.retryAfterNanos = retryAfterNanos;
+        this.reason = reason;
+    }
+
+    static Admission admitted(QuotaBuckets clientBuckets, QuotaBuckets topicBuckets, Ticker ticker, long declaredBytes) {
+        return new Admission(clientBuckets, topicBuckets, ticker, declaredBytes, 0, null);
+    }
+
+    static Admission rejected(long retryAfterNanos, String reason) {
+        return new Admission(null, null, null, 0, retryAfterNanos, reason);
+    }
+
+    public boolean isAdmitted() {
+        return reason == null;
+    }
+
+    /**
+     * @return whole seconds after which request might be admitted, as expected by {@code Retry-After} header
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Charges byte rate quotas with decoded size of request body once it is read, if it was not known up front because
+     * request was compressed or did not declare its length.
+     */
+    public void chargeReadBytes(long bytes) {
+        if (clientBuckets != null && declaredBytes < 0) {
+            long now = ticker.read();
+            clientBuckets.chargeBytes(bytes, now);
+            topicBuckets.chargeBytes(bytes, now);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package pl.allegro.tech.hermes.frontend.publishing.quota;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import pl.allegro.tech.hermes.api.PublishingQuota;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.api.TopicName;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.common.metric.Meters;
+import pl.allegro.tech.hermes.domain.notifications.InternalNotificationsBus;
+import pl.allegro.tech.hermes.domain.notifications.TopicCallback;
+import pl.allegro.tech.hermes.frontend.publishing.ContentDecoder;
+
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static pl.allegro.tech.hermes.common.config.Configs.FRONTEND_QUOTA_CLIENT_IDLE_TIMEOUT;
+import static pl.allegro.tech.hermes.common.config.Configs.FRONTEND_QUOTA_CLIENT_ID_HEADER;
+import static pl.allegro.tech.hermes.common.config.Configs.FRONTEND_QUOTA_MAX_CLIENTS_PER_TOPIC;
+
+/**
+ * Admits publishing requests within {@link PublishingQuota} of their topic. Client is identified by configured header
+ * or, when it is missing, by address of the request. Client quota is checked before topic quota and units taken from
+ * client are given back when topic quota is exceeded, so a client which exceeds its own quota does not use up the
+ * capacity of topic shared with others. Byte rates are charged with decoded size of request body: up front when request
+ * is not compressed and declares its length, otherwise once the body is read and decoded. Quota state of removed
+ * topics is dropped.
+ */
+public class PublishingQuotas implements TopicCallback {
+
+    private final HermesMetrics hermesMetrics;
+
+    private final Ticker ticker;
+
+    private final String clientIdHeader;
+
+    private final long clientIdleTimeoutSeconds;
+
+    private final long maxClientsPerTopic;
+
+    private final Map<TopicName, TopicQuota> topicQuotas = new ConcurrentHashMap<>();
+
+    @Inject
+    public PublishingQuotas(ConfigFactory configFactory, HermesMetrics hermesMetrics,
+                            InternalNotificationsBus notificationsBus) {
+        this(hermesMetrics, Ticker.systemTicker(),
+                configFactory.getStringProperty(FRONTEND_QUOTA_CLIENT_ID_HEADER),
+                configFactory.getIntProperty(FRONTEND_QUOTA_CLIENT_IDLE_TIMEOUT),
+                configFactory.getIntProperty(FRONTEND_QUOTA_MAX_CLIENTS_PER_TOPIC));
+        notificationsBus.registerTopicCallback(this);
+    }
+
+    PublishingQuotas(HermesMetrics hermesMetrics, Ticker ticker, String clientIdHeader,
+                     long clientIdleTimeoutSeconds, long maxClientsPerTopic) {
+        this.hermesMetrics = hermesMetrics;
+        this.ticker = ticker;
+        this.clientIdHeader = clientIdHeader;
+        this.clientIdleTimeoutSeconds = clientIdleTimeoutSeconds;
+        this.maxClientsPerTopic = maxClientsPerTopic;
+    }
+
+    public Admission admit(Topic topic, HttpServletRequest request) {
+        PublishingQuota quota = topic.getPublishingQuota();
+        if (quota.isUnlimited()) {
+            return Admission.UNLIMITED;
+        }
+
+        long now = ticker.read();
+        TopicQuota topicQuota = topicQuota(topic.getName(), quota, now);
+        String clientId = clientId(request);
+        QuotaBuckets clientBuckets = topicQuota.client(clientId, now);
+        long declaredBytes = ContentDecoder.isEncoded(request) ? -1 : request.getContentLength();
+        long requestBytes = Math.max(0, declaredBytes);
+
+        long waitNanos = clientBuckets.tryAcquire(requestBytes, now);
+        if (waitNanos > 0) {
+            return reject(topic.getName(), waitNanos,
+                    format("Publishing quota of client %s on topic %s exceeded", clientId, topic.getQualifiedName()));
+        }
+        waitNanos = topicQuota.buckets.tryAcquire(requestBytes, now);
+        if (waitNanos > 0) {
+            clientBuckets.refund(requestBytes);
+            return reject(topic.getName(), waitNanos,
+                    format("Publishing quota of topic %s exceeded", topic.getQualifiedName()));
+        }
+        return Admission.admitted(clientBuckets, topicQuota.buckets, ticker, declaredBytes);
+    }
+
+    @Override
+    public void onTopicRemoved(Topic topic) {
+        topicQuotas.remove(topic.getName());
+    }
+
+    @Override
+    public void onTopicChanged(Topic topic) {
+        if (topic.getPublishingQuota().isUnlimited()) {
+            topicQuotas.remove(topic.getName());
+        }
+    }
+
+    private Admission reject(TopicName topicName, long waitNanos, String reason) {
+        hermesMetrics.meter(Meters.THROTTLED_METER).mark();
+        hermesMetrics.meter(Meters.THROTTLED_TOPIC_METER, topicName).mark();
+        return Admission.rejected(waitNanos, reason);
+    }
+
+    private TopicQuota topicQuota(TopicName topicName, PublishingQuota quota, long now) {
+        TopicQuota topicQuota = topicQuotas.get(topicName);
+        if (topicQuota == null || !topicQuota.quota.equals(quota)) {
+            topicQuota = topicQuotas.compute(topicName, (name, current) ->
+                    current == null || !current.quota.equals(quota) ? new TopicQuota(quota, now) : current);
+        }
+        return topicQuota;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(clientIdHeader);
+        return clientId == null || clientId.isEmpty() ? request.getRemoteAddr() : clientId;
+    }
+
+    private class TopicQuota {
+
+        private final PublishingQuota quota;
+
+        private final QuotaBuckets buckets;
+
+        private final Cache<String, QuotaBuckets> clients;
+
+        TopicQuota(PublishingQuota quota, long now) {
+            this.quota = quota;
+            this.buckets = QuotaBuckets.of(quota.getRequestsPerSecond(), quota.getBytesPerSecond(), now);
+            this.clients = CacheBuilder.newBuilder()
+                    .ticker(ticker)
+                    .expireAfterAccess(clientIdleTimeoutSeconds, TimeUnit.SECONDS)
+                    .maximumSize(maxClientsPerTopic)
+                    .build();
+        }
+
+        QuotaBuckets client(String clientId, long now) {
+            if (quota.getClientRequestsPerSecond() <= 0 && quota.getClientBytesPerSecond() <= 0) {
+                return QuotaBuckets.UNLIMITED;
+            }
+            return clients.asMap().computeIfAbsent(clientId, id ->
+                    QuotaBuckets.of(quota.getClientRequestsPerSecond(), quota.getClientBytesPerSecond(), now));
+        }
+    }
+}
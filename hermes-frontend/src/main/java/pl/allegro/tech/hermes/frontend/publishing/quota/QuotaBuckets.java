@@ -0,0 +1,46 @@
+package pl.allegro.tech.hermes.frontend.publishing.quota;
+
+class QuotaBuckets {
+
+    static final QuotaBuckets UNLIMITED = new QuotaBuckets(TokenBucket.UNLIMITED, TokenBucket.UNLIMITED);
+
+    private final TokenBucket requests;
+
+    private final TokenBucket bytes;
+
+    private QuotaBuckets(TokenBucket requests, TokenBucket bytes) {
+        this.requests = requests;
+        this.bytes = bytes;
+    }
+
+    static QuotaBuckets of(long requestsPerSecond, long bytesPerSecond, long nowNanos) {
+        if (requestsPerSecond <= 0 && bytesPerSecond <= 0) {
+            return UNLIMITED;
+        }
+        return new QuotaBuckets(TokenBucket.of(requestsPerSecond, nowNanos), TokenBucket.of(bytesPerSecond, nowNanos));
+    }
+
+    /**
+     * @return zero if request was admitted, otherwise time in nanoseconds after which it might be admitted
+     */
+    long tryAcquire(long requestBytes, long nowNanos) {
+        long waitNanos = requests.tryAcquire(1, nowNanos);
+        if (waitNanos > 0) {
+            return waitNanos;
+        }
+        waitNanos = bytes.tryAcquire(requestBytes, nowNanos);
+        if (waitNanos > 0) {
+            requests.refund(1);
+        }
+        return waitNanos;
+    }
+
+    void refund(long requestBytes) {
+        requests.refund(1);
+        bytes.refund(requestBytes);
+    }
+
+    void chargeBytes(long requestBytes, long nowNanos) {
+        bytes.charge(requestBytes, nowNanos);
+    }
+}
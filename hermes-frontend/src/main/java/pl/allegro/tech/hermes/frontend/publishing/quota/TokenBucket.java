@@ -0,0 +1,70 @@
+package pl.allegro.tech.hermes.frontend.publishing.quota;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to one second worth of units. Whole state is a single {@code AtomicLong} with
+ * the time at which the bucket becomes full again, so acquiring units is a single CAS. Request larger than the bucket
+ * is let through when the bucket is full, which keeps oversized messages from being rejected forever.
+ */
+class TokenBucket {
+
+    static final TokenBucket UNLIMITED = new TokenBucket(0, 0);
+
+    private static final long CAPACITY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double nanosPerUnit;
+
+    private final AtomicLong fullAtNanos;
+
+    private TokenBucket(double nanosPerUnit, long nowNanos) {
+        this.nanosPerUnit = nanosPerUnit;
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    static TokenBucket of(long unitsPerSecond, long nowNanos) {
+        return unitsPerSecond > 0 ? new TokenBucket((double) CAPACITY_NANOS / unitsPerSecond, nowNanos) : UNLIMITED;
+    }
+
+    /**
+     * @return zero if units were acquired, otherwise time in nanoseconds after which they might be available
+     */
+    long tryAcquire(long units, long nowNanos) {
+        if (this == UNLIMITED) {
+            return 0;
+        }
+        long cost = cost(units);
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long start = Math.max(fullAt, nowNanos);
+            long waitNanos = Math.min(start + cost - nowNanos - CAPACITY_NANOS, start - nowNanos);
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAtNanos.compareAndSet(fullAt, start + cost)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes units even if the bucket has not enough of them; following requests wait until the debt is paid off.
+     */
+    void charge(long units, long nowNanos) {
+        if (this != UNLIMITED && units > 0) {
+            long cost = cost(units);
+            fullAtNanos.updateAndGet(fullAt -> Math.max(fullAt, nowNanos) + cost);
+        }
+    }
+
+    void refund(long units) {
+        if (this != UNLIMITED && units > 0) {
+            fullAtNanos.addAndGet(-cost(units));
+        }
+    }
+
+    private long cost(long units) {
+        return (long) (units * nanosPerUnit);
+    }
+}
@@ -1,6 +1,7 @@
 package pl.allegro.tech.hermes.frontend.server;
 
 import pl.allegro.tech.hermes.frontend.publishing.PublishingServlet;
+import pl.allegro.tech.hermes.frontend.publishing.batch.BatchPublishingServlet;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -13,21 +14,34 @@ import java.util.regex.Pattern;
 public class HermesDispatcher extends HttpServlet {
 
     private final PublishingServlet publishingServlet;
+    private final BatchPublishingServlet batchPublishingServlet;
     private final HttpServlet notFound;
     private final Pattern publishingPattern;
+    private final Pattern batchPublishingPattern;
 
-    public HermesDispatcher(PublishingServlet publishingServlet, HttpServlet notFound, String topicsRoot) {
+    public HermesDispatcher(PublishingServlet publishingServlet, BatchPublishingServlet batchPublishingServlet,
+                            HttpServlet notFound, String topicsRoot) {
         this.publishingServlet = publishingServlet;
+        this.batchPublishingServlet = batchPublishingServlet;
         this.notFound = notFound;
         this.publishingPattern = Pattern.compile(String.format("/%s/([^/]+)/?", topicsRoot));
+        this.batchPublishingPattern = Pattern.compile(String.format("/%s/([^/]+)/batch/?", topicsRoot));
     }
 
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        (isRequestForPublishing(req) ? publishingServlet : notFound).service(req, resp);
+        servletFor(req).service(req, resp);
     }
 
-    private boolean isRequestForPublishing(HttpServletRequest req) {
-        return HttpMethod.POST.equals(req.getMethod()) && publishingPattern.matcher(req.getRequestURI()).matches();
+    private HttpServlet servletFor(HttpServletRequest req) {
+        if (HttpMethod.POST.equals(req.getMethod())) {
+            if (publishingPattern.matcher(req.getRequestURI()).matches()) {
+                return publishingServlet;
+            }
+            if (batchPublishingPattern.matcher(req.getRequestURI()).matches()) {
+                return batchPublishingServlet;
+            }
+        }
+        return notFound;
     }
 }
@@ -15,6 +15,7 @@ import pl.allegro.tech.hermes.common.metric.HermesMetrics;
 import pl.allegro.tech.hermes.frontend.HermesFrontend;
 import pl.allegro.tech.hermes.frontend.cache.topic.TopicsCache;
 import pl.allegro.tech.hermes.frontend.publishing.PublishingServlet;
+import pl.allegro.tech.hermes.frontend.publishing.batch.BatchPublishingServlet;
 import pl.allegro.tech.hermes.frontend.publishing.preview.MessagePreviewPersister;
 import pl.allegro.tech.hermes.frontend.services.HealthCheckService;
 
@@ -41,6 +42,7 @@ public class HermesServer {
     private final ConfigFactory configFactory;
     private final TopicsCache topicsCache;
     private final PublishingServlet publishingServlet;
+    private final BatchPublishingServlet batchPublishingServlet;
     private final HealthCheckService healthCheckService;
     private final MessagePreviewPersister messagePreviewPersister;
     private final int port;
@@ -53,6 +55,7 @@ public class HermesServer {
             ConfigFactory configFactory,
             HermesMetrics hermesMetrics,
             PublishingServlet publishingServlet,
+            BatchPublishingServlet batchPublishingServlet,
             HealthCheckService healthCheckService,
             MessagePreviewPersister messagePreviewPersister) {
 
@@ -60,6 +63,7 @@ public class HermesServer {
         this.configFactory = configFactory;
         this.hermesMetrics = hermesMetrics;
         this.publishingServlet = publishingServlet;
+        this.batchPublishingServlet = batchPublishingServlet;
         this.healthCheckService = healthCheckService;
         this.messagePreviewPersister = messagePreviewPersister;
 
@@ -130,7 +134,7 @@ public class HermesServer {
     }
 
     private DeploymentInfo prepareDeployment() {
-        HermesDispatcher dispatcher = new HermesDispatcher(publishingServlet, new NotFoundServlet(), "topics");
+        HermesDispatcher dispatcher = new HermesDispatcher(publishingServlet, batchPublishingServlet, new NotFoundServlet(), "topics");
         ServletInfo dispatcherInfo = servletInfo("dispatcher", "/*", HermesDispatcher.class, dispatcher);
         return deployment()
                 .setClassLoader(HermesFrontend.class.getClassLoader())
@@ -1,19 +1,14 @@
 package pl.allegro.tech.hermes.frontend.validator;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.fge.jsonschema.core.report.ProcessingReport;
-import com.github.fge.jsonschema.main.JsonSchema;
 import com.google.common.base.Joiner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.api.ContentType;
 import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.domain.topic.schema.CompiledJsonSchema;
 import pl.allegro.tech.hermes.domain.topic.schema.CompiledSchema;
 import pl.allegro.tech.hermes.frontend.publishing.message.Message;
 
-import javax.inject.Inject;
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,12 +18,6 @@ public class JsonTopicMessageValidator implements TopicMessageValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonTopicMessageValidator.class);
     private static final Charset UTF_8 = Charset.forName("UTF-8");
-    private final ObjectMapper objectMapper;
-
-    @Inject
-    public JsonTopicMessageValidator(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-    }
 
     @Override
     public void check(Message message, Topic topic) {
@@ -36,7 +25,7 @@ public class JsonTopicMessageValidator implements TopicMessageValidator {
             return;
         }
 
-        List<String> errors = validate(message.<JsonSchema>getCompiledSchema(), message.getData());
+        List<String> errors = validate(message.<CompiledJsonSchema>getCompiledSchema(), message.getData());
 
         if (!errors.isEmpty()) {
             if (topic.isValidationDryRunEnabled()) {
@@ -48,16 +37,11 @@ public class JsonTopicMessageValidator implements TopicMessageValidator {
         }
     }
 
-    private List<String> validate(Optional<CompiledSchema<JsonSchema>> jsonSchema, byte[] message) {
+    private List<String> validate(Optional<CompiledSchema<CompiledJsonSchema>> jsonSchema, byte[] message) {
         List<String> errors = new ArrayList<>();
 
         try {
-            JsonNode messageNode = objectMapper.readTree(message);
-
-            ProcessingReport report = jsonSchema.get().getSchema().validateUnchecked(messageNode);
-
-            report.forEach(processingMessage -> errors.add(processingMessage.getMessage()));
-
+            errors.addAll(jsonSchema.get().getSchema().validate(message));
         } catch (Exception e) {
             logger.warn("Error while deserializing message: " + new String(message), e);
             errors.add("Problem with message deserialization. Is this correct JSON format?");
@@ -0,0 +1,79 @@
+package pl.allegro.tech.hermes.frontend.publishing
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.servlet.http.HttpServletRequest
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.GZIPOutputStream
+
+import static java.nio.charset.StandardCharsets.UTF_8
+
+class ContentDecoderTest extends Specification {
+
+    private static final byte[] CONTENT = ('{"field": "' + 'value' * 100 + '"}').getBytes(UTF_8)
+
+    private ContentDecoder decoder = new ContentDecoder(1024)
+
+    @Unroll
+    def "should decode #encoding content"() {
+        when:
+        byte[] decoded = decoder.decode(request(encoding), encoded)
+
+        then:
+        decoded == CONTENT
+
+        where:
+        encoding   | encoded
+        null       | CONTENT
+        'identity' | CONTENT
+        'gzip'     | gzip(CONTENT)
+        'GZIP'     | gzip(CONTENT)
+        'deflate'  | deflate(CONTENT)
+    }
+
+    def "should reject content decoded beyond limit"() {
+        given:
+        byte[] encoded = gzip(new byte[1025])
+
+        when:
+        decoder.decode(request('gzip'), encoded)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "should reject corrupted content"() {
+        when:
+        decoder.decode(request('gzip'), CONTENT)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "should reject unsupported encoding"() {
+        when:
+        decoder.decode(request('br'), CONTENT)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private HttpServletRequest request(String encoding) {
+        HttpServletRequest request = Stub(HttpServletRequest)
+        request.getHeader('Content-Encoding') >> encoding
+        return request
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        new GZIPOutputStream(output).withStream { it.write(content) }
+        return output.toByteArray()
+    }
+
+    private static byte[] deflate(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        new DeflaterOutputStream(output).withStream { it.write(content) }
+        return output.toByteArray()
+    }
+}
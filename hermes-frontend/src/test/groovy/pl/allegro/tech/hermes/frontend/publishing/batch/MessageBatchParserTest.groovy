@@ -0,0 +1,92 @@
+package pl.allegro.tech.hermes.frontend.publishing.batch
+
+import com.fasterxml.jackson.core.JsonFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static pl.allegro.tech.hermes.frontend.publishing.batch.MessageBatchParser.FRAMED_CONTENT_TYPE
+
+class MessageBatchParserTest extends Specification {
+
+    private MessageBatchParser parser = new MessageBatchParser(new JsonFactory(), 3)
+
+    def "should split JSON array into messages"() {
+        when:
+        def messages = parser.parse('application/json', '[{"a": {"b": [1, 2]}}, "text", 4]'.getBytes(UTF_8))
+
+        then:
+        messages.collect { new String(it, UTF_8) } == ['{"a": {"b": [1, 2]}}', '"text"', '4']
+    }
+
+    def "should keep messages of JSON array byte for byte"() {
+        when:
+        def messages = parser.parse('application/json', '[ {"price" : 1.10, "big": 1.5E3, "name": "żółw\\u00e9"} ]'.getBytes(UTF_8))
+
+        then:
+        messages.collect { new String(it, UTF_8) } == ['{"price" : 1.10, "big": 1.5E3, "name": "żółw\\u00e9"}']
+    }
+
+    def "should split framed body into messages"() {
+        given:
+        byte[] body = frames([1, 2, 3] as byte[], [] as byte[], [4] as byte[])
+
+        when:
+        def messages = parser.parse(FRAMED_CONTENT_TYPE, body)
+
+        then:
+        messages == [[1, 2, 3] as byte[], [] as byte[], [4] as byte[]]
+    }
+
+    @Unroll
+    def "should reject malformed JSON batch #body"() {
+        when:
+        parser.parse('application/json', body.getBytes(UTF_8))
+
+        then:
+        thrown(InvalidBatchException)
+
+        where:
+        body << ['{"a": 1}', '[{"a": 1}', '[{"a": 1}] trailing', '[]', '[1, 2, 3, 4]']
+    }
+
+    def "should reject truncated frame"() {
+        given:
+        byte[] body = frames([1, 2, 3] as byte[])
+
+        when:
+        parser.parse(FRAMED_CONTENT_TYPE, Arrays.copyOf(body, body.length - 1))
+
+        then:
+        thrown(InvalidBatchException)
+    }
+
+    def "should reject framed batch exceeding limit of messages"() {
+        when:
+        parser.parse(FRAMED_CONTENT_TYPE, frames([1] as byte[], [2] as byte[], [3] as byte[], [4] as byte[]))
+
+        then:
+        thrown(InvalidBatchException)
+    }
+
+    @Unroll
+    def "should read content type of framed payloads from #contentType"() {
+        expect:
+        MessageBatchParser.framedPayloadContentType(contentType) == payloadContentType
+
+        where:
+        contentType                                                           || payloadContentType
+        FRAMED_CONTENT_TYPE                                                   || null
+        FRAMED_CONTENT_TYPE + '; payload=avro/binary'                         || 'avro/binary'
+        FRAMED_CONTENT_TYPE + '; payload=avro/binary; other=1'                || 'avro/binary'
+        FRAMED_CONTENT_TYPE + '; payload="application/json;charset=UTF-8"'    || 'application/json;charset=UTF-8'
+    }
+
+    private static byte[] frames(byte[]... messages) {
+        ByteBuffer buffer = ByteBuffer.allocate(messages.sum { it.length + 4 } as int)
+        messages.each { buffer.putInt(it.length).put(it) }
+        return buffer.array()
+    }
+}
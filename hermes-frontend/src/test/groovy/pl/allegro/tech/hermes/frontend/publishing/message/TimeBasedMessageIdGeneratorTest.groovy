@@ -0,0 +1,54 @@
+package pl.allegro.tech.hermes.frontend.publishing.message
+
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class TimeBasedMessageIdGeneratorTest extends Specification {
+
+    def "should generate version 7 UUID carrying generation time"() {
+        given:
+        def now = Instant.parse('2016-09-14T10:00:00Z')
+        def generator = new TimeBasedMessageIdGenerator(Clock.fixed(now, ZoneOffset.UTC))
+
+        when:
+        def id = UUID.fromString(generator.generate())
+
+        then:
+        id.version() == 7
+        id.variant() == 2
+        id.mostSignificantBits >>> 16 == now.toEpochMilli()
+    }
+
+    def "should generate ordered ids in single thread"() {
+        given:
+        def generator = new TimeBasedMessageIdGenerator(Clock.systemUTC())
+
+        when:
+        def ids = (1..1000).collect { generator.generate() }
+
+        then:
+        ids == ids.toSorted()
+    }
+
+    def "should generate unique ids in many threads within the same millisecond"() {
+        given:
+        def generator = new TimeBasedMessageIdGenerator(Clock.fixed(Instant.now(), ZoneOffset.UTC))
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def ids = executor.invokeAll((1..8).collect {
+            { -> (1..10000).collect { generator.generate() } } as Callable<List<String>>
+        }).collectMany { it.get() }
+
+        then:
+        ids.toSet().size() == 80000
+
+        cleanup:
+        executor.shutdown()
+    }
+}
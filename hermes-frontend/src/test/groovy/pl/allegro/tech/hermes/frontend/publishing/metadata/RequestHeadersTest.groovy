@@ -0,0 +1,58 @@
+package pl.allegro.tech.hermes.frontend.publishing.metadata
+
+import pl.allegro.tech.hermes.domain.topic.schema.SchemaVersion
+import spock.lang.Specification
+
+import javax.servlet.http.HttpServletRequest
+
+class RequestHeadersTest extends Specification {
+
+    def "should read hermes headers without copying request headers"() {
+        given:
+        HttpServletRequest request = Mock(HttpServletRequest)
+        request.getIntHeader('Hermes-Schema-Version') >> 3
+        request.getHeader('Hermes-Partition-Key') >> 'key'
+        request.getHeader('Trace-Id') >> 'abc'
+
+        when:
+        def headers = new RequestHeaders(request)
+
+        then:
+        headers.schemaVersion() == Optional.of(SchemaVersion.valueOf(3))
+        headers.partitionKey() == Optional.of('key')
+        headers.get('Trace-Id') == 'abc'
+        headers.containsKey('Trace-Id')
+        !headers.containsKey('Span-Id')
+        0 * request.getHeaderNames()
+    }
+
+    def "should treat missing and empty hermes headers as absent"() {
+        given:
+        HttpServletRequest request = Stub(HttpServletRequest)
+        request.getIntHeader(_) >> -1
+        request.getHeader('Hermes-Partition-Key') >> ''
+
+        when:
+        def headers = new RequestHeaders(request)
+
+        then:
+        !headers.schemaVersion().isPresent()
+        !headers.partitionKey().isPresent()
+    }
+
+    def "should copy all headers once when iterated"() {
+        given:
+        HttpServletRequest request = Mock(HttpServletRequest)
+        request.getHeader('Trace-Id') >> 'abc'
+        request.getHeader('Content-Type') >> 'application/json'
+        def headers = new RequestHeaders(request)
+
+        when:
+        def copies = [headers.entrySet(), headers.entrySet()]
+
+        then:
+        1 * request.getHeaderNames() >> Collections.enumeration(['Trace-Id', 'Content-Type'])
+        copies[0].is(copies[1])
+        headers == ['Trace-Id': 'abc', 'Content-Type': 'application/json']
+    }
+}
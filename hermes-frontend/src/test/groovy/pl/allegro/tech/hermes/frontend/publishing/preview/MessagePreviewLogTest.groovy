@@ -2,6 +2,7 @@ package pl.allegro.tech.hermes.frontend.publishing.preview
 
 import spock.lang.Specification
 
+import java.time.Clock
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
@@ -66,4 +67,52 @@ class MessagePreviewLogTest extends Specification {
         executorService.shutdown()
     }
 
+    def "should persist only topics sampled since previous snapshot with their latest messages"() {
+        given:
+        log.add(fromQualifiedName('group.topic-1'), [1] as byte[])
+        log.add(fromQualifiedName('group.topic-1'), [2] as byte[])
+        log.add(fromQualifiedName('group.topic-2'), [3] as byte[])
+        log.snapshotAndClean()
+
+        when:
+        log.add(fromQualifiedName('group.topic-1'), [4] as byte[])
+        def messages = log.snapshotAndClean()
+
+        then:
+        messages.topics() as List == [fromQualifiedName('group.topic-1')]
+        messages.previewOf(fromQualifiedName('group.topic-1')) == [[2] as byte[], [4] as byte[]]
+    }
+
+    def "should persist message claimed before snapshot but written after it with next snapshot"() {
+        given:
+        def topic = fromQualifiedName('group.topic')
+        log.add(topic, [1] as byte[])
+        def preview = log.previews[topic]
+        preview.claimed.incrementAndGet()
+
+        when:
+        def first = log.snapshotAndClean()
+        preview.claimed.decrementAndGet()
+        log.add(topic, [2] as byte[])
+        def second = log.snapshotAndClean()
+
+        then:
+        first.previewOf(topic) == [[1] as byte[]]
+        second.previewOf(topic) == [[1] as byte[], [2] as byte[]]
+    }
+
+    def "should sample no more than one message for topic per sample interval"() {
+        given:
+        def millis = [1000L, 1500L, 2000L].iterator()
+        def clock = [millis: { millis.next() }] as Clock
+        def log = new MessagePreviewLog(3, 1000, clock)
+
+        when:
+        3.times { log.add(fromQualifiedName('group.topic'), [it] as byte[]) }
+        def messages = log.snapshotAndClean()
+
+        then:
+        messages.previewOf(fromQualifiedName('group.topic')) == [[0] as byte[], [2] as byte[]]
+    }
+
 }
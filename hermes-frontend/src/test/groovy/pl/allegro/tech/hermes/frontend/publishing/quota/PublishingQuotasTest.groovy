@@ -0,0 +1,161 @@
+package pl.allegro.tech.hermes.frontend.publishing.quota
+
+import com.codahale.metrics.MetricRegistry
+import pl.allegro.tech.hermes.api.PublishingQuota
+import pl.allegro.tech.hermes.api.Topic
+import pl.allegro.tech.hermes.common.metric.HermesMetrics
+import pl.allegro.tech.hermes.metrics.PathsCompiler
+import pl.allegro.tech.hermes.test.helper.cache.FakeTicker
+import spock.lang.Specification
+
+import javax.servlet.http.HttpServletRequest
+import java.time.Duration
+
+import static pl.allegro.tech.hermes.api.PublishingQuota.Builder.publishingQuota
+import static pl.allegro.tech.hermes.test.helper.builder.TopicBuilder.topic
+
+class PublishingQuotasTest extends Specification {
+
+    def ticker = new FakeTicker()
+    def metricRegistry = new MetricRegistry()
+    def quotas = new PublishingQuotas(new HermesMetrics(metricRegistry, new PathsCompiler('localhost')), ticker,
+            'Hermes-Client-Id', 60, 100)
+
+    def "should admit every request on topic without quota"() {
+        given:
+        def topic = topic('group.unlimited').build()
+
+        expect:
+        (1..100).every { quotas.admit(topic, request('client')).isAdmitted() }
+    }
+
+    def "should limit request rate of each client separately"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withClientRequestsPerSecond(2).build())
+
+        when:
+        def admissions = (1..3).collect { quotas.admit(topic, request('greedy')) }
+
+        then:
+        admissions*.isAdmitted() == [true, true, false]
+        admissions[2].retryAfterSeconds == 1
+        admissions[2].reason.contains('greedy')
+        quotas.admit(topic, request('polite')).isAdmitted()
+
+        when:
+        ticker.advance(Duration.ofSeconds(1))
+
+        then:
+        quotas.admit(topic, request('greedy')).isAdmitted()
+    }
+
+    def "should identify client by address when header is missing"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withClientRequestsPerSecond(1).build())
+
+        expect:
+        quotas.admit(topic, request(null, 0, '10.0.0.1')).isAdmitted()
+        !quotas.admit(topic, request(null, 0, '10.0.0.1')).isAdmitted()
+        quotas.admit(topic, request(null, 0, '10.0.0.2')).isAdmitted()
+    }
+
+    def "should not use up topic quota with requests rejected by client quota"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withRequestsPerSecond(3).withClientRequestsPerSecond(2).build())
+
+        when:
+        def greedy = (1..5).collect { quotas.admit(topic, request('greedy')) }
+        def polite = quotas.admit(topic, request('polite'))
+        def other = quotas.admit(topic, request('other'))
+
+        then:
+        greedy*.isAdmitted() == [true, true, false, false, false]
+        polite.isAdmitted()
+        !other.isAdmitted()
+        other.reason.startsWith('Publishing quota of topic')
+    }
+
+    def "should limit byte rate with declared content length"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withBytesPerSecond(100).build())
+
+        expect:
+        quotas.admit(topic, request('client', 80)).isAdmitted()
+        !quotas.admit(topic, request('client', 80)).isAdmitted()
+        quotas.admit(topic, request('client', 20)).isAdmitted()
+    }
+
+    def "should charge bytes of request without declared length once body is read"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withClientBytesPerSecond(100).build())
+
+        when:
+        quotas.admit(topic, request('client', -1)).chargeReadBytes(300)
+        def next = quotas.admit(topic, request('client', -1))
+
+        then:
+        !next.isAdmitted()
+        next.retryAfterSeconds == 2
+    }
+
+    def "should charge decoded bytes of compressed request instead of its declared length"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withClientBytesPerSecond(100).build())
+
+        when:
+        def compressed = quotas.admit(topic, request('client', 50, '127.0.0.1', 'gzip'))
+        compressed.chargeReadBytes(300)
+        def next = quotas.admit(topic, request('client', 50, '127.0.0.1', 'gzip'))
+
+        then:
+        compressed.isAdmitted()
+        !next.isAdmitted()
+        next.retryAfterSeconds == 2
+    }
+
+    def "should mark throttled requests"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withRequestsPerSecond(1).build())
+
+        when:
+        3.times { quotas.admit(topic, request('client')) }
+
+        then:
+        metricRegistry.meter('throttled-meter').count == 2
+        metricRegistry.meter('throttled-meter.group.quota').count == 2
+    }
+
+    def "should apply changed quota of topic"() {
+        given:
+        quotas.admit(topicWithQuota(publishingQuota().withRequestsPerSecond(1).build()), request('client'))
+
+        expect:
+        quotas.admit(topicWithQuota(publishingQuota().withRequestsPerSecond(2).build()), request('client')).isAdmitted()
+    }
+
+    def "should forget quota state of removed topic"() {
+        given:
+        def topic = topicWithQuota(publishingQuota().withRequestsPerSecond(1).build())
+        quotas.admit(topic, request('client'))
+
+        when:
+        quotas.onTopicRemoved(topic)
+
+        then:
+        quotas.admit(topic, request('client')).isAdmitted()
+    }
+
+    private static Topic topicWithQuota(PublishingQuota quota) {
+        topic('group.quota').withPublishingQuota(quota).build()
+    }
+
+    private HttpServletRequest request(String clientId, int contentLength = 0, String address = '127.0.0.1',
+                                       String contentEncoding = null) {
+        HttpServletRequest request = Stub(HttpServletRequest)
+        request.getHeader('Hermes-Client-Id') >> clientId
+        request.getHeader('Content-Encoding') >> contentEncoding
+        request.getContentLength() >> contentLength
+        request.getRemoteAddr() >> address
+        request
+    }
+}
@@ -13,11 +13,15 @@ import pl.allegro.tech.hermes.common.config.ConfigFactory;
 import pl.allegro.tech.hermes.common.kafka.KafkaNamesMapper;
 import pl.allegro.tech.hermes.common.kafka.NamespaceKafkaNamesMapper;
 import pl.allegro.tech.hermes.common.metric.HermesMetrics;
+import pl.allegro.tech.hermes.frontend.publishing.BatchPublishingCallback;
 import pl.allegro.tech.hermes.frontend.publishing.PublishingCallback;
 import pl.allegro.tech.hermes.frontend.publishing.message.JsonMessage;
 import pl.allegro.tech.hermes.frontend.publishing.message.Message;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Charsets.UTF_8;
@@ -102,7 +106,74 @@ public class KafkaBrokerMessageProducerTest {
         assertThat(records.get(0).topic()).isEqualTo("ns_group.all");
     }
 
-    private static class DoNothing implements PublishingCallback {
+    @Test
+    public void shouldPublishBatchInOrderAndCallCallbackForEachMessage() {
+        //given
+        List<Message> batch = Arrays.asList(
+                new JsonMessage("id-1", CONTENT, TIMESTAMP),
+                new JsonMessage("id-2", CONTENT, TIMESTAMP),
+                new JsonMessage("id-3", CONTENT, TIMESTAMP));
+        List<String> published = new CopyOnWriteArrayList<>();
+
+        //when
+        producer.send(batch, TOPIC, new DoNothing() {
+            @Override
+            public void onPublished(Message message, Topic topic) {
+                published.add(message.getId());
+            }
+        });
+
+        //then
+        List<ProducerRecord<byte[], byte[]>> records = leaderConfirmsProducer.history();
+        assertThat(records.size()).isEqualTo(3);
+        assertThat(records.get(0).topic()).isEqualTo("ns_group.topic");
+        await().until(() -> published.size() == 3);
+        assertThat(published).containsExactly("id-1", "id-2", "id-3");
+    }
+
+    @Test
+    public void shouldReportHandedOverMessagesAndStopSendingBatchWhenNobodyWaitsForIt() {
+        //given
+        List<Message> batch = Arrays.asList(
+                new JsonMessage("id-1", CONTENT, TIMESTAMP),
+                new JsonMessage("id-2", CONTENT, TIMESTAMP),
+                new JsonMessage("id-3", CONTENT, TIMESTAMP));
+        List<String> handedOver = new CopyOnWriteArrayList<>();
+
+        //when
+        producer.send(batch, TOPIC, new DoNothing() {
+            @Override
+            public boolean onHandingOver(Message message, Topic topic) {
+                return handedOver.size() < 2;
+            }
+
+            @Override
+            public void onHandedOver(Message message, Topic topic) {
+                handedOver.add(message.getId());
+            }
+        });
+
+        //then
+        assertThat(leaderConfirmsProducer.history()).hasSize(2);
+        assertThat(handedOver).containsExactly("id-1", "id-2");
+    }
+
+    @Test
+    public void shouldUsePartitionKeyAsRecordKey() {
+        //given
+        Message keyed = new JsonMessage(MESSAGE_ID, CONTENT, TIMESTAMP, Optional.empty(), Optional.of("order-1"));
+
+        //when
+        producer.send(keyed, TOPIC, new DoNothing());
+        producer.send(MESSAGE, TOPIC, new DoNothing());
+
+        //then
+        List<ProducerRecord<byte[], byte[]>> records = leaderConfirmsProducer.history();
+        assertThat(records.get(0).key()).isEqualTo("order-1".getBytes(UTF_8));
+        assertThat(records.get(1).key()).isNull();
+    }
+
+    private static class DoNothing implements BatchPublishingCallback {
         public void onUnpublished(Message message, Topic topic, Exception exception) {
         }
 
@@ -0,0 +1,156 @@
+package pl.allegro.tech.hermes.frontend.producer.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.Test;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.kafka.clients.producer.ProducerConfig.ACKS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.BUFFER_MEMORY_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.LINGER_MS_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class KafkaMessageProducerFactoryTest {
+
+    private static final Map<String, Object> COMMON = ImmutableMap.of(BUFFER_MEMORY_CONFIG, 4096L, LINGER_MS_CONFIG, 0);
+
+    private final List<Map<String, Object>> producerConfigs = new ArrayList<>();
+
+    private final List<Producer<byte[], byte[]>> producers = new ArrayList<>();
+
+    private final KafkaMessageProducerFactory factory = new KafkaMessageProducerFactory(new ConfigFactory(),
+            new ObjectMapper(), this::producer);
+
+    @Test
+    public void shouldReadPoolConfigs() {
+        // when
+        List<ProducerPoolConfig> configs = factory.readPoolConfigs("[" +
+                "{\"name\": \"logs\", \"topics\": [\"pl.allegro.logs\"], \"producers\": 2, " +
+                "\"bufferMemory\": 1024, \"lingerMs\": 5, \"batchSize\": 100}," +
+                "{\"name\": \"orders\", \"topics\": [\"pl.allegro.orders.OrderCreated\"]}]");
+
+        // then
+        assertThat(configs).hasSize(2);
+        ProducerPoolConfig logs = configs.get(0);
+        assertThat(logs.getName()).isEqualTo("logs");
+        assertThat(logs.getTopics()).containsExactly("pl.allegro.logs");
+        assertThat(logs.getProducers()).isEqualTo(2);
+        assertThat(logs.getBufferMemory()).contains(1024L);
+        assertThat(logs.getLingerMs()).contains(5);
+        assertThat(logs.getBatchSize()).contains(100);
+        ProducerPoolConfig orders = configs.get(1);
+        assertThat(orders.getProducers()).isEqualTo(1);
+        assertThat(orders.getBufferMemory()).isEmpty();
+        assertThat(orders.getLingerMs()).isEmpty();
+        assertThat(orders.getBatchSize()).isEmpty();
+    }
+
+    @Test
+    public void shouldReadNoPoolsFromEmptyConfig() {
+        // when
+        List<ProducerPoolConfig> configs = factory.readPoolConfigs(" ");
+
+        // then
+        assertThat(configs).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMalformedPoolsConfig() {
+        // when
+        factory.readPoolConfigs("[{\"name\": \"logs\"");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPoolWithoutName() {
+        // when
+        factory.readPoolConfigs("[{\"topics\": [\"pl.allegro.logs\"]}]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPoolNamedAfterDefaultPool() {
+        // when
+        factory.readPoolConfigs("[{\"name\": \"default\", \"topics\": [\"pl.allegro.logs\"]}]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPoolWithoutProducers() {
+        // when
+        factory.readPoolConfigs("[{\"name\": \"logs\", \"producers\": 0}]");
+    }
+
+    @Test
+    public void shouldCreateProducersOfPoolWithItsOwnTuning() {
+        // given
+        ProducerPoolConfig config = new ProducerPoolConfig("logs", Collections.singletonList("pl.allegro.logs"),
+                2, 1024L, null, null);
+
+        // when
+        ProducerPool pool = factory.createPool(COMMON, config);
+
+        // then
+        assertThat(pool.getName()).isEqualTo("logs");
+        assertThat(producerConfigs).hasSize(4);
+        assertThat(producerConfigs.stream().filter(producerConfig -> "1".equals(producerConfig.get(ACKS_CONFIG))).count())
+                .isEqualTo(2);
+        assertThat(producerConfigs.stream().filter(producerConfig -> "-1".equals(producerConfig.get(ACKS_CONFIG))).count())
+                .isEqualTo(2);
+        assertThat(producerConfigs).extracting(producerConfig -> producerConfig.get(BUFFER_MEMORY_CONFIG))
+                .containsOnly(1024L);
+        assertThat(producerConfigs).extracting(producerConfig -> producerConfig.get(LINGER_MS_CONFIG))
+                .containsOnly(0);
+    }
+
+    @Test
+    public void shouldAssignTopicsAndGroupsToTheirPools() {
+        // given
+        List<ProducerPoolConfig> configs = Arrays.asList(
+                new ProducerPoolConfig("logs", Arrays.asList("pl.allegro.logs", "pl.allegro.audit"), null, null, null, null),
+                new ProducerPoolConfig("orders", Collections.singletonList("pl.allegro.orders.OrderCreated"), null, null, null, null));
+
+        // when
+        Map<String, ProducerPool> pools = factory.createPools(COMMON, configs);
+
+        // then
+        assertThat(pools).hasSize(3);
+        assertThat(pools.get("pl.allegro.logs")).isSameAs(pools.get("pl.allegro.audit"));
+        assertThat(pools.get("pl.allegro.logs").getName()).isEqualTo("logs");
+        assertThat(pools.get("pl.allegro.orders.OrderCreated").getName()).isEqualTo("orders");
+    }
+
+    @Test
+    public void shouldRejectTopicAssignedToTwoPoolsAndCloseCreatedProducers() {
+        // given
+        List<ProducerPoolConfig> configs = Arrays.asList(
+                new ProducerPoolConfig("logs", Collections.singletonList("pl.allegro.logs"), null, null, null, null),
+                new ProducerPoolConfig("other", Collections.singletonList("pl.allegro.logs"), null, null, null, null));
+
+        // when
+        try {
+            factory.createPools(COMMON, configs);
+            fail("Topic assigned to two pools should be rejected");
+        } catch (IllegalArgumentException e) {
+            // then
+            assertThat(e).hasMessageContaining("pl.allegro.logs");
+        }
+        assertThat(producers).hasSize(4);
+        producers.forEach(producer -> verify(producer).close());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Producer<byte[], byte[]> producer(Map<String, Object> config) {
+        Producer<byte[], byte[]> producer = mock(Producer.class);
+        producerConfigs.add(config);
+        producers.add(producer);
+        return producer;
+    }
+}
@@ -0,0 +1,79 @@
+package pl.allegro.tech.hermes.frontend.producer.kafka;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.Test;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.common.config.ConfigFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.test.helper.builder.TopicBuilder.topic;
+
+public class ProducersTest {
+
+    private final MockProducer defaultLeader = new MockProducer();
+    private final MockProducer defaultEveryone = new MockProducer();
+    private final ProducerPool defaultPool = new ProducerPool(ProducerPool.DEFAULT, defaultLeader, defaultEveryone);
+
+    private final MockProducer dedicatedLeader = new MockProducer();
+    private final MockProducer dedicatedEveryone = new MockProducer();
+    private final ProducerPool dedicatedPool = new ProducerPool("dedicated", dedicatedLeader, dedicatedEveryone);
+
+    private final MockProducer groupLeader = new MockProducer();
+    private final MockProducer groupEveryone = new MockProducer();
+    private final ProducerPool groupPool = new ProducerPool("group", groupLeader, groupEveryone);
+
+    private final Producers producers = new Producers(defaultPool,
+            ImmutableMap.of("pl.allegro.orders.OrderCreated", dedicatedPool, "pl.allegro.orders", groupPool),
+            new ConfigFactory());
+
+    @Test
+    public void shouldUseDefaultPoolForUnassignedTopic() {
+        // when
+        Producer<byte[], byte[]> leader = producers.get(topic("pl.allegro.other.Topic").build());
+        Producer<byte[], byte[]> everyone = producers.get(topic("pl.allegro.other.Topic").withAck(Topic.Ack.ALL).build());
+
+        // then
+        assertThat(leader).isSameAs(defaultLeader);
+        assertThat(everyone).isSameAs(defaultEveryone);
+    }
+
+    @Test
+    public void shouldUsePoolOfTopicGroup() {
+        // when
+        Producer<byte[], byte[]> producer = producers.get(topic("pl.allegro.orders.OrderPaid").build());
+
+        // then
+        assertThat(producer).isSameAs(groupLeader);
+    }
+
+    @Test
+    public void shouldPreferPoolAssignedToTopicOverPoolOfItsGroup() {
+        // when
+        Producer<byte[], byte[]> producer = producers.get(topic("pl.allegro.orders.OrderCreated").withAck(Topic.Ack.ALL).build());
+
+        // then
+        assertThat(producer).isSameAs(dedicatedEveryone);
+    }
+
+    @Test
+    public void shouldAlwaysServeTopicWithTheSameProducerOfShardedPool() {
+        // given
+        List<Producer<byte[], byte[]>> leaders = Arrays.asList(new MockProducer(), new MockProducer(), new MockProducer());
+        List<Producer<byte[], byte[]>> everyone = Arrays.asList(new MockProducer(), new MockProducer(), new MockProducer());
+        ProducerPool shardedPool = new ProducerPool("sharded", leaders, everyone);
+        Topic topic = topic("pl.allegro.logs.Events").build();
+
+        // when
+        Producer<byte[], byte[]> first = shardedPool.get(topic);
+        Producer<byte[], byte[]> second = shardedPool.get(topic);
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(leaders).contains(first);
+    }
+}
@@ -0,0 +1,222 @@
+package pl.allegro.tech.hermes.management.domain.subscription.health;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.api.SubscriptionHealth;
+import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.api.TopicMetrics;
+import pl.allegro.tech.hermes.api.TopicName;
+import pl.allegro.tech.hermes.infrastructure.zookeeper.ZookeeperPaths;
+import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.DistributedEphemeralCounter;
+import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.SharedCounter;
+import pl.allegro.tech.hermes.management.domain.subscription.SubscriptionLagSource;
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.LaggingIndicator;
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.MalfunctioningIndicator;
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.ReceivingMalformedMessagesIndicator;
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.SlowIndicator;
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.TimingOutIndicator;
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.UnreachableIndicator;
+import pl.allegro.tech.hermes.management.domain.topic.TopicMetricsRepository;
+import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteClient;
+import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteMetrics;
+import pl.allegro.tech.hermes.management.infrastructure.metrics.HybridSubscriptionMetricsRepository;
+import pl.allegro.tech.hermes.management.stub.MetricsPaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Arrays.asList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder.subscription;
+
+/**
+ * Evaluates health of 5000 synthetic subscriptions spread over 500 topics, reading metrics one subscription at a time
+ * or in bulk. Subscription metrics are read by {@link HybridSubscriptionMetricsRepository} from simulated Graphite,
+ * ZooKeeper counters and lag source, so every remote read it does is counted. Every Graphite request, topic metrics
+ * read, lag read and ZooKeeper read simulates a remote round trip of {@code roundTripMicros}; batched ZooKeeper reads
+ * are pipelined by the real counters, so they are simulated as a single round trip.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SubscriptionsHealthBenchmark {
+
+    private static final int SUBSCRIPTIONS = 5000;
+    private static final int SUBSCRIPTIONS_PER_TOPIC = 10;
+    private static final double MIN_RATE_FOR_RELIABLE_METRICS = 2.0;
+
+    @Param({"50"})
+    long roundTripMicros;
+
+    private List<Subscription> subscriptions;
+    private SubscriptionHealthChecker checker;
+    private SubscriptionsHealthService healthService;
+    private RemoteTopicMetrics topicMetrics;
+    private HybridSubscriptionMetricsRepository subscriptionMetrics;
+
+    @Setup
+    public void setup() {
+        subscriptions = new ArrayList<>(SUBSCRIPTIONS);
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            TopicName topicName = new TopicName("group", "topic" + i / SUBSCRIPTIONS_PER_TOPIC);
+            subscriptions.add(subscription(topicName, "subscription" + i).build());
+        }
+        checker = new SubscriptionHealthChecker(new HashSet<>(asList(
+                new LaggingIndicator(600),
+                new SlowIndicator(0.8),
+                new UnreachableIndicator(0.5, MIN_RATE_FOR_RELIABLE_METRICS),
+                new TimingOutIndicator(0.1, MIN_RATE_FOR_RELIABLE_METRICS),
+                new MalfunctioningIndicator(0.1, MIN_RATE_FOR_RELIABLE_METRICS),
+                new ReceivingMalformedMessagesIndicator(0.1, MIN_RATE_FOR_RELIABLE_METRICS)
+        )));
+        topicMetrics = new RemoteTopicMetrics();
+        subscriptionMetrics = new HybridSubscriptionMetricsRepository(new RemoteGraphite(), new MetricsPaths("stats"),
+                new RemoteSharedCounter(), new RemoteEphemeralCounter(), new ZookeeperPaths("/hermes"), new RemoteLagSource());
+        healthService = new SubscriptionsHealthService(topicMetrics, subscriptionMetrics, checker);
+    }
+
+    @Benchmark
+    public int perSubscription() {
+        int unhealthy = 0;
+        for (Subscription subscription : subscriptions) {
+            SubscriptionHealth health = checker.checkHealth(subscription,
+                    topicMetrics.loadMetrics(subscription.getTopicName()),
+                    subscriptionMetrics.loadMetrics(subscription.getTopicName(), subscription.getName()));
+            if (health.getStatus() == SubscriptionHealth.Status.UNHEALTHY) {
+                unhealthy++;
+            }
+        }
+        return unhealthy;
+    }
+
+    @Benchmark
+    public int bulk() {
+        int unhealthy = 0;
+        for (SubscriptionHealth health : healthService.checkHealth(subscriptions).values()) {
+            if (health.getStatus() == SubscriptionHealth.Status.UNHEALTHY) {
+                unhealthy++;
+            }
+        }
+        return unhealthy;
+    }
+
+    private void roundTrip() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+
+    private class RemoteTopicMetrics implements TopicMetricsRepository {
+
+        @Override
+        public TopicMetrics loadMetrics(TopicName topicName) {
+            roundTrip();
+            return metrics();
+        }
+
+        @Override
+        public Map<TopicName, TopicMetrics> loadMetrics(Collection<TopicName> topicNames) {
+            roundTrip();
+            return topicNames.stream().collect(toMap(identity(), topicName -> metrics()));
+        }
+
+        private TopicMetrics metrics() {
+            return TopicMetrics.Builder.topicMetrics().withRate("100.0").build();
+        }
+    }
+
+    private class RemoteGraphite implements GraphiteClient {
+
+        @Override
+        public GraphiteMetrics readMetrics(String... metricPaths) {
+            roundTrip();
+            GraphiteMetrics metrics = new GraphiteMetrics();
+            for (String metricPath : metricPaths) {
+                metrics.addMetricValue(metricPath, value(metricPath));
+            }
+            return metrics;
+        }
+
+        private String value(String metricPath) {
+            if (metricPath.contains(".5xx.")) {
+                return String.valueOf(ThreadLocalRandom.current().nextInt(0, 15));
+            }
+            if (metricPath.contains(".meter.") || metricPath.contains(".2xx.")) {
+                return String.valueOf(ThreadLocalRandom.current().nextInt(50, 110));
+            }
+            return "0.0";
+        }
+    }
+
+    private class RemoteSharedCounter extends SharedCounter {
+
+        RemoteSharedCounter() {
+            super(null, 1, 1, 1);
+        }
+
+        @Override
+        public long getValue(String path) {
+            roundTrip();
+            return 0;
+        }
+
+        @Override
+        public Map<String, Long> getValues(Collection<String> paths) {
+            roundTrip();
+            return paths.stream().distinct().collect(toMap(identity(), path -> 0L));
+        }
+    }
+
+    private class RemoteEphemeralCounter extends DistributedEphemeralCounter {
+
+        RemoteEphemeralCounter() {
+            super(null);
+        }
+
+        @Override
+        public long getValue(String basePath, String childrenPath) {
+            roundTrip();
+            return 0;
+        }
+
+        @Override
+        public Map<String, Long> getValues(String basePath, Collection<String> childrenPaths) {
+            roundTrip();
+            return childrenPaths.stream().distinct().collect(toMap(identity(), path -> 0L));
+        }
+    }
+
+    private class RemoteLagSource implements SubscriptionLagSource {
+
+        @Override
+        public long getLag(TopicName topicName, String subscriptionName) {
+            roundTrip();
+            return ThreadLocalRandom.current().nextInt(0, 100_000);
+        }
+
+        @Override
+        public Map<SubscriptionName, Long> getLags(Collection<SubscriptionName> subscriptionNames) {
+            roundTrip();
+            return subscriptionNames.stream().distinct()
+                    .collect(toMap(identity(), subscriptionName -> (long) ThreadLocalRandom.current().nextInt(0, 100_000)));
+        }
+    }
+}
@@ -4,16 +4,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import pl.allegro.tech.hermes.api.Group;
 import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.api.SubscriptionHealthPage;
 import pl.allegro.tech.hermes.api.Topic;
 import pl.allegro.tech.hermes.api.Query;
 import pl.allegro.tech.hermes.management.domain.group.GroupService;
 import pl.allegro.tech.hermes.management.domain.subscription.SubscriptionService;
 import pl.allegro.tech.hermes.management.domain.topic.TopicService;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import java.util.List;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
@@ -22,6 +27,8 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 @Component
 public class QueryEndpoint {
 
+    private static final int MAX_HEALTH_PAGE_SIZE = 1000;
+
     private final SubscriptionService subscriptionService;
     private final TopicService topicService;
     private final GroupService groupService;
@@ -56,6 +63,14 @@ public class QueryEndpoint {
     public List<Subscription> querySubscriptions(Query<Subscription> query) {
         return subscriptionService.querySubscription(query);
     }
-}
-
 
+    @POST
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    @Path("/subscriptions/health")
+    public SubscriptionHealthPage querySubscriptionsHealth(Query<Subscription> query,
+                                                           @Min(0) @DefaultValue("0") @QueryParam("offset") int offset,
+                                                           @Min(1) @Max(MAX_HEALTH_PAGE_SIZE) @DefaultValue("100") @QueryParam("limit") int limit) {
+        return subscriptionService.querySubscriptionsHealth(query, offset, limit);
+    }
+}
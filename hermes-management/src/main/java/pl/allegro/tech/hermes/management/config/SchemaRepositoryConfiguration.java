@@ -1,7 +1,6 @@
 package pl.allegro.tech.hermes.management.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.fge.jsonschema.main.JsonSchema;
 import org.apache.avro.Schema;
 import org.apache.curator.framework.CuratorFramework;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +10,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import pl.allegro.tech.hermes.domain.topic.schema.CompiledJsonSchema;
 import pl.allegro.tech.hermes.domain.topic.schema.CompiledSchemaRepository;
 import pl.allegro.tech.hermes.domain.topic.schema.DirectCompiledSchemaRepository;
 import pl.allegro.tech.hermes.domain.topic.schema.SchemaCompilersFactory;
@@ -76,7 +76,7 @@ public class SchemaRepositoryConfiguration {
         SchemaVersionsRepository versionsRepository = new SimpleSchemaVersionsRepository(schemaSourceProvider);
         CompiledSchemaRepository<Schema> avroSchemaRepository = new DirectCompiledSchemaRepository<>(
                 schemaSourceProvider, SchemaCompilersFactory.avroSchemaCompiler());
-        CompiledSchemaRepository<JsonSchema> jsonSchemaRepository = new DirectCompiledSchemaRepository<>(
+        CompiledSchemaRepository<CompiledJsonSchema> jsonSchemaRepository = new DirectCompiledSchemaRepository<>(
                 schemaSourceProvider, SchemaCompilersFactory.jsonSchemaCompiler(objectMapper));
 
         return new SchemaRepository(versionsRepository, avroSchemaRepository, jsonSchemaRepository);
@@ -1,7 +1,25 @@
 package pl.allegro.tech.hermes.management.domain.subscription;
 
+import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.api.TopicName;
 
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
 public interface SubscriptionLagSource {
     long getLag(TopicName topicName, String subscriptionName);
+
+    /**
+     * Reads lag of many subscriptions at once. Sources reading lag remotely should override it to read offsets of all
+     * given subscriptions together.
+     */
+    default Map<SubscriptionName, Long> getLags(Collection<SubscriptionName> subscriptionNames) {
+        return subscriptionNames.stream().distinct().collect(toMap(
+                identity(),
+                subscriptionName -> getLag(subscriptionName.getTopicName(), subscriptionName.getName())
+        ));
+    }
 }
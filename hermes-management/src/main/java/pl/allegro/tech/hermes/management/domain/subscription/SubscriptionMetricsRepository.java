@@ -1,10 +1,23 @@
 package pl.allegro.tech.hermes.management.domain.subscription;
 
 import pl.allegro.tech.hermes.api.SubscriptionMetrics;
+import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.api.TopicName;
 
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
 public interface SubscriptionMetricsRepository {
 
     SubscriptionMetrics loadMetrics(TopicName topicName, String subscriptionName);
 
+    default Map<SubscriptionName, SubscriptionMetrics> loadMetrics(Collection<SubscriptionName> subscriptionNames) {
+        return subscriptionNames.stream().distinct().collect(toMap(
+                identity(),
+                subscriptionName -> loadMetrics(subscriptionName.getTopicName(), subscriptionName.getName())
+        ));
+    }
 }
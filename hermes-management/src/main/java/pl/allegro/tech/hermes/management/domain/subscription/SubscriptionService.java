@@ -8,7 +8,9 @@ import pl.allegro.tech.hermes.api.Query;
 import pl.allegro.tech.hermes.api.SentMessageTrace;
 import pl.allegro.tech.hermes.api.Subscription;
 import pl.allegro.tech.hermes.api.SubscriptionHealth;
+import pl.allegro.tech.hermes.api.SubscriptionHealthPage;
 import pl.allegro.tech.hermes.api.SubscriptionMetrics;
+import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.api.Topic;
 import pl.allegro.tech.hermes.api.TopicMetrics;
 import pl.allegro.tech.hermes.api.TopicName;
@@ -18,10 +20,13 @@ import pl.allegro.tech.hermes.domain.subscription.SubscriptionRepository;
 import pl.allegro.tech.hermes.management.api.validator.ApiPreconditions;
 import pl.allegro.tech.hermes.management.domain.Auditor;
 import pl.allegro.tech.hermes.management.domain.subscription.health.SubscriptionHealthChecker;
+import pl.allegro.tech.hermes.management.domain.subscription.health.SubscriptionsHealthService;
 import pl.allegro.tech.hermes.management.domain.topic.TopicService;
 import pl.allegro.tech.hermes.tracker.management.LogRepository;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,6 +39,7 @@ public class SubscriptionService {
     private final TopicService topicService;
     private final SubscriptionMetricsRepository metricsRepository;
     private final SubscriptionHealthChecker subscriptionHealthChecker;
+    private final SubscriptionsHealthService subscriptionsHealthService;
     private final UndeliveredMessageLog undeliveredMessageLog;
     private final LogRepository logRepository;
     private final ApiPreconditions preconditions;
@@ -44,6 +50,7 @@ public class SubscriptionService {
                                TopicService topicService,
                                SubscriptionMetricsRepository metricsRepository,
                                SubscriptionHealthChecker subscriptionHealthChecker,
+                               SubscriptionsHealthService subscriptionsHealthService,
                                UndeliveredMessageLog undeliveredMessageLog,
                                LogRepository logRepository,
                                ApiPreconditions apiPreconditions,
@@ -52,6 +59,7 @@ public class SubscriptionService {
         this.topicService = topicService;
         this.metricsRepository = metricsRepository;
         this.subscriptionHealthChecker = subscriptionHealthChecker;
+        this.subscriptionsHealthService = subscriptionsHealthService;
         this.undeliveredMessageLog = undeliveredMessageLog;
         this.logRepository = logRepository;
         this.preconditions = apiPreconditions;
@@ -128,6 +136,21 @@ public class SubscriptionService {
         return subscriptionHealthChecker.checkHealth(subscription, topicMetrics, subscriptionMetrics);
     }
 
+    public SubscriptionHealthPage querySubscriptionsHealth(Query<Subscription> query, int offset, int limit) {
+        List<Subscription> matching = query.filter(getAllSubscriptions())
+                .sorted(Comparator.comparing(subscription -> subscription.getQualifiedName().getQualifiedName()))
+                .collect(Collectors.toList());
+        List<Subscription> page = matching.stream().skip(offset).limit(limit).collect(Collectors.toList());
+        Map<SubscriptionName, SubscriptionHealth> health = subscriptionsHealthService.checkHealth(page);
+
+        return new SubscriptionHealthPage(offset, limit, matching.size(), page.stream()
+                .map(subscription -> new SubscriptionHealthPage.Entry(
+                        subscription.getTopicName().qualifiedName(),
+                        subscription.getName(),
+                        health.get(subscription.getQualifiedName())))
+                .collect(Collectors.toList()));
+    }
+
     public Optional<SentMessageTrace> getLatestUndeliveredMessage(TopicName topicName, String subscriptionName) {
         return undeliveredMessageLog.last(topicName, subscriptionName);
     }
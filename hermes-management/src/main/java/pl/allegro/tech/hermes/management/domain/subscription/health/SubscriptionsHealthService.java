@@ -0,0 +1,59 @@
+package pl.allegro.tech.hermes.management.domain.subscription.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.allegro.tech.hermes.api.Subscription;
+import pl.allegro.tech.hermes.api.SubscriptionHealth;
+import pl.allegro.tech.hermes.api.SubscriptionName;
+import pl.allegro.tech.hermes.api.TopicName;
+import pl.allegro.tech.hermes.management.domain.subscription.SubscriptionMetricsRepository;
+import pl.allegro.tech.hermes.management.domain.topic.TopicMetricsRepository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Evaluates health of many subscriptions at once. Metrics of all distinct topics and of all active subscriptions are
+ * loaded up front with one bulk call per kind, instead of two metric reads per checked subscription.
+ */
+@Component
+public class SubscriptionsHealthService {
+
+    private final TopicMetricsRepository topicMetricsRepository;
+    private final SubscriptionMetricsRepository subscriptionMetricsRepository;
+    private final SubscriptionHealthChecker subscriptionHealthChecker;
+
+    @Autowired
+    public SubscriptionsHealthService(TopicMetricsRepository topicMetricsRepository,
+                                      SubscriptionMetricsRepository subscriptionMetricsRepository,
+                                      SubscriptionHealthChecker subscriptionHealthChecker) {
+        this.topicMetricsRepository = topicMetricsRepository;
+        this.subscriptionMetricsRepository = subscriptionMetricsRepository;
+        this.subscriptionHealthChecker = subscriptionHealthChecker;
+    }
+
+    public Map<SubscriptionName, SubscriptionHealth> checkHealth(Collection<Subscription> subscriptions) {
+        Collection<Subscription> active = subscriptions.stream()
+                .filter(subscription -> subscription.getState() != Subscription.State.SUSPENDED)
+                .collect(toList());
+        Set<TopicName> topicNames = active.stream().map(Subscription::getTopicName).collect(toSet());
+
+        Map<TopicName, pl.allegro.tech.hermes.api.TopicMetrics> topicMetrics =
+                topicMetricsRepository.loadMetrics(topicNames);
+        Map<SubscriptionName, pl.allegro.tech.hermes.api.SubscriptionMetrics> subscriptionMetrics =
+                subscriptionMetricsRepository.loadMetrics(active.stream().map(Subscription::getQualifiedName).collect(toList()));
+
+        Map<SubscriptionName, SubscriptionHealth> health = new LinkedHashMap<>();
+        for (Subscription subscription : subscriptions) {
+            SubscriptionName name = subscription.getQualifiedName();
+            health.put(name, subscriptionHealthChecker.checkHealth(subscription,
+                    topicMetrics.get(subscription.getTopicName()), subscriptionMetrics.get(name)));
+        }
+        return health;
+    }
+}
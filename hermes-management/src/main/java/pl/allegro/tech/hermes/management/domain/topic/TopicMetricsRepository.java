@@ -3,8 +3,17 @@ package pl.allegro.tech.hermes.management.domain.topic;
 import pl.allegro.tech.hermes.api.TopicMetrics;
 import pl.allegro.tech.hermes.api.TopicName;
 
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
 public interface TopicMetricsRepository {
 
     TopicMetrics loadMetrics(TopicName topicName);
 
+    default Map<TopicName, TopicMetrics> loadMetrics(Collection<TopicName> topicNames) {
+        return topicNames.stream().distinct().collect(toMap(identity(), this::loadMetrics));
+    }
 }
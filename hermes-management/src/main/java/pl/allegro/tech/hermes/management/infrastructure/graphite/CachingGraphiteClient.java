@@ -40,6 +40,17 @@ public class CachingGraphiteClient implements GraphiteClient {
         }
     }
 
+    @Override
+    public GraphiteMetrics readMetrics(GraphiteBatchQuery query) {
+        Map<String, String> cached = graphiteMetricsCache.getAllPresent(query.getMetricPaths());
+        if (cached.size() == query.getMetricPaths().size()) {
+            return new GraphiteMetrics(cached);
+        }
+        GraphiteMetrics graphiteMetrics = underlyingGraphiteClient.readMetrics(query);
+        query.getMetricPaths().forEach(metricPath -> graphiteMetricsCache.put(metricPath, graphiteMetrics.metricValue(metricPath)));
+        return graphiteMetrics;
+    }
+
     private class GraphiteMetricsCacheLoader extends CacheLoader<String, String> {
         @Override
         public String load(String metricPath) {
@@ -0,0 +1,42 @@
+package pl.allegro.tech.hermes.management.infrastructure.graphite;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Metrics of many topics or subscriptions read in a single Graphite render request. Instead of one target per metric,
+ * query holds wildcard targets, each expanding into series for many metrics. Every expected series is mapped back to
+ * the metric path it would be read with on its own, so that results can be cached and looked up by metric path.
+ */
+public class GraphiteBatchQuery {
+
+    private final Set<String> targets = new LinkedHashSet<>();
+
+    private final Map<String, String> metricPathsBySeries = new HashMap<>();
+
+    public GraphiteBatchQuery add(String target, String series, String metricPath) {
+        targets.add(target);
+        metricPathsBySeries.put(series, metricPath);
+        return this;
+    }
+
+    public Set<String> getTargets() {
+        return targets;
+    }
+
+    public Collection<String> getMetricPaths() {
+        return metricPathsBySeries.values();
+    }
+
+    public Optional<String> metricPathOf(String series) {
+        return Optional.ofNullable(metricPathsBySeries.get(series));
+    }
+
+    public boolean isEmpty() {
+        return targets.isEmpty();
+    }
+}
@@ -1,5 +1,11 @@
 package pl.allegro.tech.hermes.management.infrastructure.graphite;
 
+import static com.google.common.collect.Iterables.toArray;
+
 public interface GraphiteClient {
     GraphiteMetrics readMetrics(String... metricPaths);
+
+    default GraphiteMetrics readMetrics(GraphiteBatchQuery query) {
+        return readMetrics(toArray(query.getMetricPaths(), String.class));
+    }
 }
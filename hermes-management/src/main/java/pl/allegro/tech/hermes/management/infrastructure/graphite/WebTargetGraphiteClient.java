@@ -4,9 +4,12 @@ import com.google.common.base.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Form;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
+import java.util.Collection;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -42,6 +45,24 @@ public class WebTargetGraphiteClient implements GraphiteClient {
         }
     }
 
+    @Override
+    public GraphiteMetrics readMetrics(GraphiteBatchQuery query) {
+        if (query.isEmpty()) {
+            return new GraphiteMetrics();
+        }
+        try {
+            GraphiteMetrics response = new GraphiteMetrics();
+            query.getMetricPaths().forEach(metricPath -> response.addMetricValue(metricPath, DEFAULT_VALUE));
+            postQuery(query.getTargets()).forEach(series -> query.metricPathOf(series.getTarget())
+                    .ifPresent(metricPath -> response.addMetricValue(metricPath, getFirstValue(series))));
+            return response;
+        } catch (Exception exception) {
+            logger.warn("Unable to read batch of {} metrics from Graphite. {}",
+                    query.getMetricPaths().size(), getRootCauseMessage(exception));
+            return GraphiteMetrics.unavailable(query.getMetricPaths().toArray(new String[0]));
+        }
+    }
+
     private String getFirstValue(GraphiteResponse graphiteResponse) {
         checkArgument(hasDatapoints(graphiteResponse), "Graphite format changed. Reexamine implementation.");
         String value = graphiteResponse.getDatapoints().get(0).get(0);
@@ -61,6 +82,12 @@ public class WebTargetGraphiteClient implements GraphiteClient {
         return webQuery.request(MediaType.APPLICATION_JSON).get().readEntity(new GraphiteResponseList());
     }
 
+    private List<GraphiteResponse> postQuery(Collection<String> targets) {
+        Form form = new Form();
+        targets.forEach(target -> form.param(TARGET_PARAM, target));
+        return webTarget.request(MediaType.APPLICATION_JSON).post(Entity.form(form)).readEntity(new GraphiteResponseList());
+    }
+
     private static class GraphiteResponseList extends GenericType<List<GraphiteResponse>> {
     }
 }
@@ -3,16 +3,26 @@ package pl.allegro.tech.hermes.management.infrastructure.metrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import pl.allegro.tech.hermes.api.SubscriptionMetrics;
+import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.api.TopicName;
 import pl.allegro.tech.hermes.infrastructure.zookeeper.ZookeeperPaths;
 import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.DistributedEphemeralCounter;
 import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.SharedCounter;
 import pl.allegro.tech.hermes.management.domain.subscription.SubscriptionLagSource;
 import pl.allegro.tech.hermes.management.domain.subscription.SubscriptionMetricsRepository;
+import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteBatchQuery;
 import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteClient;
 import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteMetrics;
 import pl.allegro.tech.hermes.management.stub.MetricsPaths;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static pl.allegro.tech.hermes.common.metric.HermesMetrics.escapeDots;
 
 @Component
@@ -23,6 +33,9 @@ public class HybridSubscriptionMetricsRepository implements SubscriptionMetricsR
     private static final String SUBSCRIPTION_ERROR_TIMEOUT_PATTERN = "sumSeries(%s.consumer.*.status.%s.%s.%s.errors.timeout.m1_rate)";
     private static final String SUBSCRIPTION_ERROR_OTHER_PATTERN = "sumSeries(%s.consumer.*.status.%s.%s.%s.errors.other.m1_rate)";
 
+    private static final String TOPIC_SUBSCRIPTIONS_WILDCARD_PATTERN = "sumSeriesWithWildcards(%s.consumer.*.%s.%s.%s.*%s.m1_rate, %d)";
+    private static final String SUBSCRIPTION_SERIES_PATTERN = "%s.consumer.%s.%s.%s.%s%s.m1_rate";
+
     private final GraphiteClient graphiteClient;
 
     private final MetricsPaths metricsPaths;
@@ -58,23 +71,107 @@ public class HybridSubscriptionMetricsRepository implements SubscriptionMetricsR
 
         GraphiteMetrics metrics = graphiteClient.readMetrics(codes2xxPath, codes4xxPath, codes5xxPath, rateMetric, timeouts, otherErrors);
 
+        return buildMetrics(topicName, subscriptionName, metrics);
+    }
+
+    /**
+     * Reads Graphite metrics of all given subscriptions in one request, with one wildcard target per topic and metric
+     * type. Results are stored under the same metric paths as single subscription reads use, so they are shared through
+     * Graphite client cache. ZooKeeper counters and lag of all subscriptions are read together as well, so the number
+     * of round trips does not grow with the number of subscriptions.
+     */
+    @Override
+    public Map<SubscriptionName, SubscriptionMetrics> loadMetrics(Collection<SubscriptionName> subscriptionNames) {
+        List<SubscriptionName> distinctNames = subscriptionNames.stream().distinct().collect(toList());
+        GraphiteBatchQuery query = new GraphiteBatchQuery();
+        distinctNames.forEach(subscriptionName -> {
+            TopicName topicName = subscriptionName.getTopicName();
+            String name = subscriptionName.getName();
+            addToQuery(query, topicName, name, "meter", "", metricPath(topicName, name));
+            addToQuery(query, topicName, name, "status", ".errors.timeout", metricPathTimeouts(topicName, name));
+            addToQuery(query, topicName, name, "status", ".errors.other", metricPathOtherErrors(topicName, name));
+            for (String statusCodeClass : new String[]{"2xx", "4xx", "5xx"}) {
+                addToQuery(query, topicName, name, "status", "." + statusCodeClass,
+                        metricPathHttpStatuses(topicName, name, statusCodeClass));
+            }
+        });
+
+        GraphiteMetrics metrics = graphiteClient.readMetrics(query);
+
+        List<String> sharedCounterPaths = new ArrayList<>(2 * distinctNames.size());
+        List<String> inflightPaths = new ArrayList<>(distinctNames.size());
+        distinctNames.forEach(subscriptionName -> {
+            TopicName topicName = subscriptionName.getTopicName();
+            sharedCounterPaths.add(deliveredPath(topicName, subscriptionName.getName()));
+            sharedCounterPaths.add(discardedPath(topicName, subscriptionName.getName()));
+            inflightPaths.add(inflightPath(topicName, subscriptionName.getName()));
+        });
+        Map<String, Long> sharedCounters = sharedCounter.getValues(sharedCounterPaths);
+        Map<String, Long> inflights = distributedCounter.getValues(zookeeperPaths.consumersPath(), inflightPaths);
+        Map<SubscriptionName, Long> lags = lagSource.getLags(distinctNames);
+
+        return distinctNames.stream().collect(toMap(
+                identity(),
+                subscriptionName -> {
+                    TopicName topicName = subscriptionName.getTopicName();
+                    String name = subscriptionName.getName();
+                    return buildMetrics(topicName, name, metrics,
+                            sharedCounters.getOrDefault(deliveredPath(topicName, name), 0L),
+                            sharedCounters.getOrDefault(discardedPath(topicName, name), 0L),
+                            inflights.getOrDefault(inflightPath(topicName, name), 0L),
+                            lags.getOrDefault(subscriptionName, -1L));
+                }
+        ));
+    }
+
+    private SubscriptionMetrics buildMetrics(TopicName topicName, String subscriptionName, GraphiteMetrics metrics) {
+        return buildMetrics(topicName, subscriptionName, metrics,
+                sharedCounter.getValue(deliveredPath(topicName, subscriptionName)),
+                sharedCounter.getValue(discardedPath(topicName, subscriptionName)),
+                distributedCounter.getValue(zookeeperPaths.consumersPath(), inflightPath(topicName, subscriptionName)),
+                lagSource.getLag(topicName, subscriptionName));
+    }
+
+    private SubscriptionMetrics buildMetrics(TopicName topicName, String subscriptionName, GraphiteMetrics metrics,
+                                             long delivered, long discarded, long inflight, long lag) {
         return SubscriptionMetrics.Builder.subscriptionMetrics()
-                .withRate(metrics.metricValue(rateMetric))
-                .withDelivered(sharedCounter.getValue(zookeeperPaths.subscriptionMetricPath(topicName, subscriptionName, "delivered")))
-                .withDiscarded(sharedCounter.getValue(zookeeperPaths.subscriptionMetricPath(topicName, subscriptionName, "discarded")))
-                .withInflight(distributedCounter.getValue(
-                        zookeeperPaths.consumersPath(),
-                        zookeeperPaths.subscriptionMetricPathWithoutBasePath(topicName, subscriptionName, "inflight")
-                ))
-                .withCodes2xx(metrics.metricValue(codes2xxPath))
-                .withCodes4xx(metrics.metricValue(codes4xxPath))
-                .withCodes5xx(metrics.metricValue(codes5xxPath))
-                .withTimeouts(metrics.metricValue(timeouts))
-                .withOtherErrors(metrics.metricValue(otherErrors))
-                .withLag(lagSource.getLag(topicName, subscriptionName))
+                .withRate(metrics.metricValue(metricPath(topicName, subscriptionName)))
+                .withDelivered(delivered)
+                .withDiscarded(discarded)
+                .withInflight(inflight)
+                .withCodes2xx(metrics.metricValue(metricPathHttpStatuses(topicName, subscriptionName, "2xx")))
+                .withCodes4xx(metrics.metricValue(metricPathHttpStatuses(topicName, subscriptionName, "4xx")))
+                .withCodes5xx(metrics.metricValue(metricPathHttpStatuses(topicName, subscriptionName, "5xx")))
+                .withTimeouts(metrics.metricValue(metricPathTimeouts(topicName, subscriptionName)))
+                .withOtherErrors(metrics.metricValue(metricPathOtherErrors(topicName, subscriptionName)))
+                .withLag(lag)
                 .build();
     }
 
+    private String deliveredPath(TopicName topicName, String subscriptionName) {
+        return zookeeperPaths.subscriptionMetricPath(topicName, subscriptionName, "delivered");
+    }
+
+    private String discardedPath(TopicName topicName, String subscriptionName) {
+        return zookeeperPaths.subscriptionMetricPath(topicName, subscriptionName, "discarded");
+    }
+
+    private String inflightPath(TopicName topicName, String subscriptionName) {
+        return zookeeperPaths.subscriptionMetricPathWithoutBasePath(topicName, subscriptionName, "inflight");
+    }
+
+    private void addToQuery(GraphiteBatchQuery query, TopicName topicName, String subscriptionName,
+                            String metricType, String suffix, String metricPath) {
+        String groupName = escapeDots(topicName.getGroupName());
+        query.add(
+                String.format(TOPIC_SUBSCRIPTIONS_WILDCARD_PATTERN,
+                        metricsPaths.prefix(), metricType, groupName, topicName.getName(), suffix, metricsPaths.hostnameNode()),
+                String.format(SUBSCRIPTION_SERIES_PATTERN,
+                        metricsPaths.prefix(), metricType, groupName, topicName.getName(), escapeDots(subscriptionName), suffix),
+                metricPath
+        );
+    }
+
     private String metricPath(TopicName topicName, String subscriptionName) {
         return String.format(SUBSCRIPTION_RATE_PATTERN,
                 metricsPaths.prefix(), escapeDots(topicName.getGroupName()), topicName.getName(), escapeDots(subscriptionName)
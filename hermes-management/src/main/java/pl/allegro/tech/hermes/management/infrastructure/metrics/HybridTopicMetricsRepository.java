@@ -8,10 +8,16 @@ import pl.allegro.tech.hermes.domain.subscription.SubscriptionRepository;
 import pl.allegro.tech.hermes.infrastructure.zookeeper.ZookeeperPaths;
 import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.SharedCounter;
 import pl.allegro.tech.hermes.management.domain.topic.TopicMetricsRepository;
+import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteBatchQuery;
 import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteClient;
 import pl.allegro.tech.hermes.management.infrastructure.graphite.GraphiteMetrics;
 import pl.allegro.tech.hermes.management.stub.MetricsPaths;
 
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static pl.allegro.tech.hermes.common.metric.HermesMetrics.escapeDots;
 
 @Component
@@ -21,6 +27,10 @@ public class HybridTopicMetricsRepository implements TopicMetricsRepository {
 
     private static final String DELIVERY_RATE_PATTERN = "sumSeries(%s.consumer.*.meter.%s.%s.m1_rate)";
 
+    private static final String GROUP_TOPICS_WILDCARD_PATTERN = "sumSeriesWithWildcards(%s.%s.*.meter.%s.*.m1_rate, %d)";
+
+    private static final String TOPIC_SERIES_PATTERN = "%s.%s.meter.%s.%s.m1_rate";
+
     private final GraphiteClient graphiteClient;
 
     private final MetricsPaths metricsPaths;
@@ -49,14 +59,45 @@ public class HybridTopicMetricsRepository implements TopicMetricsRepository {
 
         GraphiteMetrics metrics = graphiteClient.readMetrics(rateMetric, deliveryRateMetric);
 
+        return buildMetrics(topicName, metrics);
+    }
+
+    /**
+     * Reads Graphite metrics of all given topics in one request, with one wildcard target per group and metric type.
+     * Results are stored under the same metric paths as single topic reads use, so they are shared through Graphite
+     * client cache.
+     */
+    @Override
+    public Map<TopicName, TopicMetrics> loadMetrics(Collection<TopicName> topicNames) {
+        GraphiteBatchQuery query = new GraphiteBatchQuery();
+        topicNames.forEach(topicName -> {
+            addToQuery(query, topicName, "producer", metricPath(RATE_PATTERN, topicName));
+            addToQuery(query, topicName, "consumer", metricPath(DELIVERY_RATE_PATTERN, topicName));
+        });
+
+        GraphiteMetrics metrics = graphiteClient.readMetrics(query);
+
+        return topicNames.stream().distinct().collect(toMap(identity(), topicName -> buildMetrics(topicName, metrics)));
+    }
+
+    private TopicMetrics buildMetrics(TopicName topicName, GraphiteMetrics metrics) {
         return TopicMetrics.Builder.topicMetrics()
-                .withRate(metrics.metricValue(rateMetric))
-                .withDeliveryRate(metrics.metricValue(deliveryRateMetric))
+                .withRate(metrics.metricValue(metricPath(RATE_PATTERN, topicName)))
+                .withDeliveryRate(metrics.metricValue(metricPath(DELIVERY_RATE_PATTERN, topicName)))
                 .withPublished(sharedCounter.getValue(zookeeperPaths.topicMetricPath(topicName, "published")))
                 .withSubscriptions(subscriptionRepository.listSubscriptionNames(topicName).size())
                 .build();
     }
 
+    private void addToQuery(GraphiteBatchQuery query, TopicName topicName, String module, String metricPath) {
+        String groupName = escapeDots(topicName.getGroupName());
+        query.add(
+                String.format(GROUP_TOPICS_WILDCARD_PATTERN, metricsPaths.prefix(), module, groupName, metricsPaths.hostnameNode()),
+                String.format(TOPIC_SERIES_PATTERN, metricsPaths.prefix(), module, groupName, escapeDots(topicName.getName())),
+                metricPath
+        );
+    }
+
     private String metricPath(String pattern, TopicName topicName) {
         return String.format(pattern, metricsPaths.prefix(), escapeDots(topicName.getGroupName()), escapeDots(topicName.getName()));
     }
@@ -1,11 +1,23 @@
 package pl.allegro.tech.hermes.management.infrastructure.metrics;
 
+import pl.allegro.tech.hermes.api.SubscriptionName;
 import pl.allegro.tech.hermes.api.TopicName;
 import pl.allegro.tech.hermes.management.domain.subscription.SubscriptionLagSource;
 
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
 public class NoOpSubscriptionLagSource implements SubscriptionLagSource {
     @Override
     public long getLag(TopicName topicName, String subscriptionName) {
         return -1;
     }
+
+    @Override
+    public Map<SubscriptionName, Long> getLags(Collection<SubscriptionName> subscriptionNames) {
+        return subscriptionNames.stream().distinct().collect(toMap(identity(), subscriptionName -> -1L));
+    }
 }
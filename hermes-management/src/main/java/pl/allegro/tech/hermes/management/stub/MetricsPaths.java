@@ -12,4 +12,11 @@ public class MetricsPaths {
         return prefix;
     }
 
+    /**
+     * Zero-based position of hostname in {@code <prefix>.<module>.<hostname>...} metric paths.
+     */
+    public int hostnameNode() {
+        return prefix.split("\\.").length + 1;
+    }
+
 }
@@ -0,0 +1,62 @@
+package pl.allegro.tech.hermes.management.domain.subscription
+
+import pl.allegro.tech.hermes.api.TopicName
+import pl.allegro.tech.hermes.management.domain.subscription.health.SubscriptionHealthChecker
+import pl.allegro.tech.hermes.management.domain.subscription.health.SubscriptionsHealthService
+import pl.allegro.tech.hermes.management.domain.subscription.health.problem.SlowIndicator
+import pl.allegro.tech.hermes.management.domain.topic.TopicMetricsRepository
+import spock.lang.Specification
+
+import static pl.allegro.tech.hermes.api.Subscription.State.ACTIVE
+import static pl.allegro.tech.hermes.api.Subscription.State.SUSPENDED
+import static pl.allegro.tech.hermes.api.SubscriptionHealth.HEALTHY
+import static pl.allegro.tech.hermes.api.SubscriptionHealth.Problem.SLOW
+import static pl.allegro.tech.hermes.api.SubscriptionMetrics.Builder.subscriptionMetrics
+import static pl.allegro.tech.hermes.api.TopicMetrics.Builder.topicMetrics
+import static pl.allegro.tech.hermes.test.helper.builder.SubscriptionBuilder.subscription
+
+class SubscriptionsHealthServiceTest extends Specification {
+
+    def topicMetricsRepository = Mock(TopicMetricsRepository)
+    def subscriptionMetricsRepository = Mock(SubscriptionMetricsRepository)
+
+    def service = new SubscriptionsHealthService(topicMetricsRepository, subscriptionMetricsRepository,
+            new SubscriptionHealthChecker([new SlowIndicator(0.8)] as Set))
+
+    def "should evaluate health of many subscriptions with single bulk metrics read per kind"() {
+        given:
+        def topic = new TopicName('group', 'topic')
+        def fast = subscription(topic, 'fast').withState(ACTIVE).build()
+        def slow = subscription(topic, 'slow').withState(ACTIVE).build()
+        def suspended = subscription(topic, 'suspended').withState(SUSPENDED).build()
+
+        when:
+        def health = service.checkHealth([fast, slow, suspended])
+
+        then:
+        1 * topicMetricsRepository.loadMetrics([topic] as Set) >> [(topic): topicMetrics().withRate('100.0').build()]
+        1 * subscriptionMetricsRepository.loadMetrics([fast.qualifiedName, slow.qualifiedName]) >> [
+                (fast.qualifiedName): metricsWithRate('100.0'),
+                (slow.qualifiedName): metricsWithRate('10.0')
+        ]
+        0 * topicMetricsRepository.loadMetrics(_ as TopicName)
+        0 * subscriptionMetricsRepository.loadMetrics(_ as TopicName, _ as String)
+
+        and:
+        health[fast.qualifiedName] == HEALTHY
+        health[slow.qualifiedName].problems == [SLOW] as Set
+        health[suspended.qualifiedName] == HEALTHY
+    }
+
+    private static metricsWithRate(String rate) {
+        subscriptionMetrics()
+                .withRate(rate)
+                .withTimeouts('0.0')
+                .withOtherErrors('0.0')
+                .withCodes2xx(rate)
+                .withCodes4xx('0.0')
+                .withCodes5xx('0.0')
+                .withLag(0)
+                .build()
+    }
+}
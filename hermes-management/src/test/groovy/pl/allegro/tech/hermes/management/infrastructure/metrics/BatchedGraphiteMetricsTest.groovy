@@ -0,0 +1,105 @@
+package pl.allegro.tech.hermes.management.infrastructure.metrics
+
+import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider
+import com.github.tomakehurst.wiremock.client.WireMock
+import com.github.tomakehurst.wiremock.junit.WireMockRule
+import org.junit.Rule
+import pl.allegro.tech.hermes.api.SubscriptionName
+import pl.allegro.tech.hermes.api.TopicName
+import pl.allegro.tech.hermes.infrastructure.zookeeper.ZookeeperPaths
+import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.DistributedEphemeralCounter
+import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.SharedCounter
+import pl.allegro.tech.hermes.management.infrastructure.graphite.CachingGraphiteClient
+import pl.allegro.tech.hermes.management.infrastructure.graphite.WebTargetGraphiteClient
+import pl.allegro.tech.hermes.management.stub.MetricsPaths
+import pl.allegro.tech.hermes.test.helper.cache.FakeTicker
+import pl.allegro.tech.hermes.test.helper.util.Ports
+import spock.lang.Specification
+
+import javax.ws.rs.client.ClientBuilder
+import javax.ws.rs.core.MediaType
+import java.time.Duration
+
+class BatchedGraphiteMetricsTest extends Specification {
+
+    private static final int GRAPHITE_HTTP_PORT = Ports.nextAvailable()
+
+    private static final String RENDER_URL = "/render?from=-1minutes&until=now&format=json"
+
+    private static final int CACHE_TTL_IN_SECONDS = 30
+
+    @Rule
+    WireMockRule wireMockRule = new WireMockRule(GRAPHITE_HTTP_PORT)
+
+    private FakeTicker ticker = new FakeTicker()
+
+    private HybridSubscriptionMetricsRepository repository
+
+    private List<SubscriptionName> subscriptions = [
+            new SubscriptionName('subscription1', new TopicName('group', 'topic1')),
+            new SubscriptionName('subscription2', new TopicName('group', 'topic1')),
+            new SubscriptionName('subscription3', new TopicName('group', 'topic2'))
+    ]
+
+    void setup() {
+        def webTarget = ClientBuilder.newClient()
+                .register(JacksonJsonProvider.class)
+                .target("http://localhost:$GRAPHITE_HTTP_PORT")
+        def graphiteClient = new CachingGraphiteClient(new WebTargetGraphiteClient(webTarget), ticker, CACHE_TTL_IN_SECONDS, 1000)
+        repository = new HybridSubscriptionMetricsRepository(graphiteClient, new MetricsPaths("stats"),
+                Stub(SharedCounter), Stub(DistributedEphemeralCounter), new ZookeeperPaths("/hermes"), new NoOpSubscriptionLagSource())
+
+        mockGraphite([
+                'stats.consumer.meter.group.topic1.subscription1.m1_rate'     : '10',
+                'stats.consumer.meter.group.topic1.subscription2.m1_rate'     : '20',
+                'stats.consumer.meter.group.topic2.subscription3.m1_rate'     : '30',
+                'stats.consumer.status.group.topic1.subscription1.5xx.m1_rate': '5'
+        ])
+    }
+
+    def "should read metrics of many subscriptions in single render request"() {
+        when:
+        def metrics = repository.loadMetrics(subscriptions)
+
+        then:
+        metrics[subscriptions[0]].rate == '10'
+        metrics[subscriptions[1]].rate == '20'
+        metrics[subscriptions[2]].rate == '30'
+        metrics[subscriptions[0]].codes5xx == '5'
+        metrics[subscriptions[2]].codes5xx == '0.0'
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo(RENDER_URL)))
+    }
+
+    def "should serve single subscription metrics from batch cached until TTL expires"() {
+        given:
+        repository.loadMetrics(subscriptions)
+
+        when:
+        def metrics = repository.loadMetrics(new TopicName('group', 'topic2'), 'subscription3')
+        repository.loadMetrics(subscriptions)
+
+        then:
+        metrics.rate == '30'
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlMatching("/render.*")))
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo(RENDER_URL)))
+
+        when:
+        ticker.advance(Duration.ofSeconds(CACHE_TTL_IN_SECONDS + 1))
+        repository.loadMetrics(subscriptions)
+
+        then:
+        WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(RENDER_URL)))
+    }
+
+    private void mockGraphite(Map<String, String> series) {
+        String body = "[" + series.collect { target, value ->
+            "{\"target\": \"$target\", \"datapoints\": [[$value, ${new Date().getTime()}]]}"
+        }.join(",") + "]"
+
+        WireMock.stubFor(WireMock.post(WireMock.urlEqualTo(RENDER_URL))
+                .willReturn(WireMock.aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON)
+                .withBody(body)))
+    }
+}
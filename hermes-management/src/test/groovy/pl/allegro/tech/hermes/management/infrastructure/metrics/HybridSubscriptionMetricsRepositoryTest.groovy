@@ -1,6 +1,7 @@
 package pl.allegro.tech.hermes.management.infrastructure.metrics
 
 import pl.allegro.tech.hermes.api.SubscriptionMetrics
+import pl.allegro.tech.hermes.api.SubscriptionName
 import pl.allegro.tech.hermes.api.TopicName
 import pl.allegro.tech.hermes.infrastructure.zookeeper.ZookeeperPaths
 import pl.allegro.tech.hermes.infrastructure.zookeeper.counter.DistributedEphemeralCounter
@@ -70,6 +71,42 @@ class HybridSubscriptionMetricsRepositoryTest extends Specification {
         metrics.codes5xx == '5'
     }
 
+    def "should read counters and lag of many subscriptions at once"() {
+        given:
+        SharedCounter sharedCounter = Mock(SharedCounter)
+        DistributedEphemeralCounter distributedCounter = Mock(DistributedEphemeralCounter)
+        SubscriptionLagSource lagSource = Mock(SubscriptionLagSource)
+        def repository = new HybridSubscriptionMetricsRepository(client, paths, sharedCounter, distributedCounter,
+                zookeeperPaths, lagSource)
+        def first = new SubscriptionName('first', new TopicName('group', 'topic'))
+        def second = new SubscriptionName('second', new TopicName('group', 'topic'))
+        client.readMetrics(_) >> new GraphiteMetrics()
+
+        when:
+        def metrics = repository.loadMetrics([first, second])
+
+        then:
+        1 * sharedCounter.getValues(_) >> [
+                '/hermes/groups/group/topics/topic/subscriptions/first/metrics/delivered' : 100L,
+                '/hermes/groups/group/topics/topic/subscriptions/second/metrics/discarded': 2L
+        ]
+        1 * distributedCounter.getValues('/hermes/consumers', _) >> [
+                '/groups/group/topics/topic/subscriptions/second/metrics/inflight': 5L
+        ]
+        1 * lagSource.getLags([first, second]) >> [(first): 10L, (second): 20L]
+        0 * sharedCounter.getValue(_)
+        0 * distributedCounter.getValue(_, _)
+        0 * lagSource.getLag(_, _)
+
+        and:
+        metrics[first].delivered == 100
+        metrics[first].discarded == 0
+        metrics[second].discarded == 2
+        metrics[second].inflight == 5
+        metrics[first].lag == 10
+        metrics[second].lag == 20
+    }
+
     private static String getHttpStatusCodeForFamily(int family) {
         "sumSeries(stats.consumer.*.status.group.topic.subscription.${family}xx.m1_rate)"
     }
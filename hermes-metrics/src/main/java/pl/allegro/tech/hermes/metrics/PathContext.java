@@ -14,6 +14,8 @@ public class PathContext {
     private final Optional<String> httpCodeFamily;
     private final Optional<String> executorName;
     private final Optional<String> oAuthProviderName;
+    private final Optional<String> httpClientName;
+    private final Optional<String> destination;
 
     private PathContext(Optional<String> group,
                         Optional<String> topic,
@@ -24,7 +26,9 @@ public class PathContext {
                         Optional<Integer> httpCode,
                         Optional<String> httpCodeFamily,
                         Optional<String> executorName,
-                        Optional<String> oAuthProviderName)  {
+                        Optional<String> oAuthProviderName,
+                        Optional<String> httpClientName,
+                        Optional<String> destination)  {
         this.group = group;
         this.topic = topic;
         this.subscription = subscription;
@@ -35,6 +39,8 @@ public class PathContext {
         this.httpCodeFamily = httpCodeFamily;
         this.executorName = executorName;
         this.oAuthProviderName = oAuthProviderName;
+        this.httpClientName = httpClientName;
+        this.destination = destination;
     }
 
     public Optional<String> getGroup() {
@@ -77,6 +83,14 @@ public class PathContext {
         return oAuthProviderName;
     }
 
+    public Optional<String> getHttpClientName() {
+        return httpClientName;
+    }
+
+    public Optional<String> getDestination() {
+        return destination;
+    }
+
     public static Builder pathContext() {
         return new Builder();
     }
@@ -93,6 +107,8 @@ public class PathContext {
         private Optional<String> httpCodeFamily = Optional.empty();
         private Optional<String> executorName = Optional.empty();
         private Optional<String> oAuthProviderName = Optional.empty();
+        private Optional<String> httpClientName = Optional.empty();
+        private Optional<String> destination = Optional.empty();
 
         public Builder withGroup(String group) {
             this.group = Optional.of(group);
@@ -144,9 +160,19 @@ public class PathContext {
             return this;
         }
 
+        public Builder withHttpClientName(String httpClientName) {
+            this.httpClientName = Optional.of(httpClientName);
+            return this;
+        }
+
+        public Builder withDestination(String destination) {
+            this.destination = Optional.of(destination);
+            return this;
+        }
+
         public PathContext build() {
             return new PathContext(group, topic, subscription, kafkaTopic, partition, kafkaCluster,
-                    httpCode, httpCodeFamily, executorName, oAuthProviderName);
+                    httpCode, httpCodeFamily, executorName, oAuthProviderName, httpClientName, destination);
         }
     }
 }
@@ -17,6 +17,8 @@ public class PathsCompiler {
     public static final String HTTP_CODE_FAMILY = "$http_family_of_code";
     public static final String EXECUTOR_NAME = "$executor_name";
     public static final String OAUTH_PROVIDER_NAME = "$oauth_provider_name";
+    public static final String HTTP_CLIENT_NAME = "$http_client_name";
+    public static final String DESTINATION = "$destination";
 
     private final String hostname;
 
@@ -41,6 +43,8 @@ public class PathsCompiler {
         context.getHttpCodeFamily().ifPresent(cf -> pathBuilder.replaceAll(HTTP_CODE_FAMILY, cf));
         context.getExecutorName().ifPresent(c -> pathBuilder.replaceAll(EXECUTOR_NAME, c));
         context.getoAuthProviderName().ifPresent(c -> pathBuilder.replaceAll(OAUTH_PROVIDER_NAME, c));
+        context.getHttpClientName().ifPresent(c -> pathBuilder.replaceAll(HTTP_CLIENT_NAME, c));
+        context.getDestination().ifPresent(d -> pathBuilder.replaceAll(DESTINATION, d));
 
         pathBuilder.replaceAll(HOSTNAME, hostname);
 
@@ -1,6 +1,7 @@
 package pl.allegro.tech.hermes.test.helper.builder;
 
 import pl.allegro.tech.hermes.api.ContentType;
+import pl.allegro.tech.hermes.api.PublishingQuota;
 import pl.allegro.tech.hermes.api.RetentionTime;
 import pl.allegro.tech.hermes.api.Topic;
 import pl.allegro.tech.hermes.api.TopicName;
@@ -29,6 +30,8 @@ public class TopicBuilder {
 
     private boolean schemaVersionAwareSerialization = false;
 
+    private PublishingQuota publishingQuota = PublishingQuota.unlimited();
+
     private TopicBuilder(TopicName topicName) {
         this.name = topicName;
     }
@@ -48,7 +51,7 @@ public class TopicBuilder {
     public Topic build() {
         return new Topic(
                 name, description, retentionTime, validationEnabled, validationDryRunEnabled, migratedFromJsonType,
-                ack, trackingEnabled, contentType, jsonToAvroDryRunEnabled, schemaVersionAwareSerialization
+                ack, trackingEnabled, contentType, jsonToAvroDryRunEnabled, schemaVersionAwareSerialization, publishingQuota
         );
     }
 
@@ -106,4 +109,9 @@ public class TopicBuilder {
         this.schemaVersionAwareSerialization = true;
         return this;
     }
+
+    public TopicBuilder withPublishingQuota(PublishingQuota publishingQuota) {
+        this.publishingQuota = publishingQuota;
+        return this;
+    }
 }
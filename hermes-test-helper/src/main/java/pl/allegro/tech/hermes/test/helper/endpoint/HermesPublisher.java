@@ -39,6 +39,10 @@ public class HermesPublisher {
         return webTarget.path(qualifiedTopicName).request().headers(new MultivaluedHashMap<>(headers)).post(Entity.entity(message, "avro/binary"));
     }
 
+    public Response publishBatch(String qualifiedTopicName, String messages) {
+        return webTarget.path(qualifiedTopicName).path("batch").request().post(Entity.json(messages));
+    }
+
     private Hermes hermes(String hermesFrontendUrl) {
         return new Hermes(hermesFrontendUrl)
                 .withManagementConfig(JerseyClientFactory.createConfig())
@@ -1,15 +1,22 @@
 package pl.allegro.tech.hermes.tracker.elasticsearch;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * Creates index name for current day. The name is resolved once and reused until clock crosses the day boundary.
+ */
 public abstract class DailyIndexFactory implements IndexFactory {
 
     private final String basePath;
     private final Clock clock;
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy_MM_dd");
 
+    private volatile DailyIndex current;
+
     public DailyIndexFactory(String basePath) {
         this(basePath, Clock.systemUTC());
     }
@@ -21,6 +28,36 @@ public abstract class DailyIndexFactory implements IndexFactory {
 
     @Override
     public String createIndex() {
-        return basePath + "_" + dateTimeFormatter.format(LocalDate.now(clock));
+        DailyIndex index = current;
+        long now = clock.millis();
+        if (index == null || !index.isValidAt(now)) {
+            index = resolve(Instant.ofEpochMilli(now));
+            current = index;
+        }
+        return index.name;
+    }
+
+    private DailyIndex resolve(Instant now) {
+        ZoneId zone = clock.getZone();
+        LocalDate day = now.atZone(zone).toLocalDate();
+        return new DailyIndex(basePath + "_" + dateTimeFormatter.format(day),
+                day.atStartOfDay(zone).toInstant().toEpochMilli(),
+                day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+
+    private static class DailyIndex {
+        private final String name;
+        private final long validFrom;
+        private final long validUntil;
+
+        DailyIndex(String name, long validFrom, long validUntil) {
+            this.name = name;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+        }
+
+        boolean isValidAt(long millis) {
+            return millis >= validFrom && millis < validUntil;
+        }
     }
 }
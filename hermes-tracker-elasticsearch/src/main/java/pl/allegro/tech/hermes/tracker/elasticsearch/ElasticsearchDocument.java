@@ -1,27 +1,33 @@
 package pl.allegro.tech.hermes.tracker.elasticsearch;
 
-import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 
-import java.util.concurrent.Callable;
+import java.io.IOException;
 
+/**
+ * Tracking event waiting to be indexed. Only fields of the event are captured when it is logged, serialization
+ * happens later on committer thread, so that threads publishing and delivering messages do not pay for it.
+ */
 public class ElasticsearchDocument {
 
-    private final BytesReference bytesReference;
+    private final DocumentWriter writer;
 
-    private ElasticsearchDocument(BytesReference bytesReference) {
-        this.bytesReference = bytesReference;
+    private ElasticsearchDocument(DocumentWriter writer) {
+        this.writer = writer;
     }
 
-    public BytesReference bytes() {
-        return bytesReference;
+    public void writeTo(XContentBuilder builder) throws IOException {
+        builder.startObject();
+        writer.write(builder);
+        builder.endObject();
     }
 
-    public static ElasticsearchDocument build(Callable<XContentBuilder> builder) {
-        try {
-            return new ElasticsearchDocument(builder.call().bytes());
-        } catch (Exception e) {
-            throw new ElasticsearchRepositoryException(e);
-        }
+    public static ElasticsearchDocument document(DocumentWriter writer) {
+        return new ElasticsearchDocument(writer);
+    }
+
+    @FunctionalInterface
+    public interface DocumentWriter {
+        void write(XContentBuilder builder) throws IOException;
     }
 }
@@ -1,46 +1,135 @@
 package pl.allegro.tech.hermes.tracker.elasticsearch;
 
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.tracker.QueueCommitter;
+import pl.allegro.tech.hermes.tracker.TrackingBuffer;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 
+/**
+ * Serializes buffered documents into single reused buffer and indexes them in bulks limited by their size in bytes.
+ * Up to {@code maxInflightBulks} bulks are executed concurrently, committer waits for a free slot before sending
+ * the next one. Index name is resolved once per commit.
+ */
 public class ElasticsearchQueueCommitter extends QueueCommitter<ElasticsearchDocument> {
 
+    private static final Logger logger = LoggerFactory.getLogger(ElasticsearchQueueCommitter.class);
+
+    private static final int DOCUMENT_EXPECTED_SIZE = 1024;
+
     private final IndexFactory indexFactory;
     private final Client client;
     private final String typeName;
+    private final Meter failedDocuments;
+    private final int maxBulkSizeBytes;
+    private final Semaphore inflightBulks;
+    private final BytesStreamOutput buffer = new BytesStreamOutput(DOCUMENT_EXPECTED_SIZE);
 
-    public ElasticsearchQueueCommitter(BlockingQueue<ElasticsearchDocument> queue,
+    public ElasticsearchQueueCommitter(TrackingBuffer<ElasticsearchDocument> queue,
                                        Timer timer,
+                                       Meter failedDocuments,
                                        IndexFactory indexFactory,
                                        String typeName,
-                                       Client client) {
+                                       Client client,
+                                       int maxBulkSizeBytes,
+                                       int maxInflightBulks) {
         super(queue, timer);
         this.indexFactory = indexFactory;
         this.typeName = typeName;
         this.client = client;
+        this.failedDocuments = failedDocuments;
+        this.maxBulkSizeBytes = maxBulkSizeBytes;
+        this.inflightBulks = new Semaphore(maxInflightBulks);
     }
 
     @Override
-    protected void processBatch(List<ElasticsearchDocument> batch) throws ExecutionException, InterruptedException {
+    protected void processBatch(List<ElasticsearchDocument> batch) throws InterruptedException {
+        String index = indexFactory.createIndex();
         BulkRequestBuilder bulk = client.prepareBulk();
-        batch.forEach(entry -> bulk.add(client.prepareIndex(indexFactory.createIndex(), typeName).setSource(entry.bytes())));
-        bulk.execute().get();
+        long bulkSizeBytes = 0;
+        for (ElasticsearchDocument document : batch) {
+            byte[] source = serialize(document);
+            if (source == null) {
+                continue;
+            }
+            bulk.add(client.prepareIndex(index, typeName).setSource(source));
+            bulkSizeBytes += source.length;
+            if (bulkSizeBytes >= maxBulkSizeBytes) {
+                send(bulk);
+                bulk = client.prepareBulk();
+                bulkSizeBytes = 0;
+            }
+        }
+        if (bulk.numberOfActions() > 0) {
+            send(bulk);
+        }
+    }
+
+    private byte[] serialize(ElasticsearchDocument document) {
+        try {
+            buffer.reset();
+            XContentBuilder builder = jsonBuilder(buffer);
+            document.writeTo(builder);
+            return builder.bytes().toBytes();
+        } catch (IOException | RuntimeException e) {
+            failedDocuments.mark();
+            logger.warn("Could not serialize tracking document", e);
+            return null;
+        }
+    }
+
+    private void send(BulkRequestBuilder bulk) throws InterruptedException {
+        int documents = bulk.numberOfActions();
+        inflightBulks.acquire();
+        try {
+            bulk.execute(new ActionListener<BulkResponse>() {
+                @Override
+                public void onResponse(BulkResponse response) {
+                    inflightBulks.release();
+                    if (response.hasFailures()) {
+                        long failed = Arrays.stream(response.getItems()).filter(BulkItemResponse::isFailed).count();
+                        failedDocuments.mark(failed);
+                        logger.warn("Failed to index {} of {} tracking documents", failed, documents);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    inflightBulks.release();
+                    failedDocuments.mark(documents);
+                    logger.error("Failed to index bulk of {} tracking documents", documents, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            inflightBulks.release();
+            failedDocuments.mark(documents);
+            throw e;
+        }
     }
 
-    public static void scheduleCommitAtFixedRate(BlockingQueue<ElasticsearchDocument> queue, IndexFactory indexFactory, String typeName, Client client,
-                                                 Timer timer, int interval) {
-        ElasticsearchQueueCommitter committer = new ElasticsearchQueueCommitter(queue, timer, indexFactory, typeName, client);
+    public static void scheduleCommitAtFixedRate(TrackingBuffer<ElasticsearchDocument> queue, IndexFactory indexFactory, String typeName, Client client,
+                                                 Timer timer, Meter failedDocuments, int interval, int maxBulkSizeBytes, int maxInflightBulks) {
+        ElasticsearchQueueCommitter committer = new ElasticsearchQueueCommitter(queue, timer, failedDocuments, indexFactory, typeName, client,
+                maxBulkSizeBytes, maxInflightBulks);
         ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("elasticsearch-queue-committer-%d").build();
         newSingleThreadScheduledExecutor(factory).scheduleAtFixedRate(committer, interval, interval, MILLISECONDS);
     }
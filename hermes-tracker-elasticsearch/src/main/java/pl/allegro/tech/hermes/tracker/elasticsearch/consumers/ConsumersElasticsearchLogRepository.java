@@ -2,7 +2,6 @@ package pl.allegro.tech.hermes.tracker.elasticsearch.consumers;
 
 import com.codahale.metrics.MetricRegistry;
 import org.elasticsearch.client.Client;
-import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import pl.allegro.tech.hermes.api.SentMessageTraceStatus;
 import pl.allegro.tech.hermes.metrics.PathsCompiler;
@@ -11,22 +10,20 @@ import pl.allegro.tech.hermes.tracker.consumers.LogRepository;
 import pl.allegro.tech.hermes.tracker.consumers.MessageMetadata;
 import pl.allegro.tech.hermes.tracker.elasticsearch.*;
 import pl.allegro.tech.hermes.tracker.elasticsearch.metrics.Gauges;
+import pl.allegro.tech.hermes.tracker.elasticsearch.metrics.Meters;
 import pl.allegro.tech.hermes.tracker.elasticsearch.metrics.Timers;
 
 import java.io.IOException;
 
-import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 import static pl.allegro.tech.hermes.api.SentMessageTraceStatus.DISCARDED;
 import static pl.allegro.tech.hermes.api.SentMessageTraceStatus.FAILED;
 import static pl.allegro.tech.hermes.api.SentMessageTraceStatus.INFLIGHT;
 import static pl.allegro.tech.hermes.api.SentMessageTraceStatus.SUCCESS;
 import static pl.allegro.tech.hermes.api.SentMessageTraceStatus.FILTERED;
-import static pl.allegro.tech.hermes.tracker.elasticsearch.ElasticsearchDocument.build;
+import static pl.allegro.tech.hermes.tracker.elasticsearch.ElasticsearchDocument.document;
 
 public class ConsumersElasticsearchLogRepository extends BatchingLogRepository<ElasticsearchDocument> implements LogRepository, LogSchemaAware {
 
-    private static final int DOCUMENT_EXPECTED_SIZE = 1024;
-
     private ConsumersElasticsearchLogRepository(Client elasticClient,
                                                 String clusterName,
                                                 String hostname,
@@ -34,61 +31,63 @@ public class ConsumersElasticsearchLogRepository extends BatchingLogRepository<E
                                                 int commitInterval,
                                                 IndexFactory indexFactory,
                                                 String typeName,
+                                                int maxBulkSizeBytes,
+                                                int maxInflightBulks,
                                                 MetricRegistry metricRegistry,
                                                 PathsCompiler pathsCompiler) {
         super(queueSize, clusterName, hostname, metricRegistry, pathsCompiler);
 
         registerQueueSizeGauge(Gauges.CONSUMER_TRACKER_ELASTICSEARCH_QUEUE_SIZE);
         registerRemainingCapacityGauge(Gauges.CONSUMER_TRACKER_ELASTICSEARCH_REMAINING_CAPACITY);
+        registerDroppedMeter(Meters.CONSUMER_TRACKER_ELASTICSEARCH_DROPPED);
 
         ElasticsearchQueueCommitter.scheduleCommitAtFixedRate(queue, indexFactory, typeName, elasticClient,
-                metricRegistry.timer(pathsCompiler.compile(Timers.CONSUMER_TRACKER_ELASTICSEARCH_COMMIT_LATENCY)), commitInterval);
+                metricRegistry.timer(pathsCompiler.compile(Timers.CONSUMER_TRACKER_ELASTICSEARCH_COMMIT_LATENCY)),
+                metricRegistry.meter(pathsCompiler.compile(Meters.CONSUMER_TRACKER_ELASTICSEARCH_FAILED_DOCUMENTS)),
+                commitInterval, maxBulkSizeBytes, maxInflightBulks);
     }
 
     @Override
     public void logSuccessful(MessageMetadata message, String hostname, long timestamp) {
-        queue.offer(build(() ->
-                notEndedDocument(message, timestamp, SUCCESS.toString())
-                        .field(REMOTE_HOSTNAME, hostname)
-                        .endObject()));
+        offer(document(builder ->
+                writeFields(builder, message, timestamp, SUCCESS.toString())
+                        .field(REMOTE_HOSTNAME, hostname)));
     }
 
     @Override
     public void logFailed(MessageMetadata message, String hostname, long timestamp, String reason) {
-        queue.offer(build(() ->
-                notEndedDocument(message, timestamp, FAILED.toString())
+        offer(document(builder ->
+                writeFields(builder, message, timestamp, FAILED.toString())
                         .field(REASON, reason)
-                        .field(REMOTE_HOSTNAME, hostname)
-                        .endObject()));
+                        .field(REMOTE_HOSTNAME, hostname)));
     }
 
     @Override
     public void logDiscarded(MessageMetadata message, long timestamp, String reason) {
-        queue.offer(document(message, timestamp, DISCARDED, reason));
+        offer(statusDocument(message, timestamp, DISCARDED, reason));
     }
 
     @Override
     public void logInflight(MessageMetadata message, long timestamp) {
-        queue.offer(document(message, timestamp, INFLIGHT));
+        offer(statusDocument(message, timestamp, INFLIGHT));
     }
 
     @Override
     public void logFiltered(MessageMetadata message, long timestamp, String reason) {
-        queue.offer(document(message, timestamp, FILTERED, reason));
+        offer(statusDocument(message, timestamp, FILTERED, reason));
     }
 
-    private ElasticsearchDocument document(MessageMetadata message, long createdAt, SentMessageTraceStatus status) {
-        return build(() -> notEndedDocument(message, createdAt, status.toString()).endObject());
+    private ElasticsearchDocument statusDocument(MessageMetadata message, long createdAt, SentMessageTraceStatus status) {
+        return document(builder -> writeFields(builder, message, createdAt, status.toString()));
     }
 
-    private ElasticsearchDocument document(MessageMetadata message, long timestamp, SentMessageTraceStatus status, String reason) {
-        return build(() -> notEndedDocument(message, timestamp, status.toString()).field(REASON, reason).endObject());
+    private ElasticsearchDocument statusDocument(MessageMetadata message, long timestamp, SentMessageTraceStatus status, String reason) {
+        return document(builder -> writeFields(builder, message, timestamp, status.toString()).field(REASON, reason));
     }
 
-    protected XContentBuilder notEndedDocument(MessageMetadata message, long timestamp, String status)
+    protected XContentBuilder writeFields(XContentBuilder builder, MessageMetadata message, long timestamp, String status)
             throws IOException {
-        return jsonBuilder(new BytesStreamOutput(DOCUMENT_EXPECTED_SIZE))
-                .startObject()
+        return builder
                 .field(MESSAGE_ID, message.getMessageId())
                 .field(BATCH_ID, message.getBatchId())
                 .field(TIMESTAMP, timestamp)
@@ -109,6 +108,8 @@ public class ConsumersElasticsearchLogRepository extends BatchingLogRepository<E
         private String hostName = "unknown";
         private int queueSize = 1000;
         private int commitInterval = 100;
+        private int maxBulkSizeBytes = 5 * 1024 * 1024;
+        private int maxInflightBulks = 2;
         private ConsumersIndexFactory indexFactory = new ConsumersDailyIndexFactory();
         private String typeName = SchemaManager.SENT_TYPE;
 
@@ -146,6 +147,16 @@ public class ConsumersElasticsearchLogRepository extends BatchingLogRepository<E
             return this;
         }
 
+        public Builder withMaxBulkSizeBytes(int maxBulkSizeBytes) {
+            this.maxBulkSizeBytes = maxBulkSizeBytes;
+            return this;
+        }
+
+        public Builder withMaxInflightBulks(int maxInflightBulks) {
+            this.maxInflightBulks = maxInflightBulks;
+            return this;
+        }
+
         public Builder withTypeName(String typeName) {
             this.typeName = typeName;
             return this;
@@ -164,6 +175,8 @@ public class ConsumersElasticsearchLogRepository extends BatchingLogRepository<E
                     commitInterval,
                     indexFactory,
                     typeName,
+                    maxBulkSizeBytes,
+                    maxInflightBulks,
                     metricRegistry,
                     pathsCompiler);
         }
@@ -2,28 +2,24 @@ package pl.allegro.tech.hermes.tracker.elasticsearch.frontend;
 
 import com.codahale.metrics.MetricRegistry;
 import org.elasticsearch.client.Client;
-import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.xcontent.XContentBuilder;
-import pl.allegro.tech.hermes.api.PublishedMessageTraceStatus;
 import pl.allegro.tech.hermes.metrics.PathsCompiler;
 import pl.allegro.tech.hermes.tracker.BatchingLogRepository;
 import pl.allegro.tech.hermes.tracker.elasticsearch.*;
 import pl.allegro.tech.hermes.tracker.elasticsearch.metrics.Gauges;
+import pl.allegro.tech.hermes.tracker.elasticsearch.metrics.Meters;
 import pl.allegro.tech.hermes.tracker.elasticsearch.metrics.Timers;
 import pl.allegro.tech.hermes.tracker.frontend.LogRepository;
 
 import java.io.IOException;
 
-import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 import static pl.allegro.tech.hermes.api.PublishedMessageTraceStatus.ERROR;
 import static pl.allegro.tech.hermes.api.PublishedMessageTraceStatus.INFLIGHT;
 import static pl.allegro.tech.hermes.api.PublishedMessageTraceStatus.SUCCESS;
-import static pl.allegro.tech.hermes.tracker.elasticsearch.ElasticsearchDocument.build;
+import static pl.allegro.tech.hermes.tracker.elasticsearch.ElasticsearchDocument.document;
 
 public class FrontendElasticsearchLogRepository extends BatchingLogRepository<ElasticsearchDocument> implements LogRepository, LogSchemaAware {
 
-    private static final int DOCUMENT_EXPECTED_SIZE = 1024;
-
     private FrontendElasticsearchLogRepository(Client elasticClient,
                                                String clusterName,
                                                String hostname,
@@ -31,55 +27,42 @@ public class FrontendElasticsearchLogRepository extends BatchingLogRepository<El
                                                int commitInterval,
                                                IndexFactory indexFactory,
                                                String typeName,
+                                               int maxBulkSizeBytes,
+                                               int maxInflightBulks,
                                                MetricRegistry metricRegistry,
                                                PathsCompiler pathsCompiler) {
         super(queueSize, clusterName, hostname, metricRegistry, pathsCompiler);
 
         registerQueueSizeGauge(Gauges.PRODUCER_TRACKER_ELASTICSEARCH_QUEUE_SIZE);
         registerRemainingCapacityGauge(Gauges.PRODUCER_TRACKER_ELASTICSEARCH_REMAINING_CAPACITY);
+        registerDroppedMeter(Meters.PRODUCER_TRACKER_ELASTICSEARCH_DROPPED);
 
         ElasticsearchQueueCommitter.scheduleCommitAtFixedRate(queue, indexFactory, typeName, elasticClient,
-                metricRegistry.timer(pathsCompiler.compile(Timers.PRODUCER_TRACKER_ELASTICSEARCH_COMMIT_LATENCY)), commitInterval);
+                metricRegistry.timer(pathsCompiler.compile(Timers.PRODUCER_TRACKER_ELASTICSEARCH_COMMIT_LATENCY)),
+                metricRegistry.meter(pathsCompiler.compile(Meters.PRODUCER_TRACKER_ELASTICSEARCH_FAILED_DOCUMENTS)),
+                commitInterval, maxBulkSizeBytes, maxInflightBulks);
     }
 
     @Override
     public void logPublished(String messageId, long timestamp, String topicName, String hostname) {
-        queue.offer(build(() -> document(messageId, timestamp, topicName, SUCCESS, hostname)));
+        offer(document(builder -> writeFields(builder, messageId, timestamp, topicName, SUCCESS.toString(), hostname)));
     }
 
     @Override
     public void logError(String messageId, long timestamp, String topicName, String reason, String hostname) {
-        queue.offer(build(() -> document(messageId, timestamp, topicName, ERROR, reason, hostname)));
+        offer(document(builder -> writeFields(builder, messageId, timestamp, topicName, ERROR.toString(), hostname)
+                .field(REASON, reason)));
     }
 
     @Override
     public void logInflight(String messageId, long timestamp, String topicName, String hostname) {
-        queue.offer(build(() -> document(messageId, timestamp, topicName, INFLIGHT, hostname)));
-    }
-
-    private XContentBuilder document(String messageId,
-                                     long timestamp,
-                                     String topicName,
-                                     PublishedMessageTraceStatus status,
-                                     String hostname)
-            throws IOException {
-        return notEndedDocument(messageId, timestamp, topicName, status.toString(), hostname).endObject();
-    }
-
-    private XContentBuilder document(String messageId,
-                                     long timestamp,
-                                     String topicName,
-                                     PublishedMessageTraceStatus status,
-                                     String reason,
-                                     String hostname)
-            throws IOException {
-        return notEndedDocument(messageId, timestamp, topicName, status.toString(), hostname).field(REASON, reason).endObject();
+        offer(document(builder -> writeFields(builder, messageId, timestamp, topicName, INFLIGHT.toString(), hostname)));
     }
 
-    protected XContentBuilder notEndedDocument(String messageId, long timestamp, String topicName, String status, String hostname)
+    protected XContentBuilder writeFields(XContentBuilder builder, String messageId, long timestamp, String topicName,
+                                          String status, String hostname)
             throws IOException {
-        return jsonBuilder(new BytesStreamOutput(DOCUMENT_EXPECTED_SIZE))
-                .startObject()
+        return builder
                 .field(MESSAGE_ID, messageId)
                 .field(TIMESTAMP, timestamp)
                 .field(TOPIC_NAME, topicName)
@@ -96,6 +79,8 @@ public class FrontendElasticsearchLogRepository extends BatchingLogRepository<El
         private String hostName = "unknown";
         private int queueSize = 1000;
         private int commitInterval = 100;
+        private int maxBulkSizeBytes = 5 * 1024 * 1024;
+        private int maxInflightBulks = 2;
         private FrontendIndexFactory indexFactory = new FrontendDailyIndexFactory();
         private String typeName = SchemaManager.PUBLISHED_TYPE;
 
@@ -133,6 +118,16 @@ public class FrontendElasticsearchLogRepository extends BatchingLogRepository<El
             return this;
         }
 
+        public Builder withMaxBulkSizeBytes(int maxBulkSizeBytes) {
+            this.maxBulkSizeBytes = maxBulkSizeBytes;
+            return this;
+        }
+
+        public Builder withMaxInflightBulks(int maxInflightBulks) {
+            this.maxInflightBulks = maxInflightBulks;
+            return this;
+        }
+
         public Builder withTypeName(String typeName) {
             this.typeName = typeName;
             return this;
@@ -151,6 +146,8 @@ public class FrontendElasticsearchLogRepository extends BatchingLogRepository<El
                     commitInterval,
                     indexFactory,
                     typeName,
+                    maxBulkSizeBytes,
+                    maxInflightBulks,
                     metricRegistry,
                     pathsCompiler);
         }
@@ -0,0 +1,12 @@
+package pl.allegro.tech.hermes.tracker.elasticsearch.metrics;
+
+import static pl.allegro.tech.hermes.metrics.PathsCompiler.HOSTNAME;
+
+public class Meters {
+    public static final String
+            PRODUCER_TRACKER_ELASTICSEARCH_DROPPED = "producer." + HOSTNAME + ".tracker.elasticsearch.dropped",
+            PRODUCER_TRACKER_ELASTICSEARCH_FAILED_DOCUMENTS = "producer." + HOSTNAME + ".tracker.elasticsearch.failed-documents",
+
+            CONSUMER_TRACKER_ELASTICSEARCH_DROPPED = "consumer." + HOSTNAME + ".tracker.elasticsearch.dropped",
+            CONSUMER_TRACKER_ELASTICSEARCH_FAILED_DOCUMENTS = "consumer." + HOSTNAME + ".tracker.elasticsearch.failed-documents";
+}
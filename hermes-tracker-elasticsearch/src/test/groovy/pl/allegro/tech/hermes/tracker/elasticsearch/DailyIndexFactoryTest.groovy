@@ -5,8 +5,11 @@ import spock.lang.Shared
 import spock.lang.Specification
 
 import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
 
 import static java.time.LocalDate.of
+import static java.time.temporal.ChronoUnit.MINUTES
 import static java.time.ZoneId.systemDefault
 import static java.time.ZoneOffset.UTC
 import static org.assertj.core.api.Assertions.assertThat
@@ -23,4 +26,42 @@ class DailyIndexFactoryTest extends Specification {
         where:
         indexFactory << [new FrontendDailyIndexFactory(clock), new ConsumersDailyIndexFactory(clock)]
     }
-}
\ No newline at end of file
+
+    def "should switch to next daily index after day boundary"() {
+        given:
+        def clock = new AdjustableClock(of(2000, 1, 1).atTime(23, 59).toInstant(UTC))
+        def indexFactory = new FrontendDailyIndexFactory(clock)
+
+        when:
+        def beforeMidnight = indexFactory.createIndex()
+        clock.now = clock.now.plus(2, MINUTES)
+        def afterMidnight = indexFactory.createIndex()
+
+        then:
+        assertThat(beforeMidnight).endsWith("_2000_01_01")
+        assertThat(afterMidnight).endsWith("_2000_01_02")
+    }
+
+    static class AdjustableClock extends Clock {
+        Instant now
+
+        AdjustableClock(Instant now) {
+            this.now = now
+        }
+
+        @Override
+        ZoneId getZone() {
+            UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            this
+        }
+
+        @Override
+        Instant instant() {
+            now
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package pl.allegro.tech.hermes.tracker.elasticsearch;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import pl.allegro.tech.hermes.tracker.TrackingBuffer;
+import pl.allegro.tech.hermes.tracker.elasticsearch.consumers.ConsumersDailyIndexFactory;
+import pl.allegro.tech.hermes.tracker.elasticsearch.consumers.ConsumersIndexFactory;
+import pl.allegro.tech.hermes.tracker.elasticsearch.frontend.FrontendDailyIndexFactory;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static com.jayway.awaitility.Duration.ONE_MINUTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.tracker.elasticsearch.ElasticsearchDocument.document;
+
+public class ElasticsearchQueueCommitterTest implements LogSchemaAware {
+
+    private static final int DOCUMENTS = 2000;
+
+    private static final Clock clock = Clock.fixed(LocalDate.of(2000, 1, 2).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneId.systemDefault());
+    private static final ConsumersIndexFactory indexFactory = new ConsumersDailyIndexFactory(clock);
+
+    private final ElasticsearchResource elasticsearch = new ElasticsearchResource(indexFactory);
+
+    @BeforeClass
+    public void before() throws Throwable {
+        elasticsearch.before();
+        new SchemaManager(elasticsearch.client(), new FrontendDailyIndexFactory(clock), indexFactory).ensureSchema();
+    }
+
+    @AfterClass
+    public void after() {
+        elasticsearch.after();
+    }
+
+    @Test
+    public void shouldIndexAllDocumentsInConcurrentBulksLimitedBySize() throws Exception {
+        // given
+        TrackingBuffer<ElasticsearchDocument> buffer = new TrackingBuffer<>(DOCUMENTS);
+        Meter failedDocuments = new Meter();
+        ElasticsearchQueueCommitter committer = new ElasticsearchQueueCommitter(buffer, new Timer(), failedDocuments,
+                indexFactory, SchemaManager.SENT_TYPE, elasticsearch.client(), 4 * 1024, 3);
+
+        for (int i = 0; i < DOCUMENTS; i++) {
+            String messageId = "message-" + i;
+            buffer.offer(document(builder -> builder
+                    .field(MESSAGE_ID, messageId)
+                    .field(TOPIC_NAME, "group.bulk-topic")
+                    .field(SUBSCRIPTION, "subscription")
+                    .field(STATUS, "SUCCESS")
+                    .field(TIMESTAMP, 0L)));
+        }
+
+        // when
+        committer.run();
+
+        // then
+        await().atMost(ONE_MINUTE).until(() -> {
+            elasticsearch.client().admin().indices().prepareRefresh(indexFactory.createIndex()).execute().get();
+            return elasticsearch.client().prepareCount(indexFactory.createIndex()).execute().get().getCount() == DOCUMENTS;
+        });
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(failedDocuments.getCount()).isEqualTo(0);
+    }
+}
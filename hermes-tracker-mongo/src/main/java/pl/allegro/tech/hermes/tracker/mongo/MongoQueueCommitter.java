@@ -1,13 +1,18 @@
 package pl.allegro.tech.hermes.tracker.mongo;
 
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
 import com.mongodb.DB;
 import com.mongodb.DBObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pl.allegro.tech.hermes.tracker.QueueCommitter;
+import pl.allegro.tech.hermes.tracker.TrackingBuffer;
 
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadFactory;
 
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
@@ -15,22 +20,37 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class MongoQueueCommitter extends QueueCommitter<DBObject> {
 
+    private static final Logger logger = LoggerFactory.getLogger(MongoQueueCommitter.class);
+
     private final String targetCollection;
     private final DB database;
+    private final Meter failedInserts;
 
-    public MongoQueueCommitter(BlockingQueue<DBObject> queue, Timer timer, String targetCollection, DB database) {
+    public MongoQueueCommitter(TrackingBuffer<DBObject> queue, Timer timer, Meter failedInserts, String targetCollection, DB database) {
         super(queue, timer);
         this.targetCollection = targetCollection;
         this.database = database;
+        this.failedInserts = failedInserts;
     }
 
     @Override
     protected void processBatch(List<DBObject> batch) {
-        database.getCollection(targetCollection).insert(batch);
+        BulkWriteOperation bulk = database.getCollection(targetCollection).initializeUnorderedBulkOperation();
+        batch.forEach(bulk::insert);
+        try {
+            bulk.execute();
+        } catch (BulkWriteException e) {
+            failedInserts.mark(e.getWriteErrors().size());
+            logger.warn("Failed to insert {} of {} tracking records", e.getWriteErrors().size(), batch.size());
+        } catch (RuntimeException e) {
+            failedInserts.mark(batch.size());
+            throw e;
+        }
     }
 
-    public static void scheduleCommitAtFixedRate(BlockingQueue<DBObject> queue, String targetCollection, DB database, Timer timer, int interval) {
-        MongoQueueCommitter committer = new MongoQueueCommitter(queue, timer, targetCollection, database);
+    public static void scheduleCommitAtFixedRate(TrackingBuffer<DBObject> queue, String targetCollection, DB database,
+                                                 Timer timer, Meter failedInserts, int interval) {
+        MongoQueueCommitter committer = new MongoQueueCommitter(queue, timer, failedInserts, targetCollection, database);
         ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("mongo-queue-committer-%d").build();
         newSingleThreadScheduledExecutor(factory).scheduleAtFixedRate(committer, interval, interval, MILLISECONDS);
     }
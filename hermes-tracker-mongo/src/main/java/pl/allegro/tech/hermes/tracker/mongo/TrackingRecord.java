@@ -0,0 +1,118 @@
+package pl.allegro.tech.hermes.tracker.mongo;
+
+import com.mongodb.DBObject;
+import org.bson.BSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fixed-schema tracking log entry. Field names are shared by all records of given kind and values are kept in a
+ * single array, so building a record on the delivery path costs one small allocation instead of a hash map with
+ * an entry per field. Null values are not stored in the database at all. Records are read-only, except for the
+ * {@code _id} field assigned by driver on insert.
+ */
+public class TrackingRecord implements DBObject {
+
+    private static final String ID = "_id";
+
+    private final String[] schema;
+    private final Object[] values;
+    private Object id;
+
+    public TrackingRecord(String[] schema, Object... values) {
+        if (schema.length != values.length) {
+            throw new IllegalArgumentException("Expected " + schema.length + " values, got " + values.length);
+        }
+        this.schema = schema;
+        this.values = values;
+    }
+
+    @Override
+    public Object get(String key) {
+        if (ID.equals(key)) {
+            return id;
+        }
+        for (int i = 0; i < schema.length; i++) {
+            if (schema[i].equals(key)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (!ID.equals(key)) {
+            throw new UnsupportedOperationException("Tracking records are read-only");
+        }
+        Object previous = id;
+        id = value;
+        return previous;
+    }
+
+    @Override
+    public boolean containsField(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @Deprecated
+    public boolean containsKey(String key) {
+        return containsField(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keys = new LinkedHashSet<>();
+        if (id != null) {
+            keys.add(ID);
+        }
+        for (int i = 0; i < schema.length; i++) {
+            if (values[i] != null) {
+                keys.add(schema[i]);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public Map toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String key : keySet()) {
+            map.put(key, get(key));
+        }
+        return map;
+    }
+
+    @Override
+    public void putAll(BSONObject object) {
+        throw new UnsupportedOperationException("Tracking records are read-only");
+    }
+
+    @Override
+    public void putAll(Map map) {
+        throw new UnsupportedOperationException("Tracking records are read-only");
+    }
+
+    @Override
+    public Object removeField(String key) {
+        throw new UnsupportedOperationException("Tracking records are read-only");
+    }
+
+    @Override
+    public void markAsPartialObject() {
+    }
+
+    @Override
+    public boolean isPartialObject() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -1,23 +1,32 @@
 package pl.allegro.tech.hermes.tracker.mongo.consumers;
 
 import com.codahale.metrics.MetricRegistry;
-import com.mongodb.BasicDBObject;
 import com.mongodb.DB;
 import com.mongodb.DBObject;
 import pl.allegro.tech.hermes.api.SentMessageTraceStatus;
 import pl.allegro.tech.hermes.metrics.PathsCompiler;
+import pl.allegro.tech.hermes.tracker.BatchingLogRepository;
+import pl.allegro.tech.hermes.tracker.TrackingSampler;
 import pl.allegro.tech.hermes.tracker.consumers.LogRepository;
 import pl.allegro.tech.hermes.tracker.consumers.MessageMetadata;
-import pl.allegro.tech.hermes.tracker.BatchingLogRepository;
 import pl.allegro.tech.hermes.tracker.mongo.LogSchemaAware;
 import pl.allegro.tech.hermes.tracker.mongo.MongoQueueCommitter;
+import pl.allegro.tech.hermes.tracker.mongo.TrackingRecord;
 import pl.allegro.tech.hermes.tracker.mongo.metrics.Gauges;
+import pl.allegro.tech.hermes.tracker.mongo.metrics.Meters;
 import pl.allegro.tech.hermes.tracker.mongo.metrics.Timers;
 
 import static pl.allegro.tech.hermes.api.SentMessageTraceStatus.*;
 
 public class MongoLogRepository extends BatchingLogRepository<DBObject> implements LogRepository, LogSchemaAware {
 
+    private static final String[] SCHEMA = {
+            MESSAGE_ID, BATCH_ID, TIMESTAMP, PUBLISH_TIMESTAMP, TOPIC_NAME, SUBSCRIPTION, PARTITION, OFFSET,
+            STATUS, CLUSTER, SOURCE_HOSTNAME, REASON, REMOTE_HOSTNAME
+    };
+
+    private final TrackingSampler sampler;
+
     public MongoLogRepository(DB database,
                               int queueSize,
                               int commitInterval,
@@ -25,52 +34,72 @@ public class MongoLogRepository extends BatchingLogRepository<DBObject> implemen
                               String hostname,
                               MetricRegistry metricRegistry,
                               PathsCompiler pathsCompiler) {
+        this(database, queueSize, commitInterval, clusterName, hostname, metricRegistry, pathsCompiler,
+                TrackingSampler.trackAll());
+    }
+
+    public MongoLogRepository(DB database,
+                              int queueSize,
+                              int commitInterval,
+                              String clusterName,
+                              String hostname,
+                              MetricRegistry metricRegistry,
+                              PathsCompiler pathsCompiler,
+                              TrackingSampler sampler) {
         super(queueSize, clusterName, hostname, metricRegistry, pathsCompiler);
+        this.sampler = sampler;
 
         registerQueueSizeGauge(Gauges.CONSUMER_TRACKER_MONGO_QUEUE_SIZE);
         registerRemainingCapacityGauge(Gauges.CONSUMER_TRACKER_MONGO_REMAINING_CAPACITY);
+        registerDroppedMeter(Meters.CONSUMER_TRACKER_MONGO_DROPPED);
 
         MongoQueueCommitter.scheduleCommitAtFixedRate(queue, COLLECTION_SENT_NAME, database,
-                metricRegistry.timer(pathsCompiler.compile(Timers.CONSUMER_TRACKER_MONGO_COMMIT_LATENCY)), commitInterval);
+                metricRegistry.timer(pathsCompiler.compile(Timers.CONSUMER_TRACKER_MONGO_COMMIT_LATENCY)),
+                metricRegistry.meter(pathsCompiler.compile(Meters.CONSUMER_TRACKER_MONGO_FAILED_INSERTS)),
+                commitInterval);
     }
 
     @Override
     public void logSuccessful(MessageMetadata message, String hostname, long timestamp) {
-        queue.offer(subscriptionLog(message, timestamp, SUCCESS).append(REMOTE_HOSTNAME, hostname));
+        log(message, timestamp, SUCCESS, null, hostname);
     }
 
     @Override
     public void logFailed(MessageMetadata message, String hostname, long timestamp, String reason) {
-        queue.offer(subscriptionLog(message, timestamp, FAILED).append(REASON, reason).append(REMOTE_HOSTNAME, hostname));
+        log(message, timestamp, FAILED, reason, hostname);
     }
 
     @Override
     public void logDiscarded(MessageMetadata message, long timestamp, String reason) {
-        queue.offer(subscriptionLog(message, timestamp, DISCARDED).append(REASON, reason));
+        log(message, timestamp, DISCARDED, reason, null);
     }
 
     @Override
     public void logInflight(MessageMetadata message, long timestamp) {
-        queue.offer(subscriptionLog(message, timestamp, INFLIGHT));
+        log(message, timestamp, INFLIGHT, null, null);
     }
 
     @Override
     public void logFiltered(MessageMetadata message, long timestamp, String reason) {
-        queue.offer(subscriptionLog(message, timestamp, FILTERED).append(REASON, reason));
+        log(message, timestamp, FILTERED, reason, null);
     }
 
-    private BasicDBObject subscriptionLog(MessageMetadata message, long timestamp, SentMessageTraceStatus status) {
-        return new BasicDBObject()
-                .append(MESSAGE_ID, message.getMessageId())
-                .append(BATCH_ID, message.getBatchId())
-                .append(TIMESTAMP, timestamp)
-                .append(PUBLISH_TIMESTAMP, message.getPublishingTimestamp())
-                .append(TOPIC_NAME, message.getTopic())
-                .append(SUBSCRIPTION, message.getSubscription())
-                .append(PARTITION, message.getPartition())
-                .append(OFFSET, message.getOffset())
-                .append(STATUS, status.toString())
-                .append(CLUSTER, clusterName)
-                .append(SOURCE_HOSTNAME, hostname);
+    private void log(MessageMetadata message, long timestamp, SentMessageTraceStatus status, String reason, String remoteHostname) {
+        if (sampler.shouldTrack(message.getTopic(), message.getMessageId())) {
+            offer(new TrackingRecord(SCHEMA,
+                    message.getMessageId(),
+                    message.getBatchId(),
+                    timestamp,
+                    message.getPublishingTimestamp(),
+                    message.getTopic(),
+                    message.getSubscription(),
+                    message.getPartition(),
+                    message.getOffset(),
+                    status.toString(),
+                    clusterName,
+                    hostname,
+                    reason,
+                    remoteHostname));
+        }
     }
 }
@@ -1,15 +1,17 @@
 package pl.allegro.tech.hermes.tracker.mongo.frontend;
 
 import com.codahale.metrics.MetricRegistry;
-import com.mongodb.BasicDBObject;
 import com.mongodb.DB;
 import com.mongodb.DBObject;
 import pl.allegro.tech.hermes.api.PublishedMessageTraceStatus;
-import pl.allegro.tech.hermes.tracker.frontend.LogRepository;
 import pl.allegro.tech.hermes.tracker.BatchingLogRepository;
+import pl.allegro.tech.hermes.tracker.TrackingSampler;
+import pl.allegro.tech.hermes.tracker.frontend.LogRepository;
 import pl.allegro.tech.hermes.tracker.mongo.LogSchemaAware;
 import pl.allegro.tech.hermes.tracker.mongo.MongoQueueCommitter;
+import pl.allegro.tech.hermes.tracker.mongo.TrackingRecord;
 import pl.allegro.tech.hermes.tracker.mongo.metrics.Gauges;
+import pl.allegro.tech.hermes.tracker.mongo.metrics.Meters;
 import pl.allegro.tech.hermes.tracker.mongo.metrics.Timers;
 import pl.allegro.tech.hermes.metrics.PathsCompiler;
 
@@ -17,6 +19,12 @@ import static pl.allegro.tech.hermes.api.PublishedMessageTraceStatus.*;
 
 public class MongoLogRepository extends BatchingLogRepository<DBObject> implements LogRepository, LogSchemaAware {
 
+    private static final String[] SCHEMA = {
+            MESSAGE_ID, TIMESTAMP, STATUS, TOPIC_NAME, CLUSTER, SOURCE_HOSTNAME, REASON
+    };
+
+    private final TrackingSampler sampler;
+
     public MongoLogRepository(DB database,
                               int queueSize,
                               int commitIntervalMs,
@@ -24,37 +32,56 @@ public class MongoLogRepository extends BatchingLogRepository<DBObject> implemen
                               String hostname,
                               MetricRegistry metricRegistry,
                               PathsCompiler pathsCompiler) {
+        this(database, queueSize, commitIntervalMs, clusterName, hostname, metricRegistry, pathsCompiler,
+                TrackingSampler.trackAll());
+    }
+
+    public MongoLogRepository(DB database,
+                              int queueSize,
+                              int commitIntervalMs,
+                              String clusterName,
+                              String hostname,
+                              MetricRegistry metricRegistry,
+                              PathsCompiler pathsCompiler,
+                              TrackingSampler sampler) {
         super(queueSize, clusterName, hostname, metricRegistry, pathsCompiler);
+        this.sampler = sampler;
 
         registerQueueSizeGauge(Gauges.PRODUCER_TRACKER_MONGO_QUEUE_SIZE);
         registerRemainingCapacityGauge(Gauges.PRODUCER_TRACKER_MONGO_REMAINING_CAPACITY);
+        registerDroppedMeter(Meters.PRODUCER_TRACKER_MONGO_DROPPED);
 
         MongoQueueCommitter.scheduleCommitAtFixedRate(queue, COLLECTION_PUBLISHED_NAME, database,
-                metricRegistry.timer(pathsCompiler.compile(Timers.PRODUCER_TRACKER_MONGO_COMMIT_LATENCY)), commitIntervalMs);
+                metricRegistry.timer(pathsCompiler.compile(Timers.PRODUCER_TRACKER_MONGO_COMMIT_LATENCY)),
+                metricRegistry.meter(pathsCompiler.compile(Meters.PRODUCER_TRACKER_MONGO_FAILED_INSERTS)),
+                commitIntervalMs);
     }
 
     @Override
     public void logPublished(String messageId, long timestamp, String topicName, String hostname) {
-        queue.offer(topicLog(messageId, timestamp, topicName, SUCCESS));
+        log(messageId, timestamp, topicName, SUCCESS, null);
     }
 
     @Override
     public void logError(String messageId, long timestamp, String topicName, String reason, String hostname) {
-        queue.offer(topicLog(messageId, timestamp, topicName, ERROR).append(REASON, reason));
+        log(messageId, timestamp, topicName, ERROR, reason);
     }
 
     @Override
     public void logInflight(String messageId, long timestamp, String topicName, String hostname) {
-        queue.offer(topicLog(messageId, timestamp, topicName, INFLIGHT));
+        log(messageId, timestamp, topicName, INFLIGHT, null);
     }
 
-    private BasicDBObject topicLog(String messageId, long timestamp, String topicName, PublishedMessageTraceStatus status) {
-        return new BasicDBObject()
-                .append(MESSAGE_ID, messageId)
-                .append(TIMESTAMP, timestamp)
-                .append(STATUS, status.toString())
-                .append(TOPIC_NAME, topicName)
-                .append(CLUSTER, clusterName)
-                .append(SOURCE_HOSTNAME, hostname);
+    private void log(String messageId, long timestamp, String topicName, PublishedMessageTraceStatus status, String reason) {
+        if (sampler.shouldTrack(topicName, messageId)) {
+            offer(new TrackingRecord(SCHEMA,
+                    messageId,
+                    timestamp,
+                    status.toString(),
+                    topicName,
+                    clusterName,
+                    hostname,
+                    reason));
+        }
     }
 }
@@ -0,0 +1,12 @@
+package pl.allegro.tech.hermes.tracker.mongo.metrics;
+
+import static pl.allegro.tech.hermes.metrics.PathsCompiler.HOSTNAME;
+
+public class Meters {
+    public static final String
+            PRODUCER_TRACKER_MONGO_DROPPED = "producer." + HOSTNAME + ".tracker.mongo.dropped",
+            PRODUCER_TRACKER_MONGO_FAILED_INSERTS = "producer." + HOSTNAME + ".tracker.mongo.failed-inserts",
+
+            CONSUMER_TRACKER_MONGO_DROPPED = "consumer." + HOSTNAME + ".tracker.mongo.dropped",
+            CONSUMER_TRACKER_MONGO_FAILED_INSERTS = "consumer." + HOSTNAME + ".tracker.mongo.failed-inserts";
+}
@@ -0,0 +1,94 @@
+package pl.allegro.tech.hermes.tracker.mongo.consumers;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.fakemongo.Fongo;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import org.testng.annotations.Test;
+import pl.allegro.tech.hermes.metrics.PathsCompiler;
+import pl.allegro.tech.hermes.tracker.TrackingSampler;
+import pl.allegro.tech.hermes.tracker.consumers.TestMessageMetadata;
+import pl.allegro.tech.hermes.tracker.mongo.LogSchemaAware;
+import pl.allegro.tech.hermes.tracker.mongo.metrics.Meters;
+
+import java.util.UUID;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static com.jayway.awaitility.Duration.FIVE_SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs consumer tracking pipeline - sampling, compact records and bulk inserts - against in-process Mongo stand-in.
+ */
+public class MongoTrackingPipelineTest implements LogSchemaAware {
+
+    private static final String SUBSCRIPTION_NAME = "subscription";
+
+    @Test
+    public void shouldStoreAllEventsOfSampledMessagesOnly() {
+        // given
+        DB database = new Fongo("trace").getDB("sampling");
+        TrackingSampler sampler = new TrackingSampler(1.0).withTopicRate("group.sampled", 0.2);
+        MongoLogRepository repository = new MongoLogRepository(database, 10_000, 50, "cluster", "host",
+                new MetricRegistry(), new PathsCompiler("localhost"), sampler);
+        int messages = 2000;
+        long expected = 0;
+
+        // when
+        for (int i = 0; i < messages; i++) {
+            String id = UUID.randomUUID().toString();
+            repository.logInflight(TestMessageMetadata.of(id, "group.sampled", SUBSCRIPTION_NAME), 1234L);
+            repository.logSuccessful(TestMessageMetadata.of(id, "group.sampled", SUBSCRIPTION_NAME), "remote", 1235L);
+            if (sampler.shouldTrack("group.sampled", id)) {
+                expected++;
+            }
+        }
+
+        // then
+        long expectedRecords = expected * 2;
+        await().atMost(FIVE_SECONDS).until(() ->
+                assertThat(database.getCollection(COLLECTION_SENT_NAME).count()).isEqualTo(expectedRecords));
+        assertThat(expected).isBetween(300L, 500L);
+        assertThat(database.getCollection(COLLECTION_SENT_NAME).count(new BasicDBObject(STATUS, "SUCCESS")))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldStoreCompactRecordFields() {
+        // given
+        DB database = new Fongo("trace").getDB("fields");
+        MongoLogRepository repository = new MongoLogRepository(database, 100, 50, "cluster", "host",
+                new MetricRegistry(), new PathsCompiler("localhost"));
+
+        // when
+        repository.logFailed(TestMessageMetadata.of("id", "group.topic", SUBSCRIPTION_NAME), "remote", 1234L, "timeout");
+
+        // then
+        await().atMost(FIVE_SECONDS).until(() ->
+                assertThat(database.getCollection(COLLECTION_SENT_NAME).count()).isEqualTo(1));
+        BasicDBObject record = (BasicDBObject) database.getCollection(COLLECTION_SENT_NAME).findOne();
+        assertThat(record.getString(MESSAGE_ID)).isEqualTo("id");
+        assertThat(record.getString(REASON)).isEqualTo("timeout");
+        assertThat(record.getString(REMOTE_HOSTNAME)).isEqualTo("remote");
+        assertThat(record.getString(CLUSTER)).isEqualTo("cluster");
+        assertThat(record.getLong(TIMESTAMP)).isEqualTo(1234L);
+        assertThat(record.getInt(PARTITION)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCountEventsDroppedOnFullQueue() {
+        // given
+        MetricRegistry metricRegistry = new MetricRegistry();
+        PathsCompiler pathsCompiler = new PathsCompiler("localhost");
+        MongoLogRepository repository = new MongoLogRepository(new Fongo("trace").getDB("dropped"), 10, 60_000,
+                "cluster", "host", metricRegistry, pathsCompiler);
+
+        // when
+        for (int i = 0; i < 25; i++) {
+            repository.logInflight(TestMessageMetadata.of("id" + i, "group.topic", SUBSCRIPTION_NAME), 1234L);
+        }
+
+        // then
+        assertThat(metricRegistry.meter(pathsCompiler.compile(Meters.CONSUMER_TRACKER_MONGO_DROPPED)).getCount()).isEqualTo(15);
+    }
+}
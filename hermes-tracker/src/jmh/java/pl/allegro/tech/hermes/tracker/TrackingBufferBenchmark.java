@@ -0,0 +1,92 @@
+package pl.allegro.tech.hermes.tracker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares tracking buffer with previously used linked blocking queue, with eight threads logging events and single
+ * committer draining them in bulk, as tracking repositories do.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrackingBufferBenchmark {
+
+    private static final int CAPACITY = 100_000;
+    private static final Object EVENT = new Object();
+
+    @State(Scope.Group)
+    public static class BlockingQueueState {
+        BlockingQueue<Object> queue;
+
+        @Setup
+        public void setup() {
+            queue = new LinkedBlockingQueue<>(CAPACITY);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class TrackingBufferState {
+        TrackingBuffer<Object> buffer;
+
+        @Setup
+        public void setup() {
+            buffer = new TrackingBuffer<>(CAPACITY);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        final List<Object> events = new ArrayList<>(CAPACITY);
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(8)
+    public boolean blockingQueueOffer(BlockingQueueState state) {
+        return state.queue.offer(EVENT);
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(1)
+    public int blockingQueueDrain(BlockingQueueState state, Batch batch) {
+        int drained = state.queue.drainTo(batch.events);
+        batch.events.clear();
+        return drained;
+    }
+
+    @Benchmark
+    @Group("trackingBuffer")
+    @GroupThreads(8)
+    public boolean trackingBufferOffer(TrackingBufferState state) {
+        return state.buffer.offer(EVENT);
+    }
+
+    @Benchmark
+    @Group("trackingBuffer")
+    @GroupThreads(1)
+    public int trackingBufferDrain(TrackingBufferState state, Batch batch) {
+        int drained = state.buffer.drainTo(batch.events, CAPACITY);
+        batch.events.clear();
+        return drained;
+    }
+}
@@ -1,26 +1,25 @@
 package pl.allegro.tech.hermes.tracker;
 
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import pl.allegro.tech.hermes.metrics.PathsCompiler;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-
 public class BatchingLogRepository<T> {
 
     protected final MetricRegistry metricRegistry;
     protected final PathsCompiler pathsCompiler;
     protected final String clusterName;
     protected final String hostname;
-    protected BlockingQueue<T> queue;
+    protected TrackingBuffer<T> queue;
+    private Meter droppedEvents = new Meter();
 
     public BatchingLogRepository(int queueSize,
                                  String clusterName,
                                  String hostname,
                                  MetricRegistry metricRegistry,
                                  PathsCompiler pathsCompiler) {
-        this.queue = new LinkedBlockingQueue<>(queueSize);
+        this.queue = new TrackingBuffer<>(queueSize);
         this.clusterName = clusterName;
         this.hostname = hostname;
         this.metricRegistry = metricRegistry;
@@ -35,4 +34,14 @@ public class BatchingLogRepository<T> {
         metricRegistry.register(pathsCompiler.compile(gauge), (Gauge) queue::remainingCapacity);
     }
 
+    protected void registerDroppedMeter(String meter) {
+        droppedEvents = metricRegistry.meter(pathsCompiler.compile(meter));
+    }
+
+    protected void offer(T event) {
+        if (!queue.offer(event)) {
+            droppedEvents.mark();
+        }
+    }
+
 }
\ No newline at end of file
@@ -6,16 +6,16 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 
 public abstract class QueueCommitter<T> implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(QueueCommitter.class);
 
-    private final BlockingQueue<T> queue;
+    private final TrackingBuffer<T> queue;
     private final Timer timer;
+    private final List<T> batch = new ArrayList<>();
 
-    public QueueCommitter(BlockingQueue<T> queue, Timer timer) {
+    public QueueCommitter(TrackingBuffer<T> queue, Timer timer) {
         this.queue = queue;
         this.timer = timer;
     }
@@ -34,11 +34,17 @@ public abstract class QueueCommitter<T> implements Runnable {
     }
 
     private void commit() throws Exception {
-        List<T> batch = new ArrayList<>();
-        queue.drainTo(batch);
-        processBatch(batch);
+        try {
+            queue.drainTo(batch, queue.capacity());
+            processBatch(batch);
+        } finally {
+            batch.clear();
+        }
     }
 
+    /**
+     * Batch list is reused by subsequent commits, so it must not be referenced after this method returns.
+     */
     protected abstract void processBatch(List<T> batch) throws ExecutionException, InterruptedException;
 
 }
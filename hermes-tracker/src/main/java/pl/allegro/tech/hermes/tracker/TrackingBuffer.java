@@ -0,0 +1,64 @@
+package pl.allegro.tech.hermes.tracker;
+
+import org.jctools.queues.MpscArrayQueue;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded buffer of tracking events, written by many publishing or sending threads and drained by single committer.
+ *
+ * Events are kept in ring of slots allocated up front, so offering does not allocate queue nodes nor take locks -
+ * producers only race for the next slot. The ring itself is rounded up to the nearest power of two, so number of
+ * buffered events is counted separately to keep exactly the configured capacity. Events which do not fit are not
+ * buffered and are counted as overflow.
+ */
+public class TrackingBuffer<T> {
+
+    private final MpscArrayQueue<T> ring;
+
+    private final int capacity;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    public TrackingBuffer(int capacity) {
+        this.ring = new MpscArrayQueue<>(capacity);
+        this.capacity = capacity;
+    }
+
+    public boolean offer(T event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return ring.offer(event);
+    }
+
+    /**
+     * Moves up to {@code limit} buffered events to given collection. Must be called from single thread at a time.
+     */
+    public int drainTo(Collection<? super T> target, int limit) {
+        int drained = ring.drain(target::add, limit);
+        size.addAndGet(-drained);
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int remainingCapacity() {
+        return capacity() - size();
+    }
+}
@@ -0,0 +1,47 @@
+package pl.allegro.tech.hermes.tracker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which messages are tracked, with sampling rate configurable per topic. Decision depends only on message id,
+ * so all events of a sampled message (inflight, success, failure) are tracked together, on every node.
+ */
+public class TrackingSampler {
+
+    private final Map<String, Double> topicRates = new ConcurrentHashMap<>();
+    private volatile double defaultRate;
+
+    public TrackingSampler(double defaultRate) {
+        this.defaultRate = defaultRate;
+    }
+
+    public static TrackingSampler trackAll() {
+        return new TrackingSampler(1.0);
+    }
+
+    public boolean shouldTrack(String topicName, String messageId) {
+        double rate = topicRates.getOrDefault(topicName, defaultRate);
+        if (rate >= 1.0) {
+            return true;
+        }
+        if (rate <= 0.0 || messageId == null) {
+            return false;
+        }
+        return bucket(messageId) < rate;
+    }
+
+    public TrackingSampler withTopicRate(String topicName, double rate) {
+        topicRates.put(topicName, rate);
+        return this;
+    }
+
+    public void setDefaultRate(double defaultRate) {
+        this.defaultRate = defaultRate;
+    }
+
+    private static double bucket(String messageId) {
+        int hash = messageId.hashCode() * 0x9E3779B9;
+        return (hash >>> 1) / (double) (1L << 31);
+    }
+}
@@ -0,0 +1,103 @@
+package pl.allegro.tech.hermes.tracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrackingBufferTest {
+
+    @Test
+    public void shouldRejectEventsOverCapacity() {
+        // given
+        TrackingBuffer<Integer> buffer = new TrackingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(i);
+        }
+
+        // when
+        boolean accepted = buffer.offer(4);
+
+        // then
+        assertThat(accepted).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.remainingCapacity()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldKeepExactCapacityWhichIsNotPowerOfTwo() {
+        // given
+        TrackingBuffer<Integer> buffer = new TrackingBuffer<>(10);
+        int accepted = 0;
+
+        // when
+        for (int i = 0; i < 25; i++) {
+            if (buffer.offer(i)) {
+                accepted++;
+            }
+        }
+
+        // then
+        assertThat(accepted).isEqualTo(10);
+        assertThat(buffer.capacity()).isEqualTo(10);
+        assertThat(buffer.remainingCapacity()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldAcceptEventsAgainAfterDrain() {
+        // given
+        TrackingBuffer<Integer> buffer = new TrackingBuffer<>(3);
+        for (int i = 0; i < 3; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        // when
+        buffer.drainTo(drained, 2);
+
+        // then
+        assertThat(drained).containsExactly(0, 1);
+        assertThat(buffer.remainingCapacity()).isEqualTo(2);
+        assertThat(buffer.offer(3)).isTrue();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+    }
+
+    @Test
+    public void shouldDrainEveryAcceptedEventOfConcurrentProducers() throws InterruptedException {
+        // given
+        TrackingBuffer<Integer> buffer = new TrackingBuffer<>(1024);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        CountDownLatch finished = new CountDownLatch(4);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Integer> drained = new ArrayList<>();
+
+        // when
+        for (int p = 0; p < 4; p++) {
+            producers.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (buffer.offer(i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                finished.countDown();
+            });
+        }
+        while (!finished.await(1, TimeUnit.MILLISECONDS)) {
+            buffer.drainTo(drained, 100);
+        }
+        buffer.drainTo(drained, buffer.capacity());
+        producers.shutdown();
+
+        // then
+        assertThat(drained).hasSize(accepted.get());
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,48 @@
+package pl.allegro.tech.hermes.tracker;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrackingSamplerTest {
+
+    @Test
+    public void shouldTrackApproximatelyConfiguredFractionOfMessages() {
+        // given
+        TrackingSampler sampler = new TrackingSampler(1.0).withTopicRate("group.sampled", 0.1);
+
+        // when
+        long tracked = IntStream.range(0, 100_000)
+                .filter(i -> sampler.shouldTrack("group.sampled", UUID.randomUUID().toString()))
+                .count();
+
+        // then
+        assertThat(tracked).isBetween(9_000L, 11_000L);
+    }
+
+    @Test
+    public void shouldMakeSameDecisionForAllEventsOfMessage() {
+        // given
+        TrackingSampler sampler = new TrackingSampler(0.5);
+        String messageId = UUID.randomUUID().toString();
+
+        // when
+        boolean tracked = sampler.shouldTrack("group.topic", messageId);
+
+        // then
+        IntStream.range(0, 10).forEach(i -> assertThat(sampler.shouldTrack("group.topic", messageId)).isEqualTo(tracked));
+    }
+
+    @Test
+    public void shouldUseDefaultRateForTopicsWithoutOwnRate() {
+        // given
+        TrackingSampler sampler = new TrackingSampler(0.0).withTopicRate("group.tracked", 1.0);
+
+        // expect
+        assertThat(sampler.shouldTrack("group.tracked", "id")).isTrue();
+        assertThat(sampler.shouldTrack("group.other", "id")).isFalse();
+    }
+}
@@ -0,0 +1,135 @@
+package pl.allegro.tech.hermes.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pl.allegro.tech.hermes.api.MessageBatchResult;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.integration.env.SharedServices;
+import pl.allegro.tech.hermes.test.helper.endpoint.RemoteServiceEndpoint;
+import pl.allegro.tech.hermes.test.helper.message.TestMessage;
+
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.CREATED;
+import static pl.allegro.tech.hermes.api.ContentType.JSON;
+import static pl.allegro.tech.hermes.integration.test.HermesAssertions.assertThat;
+import static pl.allegro.tech.hermes.test.helper.builder.TopicBuilder.topic;
+
+public class BatchPublishingTest extends IntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RemoteServiceEndpoint remoteService;
+
+    private String schema;
+
+    @BeforeClass
+    public void initialize() throws IOException {
+        schema = IOUtils.toString(this.getClass().getResourceAsStream("/schema/example.json"));
+    }
+
+    @BeforeMethod
+    public void initializeAlways() {
+        this.remoteService = new RemoteServiceEndpoint(SharedServices.services().serviceMock());
+    }
+
+    @Test
+    public void shouldPublishBatchAndConsumeEveryMessage() throws IOException {
+        // given
+        Topic topic = operations.buildTopic("publishBatchGroup", "topic");
+        operations.createSubscription(topic, "subscription", HTTP_ENDPOINT_URL);
+
+        List<String> messages = bodies(TestMessage.of("hello", "world"), TestMessage.of("hello", "batch"), TestMessage.random());
+        remoteService.expectMessages(messages);
+
+        // when
+        Response response = publisher.publishBatch(topic.getQualifiedName(), asJsonArray(messages));
+
+        // then
+        assertThat(response).hasStatus(CREATED);
+        MessageBatchResult result = objectMapper.readValue(response.readEntity(String.class), MessageBatchResult.class);
+        assertThat(result.getMessages()).hasSize(3);
+        result.getMessages().forEach(status -> {
+            assertThat(status.getStatus()).isEqualTo(CREATED.getStatusCode());
+            assertThat(status.getId()).isNotEmpty();
+        });
+        remoteService.waitUntilReceived();
+    }
+
+    @Test
+    public void shouldReportStatusOfEachMessageInBatch() throws IOException {
+        // given
+        Topic topic = operations.buildTopic(topic("publishBatchSchemaGroup.topic")
+                .withValidation(true)
+                .withContentType(JSON)
+                .build()
+        );
+        operations.saveSchema(topic, schema);
+
+        // when
+        Response response = publisher.publishBatch(topic.getQualifiedName(),
+                "[{\"id\": 1}, {\"id\": \"shouldBeNumber\"}, {\"id\": 3}]");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(207);
+        MessageBatchResult result = objectMapper.readValue(response.readEntity(String.class), MessageBatchResult.class);
+        assertThat(result.getMessages().stream().map(MessageBatchResult.MessageStatus::getStatus).collect(toList()))
+                .containsExactly(CREATED.getStatusCode(), BAD_REQUEST.getStatusCode(), CREATED.getStatusCode());
+        assertThat(result.getMessages().get(1).getError()).isNotEmpty();
+    }
+
+    @Test
+    public void shouldRejectMalformedBatch() {
+        // given
+        Topic topic = operations.buildTopic("publishMalformedBatchGroup", "topic");
+
+        // when
+        Response response = publisher.publishBatch(topic.getQualifiedName(), "{\"hello\": \"world\"}");
+
+        // then
+        assertThat(response).hasStatus(BAD_REQUEST);
+    }
+
+    @Test
+    public void shouldPublishManyMessagesInConsecutiveBatches() throws IOException {
+        // given
+        int messagesCount = 2000;
+        int batchSize = 100;
+        Topic topic = operations.buildTopic("publishConsecutiveBatchesGroup", "topic");
+        List<String> messages = new ArrayList<>(messagesCount);
+        for (int i = 0; i < messagesCount; i++) {
+            messages.add(TestMessage.of("index", i).body());
+        }
+
+        for (int i = 0; i < messagesCount; i += batchSize) {
+            // when
+            Response response = publisher.publishBatch(topic.getQualifiedName(), asJsonArray(messages.subList(i, i + batchSize)));
+
+            // then
+            assertThat(response).hasStatus(CREATED);
+            MessageBatchResult result = objectMapper.readValue(response.readEntity(String.class), MessageBatchResult.class);
+            assertThat(result.getMessages()).hasSize(batchSize);
+        }
+    }
+
+    private List<String> bodies(TestMessage... messages) {
+        List<String> bodies = new ArrayList<>();
+        for (TestMessage message : messages) {
+            bodies.add(message.body());
+        }
+        return bodies;
+    }
+
+    private String asJsonArray(List<String> messages) {
+        return messages.stream().collect(joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,143 @@
+package pl.allegro.tech.hermes.integration;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.testng.annotations.Test;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.common.config.Configs;
+import pl.allegro.tech.hermes.frontend.producer.kafka.ProducerPool;
+import pl.allegro.tech.hermes.frontend.producer.kafka.Producers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.test.helper.builder.TopicBuilder.topic;
+
+/**
+ * Floods one topic with large messages from several threads, while another topic publishes small messages at a
+ * steady pace. Producers have tiny buffers and do not block when they are full, so any send which does not fit into
+ * the buffer fails - with shared producers the quiet topic loses messages, with a separate pool it does not. Quiet
+ * messages are sent only once the noisy topic has filled the buffer, so the shared case does not depend on timing.
+ */
+public class ProducerPoolsIsolationTest extends IntegrationTest {
+
+    private static final Topic NOISY = topic("producerPools", "noisy").build();
+    private static final Topic QUIET = topic("producerPools", "quiet").build();
+
+    private static final int NOISY_THREADS = 4;
+    private static final int NOISY_MESSAGE_SIZE = 64 * 1024;
+    private static final long BUFFER_MEMORY = 1024 * 1024;
+    private static final int QUIET_MESSAGES = 200;
+
+    @Test
+    public void shouldProtectQuietTopicFromNoisyTopicWithSeparatePool() throws Exception {
+        // given
+        Producers shared = new Producers(pool("default"), Collections.emptyMap(), CONFIG_FACTORY);
+        Producers isolated = new Producers(pool("default"), ImmutableMap.of(QUIET.getQualifiedName(), pool("quiet")),
+                CONFIG_FACTORY);
+        try {
+            waitForTopics(shared);
+            waitForTopics(isolated);
+
+            // when
+            int sharedFailures = quietTopicFailuresUnderNoisyTopic(shared);
+            int isolatedFailures = quietTopicFailuresUnderNoisyTopic(isolated);
+
+            // then
+            assertThat(sharedFailures).isGreaterThan(0);
+            assertThat(isolatedFailures).isZero();
+        } finally {
+            shared.close();
+            isolated.close();
+        }
+    }
+
+    private int quietTopicFailuresUnderNoisyTopic(Producers producers) throws Exception {
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        AtomicInteger noisyRejections = new AtomicInteger();
+        ExecutorService noisyPublishers = Executors.newFixedThreadPool(NOISY_THREADS);
+        byte[] noisyMessage = new byte[NOISY_MESSAGE_SIZE];
+        for (int i = 0; i < NOISY_THREADS; i++) {
+            noisyPublishers.submit(() -> {
+                while (flooding.get()) {
+                    try {
+                        producers.get(NOISY).send(new ProducerRecord<>(NOISY.getQualifiedName(), noisyMessage));
+                    } catch (RuntimeException e) {
+                        // buffer of noisy topic is full, keep pushing
+                        noisyRejections.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        int failures = 0;
+        List<Future<RecordMetadata>> sent = new ArrayList<>();
+        try {
+            await().atMost(30, TimeUnit.SECONDS).until(() -> noisyRejections.get() > 0);
+            for (int i = 0; i < QUIET_MESSAGES; i++) {
+                try {
+                    sent.add(producers.get(QUIET).send(new ProducerRecord<>(QUIET.getQualifiedName(), "{}".getBytes())));
+                } catch (RuntimeException e) {
+                    failures++;
+                }
+                Thread.sleep(5);
+            }
+        } finally {
+            flooding.set(false);
+            noisyPublishers.shutdown();
+            noisyPublishers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        for (Future<RecordMetadata> future : sent) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private void waitForTopics(Producers producers) {
+        await().atMost(30, TimeUnit.SECONDS).until(() -> {
+            try {
+                producers.get(NOISY).send(new ProducerRecord<>(NOISY.getQualifiedName(), "{}".getBytes())).get();
+                producers.get(QUIET).send(new ProducerRecord<>(QUIET.getQualifiedName(), "{}".getBytes())).get();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        });
+    }
+
+    private ProducerPool pool(String name) {
+        return new ProducerPool(name, producer("1"), producer("-1"));
+    }
+
+    private Producer<byte[], byte[]> producer(String acks) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, CONFIG_FACTORY.getStringProperty(Configs.KAFKA_BROKER_LIST));
+        config.put(ProducerConfig.ACKS_CONFIG, acks);
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, BUFFER_MEMORY);
+        config.put(ProducerConfig.BLOCK_ON_BUFFER_FULL_CONFIG, false);
+        config.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, 2 * NOISY_MESSAGE_SIZE);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.ByteArraySerializer");
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.ByteArraySerializer");
+        return new KafkaProducer<>(config);
+    }
+}
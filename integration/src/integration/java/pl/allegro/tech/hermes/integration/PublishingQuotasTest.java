@@ -0,0 +1,105 @@
+package pl.allegro.tech.hermes.integration;
+
+import com.google.common.collect.ImmutableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+import pl.allegro.tech.hermes.api.Topic;
+import pl.allegro.tech.hermes.test.helper.message.TestMessage;
+
+import javax.ws.rs.core.Response;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.allegro.tech.hermes.api.PublishingQuota.Builder.publishingQuota;
+import static pl.allegro.tech.hermes.test.helper.builder.TopicBuilder.topic;
+
+/**
+ * Floods topic from one client with many threads, while another client publishes on the same topic at a steady pace
+ * below its quota. Together they want more than the quota of topic, so it binds: some requests of the polite client
+ * are throttled. Greedy client is held at its own quota, which is below the quota of topic, so the rest of topic
+ * capacity is left for the polite client, which keeps getting its messages through.
+ */
+public class PublishingQuotasTest extends IntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublishingQuotasTest.class);
+
+    private static final int TOPIC_REQUESTS_PER_SECOND = 25;
+    private static final int CLIENT_REQUESTS_PER_SECOND = 20;
+    private static final int GREEDY_THREADS = 8;
+    private static final int POLITE_MESSAGES = 30;
+    private static final int POLITE_INTERVAL_MILLIS = 100;
+
+    @Test
+    public void shouldAdmitPoliteClientWhileGreedyClientIsThrottled() throws Exception {
+        // given
+        Topic topic = operations.buildTopic(topic("publishingQuotas", "fairness")
+                .withPublishingQuota(publishingQuota()
+                        .withRequestsPerSecond(TOPIC_REQUESTS_PER_SECOND)
+                        .withClientRequestsPerSecond(CLIENT_REQUESTS_PER_SECOND)
+                        .build())
+                .build());
+        String message = TestMessage.of("hello", "world").body();
+
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        AtomicInteger greedyAccepted = new AtomicInteger();
+        AtomicInteger greedyThrottled = new AtomicInteger();
+        AtomicInteger missingRetryAfter = new AtomicInteger();
+        ExecutorService greedyClient = Executors.newFixedThreadPool(GREEDY_THREADS);
+        for (int i = 0; i < GREEDY_THREADS; i++) {
+            greedyClient.submit(() -> {
+                while (flooding.get()) {
+                    Response response = publisher.publish(topic.getQualifiedName(), message, clientId("greedy"));
+                    if (response.getStatus() == Response.Status.CREATED.getStatusCode()) {
+                        greedyAccepted.incrementAndGet();
+                    } else if (response.getStatus() == 429) {
+                        greedyThrottled.incrementAndGet();
+                        if (response.getHeaderString("Retry-After") == null) {
+                            missingRetryAfter.incrementAndGet();
+                        }
+                    }
+                    response.close();
+                }
+            });
+        }
+
+        // when
+        int politeAccepted = 0;
+        int politeThrottled = 0;
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < POLITE_MESSAGES; i++) {
+                Response response = publisher.publish(topic.getQualifiedName(), message, clientId("polite"));
+                if (response.getStatus() == Response.Status.CREATED.getStatusCode()) {
+                    politeAccepted++;
+                } else if (response.getStatus() == 429) {
+                    politeThrottled++;
+                }
+                response.close();
+                Thread.sleep(POLITE_INTERVAL_MILLIS);
+            }
+        } finally {
+            flooding.set(false);
+            greedyClient.shutdown();
+            greedyClient.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // then
+        logger.info("In {} s polite client published {} of {} messages with {} throttled, greedy client {} with {} throttled",
+                seconds, politeAccepted, POLITE_MESSAGES, politeThrottled, greedyAccepted.get(), greedyThrottled.get());
+        assertThat(politeThrottled).isGreaterThan(0);
+        assertThat(politeAccepted).isGreaterThanOrEqualTo(POLITE_MESSAGES / 3);
+        assertThat(greedyThrottled.get()).isGreaterThan(0);
+        assertThat(missingRetryAfter.get()).isZero();
+        assertThat(greedyAccepted.get()).isLessThanOrEqualTo((int) (CLIENT_REQUESTS_PER_SECOND * (seconds + 2)));
+    }
+
+    private static ImmutableMap<String, String> clientId(String clientId) {
+        return ImmutableMap.of("Hermes-Client-Id", clientId);
+    }
+}
@@ -3,9 +3,9 @@ package pl.allegro.tech.hermes.integration.metadata;
 import com.google.common.collect.ImmutableSet;
 import pl.allegro.tech.hermes.frontend.publishing.metadata.HeadersPropagator;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class TraceHeadersPropagator implements HeadersPropagator {
 
@@ -14,9 +14,13 @@ public class TraceHeadersPropagator implements HeadersPropagator {
 
     @Override
     public Map<String, String> extract(Map<String, String> headers) {
-        return headers.entrySet()
-                .stream()
-                .filter(entry -> HEADERS.contains(entry.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<String, String> extracted = new HashMap<>();
+        for (String header : HEADERS) {
+            String value = headers.get(header);
+            if (value != null) {
+                extracted.put(header, value);
+            }
+        }
+        return extracted;
     }
 }